@@ -0,0 +1,190 @@
+package org.anddev.andengine.extension.svg.benchmark;
+
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Generates synthetic SVG documents whose size and shape are controlled by a few parameters, so the cost of parsing can be related to each of them.
+ * The same parameters and seed always generate the same document.
+ *
+ * The elements are paths, split evenly between the levels of a chain of nested groups, each of which sets a transform and inherited properties.
+ * Every element is filled with a color or, round-robin, one of the gradients, half of which inherit their stops from the previous gradient via <code>xlink:href</code>.
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 13:26:10 - 04.06.2011
+ */
+public class SVGDocumentGenerator {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	private static final int SIZE = 1024;
+	private static final int SHARED_STYLE_COUNT = 8;
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private int mElementCount = 100;
+	private int mNestingDepth = 1;
+	private int mPathLength = 8;
+	private int mGradientCount;
+	private float mStyleReuse;
+	private long mSeed = 0x5EED;
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	public int getElementCount() {
+		return this.mElementCount;
+	}
+
+	public void setElementCount(final int pElementCount) {
+		this.mElementCount = pElementCount;
+	}
+
+	public int getNestingDepth() {
+		return this.mNestingDepth;
+	}
+
+	/**
+	 * @param pNestingDepth the number of nested groups, <code>0</code> places all elements directly in the root.
+	 */
+	public void setNestingDepth(final int pNestingDepth) {
+		this.mNestingDepth = pNestingDepth;
+	}
+
+	public int getPathLength() {
+		return this.mPathLength;
+	}
+
+	/**
+	 * @param pPathLength the number of segments of every path.
+	 */
+	public void setPathLength(final int pPathLength) {
+		this.mPathLength = pPathLength;
+	}
+
+	public int getGradientCount() {
+		return this.mGradientCount;
+	}
+
+	/**
+	 * @param pGradientCount the number of gradients, which are used round-robin by the elements. <code>0</code> fills every element with a color.
+	 */
+	public void setGradientCount(final int pGradientCount) {
+		this.mGradientCount = pGradientCount;
+	}
+
+	public float getStyleReuse() {
+		return this.mStyleReuse;
+	}
+
+	/**
+	 * @param pStyleReuse the fraction of elements, from <code>0</code> to <code>1</code>, that share one of a few <code>style</code> attributes, the others each get a unique one.
+	 */
+	public void setStyleReuse(final float pStyleReuse) {
+		this.mStyleReuse = pStyleReuse;
+	}
+
+	public void setSeed(final long pSeed) {
+		this.mSeed = pSeed;
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	public String generate() {
+		final Random random = new Random(this.mSeed);
+		final StringBuilder svg = new StringBuilder();
+		svg.append("<svg xmlns=\"http://www.w3.org/2000/svg\" xmlns:xlink=\"http://www.w3.org/1999/xlink\" width=\"").append(SVGDocumentGenerator.SIZE).append("\" height=\"").append(SVGDocumentGenerator.SIZE).append("\">\n");
+
+		if(this.mGradientCount > 0) {
+			svg.append("<defs>\n");
+			for(int i = 0; i < this.mGradientCount; i++) {
+				this.appendGradient(svg, i, random);
+			}
+			svg.append("</defs>\n");
+		}
+
+		final String[] sharedStyles = new String[SVGDocumentGenerator.SHARED_STYLE_COUNT];
+		for(int i = 0; i < sharedStyles.length; i++) {
+			sharedStyles[i] = SVGDocumentGenerator.generateStyle(random);
+		}
+
+		/* The elements are spread evenly over the root and every level of nesting, with the remainder in the innermost group. */
+		final int levelCount = this.mNestingDepth + 1;
+		final int elementsPerLevel = this.mElementCount / levelCount;
+		int element = 0;
+		for(int level = 0; level < levelCount; level++) {
+			if(level > 0) {
+				svg.append(String.format(Locale.US, "<g transform=\"translate(%.2f,%.2f) rotate(%.1f)\" stroke-linejoin=\"round\" fill-opacity=\"%.2f\">\n", random.nextFloat() * 4, random.nextFloat() * 4, random.nextFloat() * 10, 0.9f + random.nextFloat() * 0.1f));
+			}
+			final int levelElementCount = (level == levelCount - 1) ? this.mElementCount - element : elementsPerLevel;
+			for(int i = 0; i < levelElementCount; i++) {
+				this.appendElement(svg, element++, sharedStyles, random);
+			}
+		}
+		for(int level = 1; level < levelCount; level++) {
+			svg.append("</g>\n");
+		}
+
+		svg.append("</svg>\n");
+		return svg.toString();
+	}
+
+	private void appendGradient(final StringBuilder pSVG, final int pIndex, final Random pRandom) {
+		if(pIndex % 2 == 1) {
+			pSVG.append(String.format(Locale.US, "<linearGradient id=\"gradient%d\" xlink:href=\"#gradient%d\" x1=\"%.2f\" y1=\"0\" x2=\"1\" y2=\"%.2f\"/>\n", pIndex, pIndex - 1, pRandom.nextFloat() / 2, 0.5f + pRandom.nextFloat() / 2));
+		} else {
+			final boolean linear = pIndex % 4 == 0;
+			pSVG.append(String.format(Locale.US, linear ? "<linearGradient id=\"gradient%d\" x1=\"0\" y1=\"0\" x2=\"1\" y2=\"1\">\n" : "<radialGradient id=\"gradient%d\" cx=\"0.5\" cy=\"0.5\" r=\"0.5\">\n", pIndex));
+			final int stopCount = 2 + pRandom.nextInt(3);
+			for(int i = 0; i < stopCount; i++) {
+				pSVG.append(String.format(Locale.US, "<stop offset=\"%.2f\" stop-color=\"#%06x\" stop-opacity=\"%.2f\"/>\n", (float) i / (stopCount - 1), pRandom.nextInt(0x1000000), 0.5f + pRandom.nextFloat() / 2));
+			}
+			pSVG.append(linear ? "</linearGradient>\n" : "</radialGradient>\n");
+		}
+	}
+
+	private void appendElement(final StringBuilder pSVG, final int pIndex, final String[] pSharedStyles, final Random pRandom) {
+		final String style = (pRandom.nextFloat() < this.mStyleReuse) ? pSharedStyles[pRandom.nextInt(pSharedStyles.length)] : SVGDocumentGenerator.generateStyle(pRandom);
+		final String fill = (this.mGradientCount > 0) ? "url(#gradient" + (pIndex % this.mGradientCount) + ")" : String.format(Locale.US, "#%06x", pRandom.nextInt(0x1000000));
+
+		pSVG.append("<path fill=\"").append(fill).append("\" style=\"").append(style).append("\" d=\"");
+		pSVG.append(String.format(Locale.US, "M%.2f %.2f", pRandom.nextFloat() * SVGDocumentGenerator.SIZE, pRandom.nextFloat() * SVGDocumentGenerator.SIZE));
+		for(int i = 0; i < this.mPathLength; i++) {
+			if(i % 2 == 0) {
+				pSVG.append(String.format(Locale.US, "c%.2f,%.2f %.2f,%.2f %.2f,%.2f", SVGDocumentGenerator.nextDelta(pRandom), SVGDocumentGenerator.nextDelta(pRandom), SVGDocumentGenerator.nextDelta(pRandom), SVGDocumentGenerator.nextDelta(pRandom), SVGDocumentGenerator.nextDelta(pRandom), SVGDocumentGenerator.nextDelta(pRandom)));
+			} else {
+				pSVG.append(String.format(Locale.US, "l%.2f %.2f", SVGDocumentGenerator.nextDelta(pRandom), SVGDocumentGenerator.nextDelta(pRandom)));
+			}
+		}
+		pSVG.append("z\"/>\n");
+	}
+
+	private static String generateStyle(final Random pRandom) {
+		return String.format(Locale.US, "stroke:#%06x;stroke-width:%.2f;stroke-opacity:%.2f;fill-rule:evenodd", pRandom.nextInt(0x1000000), 0.5f + pRandom.nextFloat() * 2, 0.5f + pRandom.nextFloat() / 2);
+	}
+
+	private static float nextDelta(final Random pRandom) {
+		return (pRandom.nextFloat() - 0.5f) * 32;
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
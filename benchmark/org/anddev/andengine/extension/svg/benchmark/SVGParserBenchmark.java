@@ -0,0 +1,520 @@
+package org.anddev.andengine.extension.svg.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import org.anddev.andengine.extension.svg.SVGParser;
+import org.anddev.andengine.extension.svg.adt.SVGGradient;
+import org.anddev.andengine.extension.svg.adt.SVGMatrix;
+import org.anddev.andengine.extension.svg.adt.SVGPaintState;
+import org.anddev.andengine.extension.svg.adt.SVGPaintStateResolver;
+import org.anddev.andengine.extension.svg.adt.SVGPath;
+import org.anddev.andengine.extension.svg.adt.SVGProperties;
+import org.anddev.andengine.extension.svg.adt.SVGStyleSet;
+import org.anddev.andengine.extension.svg.adt.filter.SVGFilter;
+import org.anddev.andengine.extension.svg.backend.ISVGBackend;
+import org.anddev.andengine.extension.svg.backend.SVGDisplayList;
+import org.anddev.andengine.extension.svg.util.SVGNumberParser;
+import org.anddev.andengine.extension.svg.util.SVGPathParser;
+import org.anddev.andengine.extension.svg.util.SVGTransformParser;
+import org.anddev.andengine.extension.svg.util.constants.ISVGConstants;
+import org.xml.sax.helpers.AttributesImpl;
+
+/**
+ * Measures the hot paths of the parser on a generated corpus: long path data, number lists, transforms, colors, style attributes and whole documents.
+ * Whole documents are parsed into a {@link SVGDisplayList} and replayed into a backend that draws nothing, so only the parser is measured.
+ * Besides the time per operation, the bytes allocated per operation and the garbage collections during the measurement are reported, like a GC profiler would.
+ *
+ * Runs on a plain JVM: <code>java org.anddev.andengine.extension.svg.benchmark.SVGParserBenchmark [milliseconds per benchmark]</code>
+ * Like all benchmarks, it lives in the <code>benchmark</code> source folder, which is compiled against <code>src</code> on a desktop JVM and is not part of the library,
+ * as it needs <code>java.lang.management</code>, which Android does not provide.
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 11:52:37 - 04.06.2011
+ */
+public class SVGParserBenchmark {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	private static final int DURATION_DEFAULT = 2000;
+	private static final int ROUNDS = 5;
+	private static final long SEED = 0x5EED;
+
+	private static final int PATH_SEGMENT_COUNT = 2000;
+	private static final int NUMBER_COUNT = 2000;
+	private static final int DOCUMENT_SHAPE_COUNT = 1000;
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	public static void main(final String[] pArguments) {
+		final long duration = 1000000L * ((pArguments.length > 0) ? Integer.parseInt(pArguments[0]) : SVGParserBenchmark.DURATION_DEFAULT);
+		final Random random = new Random(SVGParserBenchmark.SEED);
+
+		final AttributesImpl pathAttributes = new AttributesImpl();
+		pathAttributes.addAttribute("", ISVGConstants.ATTRIBUTE_PATHDATA, ISVGConstants.ATTRIBUTE_PATHDATA, "CDATA", SVGParserBenchmark.generatePathData(SVGParserBenchmark.PATH_SEGMENT_COUNT, random));
+		final SVGProperties pathSVGProperties = new SVGProperties(null, pathAttributes, false);
+		final String numbers = SVGParserBenchmark.generateNumbers(SVGParserBenchmark.NUMBER_COUNT, random);
+		final String[] transforms = SVGParserBenchmark.generateTransforms(random);
+		final String[] colors = SVGParserBenchmark.generateColors(random);
+		final String[] styles = SVGParserBenchmark.generateStyles(random);
+		final byte[] shapesDocument = SVGRasterScalingBenchmark.generateSVG(1024, SVGParserBenchmark.DOCUMENT_SHAPE_COUNT, SVGParserBenchmark.SEED).getBytes();
+		final byte[] pathsDocument = SVGParserBenchmark.generatePathsDocument(styles, random).getBytes();
+
+		final SVGPathParser svgPathParser = new SVGPathParser();
+		final SVGPaintStateResolver svgPaintStateResolver = new SVGPaintStateResolver(null);
+		final NullBackend nullBackend = new NullBackend();
+
+		final Benchmark[] benchmarks = new Benchmark[] {
+				new Benchmark("SVGPathParser.parse", SVGParserBenchmark.PATH_SEGMENT_COUNT + " segments") {
+					@Override
+					public int run(final int pIteration) {
+						return svgPathParser.parse(pathSVGProperties).getVerbCount();
+					}
+				},
+				new Benchmark("SVGNumberParser.parseFloats", SVGParserBenchmark.NUMBER_COUNT + " numbers") {
+					@Override
+					public int run(final int pIteration) {
+						return SVGNumberParser.parseFloats(numbers).getNumberCount();
+					}
+				},
+				new Benchmark("SVGTransformParser.parseTransform", "1 transform") {
+					@Override
+					public int run(final int pIteration) {
+						final SVGMatrix svgMatrix = SVGTransformParser.parseTransform(transforms[pIteration % transforms.length]);
+						return (svgMatrix == null) ? 0 : 1;
+					}
+				},
+				new Benchmark("SVGPaintStateResolver.parseColor", "1 color") {
+					@Override
+					public int run(final int pIteration) {
+						final Integer color = svgPaintStateResolver.parseColor(colors[pIteration % colors.length]);
+						return (color == null) ? 0 : color.intValue();
+					}
+				},
+				new Benchmark("new SVGStyleSet", "1 style") {
+					@Override
+					public int run(final int pIteration) {
+						final SVGStyleSet svgStyleSet = new SVGStyleSet(styles[pIteration % styles.length]);
+						return (svgStyleSet.getStyle("fill") == null) ? 0 : 1;
+					}
+				},
+				new Benchmark("SVGParser (shapes)", SVGParserBenchmark.DOCUMENT_SHAPE_COUNT + " shapes") {
+					@Override
+					public int run(final int pIteration) {
+						return SVGParserBenchmark.parse(shapesDocument, nullBackend);
+					}
+				},
+				new Benchmark("SVGParser (paths)", "64 paths") {
+					@Override
+					public int run(final int pIteration) {
+						return SVGParserBenchmark.parse(pathsDocument, nullBackend);
+					}
+				}
+		};
+
+		System.out.println(String.format(Locale.US, "%d ms per benchmark, %d rounds, allocations %s.", duration / 1000000, SVGParserBenchmark.ROUNDS, SVGParserBenchmark.isAllocationMeasurable() ? "measured per thread" : "not measurable on this JVM"));
+		System.out.println("benchmark                          operation          ops     best us/op   median us/op        B/op   alloc MB/s   gc count   gc ms");
+		int checksum = 0;
+		for(final Benchmark benchmark : benchmarks) {
+			/* Warm up as long as it is measured, so the JIT has compiled the hot paths. */
+			checksum += SVGParserBenchmark.measure(benchmark, duration, new long[1]);
+
+			final long[] roundDurations = new long[SVGParserBenchmark.ROUNDS];
+			final long[] roundOperations = new long[SVGParserBenchmark.ROUNDS];
+			final double[] nanosecondsPerOperation = new double[SVGParserBenchmark.ROUNDS];
+			final long allocatedBytesBefore = SVGParserBenchmark.getAllocatedBytes();
+			final long gcCountBefore = SVGParserBenchmark.getGCCount();
+			final long gcTimeBefore = SVGParserBenchmark.getGCTime();
+			for(int round = 0; round < SVGParserBenchmark.ROUNDS; round++) {
+				final long[] operations = new long[1];
+				final long start = System.nanoTime();
+				checksum += SVGParserBenchmark.measure(benchmark, duration / SVGParserBenchmark.ROUNDS, operations);
+				roundDurations[round] = System.nanoTime() - start;
+				roundOperations[round] = operations[0];
+				nanosecondsPerOperation[round] = (double) roundDurations[round] / operations[0];
+			}
+			final long allocatedBytes = SVGParserBenchmark.getAllocatedBytes() - allocatedBytesBefore;
+			final long gcCount = SVGParserBenchmark.getGCCount() - gcCountBefore;
+			final long gcTime = SVGParserBenchmark.getGCTime() - gcTimeBefore;
+
+			long totalDuration = 0;
+			long totalOperations = 0;
+			for(int round = 0; round < SVGParserBenchmark.ROUNDS; round++) {
+				totalDuration += roundDurations[round];
+				totalOperations += roundOperations[round];
+			}
+			Arrays.sort(nanosecondsPerOperation);
+
+			final String allocation;
+			if(SVGParserBenchmark.isAllocationMeasurable()) {
+				allocation = String.format(Locale.US, "%11.0f %12.1f", (double) allocatedBytes / totalOperations, allocatedBytes / (totalDuration / 1e9) / (1 << 20));
+			} else {
+				allocation = String.format(Locale.US, "%11s %12s", "n/a", "n/a");
+			}
+			System.out.println(String.format(Locale.US, "%-34s %-14s %10d %14.3f %14.3f %s %10d %7d", benchmark.mName, benchmark.mOperation, totalOperations, nanosecondsPerOperation[0] / 1e3, nanosecondsPerOperation[SVGParserBenchmark.ROUNDS / 2] / 1e3, allocation, gcCount, gcTime));
+		}
+		System.out.println("Checksum: " + checksum);
+	}
+
+	/**
+	 * Runs <code>pBenchmark</code> until <code>pDuration</code> nanoseconds have passed, checking the time only every few operations so it does not dominate short ones.
+	 *
+	 * @param pOperations receives the number of operations that were run.
+	 * @return the sum of the results of the operations, so they cannot be optimized away.
+	 */
+	private static int measure(final Benchmark pBenchmark, final long pDuration, final long[] pOperations) {
+		final long end = System.nanoTime() + pDuration;
+		int checksum = 0;
+		int iteration = 0;
+		int batchSize = 1;
+		do {
+			for(int i = 0; i < batchSize; i++) {
+				checksum += pBenchmark.run(iteration++);
+			}
+			if(batchSize < 1024) {
+				batchSize <<= 1;
+			}
+		} while(System.nanoTime() < end);
+		pOperations[0] = iteration;
+		return checksum;
+	}
+
+	private static int parse(final byte[] pSVG, final ISVGBackend pSVGBackend) {
+		final SVGDisplayList svgDisplayList = SVGParser.parseSVGDisplayListFromInputStream(new ByteArrayInputStream(pSVG), null);
+		svgDisplayList.replay(pSVGBackend);
+		return svgDisplayList.getCommandCount();
+	}
+
+	static boolean isAllocationMeasurable() {
+		final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+		return threadMXBean instanceof com.sun.management.ThreadMXBean && ((com.sun.management.ThreadMXBean) threadMXBean).isThreadAllocatedMemorySupported();
+	}
+
+	/**
+	 * @return the number of bytes allocated by the current thread so far, or <code>0</code> if the JVM cannot tell.
+	 */
+	static long getAllocatedBytes() {
+		if(SVGParserBenchmark.isAllocationMeasurable()) {
+			return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getThreadAllocatedBytes(Thread.currentThread().getId());
+		} else {
+			return 0;
+		}
+	}
+
+	static long getGCCount() {
+		long gcCount = 0;
+		final List<GarbageCollectorMXBean> garbageCollectorMXBeans = ManagementFactory.getGarbageCollectorMXBeans();
+		for(final GarbageCollectorMXBean garbageCollectorMXBean : garbageCollectorMXBeans) {
+			gcCount += Math.max(0, garbageCollectorMXBean.getCollectionCount());
+		}
+		return gcCount;
+	}
+
+	/**
+	 * @return the milliseconds spent collecting garbage so far.
+	 */
+	static long getGCTime() {
+		long gcTime = 0;
+		final List<GarbageCollectorMXBean> garbageCollectorMXBeans = ManagementFactory.getGarbageCollectorMXBeans();
+		for(final GarbageCollectorMXBean garbageCollectorMXBean : garbageCollectorMXBeans) {
+			gcTime += Math.max(0, garbageCollectorMXBean.getCollectionTime());
+		}
+		return gcTime;
+	}
+
+	/**
+	 * Generates path data like the one exported by drawing tools: mostly relative curves and lines, with occasional absolute commands, arcs, exponents and numbers that are only delimited by their sign.
+	 */
+	static String generatePathData(final int pSegmentCount, final Random pRandom) {
+		final StringBuilder pathData = new StringBuilder();
+		pathData.append(String.format(Locale.US, "M%.2f,%.2f", pRandom.nextFloat() * 512, pRandom.nextFloat() * 512));
+		for(int i = 0; i < pSegmentCount; i++) {
+			switch(pRandom.nextInt(8)) {
+				case 0:
+				case 1:
+					pathData.append(String.format(Locale.US, "c%.3f,%.3f %.3f,%.3f %.3f,%.3f", SVGParserBenchmark.nextCoordinate(pRandom), SVGParserBenchmark.nextCoordinate(pRandom), SVGParserBenchmark.nextCoordinate(pRandom), SVGParserBenchmark.nextCoordinate(pRandom), SVGParserBenchmark.nextCoordinate(pRandom), SVGParserBenchmark.nextCoordinate(pRandom)));
+					break;
+				case 2:
+					pathData.append(String.format(Locale.US, "s%.3f%.3f%.3f%.3f", SVGParserBenchmark.nextCoordinate(pRandom), SVGParserBenchmark.nextCoordinate(pRandom), SVGParserBenchmark.nextCoordinate(pRandom), SVGParserBenchmark.nextCoordinate(pRandom)));
+					break;
+				case 3:
+					pathData.append(String.format(Locale.US, "l%.2f %.2f", SVGParserBenchmark.nextCoordinate(pRandom), SVGParserBenchmark.nextCoordinate(pRandom)));
+					break;
+				case 4:
+					pathData.append(String.format(Locale.US, "h%.1fv%.1f", SVGParserBenchmark.nextCoordinate(pRandom), SVGParserBenchmark.nextCoordinate(pRandom)));
+					break;
+				case 5:
+					pathData.append(String.format(Locale.US, "q%.2f,%.2f,%.2f,%.2f", SVGParserBenchmark.nextCoordinate(pRandom), SVGParserBenchmark.nextCoordinate(pRandom), SVGParserBenchmark.nextCoordinate(pRandom), SVGParserBenchmark.nextCoordinate(pRandom)));
+					break;
+				case 6:
+					pathData.append(String.format(Locale.US, "a%.1f,%.1f %d %d,%d %.2f,%.2f", 1 + pRandom.nextFloat() * 20, 1 + pRandom.nextFloat() * 20, pRandom.nextInt(90), pRandom.nextInt(2), pRandom.nextInt(2), SVGParserBenchmark.nextCoordinate(pRandom), SVGParserBenchmark.nextCoordinate(pRandom)));
+					break;
+				default:
+					pathData.append(String.format(Locale.US, "L%.4e,%.4e", pRandom.nextFloat() * 512, pRandom.nextFloat() * 512));
+			}
+			if(pRandom.nextInt(50) == 0) {
+				pathData.append("z");
+				pathData.append(String.format(Locale.US, "m%.2f %.2f", SVGParserBenchmark.nextCoordinate(pRandom), SVGParserBenchmark.nextCoordinate(pRandom)));
+			}
+		}
+		pathData.append("z");
+		return pathData.toString();
+	}
+
+	private static float nextCoordinate(final Random pRandom) {
+		return (pRandom.nextFloat() - 0.5f) * 40;
+	}
+
+	/**
+	 * Generates a list of numbers like the one of a long <code>points</code> attribute, mixing separators, signs and exponents.
+	 */
+	private static String generateNumbers(final int pNumberCount, final Random pRandom) {
+		final StringBuilder numbers = new StringBuilder();
+		for(int i = 0; i < pNumberCount; i++) {
+			final float number = (pRandom.nextFloat() - 0.5f) * 1000;
+			switch(pRandom.nextInt(4)) {
+				case 0:
+					numbers.append(String.format(Locale.US, "%.3f ", number));
+					break;
+				case 1:
+					numbers.append(String.format(Locale.US, "%.2f,", number));
+					break;
+				case 2:
+					numbers.append(String.format(Locale.US, "%.3e ", number));
+					break;
+				default:
+					numbers.append((int) number).append(", ");
+			}
+		}
+		return numbers.toString().trim();
+	}
+
+	private static String[] generateTransforms(final Random pRandom) {
+		final String[] transforms = new String[64];
+		for(int i = 0; i < transforms.length; i++) {
+			final float x = (pRandom.nextFloat() - 0.5f) * 200;
+			final float y = (pRandom.nextFloat() - 0.5f) * 200;
+			final float angle = pRandom.nextFloat() * 360;
+			switch(i % 5) {
+				case 0:
+					transforms[i] = String.format(Locale.US, "translate(%.2f,%.2f)", x, y);
+					break;
+				case 1:
+					transforms[i] = String.format(Locale.US, "matrix(%.4f,%.4f,%.4f,%.4f,%.2f,%.2f)", Math.cos(angle), Math.sin(angle), -Math.sin(angle), Math.cos(angle), x, y);
+					break;
+				case 2:
+					transforms[i] = String.format(Locale.US, "rotate(%.1f %.1f %.1f)", angle, x, y);
+					break;
+				case 3:
+					transforms[i] = String.format(Locale.US, "scale(%.3f)", 0.1f + pRandom.nextFloat() * 4);
+					break;
+				default:
+					transforms[i] = String.format(Locale.US, "translate(%.1f,%.1f) scale(2) rotate(%.1f) skewX(%.1f) translate(5,10)", x, y, angle, angle / 8);
+			}
+		}
+		return transforms;
+	}
+
+	private static String[] generateColors(final Random pRandom) {
+		final String[] namedColors = new String[] { "red", "black", "white", "cornflowerblue", "darkolivegreen", "orange" };
+		final String[] colors = new String[64];
+		for(int i = 0; i < colors.length; i++) {
+			final int rgb = pRandom.nextInt(0x1000000);
+			switch(i % 4) {
+				case 0:
+					colors[i] = String.format(Locale.US, "#%06x", rgb);
+					break;
+				case 1:
+					colors[i] = String.format(Locale.US, "#%x%x%x", (rgb >> 20) & 0xF, (rgb >> 12) & 0xF, (rgb >> 4) & 0xF);
+					break;
+				case 2:
+					colors[i] = String.format(Locale.US, "rgb(%d, %d, %d)", (rgb >> 16) & 0xFF, (rgb >> 8) & 0xFF, rgb & 0xFF);
+					break;
+				default:
+					colors[i] = namedColors[pRandom.nextInt(namedColors.length)];
+			}
+		}
+		return colors;
+	}
+
+	/**
+	 * Generates <code>style</code> attributes like the ones written by Inkscape, which puts all presentation attributes into them.
+	 */
+	private static String[] generateStyles(final Random pRandom) {
+		final String[] styles = new String[64];
+		for(int i = 0; i < styles.length; i++) {
+			styles[i] = String.format(Locale.US, "fill:#%06x;fill-opacity:%.2f;fill-rule:evenodd;stroke:#%06x;stroke-width:%.3f;stroke-linecap:round;stroke-linejoin:miter;stroke-miterlimit:4;stroke-dasharray:none;stroke-opacity:1", pRandom.nextInt(0x1000000), pRandom.nextFloat(), pRandom.nextInt(0x1000000), pRandom.nextFloat() * 4);
+		}
+		return styles;
+	}
+
+	/**
+	 * Generates a document of long paths in nested, transformed groups, styled like an icon exported from a drawing tool.
+	 */
+	private static String generatePathsDocument(final String[] pStyles, final Random pRandom) {
+		final StringBuilder svg = new StringBuilder();
+		svg.append("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"512\" height=\"512\" viewBox=\"0 0 512 512\">\n");
+		for(int i = 0; i < 8; i++) {
+			svg.append(String.format(Locale.US, "<g transform=\"translate(%.1f,%.1f)\" style=\"opacity:0.9\">\n", pRandom.nextFloat() * 64, pRandom.nextFloat() * 64));
+			for(int j = 0; j < 8; j++) {
+				svg.append("<path style=\"").append(pStyles[pRandom.nextInt(pStyles.length)]).append("\" d=\"").append(SVGParserBenchmark.generatePathData(50, pRandom)).append("\"/>\n");
+			}
+			svg.append("</g>\n");
+		}
+		svg.append("</svg>\n");
+		return svg.toString();
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+
+	private static abstract class Benchmark {
+		// ===========================================================
+		// Constants
+		// ===========================================================
+
+		// ===========================================================
+		// Fields
+		// ===========================================================
+
+		private final String mName;
+		private final String mOperation;
+
+		// ===========================================================
+		// Constructors
+		// ===========================================================
+
+		public Benchmark(final String pName, final String pOperation) {
+			this.mName = pName;
+			this.mOperation = pOperation;
+		}
+
+		// ===========================================================
+		// Getter & Setter
+		// ===========================================================
+
+		// ===========================================================
+		// Methods for/from SuperClass/Interfaces
+		// ===========================================================
+
+		// ===========================================================
+		// Methods
+		// ===========================================================
+
+		/**
+		 * @return any value depending on the result of the operation, so it cannot be optimized away.
+		 */
+		public abstract int run(final int pIteration);
+
+		// ===========================================================
+		// Inner and Anonymous Classes
+		// ===========================================================
+	}
+
+	/**
+	 * Draws nothing, so replaying a {@link SVGDisplayList} into it costs only the dispatch of the commands.
+	 */
+	static class NullBackend implements ISVGBackend {
+		// ===========================================================
+		// Constants
+		// ===========================================================
+
+		// ===========================================================
+		// Fields
+		// ===========================================================
+
+		// ===========================================================
+		// Constructors
+		// ===========================================================
+
+		// ===========================================================
+		// Getter & Setter
+		// ===========================================================
+
+		// ===========================================================
+		// Methods for/from SuperClass/Interfaces
+		// ===========================================================
+
+		@Override
+		public void begin(final int pWidth, final int pHeight) {
+
+		}
+
+		@Override
+		public void end() {
+
+		}
+
+		@Override
+		public void save() {
+
+		}
+
+		@Override
+		public void concat(final SVGMatrix pSVGMatrix) {
+
+		}
+
+		@Override
+		public void restore() {
+
+		}
+
+		@Override
+		public void drawPath(final SVGPath pSVGPath, final SVGPaintState pSVGPaintState, final SVGGradient pSVGGradient, final SVGFilter pSVGFilter, final SVGMatrix pTransform) {
+
+		}
+
+		@Override
+		public void beginRecording(final int pWidth, final int pHeight) {
+
+		}
+
+		@Override
+		public Object endRecording() {
+			return null;
+		}
+
+		@Override
+		public void drawRecording(final Object pRecording) {
+
+		}
+
+		// ===========================================================
+		// Methods
+		// ===========================================================
+
+		// ===========================================================
+		// Inner and Anonymous Classes
+		// ===========================================================
+	}
+}
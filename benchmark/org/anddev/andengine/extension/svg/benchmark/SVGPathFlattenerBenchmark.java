@@ -0,0 +1,244 @@
+package org.anddev.andengine.extension.svg.benchmark;
+
+import java.util.Locale;
+import java.util.Random;
+
+import org.anddev.andengine.extension.svg.adt.SVGMatrix;
+import org.anddev.andengine.extension.svg.adt.SVGPath;
+import org.anddev.andengine.extension.svg.util.SVGPathFlattener;
+import org.anddev.andengine.extension.svg.util.SVGPathFlattener.ISVGPathFlattenerListener;
+
+/**
+ * Measures how many segments per second the {@link SVGPathFlattener} emits, for random cubic curves, quadratic curves and arcs drawn at several scales.
+ * For comparison, the same curves are also flattened uniformly into as many segments as Wang's formula requires for the same tolerance.
+ *
+ * Runs on a plain JVM: <code>java org.anddev.andengine.extension.svg.benchmark.SVGPathFlattenerBenchmark [curveCount]</code>
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 12:48:05 - 01.06.2011
+ */
+public class SVGPathFlattenerBenchmark {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	private static final int CURVE_COUNT_DEFAULT = 100000;
+	private static final float[] SCALES = new float[] { 0.25f, 1, 4, 16 };
+	private static final int ROUNDS = 5;
+	private static final long SEED = 0x5EED;
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	public static void main(final String[] pArguments) {
+		final int curveCount = (pArguments.length > 0) ? Integer.parseInt(pArguments[0]) : SVGPathFlattenerBenchmark.CURVE_COUNT_DEFAULT;
+		final SVGPath svgPath = SVGPathFlattenerBenchmark.generatePath(curveCount, SVGPathFlattenerBenchmark.SEED);
+
+		final SVGPathFlattener svgPathFlattener = new SVGPathFlattener(SVGPathFlattener.TOLERANCE_DEFAULT);
+		final CountingListener countingListener = new CountingListener();
+		final SVGMatrix transform = new SVGMatrix();
+
+		System.out.println(String.format(Locale.US, "%d curves, tolerance %.2f pixels.", svgPath.getVerbCount(), SVGPathFlattener.TOLERANCE_DEFAULT));
+		System.out.println("scale   adaptive segments   Msegments/s   Mcurves/s   uniform segments   Msegments/s   Mcurves/s");
+		for(final float scale : SVGPathFlattenerBenchmark.SCALES) {
+			transform.setValues(scale, 0, 0, scale, 0, 0);
+
+			long adaptiveBest = Long.MAX_VALUE;
+			long uniformBest = Long.MAX_VALUE;
+			int adaptiveSegmentCount = 0;
+			int uniformSegmentCount = 0;
+			for(int round = 0; round < SVGPathFlattenerBenchmark.ROUNDS; round++) {
+				countingListener.reset();
+				long start = System.nanoTime();
+				svgPathFlattener.flatten(svgPath, transform, countingListener);
+				adaptiveBest = Math.min(adaptiveBest, System.nanoTime() - start);
+				adaptiveSegmentCount = countingListener.mSegmentCount;
+
+				countingListener.reset();
+				start = System.nanoTime();
+				SVGPathFlattenerBenchmark.flattenUniformly(svgPath, transform, SVGPathFlattener.TOLERANCE_DEFAULT, countingListener);
+				uniformBest = Math.min(uniformBest, System.nanoTime() - start);
+				uniformSegmentCount = countingListener.mSegmentCount;
+			}
+
+			final int verbCount = svgPath.getVerbCount();
+			System.out.println(String.format(Locale.US, "%5.2f %19d %13.2f %11.2f %18d %13.2f %11.2f", scale,
+					adaptiveSegmentCount, adaptiveSegmentCount * 1e3 / adaptiveBest, verbCount * 1e3 / adaptiveBest,
+					uniformSegmentCount, uniformSegmentCount * 1e3 / uniformBest, verbCount * 1e3 / uniformBest));
+		}
+		System.out.println("(checksum " + countingListener.mChecksum + ")");
+	}
+
+	private static SVGPath generatePath(final int pCurveCount, final long pSeed) {
+		final Random random = new Random(pSeed);
+		final SVGPath svgPath = new SVGPath();
+		while(svgPath.getVerbCount() < pCurveCount) {
+			final float x = random.nextFloat() * 512;
+			final float y = random.nextFloat() * 512;
+			final float size = 1 + random.nextFloat() * 63;
+			switch(random.nextInt(3)) {
+				case 0:
+					svgPath.moveTo(x, y);
+					svgPath.cubicTo(x + size, y - size, x + random.nextFloat() * size, y + size, x + size / 2, y + random.nextFloat() * size);
+					break;
+				case 1:
+					svgPath.moveTo(x, y);
+					svgPath.quadTo(x + random.nextFloat() * size, y - size, x + size, y + random.nextFloat() * size);
+					break;
+				default:
+					svgPath.moveTo(x, y);
+					svgPath.arcTo(x - size, y - size / 2, x + size, y + size / 2, random.nextFloat() * 360, 45 + random.nextFloat() * 270);
+			}
+		}
+		return svgPath;
+	}
+
+	/**
+	 * Flattens every curve into evenly spaced segments, as many as Wang's formula requires for <code>pTolerance</code>.
+	 */
+	private static void flattenUniformly(final SVGPath pSVGPath, final SVGMatrix pTransform, final float pTolerance, final ISVGPathFlattenerListener pSVGPathFlattenerListener) {
+		final byte[] verbs = pSVGPath.getVerbs();
+		final float[] coordinates = pSVGPath.getCoordinates();
+		final int verbCount = pSVGPath.getVerbCount();
+		final float[] points = new float[8];
+
+		int c = 0;
+		for(int i = 0; i < verbCount; i++) {
+			final byte verb = verbs[i];
+			final int pointCount = SVGPath.getPointCount(verb);
+			for(int p = 0; p < pointCount; p++) {
+				points[2 * p + 2] = pTransform.mapX(coordinates[c + 2 * p], coordinates[c + 2 * p + 1]);
+				points[2 * p + 3] = pTransform.mapY(coordinates[c + 2 * p], coordinates[c + 2 * p + 1]);
+			}
+
+			switch(verb) {
+				case SVGPath.VERB_MOVE:
+					pSVGPathFlattenerListener.onMoveTo(points[2], points[3]);
+					break;
+				case SVGPath.VERB_LINE:
+					pSVGPathFlattenerListener.onLineTo(points[2], points[3]);
+					break;
+				case SVGPath.VERB_QUAD: {
+					final float ddX = points[0] - 2 * points[2] + points[4];
+					final float ddY = points[1] - 2 * points[3] + points[5];
+					final int segmentCount = SVGPathFlattenerBenchmark.getSegmentCount(0.25f * (float) Math.sqrt(ddX * ddX + ddY * ddY), pTolerance);
+					for(int s = 1; s <= segmentCount; s++) {
+						final float t = (float) s / segmentCount;
+						final float u = 1 - t;
+						pSVGPathFlattenerListener.onLineTo(u * u * points[0] + 2 * u * t * points[2] + t * t * points[4], u * u * points[1] + 2 * u * t * points[3] + t * t * points[5]);
+					}
+					break;
+				}
+				case SVGPath.VERB_CUBIC: {
+					final float ddX0 = points[0] - 2 * points[2] + points[4];
+					final float ddY0 = points[1] - 2 * points[3] + points[5];
+					final float ddX1 = points[2] - 2 * points[4] + points[6];
+					final float ddY1 = points[3] - 2 * points[5] + points[7];
+					final int segmentCount = SVGPathFlattenerBenchmark.getSegmentCount(0.75f * (float) Math.sqrt(Math.max(ddX0 * ddX0 + ddY0 * ddY0, ddX1 * ddX1 + ddY1 * ddY1)), pTolerance);
+					for(int s = 1; s <= segmentCount; s++) {
+						final float t = (float) s / segmentCount;
+						final float u = 1 - t;
+						final float a = u * u * u;
+						final float b = 3 * u * u * t;
+						final float d = 3 * u * t * t;
+						final float e = t * t * t;
+						pSVGPathFlattenerListener.onLineTo(a * points[0] + b * points[2] + d * points[4] + e * points[6], a * points[1] + b * points[3] + d * points[5] + e * points[7]);
+					}
+					break;
+				}
+				case SVGPath.VERB_CLOSE:
+					pSVGPathFlattenerListener.onClose();
+					break;
+			}
+
+			if(pointCount > 0) {
+				points[0] = points[2 * pointCount];
+				points[1] = points[2 * pointCount + 1];
+			}
+			c += 2 * pointCount;
+		}
+	}
+
+	private static int getSegmentCount(final float pDeviation, final float pTolerance) {
+		final int segmentCount = (int) Math.ceil(Math.sqrt(pDeviation / pTolerance));
+		return Math.max(1, Math.min(SVGPathFlattener.SEGMENTS_PER_CURVE_MAXIMUM, segmentCount));
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+
+	private static class CountingListener implements ISVGPathFlattenerListener {
+		// ===========================================================
+		// Constants
+		// ===========================================================
+
+		// ===========================================================
+		// Fields
+		// ===========================================================
+
+		private int mSegmentCount;
+		/** Keeps the points from being optimized away. */
+		private float mChecksum;
+
+		// ===========================================================
+		// Constructors
+		// ===========================================================
+
+		// ===========================================================
+		// Getter & Setter
+		// ===========================================================
+
+		// ===========================================================
+		// Methods for/from SuperClass/Interfaces
+		// ===========================================================
+
+		@Override
+		public void onMoveTo(final float pX, final float pY) {
+			this.mChecksum += pX;
+		}
+
+		@Override
+		public void onLineTo(final float pX, final float pY) {
+			this.mSegmentCount++;
+			this.mChecksum += pY;
+		}
+
+		@Override
+		public void onClose() {
+
+		}
+
+		// ===========================================================
+		// Methods
+		// ===========================================================
+
+		public void reset() {
+			this.mSegmentCount = 0;
+		}
+
+		// ===========================================================
+		// Inner and Anonymous Classes
+		// ===========================================================
+	}
+}
@@ -0,0 +1,137 @@
+package org.anddev.andengine.extension.svg.benchmark;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+import org.anddev.andengine.extension.svg.adt.SVGGradient;
+import org.anddev.andengine.extension.svg.adt.SVGGradient.SVGGradientStop;
+import org.anddev.andengine.extension.svg.adt.SVGMatrix;
+import org.anddev.andengine.extension.svg.backend.raster.SVGRasterBlitter;
+import org.anddev.andengine.extension.svg.backend.raster.SVGRasterGradient;
+import org.xml.sax.helpers.AttributesImpl;
+
+/**
+ * Compares the span blitters of the {@link SVGRasterBlitter} to compositing pixel by pixel, for opaque fills, translucent fills and gradient spans of several widths.
+ *
+ * Runs on a plain JVM: <code>java org.anddev.andengine.extension.svg.benchmark.SVGRasterBlitterBenchmark</code>
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 15:02:36 - 31.05.2011
+ */
+public class SVGRasterBlitterBenchmark {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	private static final int[] WIDTHS = new int[] { 16, 64, 256, 1024, 4096 };
+	/** The number of pixels composited per measurement. */
+	private static final int PIXELS_PER_MEASUREMENT = 1 << 24;
+	private static final int ROUNDS = 5;
+
+	private static final int MODE_OPAQUE = 0;
+	private static final int MODE_TRANSLUCENT = 1;
+	private static final int MODE_GRADIENT = 2;
+	private static final String[] MODE_NAMES = new String[] { "opaque fill", "alpha fill", "gradient span" };
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	public static void main(final String[] pArguments) {
+		final SVGRasterGradient svgRasterGradient = SVGRasterBlitterBenchmark.createGradient();
+
+		System.out.println("mode            width   per pixel (ns/px)   span (ns/px)   speedup");
+		long checksum = 0;
+		for(int mode = 0; mode < SVGRasterBlitterBenchmark.MODE_NAMES.length; mode++) {
+			for(final int width : SVGRasterBlitterBenchmark.WIDTHS) {
+				final int[] pixels = new int[width];
+				final int[] alphas = new int[width];
+				final int[] colors = new int[width];
+				Arrays.fill(alphas, 255);
+
+				long perPixelBest = Long.MAX_VALUE;
+				long spanBest = Long.MAX_VALUE;
+				for(int round = 0; round < SVGRasterBlitterBenchmark.ROUNDS; round++) {
+					Arrays.fill(pixels, 0xFF808080);
+					long start = System.nanoTime();
+					SVGRasterBlitterBenchmark.run(mode, false, pixels, alphas, colors, svgRasterGradient);
+					perPixelBest = Math.min(perPixelBest, System.nanoTime() - start);
+					checksum += pixels[width - 1];
+
+					Arrays.fill(pixels, 0xFF808080);
+					start = System.nanoTime();
+					SVGRasterBlitterBenchmark.run(mode, true, pixels, alphas, colors, svgRasterGradient);
+					spanBest = Math.min(spanBest, System.nanoTime() - start);
+					checksum += pixels[width - 1];
+				}
+
+				final double perPixel = (double) perPixelBest / SVGRasterBlitterBenchmark.PIXELS_PER_MEASUREMENT;
+				final double span = (double) spanBest / SVGRasterBlitterBenchmark.PIXELS_PER_MEASUREMENT;
+				System.out.println(String.format(Locale.US, "%-14s %6d %19.3f %14.3f %9.2f", SVGRasterBlitterBenchmark.MODE_NAMES[mode], width, perPixel, span, perPixel / span));
+			}
+		}
+		System.out.println("(checksum " + checksum + ")");
+	}
+
+	private static void run(final int pMode, final boolean pSpan, final int[] pPixels, final int[] pAlphas, final int[] pColors, final SVGRasterGradient pSVGRasterGradient) {
+		final int width = pPixels.length;
+		final int spanCount = SVGRasterBlitterBenchmark.PIXELS_PER_MEASUREMENT / width;
+		final int color = (pMode == SVGRasterBlitterBenchmark.MODE_OPAQUE) ? 0xFF336699 : 0x80193350;
+		for(int span = 0; span < spanCount; span++) {
+			if(pMode == SVGRasterBlitterBenchmark.MODE_GRADIENT) {
+				pSVGRasterGradient.shadeSpan(0, span & 0xFF, width, pColors);
+				if(pSpan) {
+					SVGRasterBlitter.blitShaded(pPixels, 0, pAlphas, 0, pColors, 0, width);
+				} else {
+					for(int i = 0; i < width; i++) {
+						pPixels[i] = SVGRasterBlitter.blend(pColors[i], pAlphas[i], pPixels[i]);
+					}
+				}
+			} else {
+				if(pSpan) {
+					SVGRasterBlitter.blitSolid(pPixels, 0, pAlphas, 0, width, color);
+				} else {
+					for(int i = 0; i < width; i++) {
+						pPixels[i] = SVGRasterBlitter.blend(color, pAlphas[i], pPixels[i]);
+					}
+				}
+			}
+		}
+	}
+
+	private static SVGRasterGradient createGradient() {
+		final AttributesImpl attributes = new AttributesImpl();
+		attributes.addAttribute("", "x1", "x1", "CDATA", "0");
+		attributes.addAttribute("", "y1", "y1", "CDATA", "0");
+		attributes.addAttribute("", "x2", "x2", "CDATA", "4096");
+		attributes.addAttribute("", "y2", "y2", "CDATA", "256");
+		final SVGGradient svgGradient = new SVGGradient("benchmark", true, attributes);
+		svgGradient.addSVGGradientStop(new SVGGradientStop(0, 0xFFFF0000));
+		svgGradient.addSVGGradientStop(new SVGGradientStop(0.5f, 0x8000FF00));
+		svgGradient.addSVGGradientStop(new SVGGradientStop(1, 0xFF0000FF));
+		return new SVGRasterGradient(svgGradient, new SVGMatrix());
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
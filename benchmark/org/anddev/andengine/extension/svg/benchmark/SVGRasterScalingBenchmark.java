@@ -0,0 +1,145 @@
+package org.anddev.andengine.extension.svg.benchmark;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+
+import org.anddev.andengine.extension.svg.SVGParser;
+import org.anddev.andengine.extension.svg.backend.SVGDisplayList;
+import org.anddev.andengine.extension.svg.backend.raster.SVGParallelRasterBackend;
+import org.anddev.andengine.extension.svg.backend.raster.SVGRasterBackend;
+
+/**
+ * Measures how the {@link SVGParallelRasterBackend} scales with the number of threads, on a generated document of 4096x4096 pixels.
+ * Every result is compared to the one of the single threaded {@link SVGRasterBackend}, which it has to match exactly.
+ *
+ * Runs on a plain JVM: <code>java org.anddev.andengine.extension.svg.benchmark.SVGRasterScalingBenchmark [shapeCount] [iterations]</code>
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 12:31:44 - 31.05.2011
+ */
+public class SVGRasterScalingBenchmark {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	private static final int SIZE = 4096;
+	private static final int SHAPE_COUNT_DEFAULT = 4000;
+	private static final int ITERATIONS_DEFAULT = 5;
+	private static final int WARMUP_ITERATIONS = 2;
+	private static final int[] THREAD_COUNTS = new int[] { 1, 2, 4, 8 };
+	private static final long SEED = 0x5EED;
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	public static void main(final String[] pArguments) throws Exception {
+		final int shapeCount = (pArguments.length > 0) ? Integer.parseInt(pArguments[0]) : SVGRasterScalingBenchmark.SHAPE_COUNT_DEFAULT;
+		final int iterations = (pArguments.length > 1) ? Integer.parseInt(pArguments[1]) : SVGRasterScalingBenchmark.ITERATIONS_DEFAULT;
+
+		final String svg = SVGRasterScalingBenchmark.generateSVG(SVGRasterScalingBenchmark.SIZE, shapeCount, SVGRasterScalingBenchmark.SEED);
+		final SVGDisplayList svgDisplayList = SVGParser.parseSVGDisplayListFromString(svg, null, null);
+
+		final SVGRasterBackend referenceBackend = new SVGRasterBackend(1);
+		svgDisplayList.replay(referenceBackend);
+		final int[] referencePixels = referenceBackend.getSVGRasterizer().getPremultipliedPixels();
+
+		System.out.println(String.format(Locale.US, "%dx%d pixels, %d shapes, %d draw commands, %d processors.", SVGRasterScalingBenchmark.SIZE, SVGRasterScalingBenchmark.SIZE, shapeCount, svgDisplayList.getCommandCount(), Runtime.getRuntime().availableProcessors()));
+		System.out.println("threads      best    median   speedup   identical");
+
+		double singleThreadedMedian = 0;
+		for(final int threadCount : SVGRasterScalingBenchmark.THREAD_COUNTS) {
+			final long[] durations = new long[iterations];
+			boolean identical = true;
+			for(int i = -SVGRasterScalingBenchmark.WARMUP_ITERATIONS; i < iterations; i++) {
+				final SVGParallelRasterBackend svgParallelRasterBackend = new SVGParallelRasterBackend(1, threadCount);
+				final long start = System.nanoTime();
+				svgDisplayList.replay(svgParallelRasterBackend);
+				final long duration = System.nanoTime() - start;
+				if(i >= 0) {
+					durations[i] = duration;
+					identical &= Arrays.equals(referencePixels, svgParallelRasterBackend.getSVGRasterizer().getPremultipliedPixels());
+				}
+			}
+
+			Arrays.sort(durations);
+			final double best = durations[0] / 1e6;
+			final double median = durations[iterations / 2] / 1e6;
+			if(threadCount == 1) {
+				singleThreadedMedian = median;
+			}
+			System.out.println(String.format(Locale.US, "%7d %9.1f %9.1f %9.2f   %s", threadCount, best, median, singleThreadedMedian / median, identical));
+		}
+	}
+
+	/**
+	 * Generates a document of filled and stroked shapes, about half of them with gradients, that cover the whole document many times.
+	 */
+	static String generateSVG(final int pSize, final int pShapeCount, final long pSeed) {
+		final Random random = new Random(pSeed);
+		final StringBuilder svg = new StringBuilder();
+		svg.append("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"").append(pSize).append("\" height=\"").append(pSize).append("\">\n");
+		svg.append("<defs>\n");
+		svg.append("<linearGradient id=\"linear\" x1=\"0\" y1=\"0\" x2=\"1\" y2=\"1\"><stop offset=\"0\" stop-color=\"#ff0000\"/><stop offset=\"0.5\" stop-color=\"#00ff00\" stop-opacity=\"0.5\"/><stop offset=\"1\" stop-color=\"#0000ff\"/></linearGradient>\n");
+		svg.append("<radialGradient id=\"radial\" cx=\"0.5\" cy=\"0.5\" r=\"0.5\"><stop offset=\"0\" stop-color=\"#ffff00\"/><stop offset=\"1\" stop-color=\"#ff00ff\" stop-opacity=\"0.25\"/></radialGradient>\n");
+		svg.append("</defs>\n");
+
+		for(int i = 0; i < pShapeCount; i++) {
+			final float x = random.nextFloat() * pSize;
+			final float y = random.nextFloat() * pSize;
+			final float size = 16 + random.nextFloat() * pSize / 8;
+			final String fill;
+			switch(random.nextInt(4)) {
+				case 0:
+					fill = "url(#linear)";
+					break;
+				case 1:
+					fill = "url(#radial)";
+					break;
+				default:
+					fill = String.format(Locale.US, "#%06x", random.nextInt(0x1000000));
+			}
+			final String opacity = String.format(Locale.US, "%.2f", 0.25f + random.nextFloat() * 0.75f);
+
+			switch(random.nextInt(4)) {
+				case 0:
+					svg.append(String.format(Locale.US, "<circle cx=\"%.1f\" cy=\"%.1f\" r=\"%.1f\" fill=\"%s\" fill-opacity=\"%s\"/>\n", x, y, size / 2, fill, opacity));
+					break;
+				case 1:
+					svg.append(String.format(Locale.US, "<rect x=\"%.1f\" y=\"%.1f\" width=\"%.1f\" height=\"%.1f\" rx=\"%.1f\" fill=\"%s\" fill-opacity=\"%s\"/>\n", x, y, size, size / 2, size / 8, fill, opacity));
+					break;
+				case 2:
+					svg.append(String.format(Locale.US, "<path d=\"M%.1f %.1f c%.1f %.1f %.1f %.1f %.1f %.1f s%.1f %.1f %.1f %.1f z\" fill=\"%s\" fill-opacity=\"%s\" fill-rule=\"evenodd\"/>\n", x, y, size, -size, size, size, size / 2, size, -size, size, -size / 2, -size / 2, fill, opacity));
+					break;
+				default:
+					svg.append(String.format(Locale.US, "<polyline points=\"%.1f,%.1f %.1f,%.1f %.1f,%.1f %.1f,%.1f\" fill=\"none\" stroke=\"%s\" stroke-width=\"%.1f\" stroke-linejoin=\"round\" stroke-linecap=\"round\"/>\n", x, y, x + size, y + size / 3, x, y + size, x + size, y + 2 * size, fill.startsWith("#") ? fill : "#000000", 1 + size / 32));
+			}
+		}
+		svg.append("</svg>\n");
+		return svg.toString();
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
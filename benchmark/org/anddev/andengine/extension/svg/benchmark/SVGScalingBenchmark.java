@@ -0,0 +1,227 @@
+package org.anddev.andengine.extension.svg.benchmark;
+
+import java.util.Locale;
+
+import org.anddev.andengine.extension.svg.SVGParser;
+import org.anddev.andengine.extension.svg.backend.SVGDisplayList;
+
+/**
+ * Checks that parsing scales linearly with the element count, the nesting depth, the path length and the gradient count, each varied on its own by a {@link SVGDocumentGenerator}.
+ * For every series, the time and the allocated bytes of a parse are measured at doubling values of the parameter, and an exponent is fitted to each curve by least squares on a log-log scale.
+ * Fixed costs only lower the fitted exponent, so an exponent clearly above <code>1</code> means the cost grows worse than linear, which makes the benchmark exit with status <code>1</code>.
+ *
+ * Runs on a plain JVM: <code>java org.anddev.andengine.extension.svg.benchmark.SVGScalingBenchmark [runs]</code>
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 13:58:44 - 04.06.2011
+ */
+public class SVGScalingBenchmark {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	private static final int RUNS_DEFAULT = 5;
+	private static final int WARMUP_RUNS = 3;
+
+	/** Time is measured on a shared machine, so it is allowed more noise than the allocations, which hardly vary between runs. */
+	private static final double EXPONENT_TIME_MAXIMUM = 1.25;
+	private static final double EXPONENT_MEMORY_MAXIMUM = 1.1;
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	public static void main(final String[] pArguments) {
+		final int runs = (pArguments.length > 0) ? Integer.parseInt(pArguments[0]) : SVGScalingBenchmark.RUNS_DEFAULT;
+
+		final Series[] allSeries = new Series[] {
+				new Series("elements", new int[] { 500, 1000, 2000, 4000, 8000 }) {
+					@Override
+					public void configure(final SVGDocumentGenerator pSVGDocumentGenerator, final int pValue) {
+						pSVGDocumentGenerator.setElementCount(pValue);
+					}
+				},
+				new Series("elements, shared styles", new int[] { 500, 1000, 2000, 4000, 8000 }) {
+					@Override
+					public void configure(final SVGDocumentGenerator pSVGDocumentGenerator, final int pValue) {
+						pSVGDocumentGenerator.setElementCount(pValue);
+						pSVGDocumentGenerator.setStyleReuse(1);
+					}
+				},
+				new Series("nesting depth", new int[] { 16, 32, 64, 128, 256 }) {
+					@Override
+					public void configure(final SVGDocumentGenerator pSVGDocumentGenerator, final int pValue) {
+						pSVGDocumentGenerator.setElementCount(2000);
+						pSVGDocumentGenerator.setNestingDepth(pValue);
+					}
+				},
+				new Series("path length", new int[] { 1000, 2000, 4000, 8000, 16000 }) {
+					@Override
+					public void configure(final SVGDocumentGenerator pSVGDocumentGenerator, final int pValue) {
+						pSVGDocumentGenerator.setElementCount(4);
+						pSVGDocumentGenerator.setPathLength(pValue);
+					}
+				},
+				new Series("gradients", new int[] { 250, 500, 1000, 2000, 4000 }) {
+					@Override
+					public void configure(final SVGDocumentGenerator pSVGDocumentGenerator, final int pValue) {
+						pSVGDocumentGenerator.setElementCount(4000);
+						pSVGDocumentGenerator.setPathLength(1);
+						pSVGDocumentGenerator.setGradientCount(pValue);
+					}
+				}
+		};
+
+		if(!SVGParserBenchmark.isAllocationMeasurable()) {
+			System.out.println("Allocations are not measurable on this JVM, only time is checked.");
+		}
+
+		boolean failed = false;
+		for(final Series series : allSeries) {
+			final int count = series.mValues.length;
+			final String[] svgs = new String[count];
+			for(int i = 0; i < count; i++) {
+				final SVGDocumentGenerator svgDocumentGenerator = new SVGDocumentGenerator();
+				series.configure(svgDocumentGenerator, series.mValues[i]);
+				svgs[i] = svgDocumentGenerator.generate();
+			}
+
+			for(int i = 0; i < SVGScalingBenchmark.WARMUP_RUNS; i++) {
+				SVGScalingBenchmark.parse(svgs[count - 1]);
+			}
+
+			System.out.println();
+			System.out.println(String.format(Locale.US, "%s:", series.mName));
+			System.out.println("      value      bytes        ms     allocated MB");
+			final double[] durations = new double[count];
+			final double[] allocatedBytes = new double[count];
+			for(int i = 0; i < count; i++) {
+				long bestDuration = Long.MAX_VALUE;
+				long bestAllocatedBytes = Long.MAX_VALUE;
+				for(int run = 0; run < runs; run++) {
+					final long allocatedBytesBefore = SVGParserBenchmark.getAllocatedBytes();
+					final long start = System.nanoTime();
+					SVGScalingBenchmark.parse(svgs[i]);
+					bestDuration = Math.min(bestDuration, System.nanoTime() - start);
+					bestAllocatedBytes = Math.min(bestAllocatedBytes, SVGParserBenchmark.getAllocatedBytes() - allocatedBytesBefore);
+				}
+				durations[i] = bestDuration;
+				allocatedBytes[i] = bestAllocatedBytes;
+				System.out.println(String.format(Locale.US, "%11d %10d %9.2f %16.2f", series.mValues[i], svgs[i].length(), bestDuration / 1e6, bestAllocatedBytes / (double) (1 << 20)));
+			}
+
+			final double timeExponent = SVGScalingBenchmark.fitExponent(series.mValues, durations);
+			final boolean timeFailed = timeExponent > SVGScalingBenchmark.EXPONENT_TIME_MAXIMUM;
+			System.out.println(String.format(Locale.US, "  time grows with exponent %.2f%s", timeExponent, timeFailed ? ", worse than linear: FAILED" : ""));
+			failed |= timeFailed;
+
+			if(SVGParserBenchmark.isAllocationMeasurable()) {
+				final double memoryExponent = SVGScalingBenchmark.fitExponent(series.mValues, allocatedBytes);
+				final boolean memoryFailed = memoryExponent > SVGScalingBenchmark.EXPONENT_MEMORY_MAXIMUM;
+				System.out.println(String.format(Locale.US, "  memory grows with exponent %.2f%s", memoryExponent, memoryFailed ? ", worse than linear: FAILED" : ""));
+				failed |= memoryFailed;
+			}
+		}
+
+		if(failed) {
+			System.out.println();
+			System.out.println("At least one curve grows worse than linear.");
+			System.exit(1);
+		}
+	}
+
+	private static int parse(final String pSVG) {
+		final SVGDisplayList svgDisplayList = SVGParser.parseSVGDisplayListFromString(pSVG, null, null);
+		return svgDisplayList.getCommandCount();
+	}
+
+	/**
+	 * @return the slope of the least squares line through the points (log(x), log(y)), which is the exponent <code>k</code> of <code>y = a * x^k</code>.
+	 */
+	static double fitExponent(final int[] pX, final double[] pY) {
+		final int count = pX.length;
+		double sumX = 0;
+		double sumY = 0;
+		for(int i = 0; i < count; i++) {
+			sumX += Math.log(pX[i]);
+			sumY += Math.log(Math.max(1, pY[i]));
+		}
+		final double meanX = sumX / count;
+		final double meanY = sumY / count;
+
+		double covariance = 0;
+		double variance = 0;
+		for(int i = 0; i < count; i++) {
+			final double dX = Math.log(pX[i]) - meanX;
+			covariance += dX * (Math.log(Math.max(1, pY[i])) - meanY);
+			variance += dX * dX;
+		}
+		return covariance / variance;
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+
+	private static abstract class Series {
+		// ===========================================================
+		// Constants
+		// ===========================================================
+
+		// ===========================================================
+		// Fields
+		// ===========================================================
+
+		private final String mName;
+		private final int[] mValues;
+
+		// ===========================================================
+		// Constructors
+		// ===========================================================
+
+		public Series(final String pName, final int[] pValues) {
+			this.mName = pName;
+			this.mValues = pValues;
+		}
+
+		// ===========================================================
+		// Getter & Setter
+		// ===========================================================
+
+		// ===========================================================
+		// Methods for/from SuperClass/Interfaces
+		// ===========================================================
+
+		// ===========================================================
+		// Methods
+		// ===========================================================
+
+		/**
+		 * Sets up <code>pSVGDocumentGenerator</code>, which starts out with its defaults, for the parameter of this series being <code>pValue</code>.
+		 */
+		public abstract void configure(final SVGDocumentGenerator pSVGDocumentGenerator, final int pValue);
+
+		// ===========================================================
+		// Inner and Anonymous Classes
+		// ===========================================================
+	}
+}
@@ -0,0 +1,217 @@
+package org.anddev.andengine.extension.svg.benchmark;
+
+import java.util.Locale;
+
+import org.anddev.andengine.extension.svg.SVGParser;
+import org.anddev.andengine.extension.svg.backend.SVGDisplayList;
+import org.anddev.andengine.extension.svg.backend.raster.SVGRasterBackend;
+import org.anddev.andengine.extension.svg.metrics.SVGMetrics;
+
+/**
+ * Compares a document that draws one <code>&lt;symbol&gt;</code> through thousands of <code>&lt;use&gt;</code> elements with the same document where every instance is written out as a group of its own.
+ * Both are measured for the time and the allocated bytes of a parse, the size of the resulting {@link SVGDisplayList} and the time to replay it into a {@link SVGRasterBackend}.
+ * The symbol has to be compiled exactly once and both documents have to render the same, otherwise the benchmark exits with status <code>1</code>.
+ *
+ * Runs on a plain JVM: <code>java org.anddev.andengine.extension.svg.benchmark.SVGSymbolInstancingBenchmark [instanceCount] [runs]</code>
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 18:04:12 - 04.06.2011
+ */
+public class SVGSymbolInstancingBenchmark {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	private static final int INSTANCE_COUNT_DEFAULT = 5000;
+	private static final int RUNS_DEFAULT = 10;
+	private static final int WARMUP_RUNS = 5;
+
+	private static final int COLUMNS = 100;
+	/** The size of an instance in the document, while the symbol is drawn in a viewBox of twice that size. */
+	private static final int CELL_SIZE = 16;
+
+	private static final String SYMBOL_CONTENT = "<circle cx=\"16\" cy=\"16\" r=\"12\" fill=\"#3366cc\" stroke=\"#112244\" stroke-width=\"2\"/>"
+			+ "<path d=\"M8 16 L14 22 L24 10\" fill=\"none\" stroke=\"#ffffff\" stroke-width=\"3\" stroke-linecap=\"round\"/>"
+			+ "<rect x=\"4\" y=\"26\" width=\"24\" height=\"4\" fill=\"#cc3333\" fill-opacity=\"0.5\"/>";
+
+	/** The anti-aliasing of an instance may differ where the inlined copy is folded into a different transform, but not by more than this per channel. */
+	private static final int PIXEL_TOLERANCE = 2;
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	public static void main(final String[] pArguments) {
+		final int instanceCount = (pArguments.length > 0) ? Integer.parseInt(pArguments[0]) : SVGSymbolInstancingBenchmark.INSTANCE_COUNT_DEFAULT;
+		final int runs = (pArguments.length > 1) ? Integer.parseInt(pArguments[1]) : SVGSymbolInstancingBenchmark.RUNS_DEFAULT;
+
+		final String instancedSVG = SVGSymbolInstancingBenchmark.generateSVG(instanceCount, true);
+		final String inlinedSVG = SVGSymbolInstancingBenchmark.generateSVG(instanceCount, false);
+
+		if(!SVGParserBenchmark.isAllocationMeasurable()) {
+			System.out.println("Allocations are not measurable on this JVM.");
+		}
+		System.out.println(String.format(Locale.US, "%d instances, best of %d runs:", instanceCount, runs));
+		System.out.println("                 bytes   parse ms   allocated MB   commands   replay ms");
+
+		final long symbolMissCount = SVGMetrics.SYMBOL_CACHE.getMissCounter().getValue();
+		final SVGDisplayList instancedSVGDisplayList = SVGParser.parseSVGDisplayListFromString(instancedSVG, null, null);
+		final long symbolCompileCount = SVGMetrics.SYMBOL_CACHE.getMissCounter().getValue() - symbolMissCount;
+
+		final Result instanced = SVGSymbolInstancingBenchmark.measure("instanced", instancedSVG, runs);
+		final Result inlined = SVGSymbolInstancingBenchmark.measure("inlined", inlinedSVG, runs);
+		System.out.println(String.format(Locale.US, "instancing parses %.1fx faster, allocates %.1fx less and replays %.1fx faster.",
+				(double) inlined.mParseDuration / instanced.mParseDuration,
+				(double) inlined.mAllocatedBytes / Math.max(1, instanced.mAllocatedBytes),
+				(double) inlined.mReplayDuration / instanced.mReplayDuration));
+
+		boolean failed = false;
+		if(symbolCompileCount != 1) {
+			System.out.println(String.format(Locale.US, "The symbol was compiled %d times instead of once: FAILED", symbolCompileCount));
+			failed = true;
+		}
+
+		final int[] instancedPixels = SVGSymbolInstancingBenchmark.render(instancedSVGDisplayList);
+		final int[] inlinedPixels = SVGSymbolInstancingBenchmark.render(SVGParser.parseSVGDisplayListFromString(inlinedSVG, null, null));
+		final int differentPixelCount = SVGSymbolInstancingBenchmark.countDifferentPixels(instancedPixels, inlinedPixels);
+		if(differentPixelCount > 0) {
+			System.out.println(String.format(Locale.US, "%d pixels differ between the instanced and the inlined document: FAILED", differentPixelCount));
+			failed = true;
+		}
+
+		if(failed) {
+			System.exit(1);
+		}
+	}
+
+	private static Result measure(final String pName, final String pSVG, final int pRuns) {
+		for(int i = 0; i < SVGSymbolInstancingBenchmark.WARMUP_RUNS; i++) {
+			SVGSymbolInstancingBenchmark.render(SVGParser.parseSVGDisplayListFromString(pSVG, null, null));
+		}
+
+		final Result result = new Result();
+		result.mParseDuration = Long.MAX_VALUE;
+		result.mAllocatedBytes = Long.MAX_VALUE;
+		result.mReplayDuration = Long.MAX_VALUE;
+		for(int run = 0; run < pRuns; run++) {
+			final long allocatedBytesBefore = SVGParserBenchmark.getAllocatedBytes();
+			final long parseStart = System.nanoTime();
+			final SVGDisplayList svgDisplayList = SVGParser.parseSVGDisplayListFromString(pSVG, null, null);
+			result.mParseDuration = Math.min(result.mParseDuration, System.nanoTime() - parseStart);
+			result.mAllocatedBytes = Math.min(result.mAllocatedBytes, SVGParserBenchmark.getAllocatedBytes() - allocatedBytesBefore);
+			result.mCommandCount = svgDisplayList.getCommandCount();
+
+			final long replayStart = System.nanoTime();
+			SVGSymbolInstancingBenchmark.render(svgDisplayList);
+			result.mReplayDuration = Math.min(result.mReplayDuration, System.nanoTime() - replayStart);
+		}
+
+		System.out.println(String.format(Locale.US, "%-10s %11d %10.2f %14.2f %10d %11.2f", pName, pSVG.length(), result.mParseDuration / 1e6, result.mAllocatedBytes / (double) (1 << 20), result.mCommandCount, result.mReplayDuration / 1e6));
+		return result;
+	}
+
+	private static int[] render(final SVGDisplayList pSVGDisplayList) {
+		final SVGRasterBackend svgRasterBackend = new SVGRasterBackend(1);
+		pSVGDisplayList.replay(svgRasterBackend);
+		return svgRasterBackend.getPixels();
+	}
+
+	private static int countDifferentPixels(final int[] pPixelsA, final int[] pPixelsB) {
+		int differentPixelCount = 0;
+		for(int i = 0; i < pPixelsA.length; i++) {
+			final int pixelA = pPixelsA[i];
+			final int pixelB = pPixelsB[i];
+			for(int shift = 0; shift < 32; shift += 8) {
+				if(Math.abs(((pixelA >>> shift) & 0xFF) - ((pixelB >>> shift) & 0xFF)) > SVGSymbolInstancingBenchmark.PIXEL_TOLERANCE) {
+					differentPixelCount++;
+					break;
+				}
+			}
+		}
+		return differentPixelCount;
+	}
+
+	/**
+	 * @param pInstanced <code>true</code> to draw every instance with a <code>&lt;use&gt;</code> of one <code>&lt;symbol&gt;</code>, <code>false</code> to write out the content of the symbol for every instance.
+	 */
+	static String generateSVG(final int pInstanceCount, final boolean pInstanced) {
+		final int cellSize = SVGSymbolInstancingBenchmark.CELL_SIZE;
+		final int columns = SVGSymbolInstancingBenchmark.COLUMNS;
+		final int rows = (pInstanceCount + columns - 1) / columns;
+
+		final StringBuilder stringBuilder = new StringBuilder(pInstanceCount * ((pInstanced) ? 64 : 320));
+		stringBuilder.append("<svg xmlns=\"http://www.w3.org/2000/svg\" xmlns:xlink=\"http://www.w3.org/1999/xlink\" width=\"").append(columns * cellSize).append("\" height=\"").append(rows * cellSize).append("\">\n");
+		if(pInstanced) {
+			stringBuilder.append("<symbol id=\"icon\" viewBox=\"0 0 ").append(2 * cellSize).append(' ').append(2 * cellSize).append("\">").append(SVGSymbolInstancingBenchmark.SYMBOL_CONTENT).append("</symbol>\n");
+		}
+		for(int i = 0; i < pInstanceCount; i++) {
+			final int x = (i % columns) * cellSize;
+			final int y = (i / columns) * cellSize;
+			if(pInstanced) {
+				stringBuilder.append("<use xlink:href=\"#icon\" x=\"").append(x).append("\" y=\"").append(y).append("\" width=\"").append(cellSize).append("\" height=\"").append(cellSize).append("\"/>\n");
+			} else {
+				stringBuilder.append("<g transform=\"matrix(0.5 0 0 0.5 ").append(x).append(' ').append(y).append(")\">").append(SVGSymbolInstancingBenchmark.SYMBOL_CONTENT).append("</g>\n");
+			}
+		}
+		stringBuilder.append("</svg>\n");
+		return stringBuilder.toString();
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+
+	private static class Result {
+		// ===========================================================
+		// Constants
+		// ===========================================================
+
+		// ===========================================================
+		// Fields
+		// ===========================================================
+
+		private long mParseDuration;
+		private long mAllocatedBytes;
+		private int mCommandCount;
+		private long mReplayDuration;
+
+		// ===========================================================
+		// Constructors
+		// ===========================================================
+
+		// ===========================================================
+		// Getter & Setter
+		// ===========================================================
+
+		// ===========================================================
+		// Methods for/from SuperClass/Interfaces
+		// ===========================================================
+
+		// ===========================================================
+		// Methods
+		// ===========================================================
+
+		// ===========================================================
+		// Inner and Anonymous Classes
+		// ===========================================================
+	}
+}
@@ -1,319 +1,925 @@
-package org.anddev.andengine.extension.svg;
-
-import java.util.Stack;
-
-import org.anddev.andengine.extension.svg.adt.ISVGColorMapper;
-import org.anddev.andengine.extension.svg.adt.SVGGradient;
-import org.anddev.andengine.extension.svg.adt.SVGGradient.SVGGradientStop;
-import org.anddev.andengine.extension.svg.adt.SVGGroup;
-import org.anddev.andengine.extension.svg.adt.SVGPaint;
-import org.anddev.andengine.extension.svg.adt.SVGProperties;
-import org.anddev.andengine.extension.svg.adt.filter.SVGFilter;
-import org.anddev.andengine.extension.svg.adt.filter.element.ISVGFilterElement;
-import org.anddev.andengine.extension.svg.util.SAXHelper;
-import org.anddev.andengine.extension.svg.util.SVGCircleParser;
-import org.anddev.andengine.extension.svg.util.SVGEllipseParser;
-import org.anddev.andengine.extension.svg.util.SVGLineParser;
-import org.anddev.andengine.extension.svg.util.SVGPathParser;
-import org.anddev.andengine.extension.svg.util.SVGPolygonParser;
-import org.anddev.andengine.extension.svg.util.SVGPolylineParser;
-import org.anddev.andengine.extension.svg.util.SVGRectParser;
-import org.anddev.andengine.extension.svg.util.SVGTransformParser;
-import org.anddev.andengine.extension.svg.util.constants.ISVGConstants;
-import org.anddev.andengine.util.Debug;
-import org.xml.sax.Attributes;
-import org.xml.sax.SAXException;
-import org.xml.sax.helpers.DefaultHandler;
-
-import android.graphics.Canvas;
-import android.graphics.Matrix;
-import android.graphics.Picture;
-import android.graphics.RectF;
-
-
-/**
- * @author Larva Labs, LLC
- * (c) 2010 Nicolas Gramlich 
- * (c) 2011 Zynga Inc.
- * 
- * @author Nicolas Gramlich
- * @since 16:50:02 - 21.05.2011
- */
-public class SVGHandler extends DefaultHandler implements ISVGConstants {
-	// ===========================================================
-	// Constants
-	// ===========================================================
-
-	// ===========================================================
-	// Fields
-	// ===========================================================
-
-	private Canvas mCanvas;
-	private final Picture mPicture;
-	private final SVGPaint mSVGPaint;
-
-	private boolean mBoundsMode;
-	private RectF mBounds;
-
-	private final Stack<SVGGroup> mSVGGroupStack = new Stack<SVGGroup>();
-	private final SVGPathParser mSVGPathParser = new SVGPathParser();
-
-	private SVGGradient mCurrentSVGGradient;
-	private SVGFilter mCurrentSVGFilter;
-
-	private boolean mHidden;
-
-	/** Multi purpose dummy rectangle. */
-	private final RectF mRect = new RectF();
-
-	// ===========================================================
-	// Constructors
-	// ===========================================================
-
-	public SVGHandler(final Picture pPicture, final ISVGColorMapper pSVGColorMapper) {
-		this.mPicture = pPicture;
-		this.mSVGPaint = new SVGPaint(pSVGColorMapper);
-	}
-
-	// ===========================================================
-	// Getter & Setter
-	// ===========================================================
-
-	public RectF getBounds() {
-		return this.mBounds;
-	}
-
-	public RectF getComputedBounds() {
-		return this.mSVGPaint.getComputedBounds();
-	}
-
-	// ===========================================================
-	// Methods for/from SuperClass/Interfaces
-	// ===========================================================
-
-	@Override
-	public void startElement(final String pNamespace, final String pLocalName, final String pQualifiedName, final Attributes pAttributes) throws SAXException {
-		/* Ignore everything but rectangles in bounds mode. */
-		if (this.mBoundsMode) {
-			this.parseBounds(pLocalName, pAttributes);
-			return;
-		}
-		if (pLocalName.equals(TAG_SVG)) {
-			this.parseSVG(pAttributes);
-		} else if(pLocalName.equals(TAG_DEFS)) {
-			// Ignore
-		} else if(pLocalName.equals(TAG_GROUP)) {
-			this.parseGroup(pAttributes);
-		} else if(pLocalName.equals(TAG_LINEARGRADIENT)) {
-			this.parseLinearGradient(pAttributes);
-		}  else if(pLocalName.equals(TAG_RADIALGRADIENT)) {
-			this.parseRadialGradient(pAttributes);
-		} else if(pLocalName.equals(TAG_STOP)) {
-			this.parseGradientStop(pAttributes);
-		} else if(pLocalName.equals(TAG_FILTER)) {
-			this.parseFilter(pAttributes);
-		} else if(pLocalName.equals(TAG_FILTER_ELEMENT_FEGAUSSIANBLUR)) {
-			this.parseFilterElementGaussianBlur(pAttributes);
-		} else if(!this.mHidden) {
-			if(pLocalName.equals(TAG_RECTANGLE)) {
-				this.parseRect(pAttributes);
-			} else if(pLocalName.equals(TAG_LINE)) {
-				this.parseLine(pAttributes);
-			} else if(pLocalName.equals(TAG_CIRCLE)) {
-				this.parseCircle(pAttributes);
-			} else if(pLocalName.equals(TAG_ELLIPSE)) {
-				this.parseEllipse(pAttributes);
-			} else if(pLocalName.equals(TAG_POLYLINE)) {
-				this.parsePolyline(pAttributes);
-			} else if(pLocalName.equals(TAG_POLYGON)) {
-				this.parsePolygon(pAttributes);
-			} else if(pLocalName.equals(TAG_PATH)) {
-				this.parsePath(pAttributes);
-			} else {
-				Debug.d("Unexpected SVG tag: '" + pLocalName + "'.");
-			}
-		} else {
-			Debug.d("Unexpected SVG tag: '" + pLocalName + "'.");
-		}
-	}
-
-	@Override
-	public void endElement(final String pNamespace, final String pLocalName, final String pQualifiedName) throws SAXException {
-		if (pLocalName.equals(TAG_SVG)) {
-			this.mPicture.endRecording();
-		} else if (pLocalName.equals(TAG_GROUP)) {
-			this.parseGroupEnd();
-		}
-	}
-
-	// ===========================================================
-	// Methods
-	// ===========================================================
-
-	private void parseSVG(final Attributes pAttributes) {
-		final int width = (int) Math.ceil(SAXHelper.getFloatAttribute(pAttributes, ATTRIBUTE_WIDTH, 0f));
-		final int height = (int) Math.ceil(SAXHelper.getFloatAttribute(pAttributes, ATTRIBUTE_HEIGHT, 0f));
-		this.mCanvas = this.mPicture.beginRecording(width, height);
-	}
-
-	private void parseBounds(final String pLocalName, final Attributes pAttributes) {
-		if (pLocalName.equals(TAG_RECTANGLE)) {
-			final float x = SAXHelper.getFloatAttribute(pAttributes, ATTRIBUTE_X, 0f);
-			final float y = SAXHelper.getFloatAttribute(pAttributes, ATTRIBUTE_Y, 0f);
-			final float width = SAXHelper.getFloatAttribute(pAttributes, ATTRIBUTE_WIDTH, 0f);
-			final float height = SAXHelper.getFloatAttribute(pAttributes, ATTRIBUTE_HEIGHT, 0f);
-			this.mBounds = new RectF(x, y, x + width, y + height);
-		}
-	}
-
-	private void parseFilter(final Attributes pAttributes) {
-		this.mCurrentSVGFilter = this.mSVGPaint.parseFilter(pAttributes);
-	}
-
-	private void parseFilterElementGaussianBlur(final Attributes pAttributes) {
-		final ISVGFilterElement svgFilterElement = this.mSVGPaint.parseFilterElementGaussianBlur(pAttributes);
-		this.mCurrentSVGFilter.addFilterElement(svgFilterElement);
-	}
-
-	private void parseLinearGradient(final Attributes pAttributes) {
-		this.mCurrentSVGGradient = this.mSVGPaint.parseGradient(pAttributes, true);
-	}
-
-	private void parseRadialGradient(final Attributes pAttributes) {
-		this.mCurrentSVGGradient = this.mSVGPaint.parseGradient(pAttributes, false);
-	}
-
-	private void parseGradientStop(final Attributes pAttributes) {
-		final SVGGradientStop svgGradientStop = this.mSVGPaint.parseGradientStop(this.getSVGPropertiesFromAttributes(pAttributes));
-		this.mCurrentSVGGradient.addSVGGradientStop(svgGradientStop);
-	}
-
-	private void parseGroup(final Attributes pAttributes) {
-		/* Check to see if this is the "bounds" layer. */
-		if ("bounds".equals(SAXHelper.getStringAttribute(pAttributes, ATTRIBUTE_ID))) {
-			this.mBoundsMode = true;
-		}
-
-		final SVGGroup parentSVGGroup = (this.mSVGGroupStack.size() > 0) ? this.mSVGGroupStack.peek() : null;
-		final boolean hasTransform = this.pushTransform(pAttributes);
-
-		this.mSVGGroupStack.push(new SVGGroup(parentSVGGroup, this.getSVGPropertiesFromAttributes(pAttributes, true), hasTransform));
-
-		this.updateHidden();
-	}
-
-	private void parseGroupEnd() {
-		if (this.mBoundsMode) {
-			this.mBoundsMode = false;
-		}
-
-		/* Pop group transform if there was one pushed. */
-		if(this.mSVGGroupStack.pop().hasTransform()) {
-			this.popTransform();
-		}
-		this.updateHidden();
-	}
-
-	private void updateHidden() {
-		if(this.mSVGGroupStack.size() == 0) {
-			this.mHidden = false;
-		} else {
-			this.mSVGGroupStack.peek().isHidden();
-		}
-	}
-
-	private void parsePath(final Attributes pAttributes) {
-		final SVGProperties svgProperties = this.getSVGPropertiesFromAttributes(pAttributes);
-		final boolean pushed = this.pushTransform(pAttributes);
-		this.mSVGPathParser.parse(svgProperties, this.mCanvas, this.mSVGPaint);
-		if(pushed) {
-			this.popTransform();
-		}
-	}
-
-	private void parsePolygon(final Attributes pAttributes) {
-		final SVGProperties svgProperties = this.getSVGPropertiesFromAttributes(pAttributes);
-		final boolean pushed = this.pushTransform(pAttributes);
-		SVGPolygonParser.parse(svgProperties, this.mCanvas, this.mSVGPaint);
-		if(pushed) {
-			this.popTransform();
-		}
-	}
-
-	private void parsePolyline(final Attributes pAttributes) {
-		final SVGProperties svgProperties = this.getSVGPropertiesFromAttributes(pAttributes);
-		final boolean pushed = this.pushTransform(pAttributes);
-		SVGPolylineParser.parse(svgProperties, this.mCanvas, this.mSVGPaint);
-		if(pushed) {
-			this.popTransform();
-		}
-	}
-
-	private void parseEllipse(final Attributes pAttributes) {
-		final SVGProperties svgProperties = this.getSVGPropertiesFromAttributes(pAttributes);
-		final boolean pushed = this.pushTransform(pAttributes);
-		SVGEllipseParser.parse(svgProperties, this.mCanvas, this.mSVGPaint, this.mRect);
-		if(pushed) {
-			this.popTransform();
-		}
-	}
-
-	private void parseCircle(final Attributes pAttributes) {
-		final SVGProperties svgProperties = this.getSVGPropertiesFromAttributes(pAttributes);
-		final boolean pushed = this.pushTransform(pAttributes);
-		SVGCircleParser.parse(svgProperties, this.mCanvas, this.mSVGPaint);
-		if(pushed) {
-			this.popTransform();
-		}
-	}
-
-	private void parseLine(final Attributes pAttributes) {
-		final SVGProperties svgProperties = this.getSVGPropertiesFromAttributes(pAttributes);
-		final boolean pushed = this.pushTransform(pAttributes);
-		SVGLineParser.parse(svgProperties, this.mCanvas, this.mSVGPaint);
-		if(pushed) {
-			this.popTransform();
-		}
-	}
-
-	private void parseRect(final Attributes pAttributes) {
-		final SVGProperties svgProperties = this.getSVGPropertiesFromAttributes(pAttributes);
-		final boolean pushed = this.pushTransform(pAttributes);
-		SVGRectParser.parse(svgProperties, this.mCanvas, this.mSVGPaint, this.mRect);
-		if(pushed) {
-			this.popTransform();
-		}
-	}
-
-	private SVGProperties getSVGPropertiesFromAttributes(final Attributes pAttributes) {
-		return this.getSVGPropertiesFromAttributes(pAttributes, false);
-	}
-
-	private SVGProperties getSVGPropertiesFromAttributes(final Attributes pAttributes, final boolean pDeepCopy) {
-		if(this.mSVGGroupStack.size() > 0) {
-			return new SVGProperties(this.mSVGGroupStack.peek().getSVGProperties(), pAttributes, pDeepCopy);
-		} else {
-			return new SVGProperties(null, pAttributes, pDeepCopy);
-		}
-	}
-
-	private boolean pushTransform(final Attributes pAttributes) {
-		final String transform = SAXHelper.getStringAttribute(pAttributes, ATTRIBUTE_TRANSFORM);
-		if(transform == null) {
-			return false;
-		} else {
-			final Matrix matrix = SVGTransformParser.parseTransform(transform);
-			this.mCanvas.save();
-			this.mCanvas.concat(matrix);
-			return true;
-		}
-	}
-
-	private void popTransform() {
-		this.mCanvas.restore();
-	}
-
-	// ===========================================================
-	// Inner and Anonymous Classes
-	// ===========================================================
+package org.anddev.andengine.extension.svg;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Stack;
+
+import org.anddev.andengine.extension.svg.adt.ISVGColorMapper;
+import org.anddev.andengine.extension.svg.adt.ISVGParseListener;
+import org.anddev.andengine.extension.svg.adt.SVGGradient;
+import org.anddev.andengine.extension.svg.adt.SVGGradient.SVGGradientStop;
+import org.anddev.andengine.extension.svg.adt.SVGGroup;
+import org.anddev.andengine.extension.svg.adt.SVGMatrix;
+import org.anddev.andengine.extension.svg.adt.SVGOptions;
+import org.anddev.andengine.extension.svg.adt.SVGPaint;
+import org.anddev.andengine.extension.svg.adt.SVGPaintState;
+import org.anddev.andengine.extension.svg.adt.SVGPath;
+import org.anddev.andengine.extension.svg.adt.SVGProperties;
+import org.anddev.andengine.extension.svg.adt.SVGRect;
+import org.anddev.andengine.extension.svg.adt.SVGSymbol;
+import org.anddev.andengine.extension.svg.adt.SVGSymbol.CompiledSVGSymbol;
+import org.anddev.andengine.extension.svg.adt.filter.SVGFilter;
+import org.anddev.andengine.extension.svg.adt.filter.element.ISVGFilterElement;
+import org.anddev.andengine.extension.svg.backend.ISVGBackend;
+import org.anddev.andengine.extension.svg.exception.SVGParseException;
+import org.anddev.andengine.extension.svg.metrics.SVGMetrics;
+import org.anddev.andengine.extension.svg.metrics.SVGTracer;
+import org.anddev.andengine.extension.svg.util.SAXHelper;
+import org.anddev.andengine.extension.svg.util.SVGCircleParser;
+import org.anddev.andengine.extension.svg.util.SVGEllipseParser;
+import org.anddev.andengine.extension.svg.util.SVGLineParser;
+import org.anddev.andengine.extension.svg.util.SVGParserUtils;
+import org.anddev.andengine.extension.svg.util.SVGPathParser;
+import org.anddev.andengine.extension.svg.util.SVGPolygonParser;
+import org.anddev.andengine.extension.svg.util.SVGPolylineParser;
+import org.anddev.andengine.extension.svg.util.SVGRectParser;
+import org.anddev.andengine.extension.svg.util.SVGTransformParser;
+import org.anddev.andengine.extension.svg.util.constants.ISVGConstants;
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+
+/**
+ * Parses the SVG document and draws its elements through an {@link ISVGBackend}, without depending on any Android class itself.
+ *
+ * @author Larva Labs, LLC
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 16:50:02 - 21.05.2011
+ */
+public class SVGHandler extends DefaultHandler implements ISVGConstants {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	/** The maximum number of paths merged into one draw call, which bounds the cost of the intersection tests. */
+	private static final int BATCH_SIZE_MAXIMUM = 64;
+
+	/** The elements that are interpreted, every other one is ignored. */
+	private static final HashSet<String> KNOWN_TAGS = new HashSet<String>(Arrays.asList(TAG_SVG, TAG_DEFS, TAG_LINEARGRADIENT, TAG_RADIALGRADIENT, TAG_FILTER, TAG_FILTER_ELEMENT_FEGAUSSIANBLUR, TAG_STOP, TAG_GROUP, TAG_SYMBOL, TAG_USE, TAG_CIRCLE, TAG_ELLIPSE, TAG_LINE, TAG_PATH, TAG_POLYGON, TAG_POLYLINE, TAG_RECTANGLE));
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private final ISVGBackend mSVGBackend;
+	private final SVGPaint mSVGPaint;
+	private final SVGOptions mSVGOptions;
+
+	/** The size of the document, which recordings of compiled {@link SVGSymbol}s get as well. */
+	private int mWidth;
+	private int mHeight;
+
+	private boolean mBoundsMode;
+	private SVGRect mBounds;
+
+	private final Stack<SVGGroup> mSVGGroupStack = new Stack<SVGGroup>();
+	private final SVGPathParser mSVGPathParser = new SVGPathParser();
+
+	private SVGGradient mCurrentSVGGradient;
+	private SVGFilter mCurrentSVGFilter;
+
+	private boolean mHidden;
+
+	/** The nesting depth of <code>&lt;defs&gt;</code> and <code>&lt;symbol&gt;</code> elements, whose content is not rendered directly. */
+	private int mDefinitionDepth;
+	private final HashMap<String, SVGSymbol> mSVGSymbolMap = new HashMap<String, SVGSymbol>();
+	private final ArrayList<SVGSymbol> mRecordingSVGSymbols = new ArrayList<SVGSymbol>();
+	private final HashSet<String> mCompilingSVGSymbolIDs = new HashSet<String>();
+
+	/** Multi purpose dummy rectangle. */
+	private final SVGRect mRect = new SVGRect();
+	/** Multi purpose dummy matrix. */
+	private final SVGMatrix mMatrix = new SVGMatrix();
+
+	/** The transform of the current element. Only recorded into the backend, when transforms are not folded into the geometry (see {@link SVGOptions#isTransformFolding()}). */
+	private final SVGMatrix mTransform = new SVGMatrix();
+	private final Stack<SVGMatrix> mTransformStack = new Stack<SVGMatrix>();
+
+	/** The scale from document units to pixels of the target size (see {@link SVGOptions#setTargetSize(int, int)}). */
+	private float mScale = 1;
+
+	/** The consecutive paths that are going to be merged into a single draw call (see {@link SVGOptions#isPathMerging()}). */
+	private final SVGPath mBatchPath = new SVGPath();
+	private final SVGPaintState mBatchSVGPaintState = new SVGPaintState();
+	private SVGGradient mBatchSVGGradient;
+	private SVGFilter mBatchSVGFilter;
+	/** The transform that was folded into the batched paths, or <code>null</code>. */
+	private final SVGMatrix mBatchTransform = new SVGMatrix();
+	private boolean mBatchTransformed;
+	private final ArrayList<SVGRect> mBatchBounds = new ArrayList<SVGRect>();
+	private int mBatchSize;
+	private int mDrawCount;
+	private int mEliminatedDrawCount;
+	private int mMaximumGroupDepth;
+
+	/** Gets told what is parsed and how long it takes, or <code>null</code>, in which case nothing is counted or timed. */
+	private final ISVGParseListener mSVGParseListener;
+	/** The nanoseconds spent in each phase, indexed by the <code>PHASE_*</code> constants of {@link ISVGParseListener}. */
+	private final long[] mPhaseDurations;
+	private long mDocumentStartTime;
+	/** The time spent in the callbacks of the XML parser, which is everything but the tokenization. */
+	private long mCallbackDuration;
+	/** How deeply the callbacks are nested, which they are while a {@link SVGSymbol} is compiled. */
+	private int mCallbackDepth;
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	public SVGHandler(final ISVGBackend pSVGBackend, final ISVGColorMapper pSVGColorMapper) {
+		this(pSVGBackend, pSVGColorMapper, null);
+	}
+
+	public SVGHandler(final ISVGBackend pSVGBackend, final ISVGColorMapper pSVGColorMapper, final SVGOptions pSVGOptions) {
+		this.mSVGBackend = pSVGBackend;
+		this.mSVGPaint = new SVGPaint(pSVGColorMapper);
+		this.mSVGOptions = (pSVGOptions != null) ? pSVGOptions : new SVGOptions();
+
+		this.mSVGParseListener = this.mSVGOptions.getSVGParseListener();
+		this.mPhaseDurations = (this.mSVGParseListener != null) ? new long[ISVGParseListener.PHASE_COUNT] : null;
+		this.mSVGPathParser.setSVGParseListener(this.mSVGParseListener);
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	/**
+	 * @return the bounds of the hidden "bounds" layer, or <code>null</code> if there was none.
+	 */
+	public SVGRect getBounds() {
+		return this.mBounds;
+	}
+
+	/**
+	 * @return undefined (see {@link SVGRect#isDefined()}) if nothing was drawn.
+	 */
+	public SVGRect getComputedBounds() {
+		return this.mSVGPaint.getComputedBounds();
+	}
+
+	public int getDrawCount() {
+		return this.mDrawCount;
+	}
+
+	public int getEliminatedDrawCount() {
+		return this.mEliminatedDrawCount;
+	}
+
+	/**
+	 * @return the deepest nesting of groups, counting the instances of symbols as groups as well.
+	 */
+	public int getMaximumGroupDepth() {
+		return this.mMaximumGroupDepth;
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	@Override
+	public void startDocument() throws SAXException {
+		if(this.mSVGParseListener != null) {
+			Arrays.fill(this.mPhaseDurations, 0);
+			this.mCallbackDuration = 0;
+			this.mDocumentStartTime = System.nanoTime();
+		}
+	}
+
+	@Override
+	public void endDocument() throws SAXException {
+		if(this.mSVGParseListener != null) {
+			final long[] phaseDurations = this.mPhaseDurations;
+			phaseDurations[ISVGParseListener.PHASE_TOKENIZATION] = System.nanoTime() - this.mDocumentStartTime - this.mCallbackDuration;
+			/* Whatever the callbacks did besides the measured phases. */
+			phaseDurations[ISVGParseListener.PHASE_DRAWING] = this.mCallbackDuration - phaseDurations[ISVGParseListener.PHASE_STYLE_RESOLUTION] - phaseDurations[ISVGParseListener.PHASE_PATH_PARSING] - phaseDurations[ISVGParseListener.PHASE_PAINT_SETUP];
+			this.mSVGParseListener.onParseFinished(phaseDurations);
+		}
+	}
+
+	@Override
+	public void startElement(final String pNamespace, final String pLocalName, final String pQualifiedName, final Attributes pAttributes) throws SAXException {
+		if(this.mSVGParseListener == null) {
+			this.onStartElement(pLocalName, pAttributes);
+		} else {
+			if(this.mCallbackDepth == 0) {
+				this.mSVGParseListener.onElement(pLocalName, SVGHandler.KNOWN_TAGS.contains(pLocalName));
+			}
+			final long startTime = this.beginCallback();
+			this.onStartElement(pLocalName, pAttributes);
+			this.endCallback(startTime);
+		}
+	}
+
+	@Override
+	public void endElement(final String pNamespace, final String pLocalName, final String pQualifiedName) throws SAXException {
+		if(this.mSVGParseListener == null) {
+			this.onEndElement(pLocalName);
+		} else {
+			final long startTime = this.beginCallback();
+			this.onEndElement(pLocalName);
+			this.endCallback(startTime);
+		}
+	}
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	private void onStartElement(final String pLocalName, final Attributes pAttributes) throws SAXException {
+		/* Ignore everything but rectangles in bounds mode. */
+		if (this.mBoundsMode) {
+			this.parseBounds(pLocalName, pAttributes);
+			return;
+		}
+		/* Gradients and filters are parsed where they are defined, even inside of definitions, so they are never recorded into a SVGSymbol. */
+		if(pLocalName.equals(TAG_LINEARGRADIENT)) {
+			this.parseLinearGradient(pAttributes);
+		}  else if(pLocalName.equals(TAG_RADIALGRADIENT)) {
+			this.parseRadialGradient(pAttributes);
+		} else if(pLocalName.equals(TAG_STOP)) {
+			this.parseGradientStop(pAttributes);
+		} else if(pLocalName.equals(TAG_FILTER)) {
+			this.parseFilter(pAttributes);
+		} else if(pLocalName.equals(TAG_FILTER_ELEMENT_FEGAUSSIANBLUR)) {
+			this.parseFilterElementGaussianBlur(pAttributes);
+		} else if(pLocalName.equals(TAG_DEFS) || pLocalName.equals(TAG_SYMBOL)) {
+			this.mDefinitionDepth++;
+			this.recordStartElement(pLocalName, pAttributes);
+		} else if(this.mDefinitionDepth > 0) {
+			this.recordStartElement(pLocalName, pAttributes);
+		} else if (pLocalName.equals(TAG_SVG)) {
+			this.parseSVG(pAttributes);
+		} else if(pLocalName.equals(TAG_GROUP)) {
+			this.parseGroup(pAttributes);
+		} else if(!this.mHidden) {
+			if(pLocalName.equals(TAG_RECTANGLE)) {
+				this.parseRect(pAttributes);
+			} else if(pLocalName.equals(TAG_LINE)) {
+				this.parseLine(pAttributes);
+			} else if(pLocalName.equals(TAG_CIRCLE)) {
+				this.parseCircle(pAttributes);
+			} else if(pLocalName.equals(TAG_ELLIPSE)) {
+				this.parseEllipse(pAttributes);
+			} else if(pLocalName.equals(TAG_POLYLINE)) {
+				this.parsePolyline(pAttributes);
+			} else if(pLocalName.equals(TAG_POLYGON)) {
+				this.parsePolygon(pAttributes);
+			} else if(pLocalName.equals(TAG_PATH)) {
+				this.parsePath(pAttributes);
+			} else if(pLocalName.equals(TAG_USE)) {
+				this.parseUse(pAttributes);
+			}
+			/* Unknown elements are ignored, the ISVGParseListener was already told about them. */
+		}
+	}
+
+	private void onEndElement(final String pLocalName) throws SAXException {
+		if(this.mDefinitionDepth > 0) {
+			if(!this.isGradientOrFilterElement(pLocalName)) {
+				this.recordEndElement(pLocalName);
+				if(pLocalName.equals(TAG_DEFS) || pLocalName.equals(TAG_SYMBOL)) {
+					this.mDefinitionDepth--;
+				}
+			}
+		} else if (pLocalName.equals(TAG_SVG)) {
+			this.flushBatch();
+			this.mSVGBackend.end();
+		} else if (pLocalName.equals(TAG_GROUP)) {
+			this.parseGroupEnd();
+		}
+	}
+
+	private long beginCallback() {
+		this.mCallbackDepth++;
+		return System.nanoTime();
+	}
+
+	private void endCallback(final long pStartTime) {
+		this.mCallbackDepth--;
+		if(this.mCallbackDepth == 0) {
+			this.mCallbackDuration += System.nanoTime() - pStartTime;
+		}
+	}
+
+	/**
+	 * @return the start time of a phase, if phases are measured at all.
+	 */
+	private long beginPhase() {
+		return (this.mSVGParseListener != null) ? System.nanoTime() : 0;
+	}
+
+	/**
+	 * @param pPhase one of the <code>PHASE_*</code> constants of {@link ISVGParseListener}.
+	 */
+	private void endPhase(final int pPhase, final long pStartTime) {
+		if(this.mSVGParseListener != null) {
+			this.mPhaseDurations[pPhase] += System.nanoTime() - pStartTime;
+		}
+	}
+
+	private void parseSVG(final Attributes pAttributes) {
+		final int width = (int) Math.ceil(SAXHelper.getFloatAttribute(pAttributes, ATTRIBUTE_WIDTH, 0f));
+		final int height = (int) Math.ceil(SAXHelper.getFloatAttribute(pAttributes, ATTRIBUTE_HEIGHT, 0f));
+		this.mWidth = width;
+		this.mHeight = height;
+		this.mSVGBackend.begin(width, height);
+
+		final SVGOptions svgOptions = this.mSVGOptions;
+		if(svgOptions.getTargetWidth() > 0 && svgOptions.getTargetHeight() > 0 && width > 0 && height > 0) {
+			/* Keep the detail needed for the larger of both scales. */
+			this.mScale = Math.max((float) svgOptions.getTargetWidth() / width, (float) svgOptions.getTargetHeight() / height);
+		} else {
+			this.mScale = svgOptions.getTargetScale();
+		}
+	}
+
+	private void parseBounds(final String pLocalName, final Attributes pAttributes) {
+		if (pLocalName.equals(TAG_RECTANGLE)) {
+			final float x = SAXHelper.getFloatAttribute(pAttributes, ATTRIBUTE_X, 0f);
+			final float y = SAXHelper.getFloatAttribute(pAttributes, ATTRIBUTE_Y, 0f);
+			final float width = SAXHelper.getFloatAttribute(pAttributes, ATTRIBUTE_WIDTH, 0f);
+			final float height = SAXHelper.getFloatAttribute(pAttributes, ATTRIBUTE_HEIGHT, 0f);
+			this.mBounds = new SVGRect(x, y, x + width, y + height);
+		}
+	}
+
+	private boolean isGradientOrFilterElement(final String pLocalName) {
+		return pLocalName.equals(TAG_LINEARGRADIENT) || pLocalName.equals(TAG_RADIALGRADIENT) || pLocalName.equals(TAG_STOP) || pLocalName.equals(TAG_FILTER) || pLocalName.equals(TAG_FILTER_ELEMENT_FEGAUSSIANBLUR);
+	}
+
+	/**
+	 * Records the element into all {@link SVGSymbol}s currently being recorded
+	 * and starts the recording of a new {@link SVGSymbol}, if the element can be referenced by an id.
+	 */
+	private void recordStartElement(final String pLocalName, final Attributes pAttributes) {
+		final ArrayList<SVGSymbol> recordingSVGSymbols = this.mRecordingSVGSymbols;
+		for(int i = recordingSVGSymbols.size() - 1; i >= 0; i--) {
+			recordingSVGSymbols.get(i).recordStartElement(pLocalName, pAttributes);
+		}
+
+		if(!pLocalName.equals(TAG_DEFS)) {
+			final String id = SAXHelper.getStringAttribute(pAttributes, ATTRIBUTE_ID);
+			if(id != null) {
+				recordingSVGSymbols.add(new SVGSymbol(id, pLocalName, pAttributes));
+			}
+		}
+	}
+
+	private void recordEndElement(final String pLocalName) {
+		final ArrayList<SVGSymbol> recordingSVGSymbols = this.mRecordingSVGSymbols;
+		for(int i = recordingSVGSymbols.size() - 1; i >= 0; i--) {
+			final SVGSymbol svgSymbol = recordingSVGSymbols.get(i);
+			if(svgSymbol.recordEndElement(pLocalName)) {
+				recordingSVGSymbols.remove(i);
+				this.mSVGSymbolMap.put(svgSymbol.getID(), svgSymbol);
+			}
+		}
+	}
+
+	private void parseUse(final Attributes pAttributes) throws SAXException {
+		final String href = SVGParserUtils.parseHref(pAttributes);
+		final SVGSymbol svgSymbol = (href == null) ? null : this.mSVGSymbolMap.get(href);
+		if(svgSymbol == null) {
+			if(this.mSVGParseListener != null) {
+				this.mSVGParseListener.onWarning("Could not resolve href: '" + href + "' of <" + TAG_USE + ">.");
+			}
+			return;
+		}
+
+		final SVGProperties svgProperties = this.getSVGPropertiesFromAttributes(pAttributes, true);
+		if(VALUE_NONE.equals(svgProperties.getStringProperty(ATTRIBUTE_DISPLAY, false))) {
+			return;
+		}
+
+		final String inheritedPropertiesKey = SVGSymbol.getInheritedPropertiesKey(svgProperties);
+		final SVGTracer svgTracer = SVGTracer.getSVGTracer();
+		if(svgTracer != null) {
+			svgTracer.begin(SVGTracer.CATEGORY_CACHE, "symbol", svgSymbol.getID());
+		}
+		CompiledSVGSymbol compiledSVGSymbol = svgSymbol.getCompiledSVGSymbol(inheritedPropertiesKey);
+		if(compiledSVGSymbol == null) {
+			SVGMetrics.SYMBOL_CACHE.onMiss();
+			compiledSVGSymbol = this.compileSVGSymbol(svgSymbol, svgProperties);
+			svgSymbol.putCompiledSVGSymbol(inheritedPropertiesKey, compiledSVGSymbol);
+			if(svgTracer != null) {
+				svgTracer.end(SVGTracer.CATEGORY_CACHE, "symbol", SVGTracer.RESULT_MISS);
+			}
+		} else {
+			SVGMetrics.SYMBOL_CACHE.onHit();
+			if(svgTracer != null) {
+				svgTracer.end(SVGTracer.CATEGORY_CACHE, "symbol", SVGTracer.RESULT_HIT);
+			}
+		}
+
+		/* The transform of a <use> is followed by an additional translation of x/y. */
+		final SVGMatrix matrix = this.mMatrix;
+		final String transform = SAXHelper.getStringAttribute(pAttributes, ATTRIBUTE_TRANSFORM);
+		if(transform == null) {
+			matrix.reset();
+		} else {
+			final long startTime = this.beginPhase();
+			matrix.set(SVGTransformParser.parseTransform(transform));
+			this.endPhase(ISVGParseListener.PHASE_PATH_PARSING, startTime);
+			if(this.mSVGParseListener != null) {
+				this.mSVGParseListener.onTransform();
+			}
+		}
+		matrix.preTranslate(SAXHelper.getFloatAttribute(pAttributes, ATTRIBUTE_X, 0f), SAXHelper.getFloatAttribute(pAttributes, ATTRIBUTE_Y, 0f));
+		/* Without a width or height, the viewport of a <symbol> is as large as the document. */
+		svgSymbol.preConcatViewBoxTransform(matrix, SAXHelper.getFloatAttribute(pAttributes, ATTRIBUTE_WIDTH, this.mWidth), SAXHelper.getFloatAttribute(pAttributes, ATTRIBUTE_HEIGHT, this.mHeight));
+		if(this.mSVGOptions.isTransformFolding()) {
+			matrix.postConcat(this.mTransform);
+		}
+
+		this.flushBatch();
+		final ISVGBackend svgBackend = this.mSVGBackend;
+		svgBackend.save();
+		svgBackend.concat(matrix);
+		svgBackend.drawRecording(compiledSVGSymbol.getRecording());
+		svgBackend.restore();
+
+		final SVGRect computedBounds = compiledSVGSymbol.getComputedBounds();
+		if(computedBounds.isDefined()) {
+			this.mRect.set(computedBounds);
+			matrix.mapRect(this.mRect);
+			this.mSVGPaint.ensureComputedBoundsInclude(this.mRect);
+		}
+	}
+
+	/**
+	 * Replays the recorded elements of the {@link SVGSymbol} into a recording of its own,
+	 * with the properties of the <code>&lt;use&gt;</code> element being inherited.
+	 */
+	private CompiledSVGSymbol compileSVGSymbol(final SVGSymbol pSVGSymbol, final SVGProperties pSVGProperties) throws SAXException {
+		final String id = pSVGSymbol.getID();
+		if(!this.mCompilingSVGSymbolIDs.add(id)) {
+			throw new SVGParseException("Cyclic <" + TAG_USE + "> reference of: '" + id + "'.");
+		}
+
+		this.flushBatch();
+		final SVGMatrix transform = new SVGMatrix(this.mTransform);
+		this.mTransform.reset();
+		final SVGRect computedBounds = this.mSVGPaint.getComputedBounds();
+		final SVGRect outerComputedBounds = new SVGRect(computedBounds);
+		computedBounds.setUndefined();
+
+		this.mSVGBackend.beginRecording(this.mWidth, this.mHeight);
+
+		final SVGGroup parentSVGGroup = (this.mSVGGroupStack.size() > 0) ? this.mSVGGroupStack.peek() : null;
+		this.mSVGGroupStack.push(new SVGGroup(parentSVGGroup, pSVGProperties, false));
+		this.mMaximumGroupDepth = Math.max(this.mMaximumGroupDepth, this.mSVGGroupStack.size());
+		this.updateHidden();
+
+		final int elementCount = pSVGSymbol.getElementCount();
+		final boolean symbol = pSVGSymbol.getElementName(0).equals(TAG_SYMBOL);
+		for(int i = 0; i < elementCount; i++) {
+			final String elementName = pSVGSymbol.getElementName(i);
+			final Attributes attributes = pSVGSymbol.getElementAttributes(i);
+			if(symbol && (i == 0 || i == elementCount - 1)) {
+				/* The <symbol> itself gets instantiated like a group. */
+				if(attributes != null) {
+					this.parseGroup(attributes);
+				} else {
+					this.parseGroupEnd();
+				}
+			} else if(attributes != null) {
+				this.startElement(null, elementName, elementName, attributes);
+			} else {
+				this.endElement(null, elementName, elementName);
+			}
+		}
+
+		this.mSVGGroupStack.pop();
+		this.updateHidden();
+
+		this.flushBatch();
+		final Object recording = this.mSVGBackend.endRecording();
+		this.mTransform.set(transform);
+
+		final CompiledSVGSymbol compiledSVGSymbol = new CompiledSVGSymbol(recording, new SVGRect(computedBounds));
+		computedBounds.set(outerComputedBounds);
+
+		this.mCompilingSVGSymbolIDs.remove(id);
+		return compiledSVGSymbol;
+	}
+
+	private void parseFilter(final Attributes pAttributes) {
+		final long startTime = this.beginPhase();
+		this.mCurrentSVGFilter = this.mSVGPaint.parseFilter(pAttributes);
+		this.endPhase(ISVGParseListener.PHASE_PAINT_SETUP, startTime);
+		if(this.mSVGParseListener != null) {
+			this.mSVGParseListener.onFilter();
+		}
+	}
+
+	private void parseFilterElementGaussianBlur(final Attributes pAttributes) {
+		final long startTime = this.beginPhase();
+		final ISVGFilterElement svgFilterElement = this.mSVGPaint.parseFilterElementGaussianBlur(pAttributes);
+		this.mCurrentSVGFilter.addFilterElement(svgFilterElement);
+		this.endPhase(ISVGParseListener.PHASE_PAINT_SETUP, startTime);
+	}
+
+	private void parseLinearGradient(final Attributes pAttributes) {
+		this.parseGradient(pAttributes, true);
+	}
+
+	private void parseRadialGradient(final Attributes pAttributes) {
+		this.parseGradient(pAttributes, false);
+	}
+
+	private void parseGradient(final Attributes pAttributes, final boolean pLinear) {
+		final long startTime = this.beginPhase();
+		this.mCurrentSVGGradient = this.mSVGPaint.parseGradient(pAttributes, pLinear);
+		this.endPhase(ISVGParseListener.PHASE_PAINT_SETUP, startTime);
+		if(this.mSVGParseListener != null) {
+			this.mSVGParseListener.onGradient(pLinear);
+		}
+	}
+
+	private void parseGradientStop(final Attributes pAttributes) {
+		final SVGProperties svgProperties = this.getSVGPropertiesFromAttributes(pAttributes);
+		final long startTime = this.beginPhase();
+		final SVGGradientStop svgGradientStop = this.mSVGPaint.parseGradientStop(svgProperties);
+		this.mCurrentSVGGradient.addSVGGradientStop(svgGradientStop);
+		this.endPhase(ISVGParseListener.PHASE_PAINT_SETUP, startTime);
+	}
+
+	private void parseGroup(final Attributes pAttributes) {
+		/* Check to see if this is the "bounds" layer. */
+		if ("bounds".equals(SAXHelper.getStringAttribute(pAttributes, ATTRIBUTE_ID))) {
+			this.mBoundsMode = true;
+		}
+
+		final SVGGroup parentSVGGroup = (this.mSVGGroupStack.size() > 0) ? this.mSVGGroupStack.peek() : null;
+		final boolean hasTransform = this.pushTransform(pAttributes);
+
+		this.mSVGGroupStack.push(new SVGGroup(parentSVGGroup, this.getSVGPropertiesFromAttributes(pAttributes, true), hasTransform));
+		this.mMaximumGroupDepth = Math.max(this.mMaximumGroupDepth, this.mSVGGroupStack.size());
+
+		this.updateHidden();
+	}
+
+	private void parseGroupEnd() {
+		if (this.mBoundsMode) {
+			this.mBoundsMode = false;
+		}
+
+		/* Pop group transform if there was one pushed. */
+		if(this.mSVGGroupStack.pop().hasTransform()) {
+			this.popTransform();
+		}
+		this.updateHidden();
+	}
+
+	private void updateHidden() {
+		if(this.mSVGGroupStack.size() == 0) {
+			this.mHidden = false;
+		} else {
+			this.mSVGGroupStack.peek().isHidden();
+		}
+	}
+
+	private void parsePath(final Attributes pAttributes) {
+		final SVGProperties svgProperties = this.getSVGPropertiesFromAttributes(pAttributes);
+		final boolean pushed = this.pushTransform(pAttributes);
+		if(this.mSVGOptions.getPathSimplificationTolerance() > 0) {
+			final float pixelScale = this.getPixelScale();
+			this.mSVGPathParser.setTolerance((pixelScale > 0) ? this.mSVGOptions.getPathSimplificationTolerance() / pixelScale : 0);
+		}
+		final long startTime = this.beginPhase();
+		final SVGPath svgPath = this.mSVGPathParser.parse(svgProperties);
+		this.endPhase(ISVGParseListener.PHASE_PATH_PARSING, startTime);
+		this.drawPath(svgProperties, svgPath, true);
+		if(pushed) {
+			this.popTransform();
+		}
+	}
+
+	private void parsePolygon(final Attributes pAttributes) {
+		final SVGProperties svgProperties = this.getSVGPropertiesFromAttributes(pAttributes);
+		final boolean pushed = this.pushTransform(pAttributes);
+		final long startTime = this.beginPhase();
+		final SVGPath svgPath = SVGPolygonParser.parsePath(svgProperties);
+		this.endPhase(ISVGParseListener.PHASE_PATH_PARSING, startTime);
+		this.drawPath(svgProperties, svgPath, true);
+		if(pushed) {
+			this.popTransform();
+		}
+	}
+
+	private void parsePolyline(final Attributes pAttributes) {
+		final SVGProperties svgProperties = this.getSVGPropertiesFromAttributes(pAttributes);
+		final boolean pushed = this.pushTransform(pAttributes);
+		final long startTime = this.beginPhase();
+		final SVGPath svgPath = SVGPolylineParser.parsePath(svgProperties);
+		this.endPhase(ISVGParseListener.PHASE_PATH_PARSING, startTime);
+		this.drawPath(svgProperties, svgPath, true);
+		if(pushed) {
+			this.popTransform();
+		}
+	}
+
+	private void parseEllipse(final Attributes pAttributes) {
+		final SVGProperties svgProperties = this.getSVGPropertiesFromAttributes(pAttributes);
+		final boolean pushed = this.pushTransform(pAttributes);
+		final long startTime = this.beginPhase();
+		final SVGPath svgPath = SVGEllipseParser.parsePath(svgProperties);
+		this.endPhase(ISVGParseListener.PHASE_PATH_PARSING, startTime);
+		this.drawPath(svgProperties, svgPath, true);
+		if(pushed) {
+			this.popTransform();
+		}
+	}
+
+	private void parseCircle(final Attributes pAttributes) {
+		final SVGProperties svgProperties = this.getSVGPropertiesFromAttributes(pAttributes);
+		final boolean pushed = this.pushTransform(pAttributes);
+		final long startTime = this.beginPhase();
+		final SVGPath svgPath = SVGCircleParser.parsePath(svgProperties);
+		this.endPhase(ISVGParseListener.PHASE_PATH_PARSING, startTime);
+		this.drawPath(svgProperties, svgPath, true);
+		if(pushed) {
+			this.popTransform();
+		}
+	}
+
+	private void parseLine(final Attributes pAttributes) {
+		final SVGProperties svgProperties = this.getSVGPropertiesFromAttributes(pAttributes);
+		final boolean pushed = this.pushTransform(pAttributes);
+		final long startTime = this.beginPhase();
+		final SVGPath svgPath = SVGLineParser.parsePath(svgProperties);
+		this.endPhase(ISVGParseListener.PHASE_PATH_PARSING, startTime);
+		this.drawPath(svgProperties, svgPath, false);
+		if(pushed) {
+			this.popTransform();
+		}
+	}
+
+	private void parseRect(final Attributes pAttributes) {
+		final SVGProperties svgProperties = this.getSVGPropertiesFromAttributes(pAttributes);
+		final boolean pushed = this.pushTransform(pAttributes);
+		final long startTime = this.beginPhase();
+		final SVGPath svgPath = SVGRectParser.parsePath(svgProperties);
+		this.endPhase(ISVGParseListener.PHASE_PATH_PARSING, startTime);
+		this.drawPath(svgProperties, svgPath, true);
+		if(pushed) {
+			this.popTransform();
+		}
+	}
+
+	/**
+	 * Draws the <code>pPath</code> of an element through the {@link ISVGBackend}.
+	 * When folding, the current transform is multiplied into its coordinates, its gradients and its stroke width.
+	 * Filters and strokes under a non-uniform scale can not be folded, so the transform of such elements gets recorded instead.
+	 *
+	 * @param pPath may be <code>null</code>, if the element had nothing to draw.
+	 * @param pFillable <code>false</code> if the element can only be stroked.
+	 */
+	private void drawPath(final SVGProperties pSVGProperties, final SVGPath pPath, final boolean pFillable) {
+		if(pPath == null) {
+			return;
+		}
+
+		if(this.mSVGOptions.getLevelOfDetailThreshold() > 0 && this.isBelowLevelOfDetail(pSVGProperties, pPath)) {
+			return;
+		}
+
+		final ISVGBackend svgBackend = this.mSVGBackend;
+		final SVGPaint svgPaint = this.mSVGPaint;
+		final SVGMatrix transform = this.mTransform;
+		final boolean fold = this.mSVGOptions.isTransformFolding() && !transform.isIdentity();
+		final boolean recordTransform = fold && (pSVGProperties.getStringProperty(ATTRIBUTE_FILTER) != null || (this.isStroked(pSVGProperties) && !transform.isUniformScale()));
+
+		if(recordTransform) {
+			this.flushBatch();
+			svgBackend.save();
+			svgBackend.concat(transform);
+		} else if(fold) {
+			pPath.transform(transform);
+			svgPaint.setTransform(transform);
+		}
+
+		final long fillStartTime = this.beginPhase();
+		final boolean fill = pFillable && svgPaint.setFill(pSVGProperties);
+		this.endPhase(ISVGParseListener.PHASE_PAINT_SETUP, fillStartTime);
+		if (fill) {
+			this.drawPath(pPath, svgPaint, !recordTransform);
+		}
+
+		final long strokeStartTime = this.beginPhase();
+		final boolean stroke = svgPaint.setStroke(pSVGProperties);
+		this.endPhase(ISVGParseListener.PHASE_PAINT_SETUP, strokeStartTime);
+		if (stroke) {
+			this.drawPath(pPath, svgPaint, !recordTransform);
+		}
+
+		if(recordTransform) {
+			svgBackend.restore();
+		} else {
+			svgPaint.setTransform(null);
+		}
+
+		if(fill || stroke) {
+			pPath.computeBounds(this.mRect);
+			if(recordTransform) {
+				transform.mapRect(this.mRect);
+			}
+			svgPaint.ensureComputedBoundsInclude(this.mRect);
+		}
+	}
+
+	/**
+	 * @param pMergeable <code>false</code> if the current backend state is only temporary, so the draw can not be merged with others.
+	 */
+	private void drawPath(final SVGPath pPath, final SVGPaint pSVGPaint, final boolean pMergeable) {
+		final SVGPaintState svgPaintState = pSVGPaint.getSVGPaintState();
+		if(!this.mSVGOptions.isPathMerging()) {
+			this.mSVGBackend.drawPath(pPath, svgPaintState, pSVGPaint.getSVGGradient(), pSVGPaint.getSVGFilter(), pSVGPaint.getTransform());
+			return;
+		}
+
+		this.mDrawCount++;
+		if(!pMergeable) {
+			this.flushBatch();
+			this.mSVGBackend.drawPath(pPath, svgPaintState, pSVGPaint.getSVGGradient(), pSVGPaint.getSVGFilter(), pSVGPaint.getTransform());
+			return;
+		}
+
+		final SVGRect bounds = this.mRect;
+		pPath.computeBounds(bounds);
+		if(svgPaintState.getStyle() != SVGPaintState.STYLE_FILL) {
+			SVGHandler.outsetByStroke(bounds, svgPaintState);
+		}
+
+		if(this.mBatchSize > 0 && this.isMergeable(pPath, pSVGPaint, bounds)) {
+			this.mBatchPath.addPath(pPath);
+			this.mEliminatedDrawCount++;
+		} else {
+			this.flushBatch();
+			this.mBatchPath.set(pPath);
+			this.mBatchSVGPaintState.set(svgPaintState);
+			this.mBatchSVGGradient = pSVGPaint.getSVGGradient();
+			this.mBatchSVGFilter = pSVGPaint.getSVGFilter();
+			final SVGMatrix transform = pSVGPaint.getTransform();
+			this.mBatchTransformed = transform != null;
+			if(transform != null) {
+				this.mBatchTransform.set(transform);
+			}
+		}
+		this.obtainBatchBounds().set(bounds);
+		this.mBatchSize++;
+
+		if(this.mBatchSize == SVGHandler.BATCH_SIZE_MAXIMUM) {
+			this.flushBatch();
+		}
+	}
+
+	/**
+	 * Grows <code>pBounds</code> of a path by how far its stroke can reach past it.
+	 * A miter reaches out up to half the miter limit times the stroke width from its corner, while round and bevel joins and all caps stay within the stroke width.
+	 */
+	private static void outsetByStroke(final SVGRect pBounds, final SVGPaintState pSVGPaintState) {
+		final float strokeWidth = Math.max(1, pSVGPaintState.getStrokeWidth());
+		final float outset;
+		if(pSVGPaintState.getStrokeJoin() == SVGPaintState.JOIN_MITER) {
+			outset = Math.max(1, pSVGPaintState.getStrokeMiterLimit() / 2) * strokeWidth;
+		} else {
+			outset = strokeWidth;
+		}
+		pBounds.inset(-outset, -outset);
+	}
+
+	private SVGRect obtainBatchBounds() {
+		final ArrayList<SVGRect> batchBounds = this.mBatchBounds;
+		if(this.mBatchSize == batchBounds.size()) {
+			batchBounds.add(new SVGRect());
+		}
+		return batchBounds.get(this.mBatchSize);
+	}
+
+	/**
+	 * Paths can only be merged if they are painted identically, which for gradients includes the transform their geometry was folded with.
+	 */
+	private boolean isMergeable(final SVGPath pPath, final SVGPaint pSVGPaint, final SVGRect pBounds) {
+		if(pPath.getFillRule() != this.mBatchPath.getFillRule() || !pSVGPaint.getSVGPaintState().equals(this.mBatchSVGPaintState)) {
+			return false;
+		}
+
+		if(pSVGPaint.getSVGGradient() != null) {
+			final SVGMatrix transform = pSVGPaint.getTransform();
+			if(transform == null) {
+				if(this.mBatchTransformed) {
+					return false;
+				}
+			} else if(!this.mBatchTransformed || !transform.equals(this.mBatchTransform)) {
+				return false;
+			}
+		}
+
+		final ArrayList<SVGRect> batchBounds = this.mBatchBounds;
+		for(int i = this.mBatchSize - 1; i >= 0; i--) {
+			if(SVGRect.intersects(batchBounds.get(i), pBounds)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Draws the pending merged paths. Has to be called before any change of the backend state and before the recording ends.
+	 */
+	private void flushBatch() {
+		if(this.mBatchSize > 0) {
+			this.mSVGBackend.drawPath(this.mBatchPath, this.mBatchSVGPaintState, this.mBatchSVGGradient, this.mBatchSVGFilter, (this.mBatchTransformed) ? this.mBatchTransform : null);
+			this.mBatchSize = 0;
+			this.mBatchSVGGradient = null;
+			this.mBatchSVGFilter = null;
+		}
+	}
+
+	/**
+	 * @return <code>true</code> if the transformed bounds of <code>pPath</code>, including its stroke, are smaller than the {@link SVGOptions#getLevelOfDetailThreshold()} in both dimensions.
+	 */
+	private boolean isBelowLevelOfDetail(final SVGProperties pSVGProperties, final SVGPath pPath) {
+		final SVGRect bounds = this.mRect;
+		pPath.computeBounds(bounds);
+		/* The paint is resolved before its transform is set, so the stroke width is still in the units of the path. */
+		final SVGPaint svgPaint = this.mSVGPaint;
+		if(svgPaint.setStroke(pSVGProperties)) {
+			SVGHandler.outsetByStroke(bounds, svgPaint.getSVGPaintState());
+		}
+		this.mTransform.mapRect(bounds);
+
+		final float levelOfDetailThreshold = this.mSVGOptions.getLevelOfDetailThreshold();
+		return bounds.getWidth() * this.mScale < levelOfDetailThreshold && bounds.getHeight() * this.mScale < levelOfDetailThreshold;
+	}
+
+	/**
+	 * @return how many pixels of the target size one unit of the current element spans, on average.
+	 */
+	private float getPixelScale() {
+		return this.mScale * this.mTransform.getAverageScale();
+	}
+
+	private boolean isStroked(final SVGProperties pSVGProperties) {
+		final String strokeProperty = pSVGProperties.getStringProperty(ATTRIBUTE_STROKE);
+		return strokeProperty != null && !VALUE_NONE.equals(strokeProperty);
+	}
+
+	private SVGProperties getSVGPropertiesFromAttributes(final Attributes pAttributes) {
+		return this.getSVGPropertiesFromAttributes(pAttributes, false);
+	}
+
+	private SVGProperties getSVGPropertiesFromAttributes(final Attributes pAttributes, final boolean pDeepCopy) {
+		final long startTime = this.beginPhase();
+		final SVGProperties svgProperties;
+		if(this.mSVGGroupStack.size() > 0) {
+			svgProperties = new SVGProperties(this.mSVGGroupStack.peek().getSVGProperties(), pAttributes, pDeepCopy);
+		} else {
+			svgProperties = new SVGProperties(null, pAttributes, pDeepCopy);
+		}
+		this.endPhase(ISVGParseListener.PHASE_STYLE_RESOLUTION, startTime);
+		return svgProperties;
+	}
+
+	private boolean pushTransform(final Attributes pAttributes) {
+		final String transform = SAXHelper.getStringAttribute(pAttributes, ATTRIBUTE_TRANSFORM);
+		if(transform == null) {
+			return false;
+		} else {
+			final long startTime = this.beginPhase();
+			final SVGMatrix matrix = SVGTransformParser.parseTransform(transform);
+			this.endPhase(ISVGParseListener.PHASE_PATH_PARSING, startTime);
+			if(this.mSVGParseListener != null) {
+				this.mSVGParseListener.onTransform();
+			}
+			this.mTransformStack.push(new SVGMatrix(this.mTransform));
+			this.mTransform.preConcat(matrix);
+			if(!this.mSVGOptions.isTransformFolding()) {
+				this.flushBatch();
+				this.mSVGBackend.save();
+				this.mSVGBackend.concat(matrix);
+			}
+			return true;
+		}
+	}
+
+	private void popTransform() {
+		this.mTransform.set(this.mTransformStack.pop());
+		if(!this.mSVGOptions.isTransformFolding()) {
+			this.flushBatch();
+			this.mSVGBackend.restore();
+		}
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
 }
\ No newline at end of file
@@ -1,30 +1,48 @@
 package org.anddev.andengine.extension.svg;
 
-import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.util.zip.GZIPInputStream;
 
 import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
 
 import org.anddev.andengine.extension.svg.adt.ISVGColorMapper;
 import org.anddev.andengine.extension.svg.adt.SVG;
+import org.anddev.andengine.extension.svg.adt.SVGOptions;
+import org.anddev.andengine.extension.svg.adt.SVGRect;
+import org.anddev.andengine.extension.svg.backend.ISVGBackend;
+import org.anddev.andengine.extension.svg.backend.SVGCanvasBackend;
+import org.anddev.andengine.extension.svg.backend.SVGDisplayList;
 import org.anddev.andengine.extension.svg.exception.SVGParseException;
+import org.anddev.andengine.extension.svg.metrics.SVGCountingInputStream;
+import org.anddev.andengine.extension.svg.metrics.SVGMetrics;
+import org.anddev.andengine.extension.svg.metrics.SVGTracer;
+import org.anddev.andengine.extension.svg.util.SVGByteBufferInputStream;
+import org.anddev.andengine.extension.svg.util.SVGCharSequenceReader;
 import org.xml.sax.InputSource;
 import org.xml.sax.XMLReader;
 
 import android.content.res.AssetManager;
 import android.content.res.Resources;
 import android.graphics.Picture;
+import android.graphics.RectF;
 
 
 /**
- * TODO Eventually add support for ".svgz" format. (Not totally useful as the apk itself gets zipped anyway. But might be useful, when loading from an external source.)
+ * Every method that parses from an {@link InputStream} also accepts gzip compressed documents, i.e. ".svgz" files, which are recognized by their first bytes.
+ * They are inflated while they are parsed, so they are never held in memory as a whole.
+ * Documents that are already characters, i.e. generated at runtime, are best parsed from a {@link CharSequence} or a {@link Reader}, which the XML parser reads without encoding and decoding them again.
  * 
  * @author Larva Labs, LLC
- * (c) 2010 Nicolas Gramlich 
- * (c) 2011 Zynga Inc.
- * 
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
  * @author Nicolas Gramlich
  * @since 17:00:16 - 21.05.2011
  */
@@ -33,6 +51,11 @@ public class SVGParser {
 	// Constants
 	// ===========================================================
 
+	private static final int GZIP_MAGIC_FIRST_BYTE = GZIPInputStream.GZIP_MAGIC & 0xFF;
+	private static final int GZIP_MAGIC_SECOND_BYTE = (GZIPInputStream.GZIP_MAGIC >> 8) & 0xFF;
+	/** The size of the buffer the compressed bytes are read into, before they are inflated straight into the buffer of the XML parser. */
+	private static final int INFLATER_BUFFER_SIZE = 8192;
+
 	// ===========================================================
 	// Fields
 	// ===========================================================
@@ -46,7 +69,26 @@ public class SVGParser {
 	}
 
 	public static SVG parseSVGFromString(final String pString, final ISVGColorMapper pSVGColorMapper) throws SVGParseException {
-		return SVGParser.parseSVGFromInputStream(new ByteArrayInputStream(pString.getBytes()), pSVGColorMapper);
+		return SVGParser.parseSVGFromString(pString, pSVGColorMapper, null);
+	}
+
+	public static SVG parseSVGFromString(final String pString, final ISVGColorMapper pSVGColorMapper, final SVGOptions pSVGOptions) throws SVGParseException {
+		return SVGParser.parseSVGFromReader(new SVGCharSequenceReader(pString), pSVGColorMapper, pSVGOptions);
+	}
+
+	public static SVG parseSVGFromString(final CharSequence pString) throws SVGParseException {
+		return SVGParser.parseSVGFromString(pString, null);
+	}
+
+	public static SVG parseSVGFromString(final CharSequence pString, final ISVGColorMapper pSVGColorMapper) throws SVGParseException {
+		return SVGParser.parseSVGFromString(pString, pSVGColorMapper, null);
+	}
+
+	/**
+	 * @param pString i.e. the {@link StringBuilder} the document was generated into, which is read as it is, without being copied.
+	 */
+	public static SVG parseSVGFromString(final CharSequence pString, final ISVGColorMapper pSVGColorMapper, final SVGOptions pSVGOptions) throws SVGParseException {
+		return SVGParser.parseSVGFromReader(new SVGCharSequenceReader(pString), pSVGColorMapper, pSVGOptions);
 	}
 
 	public static SVG parseSVGFromResource(final Resources pResources, final int pRawResourceID) throws SVGParseException {
@@ -54,7 +96,21 @@ public class SVGParser {
 	}
 
 	public static SVG parseSVGFromResource(final Resources pResources, final int pRawResourceID, final ISVGColorMapper pSVGColorMapper) throws SVGParseException {
-		return SVGParser.parseSVGFromInputStream(pResources.openRawResource(pRawResourceID), pSVGColorMapper);
+		return SVGParser.parseSVGFromResource(pResources, pRawResourceID, pSVGColorMapper, null);
+	}
+
+	public static SVG parseSVGFromResource(final Resources pResources, final int pRawResourceID, final ISVGColorMapper pSVGColorMapper, final SVGOptions pSVGOptions) throws SVGParseException {
+		final SVGTracer svgTracer = SVGTracer.getSVGTracer();
+		if(svgTracer != null) {
+			svgTracer.begin(SVGTracer.CATEGORY_PARSE, "resource 0x" + Integer.toHexString(pRawResourceID), null);
+		}
+		try {
+			return SVGParser.parseSVGFromInputStream(pResources.openRawResource(pRawResourceID), pSVGColorMapper, pSVGOptions);
+		} finally {
+			if(svgTracer != null) {
+				svgTracer.end(SVGTracer.CATEGORY_PARSE, "resource 0x" + Integer.toHexString(pRawResourceID), null);
+			}
+		}
 	}
 
 	public static SVG parseSVGFromAsset(final AssetManager pAssetManager, final String pAssetPath) throws SVGParseException, IOException {
@@ -62,10 +118,24 @@ public class SVGParser {
 	}
 
 	public static SVG parseSVGFromAsset(final AssetManager pAssetManager, final String pAssetPath, final ISVGColorMapper pSVGColorMapper) throws SVGParseException, IOException {
-		final InputStream inputStream = pAssetManager.open(pAssetPath);
-		final SVG svg = SVGParser.parseSVGFromInputStream(inputStream, pSVGColorMapper);
-		inputStream.close();
-		return svg;
+		return SVGParser.parseSVGFromAsset(pAssetManager, pAssetPath, pSVGColorMapper, null);
+	}
+
+	public static SVG parseSVGFromAsset(final AssetManager pAssetManager, final String pAssetPath, final ISVGColorMapper pSVGColorMapper, final SVGOptions pSVGOptions) throws SVGParseException, IOException {
+		final SVGTracer svgTracer = SVGTracer.getSVGTracer();
+		if(svgTracer != null) {
+			svgTracer.begin(SVGTracer.CATEGORY_PARSE, pAssetPath, null);
+		}
+		try {
+			final InputStream inputStream = pAssetManager.open(pAssetPath);
+			final SVG svg = SVGParser.parseSVGFromInputStream(inputStream, pSVGColorMapper, pSVGOptions);
+			inputStream.close();
+			return svg;
+		} finally {
+			if(svgTracer != null) {
+				svgTracer.end(SVGTracer.CATEGORY_PARSE, pAssetPath, null);
+			}
+		}
 	}
 
 	// ===========================================================
@@ -81,18 +151,216 @@ public class SVGParser {
 	// ===========================================================
 
 	public static SVG parseSVGFromInputStream(final InputStream pInputStream, final ISVGColorMapper pSVGColorMapper) throws SVGParseException {
+		return SVGParser.parseSVGFromInputStream(pInputStream, pSVGColorMapper, null);
+	}
+
+	public static SVG parseSVGFromInputStream(final InputStream pInputStream, final ISVGColorMapper pSVGColorMapper, final SVGOptions pSVGOptions) throws SVGParseException {
+		return SVGParser.parseSVG(new InputSource(pInputStream), pSVGColorMapper, pSVGOptions);
+	}
+
+	public static SVG parseSVGFromReader(final Reader pReader, final ISVGColorMapper pSVGColorMapper) throws SVGParseException {
+		return SVGParser.parseSVGFromReader(pReader, pSVGColorMapper, null);
+	}
+
+	/**
+	 * Any encoding declared by the document is ignored, as <code>pReader</code> already decodes it.
+	 */
+	public static SVG parseSVGFromReader(final Reader pReader, final ISVGColorMapper pSVGColorMapper, final SVGOptions pSVGOptions) throws SVGParseException {
+		return SVGParser.parseSVG(new InputSource(pReader), pSVGColorMapper, pSVGOptions);
+	}
+
+	public static SVG parseSVGFromFile(final File pFile) throws SVGParseException, IOException {
+		return SVGParser.parseSVGFromFile(pFile, null);
+	}
+
+	public static SVG parseSVGFromFile(final File pFile, final ISVGColorMapper pSVGColorMapper) throws SVGParseException, IOException {
+		return SVGParser.parseSVGFromFile(pFile, pSVGColorMapper, null);
+	}
+
+	/**
+	 * For documents outside of the apk, i.e. downloaded to the external storage.
+	 */
+	public static SVG parseSVGFromFile(final File pFile, final ISVGColorMapper pSVGColorMapper, final SVGOptions pSVGOptions) throws SVGParseException, IOException {
+		final SVGTracer svgTracer = SVGTracer.getSVGTracer();
+		if(svgTracer != null) {
+			svgTracer.begin(SVGTracer.CATEGORY_PARSE, pFile.getPath(), null);
+		}
 		try {
+			final InputStream inputStream = new FileInputStream(pFile);
+			try {
+				return SVGParser.parseSVGFromInputStream(inputStream, pSVGColorMapper, pSVGOptions);
+			} finally {
+				inputStream.close();
+			}
+		} finally {
+			if(svgTracer != null) {
+				svgTracer.end(SVGTracer.CATEGORY_PARSE, pFile.getPath(), null);
+			}
+		}
+	}
+
+	public static SVG parseSVGFromByteBuffer(final ByteBuffer pByteBuffer, final ISVGColorMapper pSVGColorMapper) throws SVGParseException {
+		return SVGParser.parseSVGFromByteBuffer(pByteBuffer, pSVGColorMapper, null);
+	}
+
+	/**
+	 * Parses the remaining bytes of <code>pByteBuffer</code>, without changing its position.
+	 */
+	public static SVG parseSVGFromByteBuffer(final ByteBuffer pByteBuffer, final ISVGColorMapper pSVGColorMapper, final SVGOptions pSVGOptions) throws SVGParseException {
+		return SVGParser.parseSVGFromInputStream(new SVGByteBufferInputStream(pByteBuffer), pSVGColorMapper, pSVGOptions);
+	}
+
+	public static SVGDisplayList parseSVGDisplayListFromString(final String pString, final ISVGColorMapper pSVGColorMapper, final SVGOptions pSVGOptions) throws SVGParseException {
+		return SVGParser.parseSVGDisplayListFromReader(new SVGCharSequenceReader(pString), pSVGColorMapper, pSVGOptions);
+	}
+
+	/**
+	 * @param pString i.e. the {@link StringBuilder} the document was generated into, which is read as it is, without being copied.
+	 */
+	public static SVGDisplayList parseSVGDisplayListFromString(final CharSequence pString, final ISVGColorMapper pSVGColorMapper, final SVGOptions pSVGOptions) throws SVGParseException {
+		return SVGParser.parseSVGDisplayListFromReader(new SVGCharSequenceReader(pString), pSVGColorMapper, pSVGOptions);
+	}
+
+	/**
+	 * Any encoding declared by the document is ignored, as <code>pReader</code> already decodes it.
+	 */
+	public static SVGDisplayList parseSVGDisplayListFromReader(final Reader pReader, final ISVGColorMapper pSVGColorMapper, final SVGOptions pSVGOptions) throws SVGParseException {
+		return SVGParser.parseSVGDisplayList(new InputSource(pReader), pSVGColorMapper, pSVGOptions);
+	}
+
+	public static SVGDisplayList parseSVGDisplayListFromFile(final File pFile, final ISVGColorMapper pSVGColorMapper, final SVGOptions pSVGOptions) throws SVGParseException, IOException {
+		final SVGTracer svgTracer = SVGTracer.getSVGTracer();
+		if(svgTracer != null) {
+			svgTracer.begin(SVGTracer.CATEGORY_PARSE, pFile.getPath(), null);
+		}
+		try {
+			final InputStream inputStream = new FileInputStream(pFile);
+			try {
+				return SVGParser.parseSVGDisplayListFromInputStream(inputStream, pSVGColorMapper, pSVGOptions);
+			} finally {
+				inputStream.close();
+			}
+		} finally {
+			if(svgTracer != null) {
+				svgTracer.end(SVGTracer.CATEGORY_PARSE, pFile.getPath(), null);
+			}
+		}
+	}
+
+	/**
+	 * Parses the remaining bytes of <code>pByteBuffer</code>, without changing its position.
+	 */
+	public static SVGDisplayList parseSVGDisplayListFromByteBuffer(final ByteBuffer pByteBuffer, final ISVGColorMapper pSVGColorMapper, final SVGOptions pSVGOptions) throws SVGParseException {
+		return SVGParser.parseSVGDisplayListFromInputStream(new SVGByteBufferInputStream(pByteBuffer), pSVGColorMapper, pSVGOptions);
+	}
+
+	public static SVGDisplayList parseSVGDisplayListFromAsset(final AssetManager pAssetManager, final String pAssetPath, final ISVGColorMapper pSVGColorMapper, final SVGOptions pSVGOptions) throws SVGParseException, IOException {
+		final SVGTracer svgTracer = SVGTracer.getSVGTracer();
+		if(svgTracer != null) {
+			svgTracer.begin(SVGTracer.CATEGORY_PARSE, pAssetPath, null);
+		}
+		try {
+			final InputStream inputStream = pAssetManager.open(pAssetPath);
+			final SVGDisplayList svgDisplayList = SVGParser.parseSVGDisplayListFromInputStream(inputStream, pSVGColorMapper, pSVGOptions);
+			inputStream.close();
+			return svgDisplayList;
+		} finally {
+			if(svgTracer != null) {
+				svgTracer.end(SVGTracer.CATEGORY_PARSE, pAssetPath, null);
+			}
+		}
+	}
+
+	public static SVGDisplayList parseSVGDisplayListFromInputStream(final InputStream pInputStream, final ISVGColorMapper pSVGColorMapper) throws SVGParseException {
+		return SVGParser.parseSVGDisplayListFromInputStream(pInputStream, pSVGColorMapper, null);
+	}
+
+	/**
+	 * Parses without creating any Android graphics object. The result can be rendered with any {@link ISVGBackend}, i.e. the <code>SVGRasterBackend</code>.
+	 */
+	public static SVGDisplayList parseSVGDisplayListFromInputStream(final InputStream pInputStream, final ISVGColorMapper pSVGColorMapper, final SVGOptions pSVGOptions) throws SVGParseException {
+		return SVGParser.parseSVGDisplayList(new InputSource(pInputStream), pSVGColorMapper, pSVGOptions);
+	}
+
+	private static SVG parseSVG(final InputSource pInputSource, final ISVGColorMapper pSVGColorMapper, final SVGOptions pSVGOptions) throws SVGParseException {
+		final Picture picture = new Picture();
+		final SVGHandler svgHandler = SVGParser.parse(pInputSource, new SVGCanvasBackend(picture), pSVGColorMapper, pSVGOptions);
+		final SVG svg = new SVG(picture, SVGParser.toRectF(svgHandler.getBounds()), SVGParser.toRectF(svgHandler.getComputedBounds()), svgHandler.getDrawCount(), svgHandler.getEliminatedDrawCount());
+		return svg;
+	}
+
+	private static SVGDisplayList parseSVGDisplayList(final InputSource pInputSource, final ISVGColorMapper pSVGColorMapper, final SVGOptions pSVGOptions) throws SVGParseException {
+		final SVGDisplayList svgDisplayList = new SVGDisplayList();
+		final SVGHandler svgHandler = SVGParser.parse(pInputSource, svgDisplayList, pSVGColorMapper, pSVGOptions);
+		svgDisplayList.setBounds(svgHandler.getBounds());
+		svgDisplayList.setComputedBounds(svgHandler.getComputedBounds());
+		svgDisplayList.setMaximumGroupDepth(svgHandler.getMaximumGroupDepth());
+		return svgDisplayList;
+	}
+
+	/**
+	 * @param pInputSource either of bytes, which are counted and inflated if they are compressed, or of characters.
+	 */
+	private static SVGHandler parse(final InputSource pInputSource, final ISVGBackend pSVGBackend, final ISVGColorMapper pSVGColorMapper, final SVGOptions pSVGOptions) throws SVGParseException {
+		SVGMetrics.PARSE_COUNT.increment();
+		final SVGTracer svgTracer = SVGTracer.getSVGTracer();
+		if(svgTracer != null) {
+			svgTracer.begin(SVGTracer.CATEGORY_PARSE, "parse", null);
+		}
+		final long startTime = System.nanoTime();
+		try {
+			final InputStream inputStream = pInputSource.getByteStream();
+			if(inputStream != null) {
+				pInputSource.setByteStream(SVGParser.inflateIfCompressed(new SVGCountingInputStream(inputStream, SVGMetrics.PARSE_BYTE_COUNT)));
+			}
+
 			final SAXParserFactory spf = SAXParserFactory.newInstance();
+			/* The handler relies on local names, which not every parser reports by default (i.e. the one of the JDK). */
+			spf.setNamespaceAware(true);
 			final SAXParser sp = spf.newSAXParser();
 			final XMLReader xr = sp.getXMLReader();
-			final Picture picture = new Picture();
-			final SVGHandler svgHandler = new SVGHandler(picture, pSVGColorMapper);
+			final SVGHandler svgHandler = new SVGHandler(pSVGBackend, pSVGColorMapper, pSVGOptions);
 			xr.setContentHandler(svgHandler);
-			xr.parse(new InputSource(pInputStream));
-			final SVG svg = new SVG(picture, svgHandler.getBounds(), svgHandler.getComputedBounds());
-			return svg;
+			xr.parse(pInputSource);
+			return svgHandler;
 		} catch (final Exception e) {
+			SVGMetrics.PARSE_FAILURE_COUNT.increment();
 			throw new SVGParseException(e);
+		} finally {
+			SVGMetrics.PARSE_LATENCY.record(System.nanoTime() - startTime);
+			if(svgTracer != null) {
+				svgTracer.end(SVGTracer.CATEGORY_PARSE, "parse", null);
+			}
+		}
+	}
+
+	/**
+	 * @return <code>pInputStream</code> inflated, if it starts with the magic bytes of gzip, or otherwise all of <code>pInputStream</code>, including the bytes looked at.
+	 */
+	private static InputStream inflateIfCompressed(final InputStream pInputStream) throws IOException {
+		final PushbackInputStream pushbackInputStream = new PushbackInputStream(pInputStream, 2);
+		final int firstByte = pushbackInputStream.read();
+		if(firstByte == -1) {
+			return pushbackInputStream;
+		}
+		final int secondByte = pushbackInputStream.read();
+		if(secondByte != -1) {
+			pushbackInputStream.unread(secondByte);
+		}
+		pushbackInputStream.unread(firstByte);
+
+		if(firstByte == SVGParser.GZIP_MAGIC_FIRST_BYTE && secondByte == SVGParser.GZIP_MAGIC_SECOND_BYTE) {
+			return new GZIPInputStream(pushbackInputStream, SVGParser.INFLATER_BUFFER_SIZE);
+		} else {
+			return pushbackInputStream;
+		}
+	}
+
+	private static RectF toRectF(final SVGRect pSVGRect) {
+		if(pSVGRect == null) {
+			return null;
+		} else {
+			return new RectF(pSVGRect.getLeft(), pSVGRect.getTop(), pSVGRect.getRight(), pSVGRect.getBottom());
 		}
 	}
 
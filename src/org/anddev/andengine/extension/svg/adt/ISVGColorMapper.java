@@ -1,20 +1,20 @@
-package org.anddev.andengine.extension.svg.adt;
-
-/**
- * (c) 2010 Nicolas Gramlich 
- * (c) 2011 Zynga Inc.
- * 
- * @author Nicolas Gramlich
- * @since 09:39:32 - 25.05.2011
- */
-public interface ISVGColorMapper {
-	// ===========================================================
-	// Final Fields
-	// ===========================================================
-
-	// ===========================================================
-	// Methods
-	// ===========================================================
-
-	public Integer mapColor(final Integer pColor);
-}
+package org.anddev.andengine.extension.svg.adt;
+
+/**
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 09:39:32 - 25.05.2011
+ */
+public interface ISVGColorMapper {
+	// ===========================================================
+	// Final Fields
+	// ===========================================================
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	public Integer mapColor(final Integer pColor);
+}
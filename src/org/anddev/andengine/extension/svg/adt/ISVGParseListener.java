@@ -0,0 +1,70 @@
+package org.anddev.andengine.extension.svg.adt;
+
+/**
+ * Receives what the parser does while it parses a document, i.e. to find out which assets are expensive to load and why.
+ * Set it with {@link SVGOptions#setSVGParseListener(ISVGParseListener)}. Without a listener, nothing is counted or timed.
+ * The callbacks happen on the parsing thread, in the middle of parsing, so they should do little more than counting.
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 14:41:19 - 04.06.2011
+ */
+public interface ISVGParseListener {
+	// ===========================================================
+	// Final Fields
+	// ===========================================================
+
+	/** The time spent by the XML parser itself, reading and tokenizing the document. */
+	public static final int PHASE_TOKENIZATION = 0;
+	/** The time spent collecting the attributes of elements and splitting up their <code>style</code> attributes. */
+	public static final int PHASE_STYLE_RESOLUTION = 1;
+	/** The time spent parsing geometry: path data, shapes and transforms. */
+	public static final int PHASE_PATH_PARSING = 2;
+	/** The time spent setting up fills and strokes from the (inherited) properties, including colors, gradients and filters. */
+	public static final int PHASE_PAINT_SETUP = 3;
+	/** The time spent drawing through the backend, plus the bookkeeping of groups and symbols. */
+	public static final int PHASE_DRAWING = 4;
+	public static final int PHASE_COUNT = 5;
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	/**
+	 * Called for every element of the document, including the ones in <code>&lt;defs&gt;</code>, but not again when a <code>&lt;use&gt;</code> instantiates them.
+	 *
+	 * @param pKnown <code>false</code> if the parser does not support the element and ignores it.
+	 */
+	public void onElement(final String pLocalName, final boolean pKnown);
+
+	/**
+	 * Called for every command letter of path data that is parsed. Commands repeated implicitly, by giving more parameters than one segment takes, are reported once.
+	 *
+	 * @param pCommand the letter of the command as it appears in the path data, i.e. <code>'c'</code> or <code>'C'</code>.
+	 */
+	public void onPathSegment(final char pCommand);
+
+	public void onGradient(final boolean pLinear);
+
+	public void onFilter();
+
+	/**
+	 * Called for every <code>transform</code> attribute that is parsed.
+	 */
+	public void onTransform();
+
+	/**
+	 * Called for every problem the parser works around instead of failing, i.e. a <code>&lt;use&gt;</code> that references an unknown id.
+	 * Unknown elements are not reported here, but through {@link ISVGParseListener#onElement(String, boolean)}.
+	 */
+	public void onWarning(final String pMessage);
+
+	/**
+	 * Called once the document was parsed completely.
+	 *
+	 * @param pPhaseDurations the nanoseconds spent in each phase, indexed by the <code>PHASE_*</code> constants. Only valid during this call.
+	 */
+	public void onParseFinished(final long[] pPhaseDurations);
+}
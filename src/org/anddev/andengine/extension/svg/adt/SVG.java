@@ -29,6 +29,10 @@ public class SVG {
 	 * Note that this could be null if there was a failure to compute limits (i.e. an empty SVG). */
 	private final RectF mComputedBounds;
 
+	/** The number of draw calls issued while parsing and how many of them were merged into others (see {@link SVGOptions#isPathMerging()}). */
+	private final int mDrawCount;
+	private final int mEliminatedDrawCount;
+
 	// ===========================================================
 	// Constructors
 	// ===========================================================
@@ -39,9 +43,22 @@ public class SVG {
 	 * @param pComputedBounds
 	 */
 	public SVG(final Picture pPicture, final RectF pBounds, final RectF pComputedBounds) {
+		this(pPicture, pBounds, pComputedBounds, 0, 0);
+	}
+
+	/**
+	 * @param pPicture the parsed picture object.
+	 * @param pBounds the bounds computed from the "bounds" layer in the SVG.
+	 * @param pComputedBounds
+	 * @param pDrawCount the number of draw calls issued while parsing.
+	 * @param pEliminatedDrawCount the number of draw calls that were merged into others and are not part of the picture.
+	 */
+	public SVG(final Picture pPicture, final RectF pBounds, final RectF pComputedBounds, final int pDrawCount, final int pEliminatedDrawCount) {
 		this.mPicture = pPicture;
 		this.mBounds = pBounds;
 		this.mComputedBounds = pComputedBounds;
+		this.mDrawCount = pDrawCount;
+		this.mEliminatedDrawCount = pEliminatedDrawCount;
 	}
 
 	// ===========================================================
@@ -69,6 +86,20 @@ public class SVG {
 		return this.mComputedBounds;
 	}
 
+	/**
+	 * @return the number of draw calls issued while parsing, or <code>0</code> if they were not counted.
+	 */
+	public int getDrawCount() {
+		return this.mDrawCount;
+	}
+
+	/**
+	 * @return the number of draw calls that were merged into others, so the picture contains <code>getDrawCount() - getEliminatedDrawCount()</code> draws.
+	 */
+	public int getEliminatedDrawCount() {
+		return this.mEliminatedDrawCount;
+	}
+
 	// ===========================================================
 	// Methods for/from SuperClass/Interfaces
 	// ===========================================================
@@ -0,0 +1,134 @@
+package org.anddev.andengine.extension.svg.adt;
+
+/**
+ * The colors of a gradient, sampled at evenly distributed positions in <code>[0, 1]</code>, so shading a pixel is a single lookup.
+ * Ramps are immutable and shared through the {@link SVGColorRampCache}, by all gradients with the same stops.
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 10:04:27 - 01.06.2011
+ */
+public class SVGColorRamp {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private final int[] mColors;
+	private final int[] mPremultipliedColors;
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	/**
+	 * Like <code>android.graphics.LinearGradient</code>/<code>android.graphics.RadialGradient</code>, the stop colors are interpolated non-premultiplied.
+	 *
+	 * @param pColors the non-premultiplied ARGB colors of the stops. Without any stop, the ramp is transparent.
+	 * @param pPositions the positions of the stops, which should be ascending. Positions smaller than a preceding one are raised to it.
+	 * @param pSize the number of samples, at least <code>2</code>.
+	 */
+	public SVGColorRamp(final int[] pColors, final float[] pPositions, final int pSize) {
+		if(pSize < 2) {
+			throw new IllegalArgumentException("pSize must be at least 2.");
+		}
+		this.mColors = SVGColorRamp.sample(pColors, pPositions, pSize);
+		this.mPremultipliedColors = new int[pSize];
+		for(int i = 0; i < pSize; i++) {
+			this.mPremultipliedColors[i] = SVGColorRamp.premultiply(this.mColors[i]);
+		}
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	public int getSize() {
+		return this.mColors.length;
+	}
+
+	/**
+	 * @return the non-premultiplied ARGB colors, i.e. for an <code>android.graphics.Shader</code>. Must not be modified.
+	 */
+	public int[] getColors() {
+		return this.mColors;
+	}
+
+	/**
+	 * @return the premultiplied ARGB colors, i.e. for software rendering. Must not be modified.
+	 */
+	public int[] getPremultipliedColors() {
+		return this.mPremultipliedColors;
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	private static int[] sample(final int[] pColors, final float[] pPositions, final int pSize) {
+		final int[] colors = new int[pSize];
+		final int stopCount = pColors.length;
+		if(stopCount == 0) {
+			return colors;
+		}
+
+		int stop = 0;
+		float lastPosition = pPositions[0];
+		for(int i = 0; i < pSize; i++) {
+			final float position = (float) i / (pSize - 1);
+
+			/* Advance to the last stop at or before the position. */
+			while(stop < stopCount - 1 && Math.max(lastPosition, pPositions[stop + 1]) <= position) {
+				stop++;
+				lastPosition = Math.max(lastPosition, pPositions[stop]);
+			}
+
+			if(position <= pPositions[0]) {
+				colors[i] = pColors[0];
+			} else if(stop == stopCount - 1) {
+				colors[i] = pColors[stopCount - 1];
+			} else {
+				final float fromPosition = lastPosition;
+				final float toPosition = Math.max(lastPosition, pPositions[stop + 1]);
+				final float fraction = (position - fromPosition) / (toPosition - fromPosition);
+				colors[i] = SVGColorRamp.interpolate(pColors[stop], pColors[stop + 1], fraction);
+			}
+		}
+		return colors;
+	}
+
+	private static int interpolate(final int pFromColor, final int pToColor, final float pFraction) {
+		final int fraction = Math.round(pFraction * 256);
+		final int inverseFraction = 256 - fraction;
+		final int alpha = (((pFromColor >>> 24) * inverseFraction + (pToColor >>> 24) * fraction) + 128) >> 8;
+		final int red = ((((pFromColor >> 16) & 0xFF) * inverseFraction + ((pToColor >> 16) & 0xFF) * fraction) + 128) >> 8;
+		final int green = ((((pFromColor >> 8) & 0xFF) * inverseFraction + ((pToColor >> 8) & 0xFF) * fraction) + 128) >> 8;
+		final int blue = (((pFromColor & 0xFF) * inverseFraction + (pToColor & 0xFF) * fraction) + 128) >> 8;
+		return (alpha << 24) | (red << 16) | (green << 8) | blue;
+	}
+
+	private static int premultiply(final int pColor) {
+		final int alpha = pColor >>> 24;
+		if(alpha == 255) {
+			return pColor;
+		}
+		int redBlue = (pColor & 0x00FF00FF) * alpha + 0x00800080;
+		redBlue = ((redBlue + ((redBlue >>> 8) & 0x00FF00FF)) >>> 8) & 0x00FF00FF;
+		int green = (pColor & 0x0000FF00) * alpha + 0x00008000;
+		green = ((green + ((green >>> 8) & 0x0000FF00)) >>> 8) & 0x0000FF00;
+		return (alpha << 24) | redBlue | green;
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
@@ -0,0 +1,236 @@
+package org.anddev.andengine.extension.svg.adt;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map.Entry;
+
+import org.anddev.andengine.extension.svg.metrics.SVGMetrics;
+import org.anddev.andengine.extension.svg.metrics.SVGTracer;
+
+/**
+ * Shares {@link SVGColorRamp}s between all gradients with the same stops, within and across documents.
+ * The least recently used ramps are evicted once {@link SVGColorRampCache#getCapacity()} is exceeded. All methods are thread-safe.
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 10:21:50 - 01.06.2011
+ */
+public class SVGColorRampCache {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	public static final int RAMP_SIZE_DEFAULT = 256;
+	public static final int CAPACITY_DEFAULT = 256;
+
+	private static final SVGColorRampCache INSTANCE = new SVGColorRampCache(SVGColorRampCache.RAMP_SIZE_DEFAULT, SVGColorRampCache.CAPACITY_DEFAULT);
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private final int mRampSize;
+	private final int mCapacity;
+	private final LinkedHashMap<SVGColorRampKey, SVGColorRamp> mSVGColorRamps;
+
+	private long mHitCount;
+	private long mMissCount;
+	private long mEvictionCount;
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	/**
+	 * @param pRampSize the number of samples of every ramp, at least <code>2</code>.
+	 * @param pCapacity the maximum number of ramps kept.
+	 */
+	public SVGColorRampCache(final int pRampSize, final int pCapacity) {
+		if(pRampSize < 2) {
+			throw new IllegalArgumentException("pRampSize must be at least 2.");
+		}
+		if(pCapacity < 1) {
+			throw new IllegalArgumentException("pCapacity must be positive.");
+		}
+		this.mRampSize = pRampSize;
+		this.mCapacity = pCapacity;
+		this.mSVGColorRamps = new LinkedHashMap<SVGColorRampKey, SVGColorRamp>(16, 0.75f, true) {
+			private static final long serialVersionUID = -4613240517359062373L;
+
+			@Override
+			protected boolean removeEldestEntry(final Entry<SVGColorRampKey, SVGColorRamp> pEldest) {
+				if(this.size() > SVGColorRampCache.this.mCapacity) {
+					SVGColorRampCache.this.mEvictionCount++;
+					SVGMetrics.COLOR_RAMP_CACHE.onEviction();
+					SVGMetrics.COLOR_RAMP_CACHE_SIZE.add(-1);
+					return true;
+				} else {
+					return false;
+				}
+			}
+		};
+	}
+
+	/**
+	 * @return the cache used by all gradients, unless told otherwise.
+	 */
+	public static SVGColorRampCache getInstance() {
+		return SVGColorRampCache.INSTANCE;
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	public int getRampSize() {
+		return this.mRampSize;
+	}
+
+	public int getCapacity() {
+		return this.mCapacity;
+	}
+
+	public synchronized int getSize() {
+		return this.mSVGColorRamps.size();
+	}
+
+	public synchronized long getHitCount() {
+		return this.mHitCount;
+	}
+
+	public synchronized long getMissCount() {
+		return this.mMissCount;
+	}
+
+	public synchronized long getEvictionCount() {
+		return this.mEvictionCount;
+	}
+
+	/**
+	 * @return the share of lookups that were served from the cache, or <code>0</code> if there were none yet.
+	 */
+	public synchronized float getHitRatio() {
+		final long lookupCount = this.mHitCount + this.mMissCount;
+		return (lookupCount == 0) ? 0 : (float) this.mHitCount / lookupCount;
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	@Override
+	public synchronized String toString() {
+		return this.getClass().getSimpleName() + "[size=" + this.mSVGColorRamps.size() + ", hits=" + this.mHitCount + ", misses=" + this.mMissCount + ", evictions=" + this.mEvictionCount + "]";
+	}
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	/**
+	 * @param pColors the non-premultiplied ARGB colors of the stops. Must not be modified afterwards.
+	 * @param pPositions the positions of the stops. Must not be modified afterwards.
+	 */
+	public synchronized SVGColorRamp getSVGColorRamp(final int[] pColors, final float[] pPositions) {
+		final SVGTracer svgTracer = SVGTracer.getSVGTracer();
+		if(svgTracer != null) {
+			svgTracer.begin(SVGTracer.CATEGORY_CACHE, "color_ramp", null);
+		}
+
+		final SVGColorRampKey svgColorRampKey = new SVGColorRampKey(pColors, pPositions);
+		SVGColorRamp svgColorRamp = this.mSVGColorRamps.get(svgColorRampKey);
+		if(svgColorRamp == null) {
+			this.mMissCount++;
+			SVGMetrics.COLOR_RAMP_CACHE.onMiss();
+			svgColorRamp = new SVGColorRamp(pColors, pPositions, this.mRampSize);
+			SVGMetrics.COLOR_RAMP_CACHE_SIZE.add(1);
+			this.mSVGColorRamps.put(svgColorRampKey, svgColorRamp);
+			if(svgTracer != null) {
+				svgTracer.end(SVGTracer.CATEGORY_CACHE, "color_ramp", SVGTracer.RESULT_MISS);
+			}
+		} else {
+			this.mHitCount++;
+			SVGMetrics.COLOR_RAMP_CACHE.onHit();
+			if(svgTracer != null) {
+				svgTracer.end(SVGTracer.CATEGORY_CACHE, "color_ramp", SVGTracer.RESULT_HIT);
+			}
+		}
+		return svgColorRamp;
+	}
+
+	public synchronized void clear() {
+		SVGMetrics.COLOR_RAMP_CACHE_SIZE.add(-this.mSVGColorRamps.size());
+		this.mSVGColorRamps.clear();
+	}
+
+	public synchronized void resetStatistics() {
+		this.mHitCount = 0;
+		this.mMissCount = 0;
+		this.mEvictionCount = 0;
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+
+	/**
+	 * The spread method is not part of the key, as it only changes how a ramp is looked up, not its samples.
+	 */
+	private static class SVGColorRampKey {
+		// ===========================================================
+		// Constants
+		// ===========================================================
+
+		// ===========================================================
+		// Fields
+		// ===========================================================
+
+		private final int[] mColors;
+		private final float[] mPositions;
+		private final int mHashCode;
+
+		// ===========================================================
+		// Constructors
+		// ===========================================================
+
+		public SVGColorRampKey(final int[] pColors, final float[] pPositions) {
+			this.mColors = pColors;
+			this.mPositions = pPositions;
+			this.mHashCode = 31 * Arrays.hashCode(pColors) + Arrays.hashCode(pPositions);
+		}
+
+		// ===========================================================
+		// Getter & Setter
+		// ===========================================================
+
+		// ===========================================================
+		// Methods for/from SuperClass/Interfaces
+		// ===========================================================
+
+		@Override
+		public int hashCode() {
+			return this.mHashCode;
+		}
+
+		@Override
+		public boolean equals(final Object pObject) {
+			if(this == pObject) {
+				return true;
+			} else if(!(pObject instanceof SVGColorRampKey)) {
+				return false;
+			}
+			final SVGColorRampKey other = (SVGColorRampKey) pObject;
+			return this.mHashCode == other.mHashCode && Arrays.equals(this.mColors, other.mColors) && Arrays.equals(this.mPositions, other.mPositions);
+		}
+
+		// ===========================================================
+		// Methods
+		// ===========================================================
+
+		// ===========================================================
+		// Inner and Anonymous Classes
+		// ===========================================================
+	}
+}
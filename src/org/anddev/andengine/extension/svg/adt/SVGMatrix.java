@@ -0,0 +1,327 @@
+package org.anddev.andengine.extension.svg.adt;
+
+
+/**
+ * An affine transform, independent of any Android class.
+ * Maps a point like: <code>x' = scaleX * x + skewX * y + translateX</code> and <code>y' = skewY * x + scaleY * y + translateY</code>,
+ * which matches both the SVG <code>matrix(a b c d e f)</code> and <code>android.graphics.Matrix</code>.
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 10:14:26 - 30.05.2011
+ */
+public class SVGMatrix {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private float mScaleX;
+	private float mSkewX;
+	private float mTranslateX;
+	private float mSkewY;
+	private float mScaleY;
+	private float mTranslateY;
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	public SVGMatrix() {
+		this.reset();
+	}
+
+	public SVGMatrix(final SVGMatrix pSVGMatrix) {
+		this.set(pSVGMatrix);
+	}
+
+	/**
+	 * In the order of the SVG <code>matrix(a b c d e f)</code> transform.
+	 */
+	public SVGMatrix(final float pA, final float pB, final float pC, final float pD, final float pE, final float pF) {
+		this.setValues(pA, pB, pC, pD, pE, pF);
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	public float getScaleX() {
+		return this.mScaleX;
+	}
+
+	public float getSkewX() {
+		return this.mSkewX;
+	}
+
+	public float getTranslateX() {
+		return this.mTranslateX;
+	}
+
+	public float getSkewY() {
+		return this.mSkewY;
+	}
+
+	public float getScaleY() {
+		return this.mScaleY;
+	}
+
+	public float getTranslateY() {
+		return this.mTranslateY;
+	}
+
+	/**
+	 * In the order of the SVG <code>matrix(a b c d e f)</code> transform.
+	 */
+	public void setValues(final float pA, final float pB, final float pC, final float pD, final float pE, final float pF) {
+		this.mScaleX = pA;
+		this.mSkewY = pB;
+		this.mSkewX = pC;
+		this.mScaleY = pD;
+		this.mTranslateX = pE;
+		this.mTranslateY = pF;
+	}
+
+	/**
+	 * @param pValues receives the 3x3 matrix in row-major order, as expected by <code>android.graphics.Matrix.setValues(float[])</code>.
+	 */
+	public void getValues(final float[] pValues) {
+		pValues[0] = this.mScaleX;
+		pValues[1] = this.mSkewX;
+		pValues[2] = this.mTranslateX;
+		pValues[3] = this.mSkewY;
+		pValues[4] = this.mScaleY;
+		pValues[5] = this.mTranslateY;
+		pValues[6] = 0;
+		pValues[7] = 0;
+		pValues[8] = 1;
+	}
+
+	public void set(final SVGMatrix pSVGMatrix) {
+		this.mScaleX = pSVGMatrix.mScaleX;
+		this.mSkewX = pSVGMatrix.mSkewX;
+		this.mTranslateX = pSVGMatrix.mTranslateX;
+		this.mSkewY = pSVGMatrix.mSkewY;
+		this.mScaleY = pSVGMatrix.mScaleY;
+		this.mTranslateY = pSVGMatrix.mTranslateY;
+	}
+
+	public void reset() {
+		this.setValues(1, 0, 0, 1, 0, 0);
+	}
+
+	public boolean isIdentity() {
+		return this.mScaleX == 1 && this.mSkewX == 0 && this.mTranslateX == 0 && this.mSkewY == 0 && this.mScaleY == 1 && this.mTranslateY == 0;
+	}
+
+	public float getDeterminant() {
+		return this.mScaleX * this.mScaleY - this.mSkewX * this.mSkewY;
+	}
+
+	/**
+	 * @return the factor by which areas are scaled, as a length.
+	 */
+	public float getAverageScale() {
+		return (float) Math.sqrt(Math.abs(this.getDeterminant()));
+	}
+
+	/**
+	 * @return the largest factor by which any length is scaled, in whichever direction it points (the largest singular value).
+	 */
+	public float getMaximumScale() {
+		final float a = this.mScaleX;
+		final float b = this.mSkewY;
+		final float c = this.mSkewX;
+		final float d = this.mScaleY;
+
+		final float sum = a * a + b * b + c * c + d * d;
+		final float determinant = this.getDeterminant();
+		final float discriminant = Math.max(0, sum * sum - 4 * determinant * determinant);
+		return (float) Math.sqrt((sum + Math.sqrt(discriminant)) * 0.5f);
+	}
+
+	/**
+	 * @return <code>true</code> if both axes are scaled by the same amount (and not skewed), so circles stay circles.
+	 */
+	public boolean isUniformScale() {
+		final float a = this.mScaleX;
+		final float b = this.mSkewY;
+		final float c = this.mSkewX;
+		final float d = this.mScaleY;
+
+		final float lengthSquaredX = a * a + b * b;
+		final float lengthSquaredY = c * c + d * d;
+		final float epsilon = 1e-4f * Math.max(lengthSquaredX, lengthSquaredY);
+		return Math.abs(lengthSquaredX - lengthSquaredY) <= epsilon && Math.abs(a * c + b * d) <= epsilon;
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	@Override
+	public int hashCode() {
+		int hashCode = Float.floatToIntBits(this.mScaleX);
+		hashCode = 31 * hashCode + Float.floatToIntBits(this.mSkewX);
+		hashCode = 31 * hashCode + Float.floatToIntBits(this.mTranslateX);
+		hashCode = 31 * hashCode + Float.floatToIntBits(this.mSkewY);
+		hashCode = 31 * hashCode + Float.floatToIntBits(this.mScaleY);
+		hashCode = 31 * hashCode + Float.floatToIntBits(this.mTranslateY);
+		return hashCode;
+	}
+
+	@Override
+	public boolean equals(final Object pObject) {
+		if(this == pObject) {
+			return true;
+		} else if(!(pObject instanceof SVGMatrix)) {
+			return false;
+		}
+
+		final SVGMatrix other = (SVGMatrix) pObject;
+		return this.mScaleX == other.mScaleX
+				&& this.mSkewX == other.mSkewX
+				&& this.mTranslateX == other.mTranslateX
+				&& this.mSkewY == other.mSkewY
+				&& this.mScaleY == other.mScaleY
+				&& this.mTranslateY == other.mTranslateY;
+	}
+
+	@Override
+	public String toString() {
+		return this.getClass().getSimpleName() + "[" + this.mScaleX + ", " + this.mSkewX + ", " + this.mTranslateX + "][" + this.mSkewY + ", " + this.mScaleY + ", " + this.mTranslateY + "]";
+	}
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	/**
+	 * <code>this = this * pSVGMatrix</code>, so <code>pSVGMatrix</code> is applied first.
+	 */
+	public void preConcat(final SVGMatrix pSVGMatrix) {
+		this.concat(this.mScaleX, this.mSkewY, this.mSkewX, this.mScaleY, this.mTranslateX, this.mTranslateY, pSVGMatrix.mScaleX, pSVGMatrix.mSkewY, pSVGMatrix.mSkewX, pSVGMatrix.mScaleY, pSVGMatrix.mTranslateX, pSVGMatrix.mTranslateY);
+	}
+
+	/**
+	 * <code>this = pSVGMatrix * this</code>, so <code>pSVGMatrix</code> is applied last.
+	 */
+	public void postConcat(final SVGMatrix pSVGMatrix) {
+		this.concat(pSVGMatrix.mScaleX, pSVGMatrix.mSkewY, pSVGMatrix.mSkewX, pSVGMatrix.mScaleY, pSVGMatrix.mTranslateX, pSVGMatrix.mTranslateY, this.mScaleX, this.mSkewY, this.mSkewX, this.mScaleY, this.mTranslateX, this.mTranslateY);
+	}
+
+	public void preTranslate(final float pX, final float pY) {
+		this.concat(this.mScaleX, this.mSkewY, this.mSkewX, this.mScaleY, this.mTranslateX, this.mTranslateY, 1, 0, 0, 1, pX, pY);
+	}
+
+	public void postTranslate(final float pX, final float pY) {
+		this.mTranslateX += pX;
+		this.mTranslateY += pY;
+	}
+
+	public void preScale(final float pScaleX, final float pScaleY) {
+		this.concat(this.mScaleX, this.mSkewY, this.mSkewX, this.mScaleY, this.mTranslateX, this.mTranslateY, pScaleX, 0, 0, pScaleY, 0, 0);
+	}
+
+	public void postScale(final float pScaleX, final float pScaleY) {
+		this.concat(pScaleX, 0, 0, pScaleY, 0, 0, this.mScaleX, this.mSkewY, this.mSkewX, this.mScaleY, this.mTranslateX, this.mTranslateY);
+	}
+
+	/**
+	 * @param pDegrees clockwise, as the y-axis points down.
+	 */
+	public void postRotate(final float pDegrees) {
+		final double radians = Math.toRadians(pDegrees);
+		final float cos = (float) Math.cos(radians);
+		final float sin = (float) Math.sin(radians);
+		this.concat(cos, sin, -sin, cos, 0, 0, this.mScaleX, this.mSkewY, this.mSkewX, this.mScaleY, this.mTranslateX, this.mTranslateY);
+	}
+
+	public void postSkew(final float pSkewX, final float pSkewY) {
+		this.concat(1, pSkewY, pSkewX, 1, 0, 0, this.mScaleX, this.mSkewY, this.mSkewX, this.mScaleY, this.mTranslateX, this.mTranslateY);
+	}
+
+	/**
+	 * Sets <code>this</code> to the product of the matrices <code>(pA1 ... pF1) * (pA2 ... pF2)</code>, given in the SVG order.
+	 */
+	private void concat(final float pA1, final float pB1, final float pC1, final float pD1, final float pE1, final float pF1, final float pA2, final float pB2, final float pC2, final float pD2, final float pE2, final float pF2) {
+		this.mScaleX = pA1 * pA2 + pC1 * pB2;
+		this.mSkewY = pB1 * pA2 + pD1 * pB2;
+		this.mSkewX = pA1 * pC2 + pC1 * pD2;
+		this.mScaleY = pB1 * pC2 + pD1 * pD2;
+		this.mTranslateX = pA1 * pE2 + pC1 * pF2 + pE1;
+		this.mTranslateY = pB1 * pE2 + pD1 * pF2 + pF1;
+	}
+
+	/**
+	 * @return <code>false</code> if <code>this</code> can not be inverted, in which case <code>pInverse</code> is left unchanged. <code>pInverse</code> may be <code>this</code>.
+	 */
+	public boolean invert(final SVGMatrix pInverse) {
+		final float determinant = this.getDeterminant();
+		if(determinant == 0) {
+			return false;
+		}
+
+		final float inverseDeterminant = 1 / determinant;
+		final float a = this.mScaleY * inverseDeterminant;
+		final float b = -this.mSkewY * inverseDeterminant;
+		final float c = -this.mSkewX * inverseDeterminant;
+		final float d = this.mScaleX * inverseDeterminant;
+		final float e = -(a * this.mTranslateX + c * this.mTranslateY);
+		final float f = -(b * this.mTranslateX + d * this.mTranslateY);
+		pInverse.setValues(a, b, c, d, e, f);
+		return true;
+	}
+
+	public float mapX(final float pX, final float pY) {
+		return this.mScaleX * pX + this.mSkewX * pY + this.mTranslateX;
+	}
+
+	public float mapY(final float pX, final float pY) {
+		return this.mSkewY * pX + this.mScaleY * pY + this.mTranslateY;
+	}
+
+	/**
+	 * Maps <code>pCount</code> points, stored as consecutive x/y pairs, in place.
+	 */
+	public void mapPoints(final float[] pPoints, final int pOffset, final int pCount) {
+		final float scaleX = this.mScaleX;
+		final float skewX = this.mSkewX;
+		final float translateX = this.mTranslateX;
+		final float skewY = this.mSkewY;
+		final float scaleY = this.mScaleY;
+		final float translateY = this.mTranslateY;
+
+		final int end = pOffset + 2 * pCount;
+		for(int i = pOffset; i < end; i += 2) {
+			final float x = pPoints[i];
+			final float y = pPoints[i + 1];
+			pPoints[i] = scaleX * x + skewX * y + translateX;
+			pPoints[i + 1] = skewY * x + scaleY * y + translateY;
+		}
+	}
+
+	/**
+	 * Sets <code>pSVGRect</code> to the bounds of its mapped corners.
+	 */
+	public void mapRect(final SVGRect pSVGRect) {
+		final float left = pSVGRect.getLeft();
+		final float top = pSVGRect.getTop();
+		final float right = pSVGRect.getRight();
+		final float bottom = pSVGRect.getBottom();
+
+		pSVGRect.set(this.mapX(left, top), this.mapY(left, top), this.mapX(left, top), this.mapY(left, top));
+		pSVGRect.include(this.mapX(right, top), this.mapY(right, top));
+		pSVGRect.include(this.mapX(right, bottom), this.mapY(right, bottom));
+		pSVGRect.include(this.mapX(left, bottom), this.mapY(left, bottom));
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
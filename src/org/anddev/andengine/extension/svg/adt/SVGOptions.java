@@ -0,0 +1,160 @@
+package org.anddev.andengine.extension.svg.adt;
+
+
+/**
+ * Optional settings that influence how an SVG document is compiled into its {@link SVG}.
+ * The default settings produce the same output as parsing without any {@link SVGOptions}.
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 14:12:36 - 28.05.2011
+ */
+public class SVGOptions {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private boolean mTransformFolding;
+	private boolean mPathMerging;
+
+	private float mLevelOfDetailThreshold;
+	private float mPathSimplificationTolerance;
+	private int mTargetWidth;
+	private int mTargetHeight;
+	private float mTargetScale = 1;
+
+	private ISVGParseListener mSVGParseListener;
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	public SVGOptions() {
+
+	}
+
+	public SVGOptions(final SVGOptions pSVGOptions) {
+		this.mTransformFolding = pSVGOptions.mTransformFolding;
+		this.mPathMerging = pSVGOptions.mPathMerging;
+		this.mLevelOfDetailThreshold = pSVGOptions.mLevelOfDetailThreshold;
+		this.mPathSimplificationTolerance = pSVGOptions.mPathSimplificationTolerance;
+		this.mTargetWidth = pSVGOptions.mTargetWidth;
+		this.mTargetHeight = pSVGOptions.mTargetHeight;
+		this.mTargetScale = pSVGOptions.mTargetScale;
+		this.mSVGParseListener = pSVGOptions.mSVGParseListener;
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	public boolean isTransformFolding() {
+		return this.mTransformFolding;
+	}
+
+	/**
+	 * @param pTransformFolding when <code>true</code>, the transforms of groups and elements are multiplied into the geometry and gradients while parsing,
+	 * instead of being recorded as <code>save()</code>/<code>concat()</code>/<code>restore()</code> calls that are replayed on every render.
+	 * Elements that can not be folded exactly (i.e. filtered elements or strokes under a non-uniform scale) still get their transform recorded.
+	 */
+	public void setTransformFolding(final boolean pTransformFolding) {
+		this.mTransformFolding = pTransformFolding;
+	}
+
+	public boolean isPathMerging() {
+		return this.mPathMerging;
+	}
+
+	/**
+	 * @param pPathMerging when <code>true</code>, consecutive paths drawn with an identical paint, whose bounds do not intersect each other, are merged into a single draw call.
+	 * Non-intersecting bounds guarantee the merge can not change the order in which overlapping pixels are blended.
+	 */
+	public void setPathMerging(final boolean pPathMerging) {
+		this.mPathMerging = pPathMerging;
+	}
+
+	public float getLevelOfDetailThreshold() {
+		return this.mLevelOfDetailThreshold;
+	}
+
+	/**
+	 * @param pLevelOfDetailThreshold in pixels of the target size. Elements whose transformed bounds are smaller than this (in both dimensions) are skipped. <code>0</code> disables skipping.
+	 */
+	public void setLevelOfDetailThreshold(final float pLevelOfDetailThreshold) {
+		this.mLevelOfDetailThreshold = pLevelOfDetailThreshold;
+	}
+
+	public float getPathSimplificationTolerance() {
+		return this.mPathSimplificationTolerance;
+	}
+
+	/**
+	 * @param pPathSimplificationTolerance in pixels of the target size. Path segments shorter than this are dropped and curves flatter than this are drawn as lines. <code>0</code> disables the simplification.
+	 */
+	public void setPathSimplificationTolerance(final float pPathSimplificationTolerance) {
+		this.mPathSimplificationTolerance = pPathSimplificationTolerance;
+	}
+
+	public int getTargetWidth() {
+		return this.mTargetWidth;
+	}
+
+	public int getTargetHeight() {
+		return this.mTargetHeight;
+	}
+
+	/**
+	 * The size the SVG is going to be rendered at, which the pixel thresholds are relative to. Takes precedence over {@link SVGOptions#setTargetScale(float)}.
+	 *
+	 * @param pTargetWidth <code>0</code> if unknown.
+	 * @param pTargetHeight <code>0</code> if unknown.
+	 */
+	public void setTargetSize(final int pTargetWidth, final int pTargetHeight) {
+		this.mTargetWidth = pTargetWidth;
+		this.mTargetHeight = pTargetHeight;
+	}
+
+	public float getTargetScale() {
+		return this.mTargetScale;
+	}
+
+	/**
+	 * @param pTargetScale the scale the SVG is going to be rendered at, which the pixel thresholds are relative to.
+	 */
+	public void setTargetScale(final float pTargetScale) {
+		this.mTargetScale = pTargetScale;
+	}
+
+	public ISVGParseListener getSVGParseListener() {
+		return this.mSVGParseListener;
+	}
+
+	/**
+	 * @param pSVGParseListener gets told what the parser does and how long it takes, which does not change the output. <code>null</code> disables the instrumentation, which is the default.
+	 */
+	public void setSVGParseListener(final ISVGParseListener pSVGParseListener) {
+		this.mSVGParseListener = pSVGParseListener;
+	}
+
+	public boolean isLevelOfDetailEnabled() {
+		return this.mLevelOfDetailThreshold > 0 || this.mPathSimplificationTolerance > 0;
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
@@ -0,0 +1,216 @@
+package org.anddev.andengine.extension.svg.adt;
+
+
+/**
+ * The resolved style of a single fill or stroke, independent of any Android class.
+ * Two elements with equal {@link SVGPaintState}s are drawn with the same paint.
+ * Unset properties are normalized to their defaults, so they compare equal to explicitly set defaults.
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 11:23:08 - 29.05.2011
+ */
+public class SVGPaintState {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	public static final int STYLE_FILL = 0;
+	public static final int STYLE_STROKE = 1;
+
+	public static final int CAP_BUTT = 0;
+	public static final int CAP_ROUND = 1;
+	public static final int CAP_SQUARE = 2;
+
+	public static final int JOIN_MITER = 0;
+	public static final int JOIN_ROUND = 1;
+	public static final int JOIN_BEVEL = 2;
+
+	private static final int COLOR_DEFAULT = 0xFF000000;
+	/** A stroke width of <code>0</code> denotes a hairline. */
+	private static final float STROKE_WIDTH_DEFAULT = 0;
+	/** The default of <code>android.graphics.Paint</code>, which is also the default <code>stroke-miterlimit</code> of SVG. */
+	private static final float STROKE_MITER_LIMIT_DEFAULT = 4;
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private int mStyle;
+	/** ARGB, including the opacity. Not used if a gradient is set. */
+	private int mColor;
+	private String mGradientID;
+	private String mFilterID;
+	private float mStrokeWidth;
+	private int mStrokeCap;
+	private int mStrokeJoin;
+	private float mStrokeMiterLimit;
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	public SVGPaintState() {
+		this.reset(STYLE_FILL);
+	}
+
+	public SVGPaintState(final SVGPaintState pSVGPaintState) {
+		this.set(pSVGPaintState);
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	public int getStyle() {
+		return this.mStyle;
+	}
+
+	public int getColor() {
+		return this.mColor;
+	}
+
+	public void setColor(final int pColor) {
+		this.mColor = pColor;
+	}
+
+	public boolean hasGradient() {
+		return this.mGradientID != null;
+	}
+
+	public String getGradientID() {
+		return this.mGradientID;
+	}
+
+	/**
+	 * The color is ignored as long as a gradient is set.
+	 */
+	public void setGradientID(final String pGradientID) {
+		this.mGradientID = pGradientID;
+		this.mColor = COLOR_DEFAULT;
+	}
+
+	public boolean hasFilter() {
+		return this.mFilterID != null;
+	}
+
+	public String getFilterID() {
+		return this.mFilterID;
+	}
+
+	public void setFilterID(final String pFilterID) {
+		this.mFilterID = pFilterID;
+	}
+
+	public float getStrokeWidth() {
+		return this.mStrokeWidth;
+	}
+
+	public void setStrokeWidth(final float pStrokeWidth) {
+		this.mStrokeWidth = pStrokeWidth;
+	}
+
+	public int getStrokeCap() {
+		return this.mStrokeCap;
+	}
+
+	public void setStrokeCap(final int pStrokeCap) {
+		this.mStrokeCap = pStrokeCap;
+	}
+
+	public int getStrokeJoin() {
+		return this.mStrokeJoin;
+	}
+
+	public void setStrokeJoin(final int pStrokeJoin) {
+		this.mStrokeJoin = pStrokeJoin;
+	}
+
+	public float getStrokeMiterLimit() {
+		return this.mStrokeMiterLimit;
+	}
+
+	/**
+	 * @param pStrokeMiterLimit the maximum ratio of the length of a miter to the stroke width, at least <code>1</code>. Longer miters are beveled.
+	 */
+	public void setStrokeMiterLimit(final float pStrokeMiterLimit) {
+		this.mStrokeMiterLimit = pStrokeMiterLimit;
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	@Override
+	public int hashCode() {
+		int hashCode = this.mStyle;
+		hashCode = 31 * hashCode + this.mColor;
+		hashCode = 31 * hashCode + ((this.mGradientID == null) ? 0 : this.mGradientID.hashCode());
+		hashCode = 31 * hashCode + ((this.mFilterID == null) ? 0 : this.mFilterID.hashCode());
+		hashCode = 31 * hashCode + Float.floatToIntBits(this.mStrokeWidth);
+		hashCode = 31 * hashCode + this.mStrokeCap;
+		hashCode = 31 * hashCode + this.mStrokeJoin;
+		hashCode = 31 * hashCode + Float.floatToIntBits(this.mStrokeMiterLimit);
+		return hashCode;
+	}
+
+	@Override
+	public boolean equals(final Object pObject) {
+		if(this == pObject) {
+			return true;
+		} else if(!(pObject instanceof SVGPaintState)) {
+			return false;
+		}
+
+		final SVGPaintState other = (SVGPaintState) pObject;
+		return this.mStyle == other.mStyle
+				&& this.mColor == other.mColor
+				&& SVGPaintState.equals(this.mGradientID, other.mGradientID)
+				&& SVGPaintState.equals(this.mFilterID, other.mFilterID)
+				&& Float.floatToIntBits(this.mStrokeWidth) == Float.floatToIntBits(other.mStrokeWidth)
+				&& this.mStrokeCap == other.mStrokeCap
+				&& this.mStrokeJoin == other.mStrokeJoin
+				&& Float.floatToIntBits(this.mStrokeMiterLimit) == Float.floatToIntBits(other.mStrokeMiterLimit);
+	}
+
+	@Override
+	public String toString() {
+		return this.getClass().getSimpleName() + "[Style=" + this.mStyle + ", Color=" + Integer.toHexString(this.mColor) + ", GradientID=" + this.mGradientID + ", FilterID=" + this.mFilterID + ", StrokeWidth=" + this.mStrokeWidth + ", StrokeCap=" + this.mStrokeCap + ", StrokeJoin=" + this.mStrokeJoin + ", StrokeMiterLimit=" + this.mStrokeMiterLimit + "]";
+	}
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	public void reset(final int pStyle) {
+		this.mStyle = pStyle;
+		this.mColor = COLOR_DEFAULT;
+		this.mGradientID = null;
+		this.mFilterID = null;
+		this.mStrokeWidth = STROKE_WIDTH_DEFAULT;
+		this.mStrokeCap = CAP_BUTT;
+		this.mStrokeJoin = JOIN_MITER;
+		this.mStrokeMiterLimit = STROKE_MITER_LIMIT_DEFAULT;
+	}
+
+	public void set(final SVGPaintState pSVGPaintState) {
+		this.mStyle = pSVGPaintState.mStyle;
+		this.mColor = pSVGPaintState.mColor;
+		this.mGradientID = pSVGPaintState.mGradientID;
+		this.mFilterID = pSVGPaintState.mFilterID;
+		this.mStrokeWidth = pSVGPaintState.mStrokeWidth;
+		this.mStrokeCap = pSVGPaintState.mStrokeCap;
+		this.mStrokeJoin = pSVGPaintState.mStrokeJoin;
+		this.mStrokeMiterLimit = pSVGPaintState.mStrokeMiterLimit;
+	}
+
+	private static boolean equals(final String pStringA, final String pStringB) {
+		return (pStringA == null) ? (pStringB == null) : pStringA.equals(pStringB);
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
@@ -0,0 +1,222 @@
+package org.anddev.andengine.extension.svg.adt;
+
+import org.anddev.andengine.extension.svg.util.SVGParserUtils;
+import org.anddev.andengine.extension.svg.util.constants.ColorUtils;
+import org.anddev.andengine.extension.svg.util.constants.ISVGConstants;
+
+
+/**
+ * Resolves the fill and stroke of an element from its {@link SVGProperties} into a {@link SVGPaintState}.
+ * Does not depend on any Android class.
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 11:58:40 - 29.05.2011
+ */
+public class SVGPaintStateResolver implements ISVGConstants {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private final ISVGColorMapper mSVGColorMapper;
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	public SVGPaintStateResolver(final ISVGColorMapper pSVGColorMapper) {
+		this.mSVGColorMapper = pSVGColorMapper;
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	/**
+	 * @return <code>true</code> if the element is filled, <code>false</code> otherwise, in which case <code>pSVGPaintState</code> is undefined.
+	 */
+	public boolean resolveFill(final SVGProperties pSVGProperties, final SVGPaintState pSVGPaintState) {
+		if(this.isDisplayNone(pSVGProperties) || this.isFillNone(pSVGProperties)) {
+			return false;
+		}
+
+		pSVGPaintState.reset(SVGPaintState.STYLE_FILL);
+
+		final String fillProperty = pSVGProperties.getStringProperty(ATTRIBUTE_FILL);
+		if(fillProperty == null) {
+			if(pSVGProperties.getStringProperty(ATTRIBUTE_STROKE) == null) {
+				/* Default is black fill. */
+				pSVGPaintState.setColor(0xFF000000); // TODO Respect color mapping?
+				return true;
+			} else {
+				return false;
+			}
+		} else {
+			return this.resolveColorProperties(pSVGProperties, pSVGPaintState, true);
+		}
+	}
+
+	/**
+	 * @return <code>true</code> if the element is stroked, <code>false</code> otherwise, in which case <code>pSVGPaintState</code> is undefined.
+	 */
+	public boolean resolveStroke(final SVGProperties pSVGProperties, final SVGPaintState pSVGPaintState) {
+		if(this.isDisplayNone(pSVGProperties) || this.isStrokeNone(pSVGProperties)) {
+			return false;
+		}
+
+		pSVGPaintState.reset(SVGPaintState.STYLE_STROKE);
+
+		if(this.resolveColorProperties(pSVGProperties, pSVGPaintState, false)) {
+			this.resolveStrokeProperties(pSVGProperties, pSVGPaintState);
+			return true;
+		} else {
+			return false;
+		}
+	}
+
+	private boolean isDisplayNone(final SVGProperties pSVGProperties) {
+		return VALUE_NONE.equals(pSVGProperties.getStringProperty(ATTRIBUTE_DISPLAY));
+	}
+
+	private boolean isFillNone(final SVGProperties pSVGProperties) {
+		return VALUE_NONE.equals(pSVGProperties.getStringProperty(ATTRIBUTE_FILL));
+	}
+
+	private boolean isStrokeNone(final SVGProperties pSVGProperties) {
+		return VALUE_NONE.equals(pSVGProperties.getStringProperty(ATTRIBUTE_STROKE));
+	}
+
+	private boolean resolveColorProperties(final SVGProperties pSVGProperties, final SVGPaintState pSVGPaintState, final boolean pModeFill) { // TODO throw SVGParseException
+		final String colorProperty = pSVGProperties.getStringProperty(pModeFill ? ATTRIBUTE_FILL : ATTRIBUTE_STROKE);
+		if(colorProperty == null) {
+			return false;
+		}
+
+		final String filterProperty = pSVGProperties.getStringProperty(ATTRIBUTE_FILTER);
+		if(filterProperty != null) {
+			if(SVGProperties.isURLProperty(filterProperty)) {
+				pSVGPaintState.setFilterID(SVGParserUtils.extractIDFromURLProperty(filterProperty));
+			} else {
+				return false;
+			}
+		}
+
+		if(SVGProperties.isURLProperty(colorProperty)) {
+			pSVGPaintState.setGradientID(SVGParserUtils.extractIDFromURLProperty(colorProperty));
+			return true;
+		} else {
+			final Integer color = this.parseColor(colorProperty);
+			if(color != null) {
+				final int alpha = SVGPaintStateResolver.parseAlpha(pSVGProperties, pModeFill);
+				pSVGPaintState.setColor((ColorUtils.COLOR_MASK_32BIT_ARGB_RGB & color) | (alpha << 24));
+				return true;
+			} else {
+				return false;
+			}
+		}
+	}
+
+	private void resolveStrokeProperties(final SVGProperties pSVGProperties, final SVGPaintState pSVGPaintState) {
+		final Float width = pSVGProperties.getFloatProperty(ATTRIBUTE_STROKE_WIDTH);
+		if (width != null) {
+			pSVGPaintState.setStrokeWidth(width);
+		}
+		final String linecap = pSVGProperties.getStringProperty(ATTRIBUTE_STROKE_LINECAP);
+		if (ATTRIBUTE_STROKE_LINECAP_VALUE_ROUND.equals(linecap)) {
+			pSVGPaintState.setStrokeCap(SVGPaintState.CAP_ROUND);
+		} else if (ATTRIBUTE_STROKE_LINECAP_VALUE_SQUARE.equals(linecap)) {
+			pSVGPaintState.setStrokeCap(SVGPaintState.CAP_SQUARE);
+		} else if (ATTRIBUTE_STROKE_LINECAP_VALUE_BUTT.equals(linecap)) {
+			pSVGPaintState.setStrokeCap(SVGPaintState.CAP_BUTT);
+		}
+		final String linejoin = pSVGProperties.getStringProperty(ATTRIBUTE_STROKE_LINEJOIN_VALUE_);
+		if (ATTRIBUTE_STROKE_LINEJOIN_VALUE_MITER.equals(linejoin)) {
+			pSVGPaintState.setStrokeJoin(SVGPaintState.JOIN_MITER);
+		} else if (ATTRIBUTE_STROKE_LINEJOIN_VALUE_ROUND.equals(linejoin)) {
+			pSVGPaintState.setStrokeJoin(SVGPaintState.JOIN_ROUND);
+		} else if (ATTRIBUTE_STROKE_LINEJOIN_VALUE_BEVEL.equals(linejoin)) {
+			pSVGPaintState.setStrokeJoin(SVGPaintState.JOIN_BEVEL);
+		}
+		final Float miterLimit = pSVGProperties.getFloatProperty(ATTRIBUTE_STROKE_MITERLIMIT);
+		if (miterLimit != null && miterLimit >= 1) {
+			pSVGPaintState.setStrokeMiterLimit(miterLimit);
+		}
+	}
+
+	private static int parseAlpha(final SVGProperties pSVGProperties, final boolean pModeFill) {
+		Float opacity = pSVGProperties.getFloatProperty(ATTRIBUTE_OPACITY);
+		if(opacity == null) {
+			opacity = pSVGProperties.getFloatProperty(pModeFill ? ATTRIBUTE_FILL_OPACITY : ATTRIBUTE_STROKE_OPACITY);
+		}
+		if(opacity == null) {
+			return 255;
+		} else {
+			return Math.max(0, Math.min(255, (int) (255 * opacity)));
+		}
+	}
+
+	// ===========================================================
+	// Methods for Colors
+	// ===========================================================
+
+	public Integer parseColor(final String pString, final Integer pDefault) {
+		final Integer color = this.parseColor(pString);
+		if(color == null) {
+			return this.applySVGColorMapper(pDefault);
+		} else {
+			return color;
+		}
+	}
+
+	public Integer parseColor(final String pString) {
+		/* TODO Test if explicit pattern matching is faster:
+		 *
+		 * RGB:		/^rgb\((\d{1,3}),\s*(\d{1,3}),\s*(\d{1,3})\)$/
+		 * #RRGGBB:	/^(\w{2})(\w{2})(\w{2})$/
+		 * #RGB:	/^(\w{1})(\w{1})(\w{1})$/
+		 */
+
+		final Integer parsedColor;
+		if(pString == null) {
+			parsedColor = null;
+		} else if(SVGProperties.isHexProperty(pString)) {
+			parsedColor = SVGParserUtils.extractColorFromHexProperty(pString);
+		} else if(SVGProperties.isRGBProperty(pString)) {
+			parsedColor = SVGParserUtils.extractColorFromRGBProperty(pString);
+		} else {
+			final Integer colorByName = ColorUtils.getColorByName(pString.trim());
+			if(colorByName != null) {
+				parsedColor = colorByName;
+			} else {
+				parsedColor = SVGParserUtils.extraColorIntegerProperty(pString);
+			}
+		}
+		return this.applySVGColorMapper(parsedColor);
+	}
+
+	private Integer applySVGColorMapper(final Integer pColor) {
+		if(this.mSVGColorMapper == null) {
+			return pColor;
+		} else {
+			return this.mSVGColorMapper.mapColor(pColor);
+		}
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
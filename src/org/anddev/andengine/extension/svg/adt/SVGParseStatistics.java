@@ -0,0 +1,255 @@
+package org.anddev.andengine.extension.svg.adt;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+
+/**
+ * An {@link ISVGParseListener} that sums up everything it is told, over as many parses as it is used for, until it is {@link SVGParseStatistics#reset()}.
+ * Not thread-safe, so documents parsed in parallel need one instance each.
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 15:07:52 - 04.06.2011
+ */
+public class SVGParseStatistics implements ISVGParseListener {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	private static final String[] PHASE_NAMES = new String[] { "tokenization", "style resolution", "path parsing", "paint setup", "drawing" };
+
+	/** Path commands are ASCII letters. */
+	private static final int PATH_COMMAND_COUNT = 128;
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private int mParseCount;
+	private final long[] mPhaseDurations = new long[ISVGParseListener.PHASE_COUNT];
+
+	private final HashMap<String, int[]> mElementCounts = new HashMap<String, int[]>();
+	private int mElementCount;
+	private int mUnknownElementCount;
+	private final int[] mPathSegmentCounts = new int[SVGParseStatistics.PATH_COMMAND_COUNT];
+	private int mPathSegmentCount;
+	private int mLinearGradientCount;
+	private int mRadialGradientCount;
+	private int mFilterCount;
+	private int mTransformCount;
+	private final ArrayList<String> mWarnings = new ArrayList<String>();
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	/**
+	 * @return the number of documents that were parsed completely.
+	 */
+	public int getParseCount() {
+		return this.mParseCount;
+	}
+
+	/**
+	 * @param pPhase one of the <code>PHASE_*</code> constants of {@link ISVGParseListener}.
+	 * @return in nanoseconds.
+	 */
+	public long getPhaseDuration(final int pPhase) {
+		return this.mPhaseDurations[pPhase];
+	}
+
+	/**
+	 * @return in nanoseconds.
+	 */
+	public long getTotalDuration() {
+		long totalDuration = 0;
+		for(int i = 0; i < ISVGParseListener.PHASE_COUNT; i++) {
+			totalDuration += this.mPhaseDurations[i];
+		}
+		return totalDuration;
+	}
+
+	public int getElementCount() {
+		return this.mElementCount;
+	}
+
+	public int getElementCount(final String pLocalName) {
+		final int[] elementCount = this.mElementCounts.get(pLocalName);
+		return (elementCount == null) ? 0 : elementCount[0];
+	}
+
+	/**
+	 * @return the local names of all elements that were counted, in alphabetical order.
+	 */
+	public ArrayList<String> getElementNames() {
+		final ArrayList<String> elementNames = new ArrayList<String>(this.mElementCounts.keySet());
+		Collections.sort(elementNames);
+		return elementNames;
+	}
+
+	public int getUnknownElementCount() {
+		return this.mUnknownElementCount;
+	}
+
+	public int getPathSegmentCount() {
+		return this.mPathSegmentCount;
+	}
+
+	/**
+	 * @param pCommand i.e. <code>'c'</code> or <code>'C'</code>, which are counted separately.
+	 */
+	public int getPathSegmentCount(final char pCommand) {
+		return (pCommand < SVGParseStatistics.PATH_COMMAND_COUNT) ? this.mPathSegmentCounts[pCommand] : 0;
+	}
+
+	public int getLinearGradientCount() {
+		return this.mLinearGradientCount;
+	}
+
+	public int getRadialGradientCount() {
+		return this.mRadialGradientCount;
+	}
+
+	public int getFilterCount() {
+		return this.mFilterCount;
+	}
+
+	public int getTransformCount() {
+		return this.mTransformCount;
+	}
+
+	public ArrayList<String> getWarnings() {
+		return this.mWarnings;
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	@Override
+	public void onElement(final String pLocalName, final boolean pKnown) {
+		this.mElementCount++;
+		if(!pKnown) {
+			this.mUnknownElementCount++;
+		}
+
+		final int[] elementCount = this.mElementCounts.get(pLocalName);
+		if(elementCount == null) {
+			this.mElementCounts.put(pLocalName, new int[] { 1 });
+		} else {
+			elementCount[0]++;
+		}
+	}
+
+	@Override
+	public void onPathSegment(final char pCommand) {
+		this.mPathSegmentCount++;
+		if(pCommand < SVGParseStatistics.PATH_COMMAND_COUNT) {
+			this.mPathSegmentCounts[pCommand]++;
+		}
+	}
+
+	@Override
+	public void onGradient(final boolean pLinear) {
+		if(pLinear) {
+			this.mLinearGradientCount++;
+		} else {
+			this.mRadialGradientCount++;
+		}
+	}
+
+	@Override
+	public void onFilter() {
+		this.mFilterCount++;
+	}
+
+	@Override
+	public void onTransform() {
+		this.mTransformCount++;
+	}
+
+	@Override
+	public void onWarning(final String pMessage) {
+		this.mWarnings.add(pMessage);
+	}
+
+	@Override
+	public void onParseFinished(final long[] pPhaseDurations) {
+		this.mParseCount++;
+		for(int i = 0; i < ISVGParseListener.PHASE_COUNT; i++) {
+			this.mPhaseDurations[i] += pPhaseDurations[i];
+		}
+	}
+
+	/**
+	 * @return a human readable summary over multiple lines, i.e. to be logged.
+	 */
+	@Override
+	public String toString() {
+		final StringBuilder stringBuilder = new StringBuilder();
+		final long totalDuration = this.getTotalDuration();
+		stringBuilder.append(String.format(Locale.US, "%d parses, %.2f ms", this.mParseCount, totalDuration / 1e6));
+		for(int i = 0; i < ISVGParseListener.PHASE_COUNT; i++) {
+			stringBuilder.append(String.format(Locale.US, "%s %s: %.2f ms (%.0f%%)", (i == 0) ? ":" : ",", SVGParseStatistics.PHASE_NAMES[i], this.mPhaseDurations[i] / 1e6, (totalDuration == 0) ? 0 : 100.0 * this.mPhaseDurations[i] / totalDuration));
+		}
+
+		stringBuilder.append(String.format(Locale.US, "\n%d elements, %d unknown", this.mElementCount, this.mUnknownElementCount));
+		final ArrayList<String> elementNames = this.getElementNames();
+		for(int i = 0; i < elementNames.size(); i++) {
+			final String elementName = elementNames.get(i);
+			stringBuilder.append((i == 0) ? ": " : ", ").append(elementName).append(' ').append(this.getElementCount(elementName));
+		}
+
+		stringBuilder.append(String.format(Locale.US, "\n%d path segments", this.mPathSegmentCount));
+		boolean first = true;
+		for(char command = 0; command < SVGParseStatistics.PATH_COMMAND_COUNT; command++) {
+			if(this.mPathSegmentCounts[command] > 0) {
+				stringBuilder.append(first ? ": " : ", ").append(command).append(' ').append(this.mPathSegmentCounts[command]);
+				first = false;
+			}
+		}
+
+		stringBuilder.append(String.format(Locale.US, "\n%d linear gradients, %d radial gradients, %d filters, %d transforms", this.mLinearGradientCount, this.mRadialGradientCount, this.mFilterCount, this.mTransformCount));
+
+		stringBuilder.append(String.format(Locale.US, "\n%d warnings", this.mWarnings.size()));
+		for(int i = 0; i < this.mWarnings.size(); i++) {
+			stringBuilder.append("\n  ").append(this.mWarnings.get(i));
+		}
+		return stringBuilder.toString();
+	}
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	public void reset() {
+		this.mParseCount = 0;
+		for(int i = 0; i < ISVGParseListener.PHASE_COUNT; i++) {
+			this.mPhaseDurations[i] = 0;
+		}
+		this.mElementCounts.clear();
+		this.mElementCount = 0;
+		this.mUnknownElementCount = 0;
+		for(int i = 0; i < SVGParseStatistics.PATH_COMMAND_COUNT; i++) {
+			this.mPathSegmentCounts[i] = 0;
+		}
+		this.mPathSegmentCount = 0;
+		this.mLinearGradientCount = 0;
+		this.mRadialGradientCount = 0;
+		this.mFilterCount = 0;
+		this.mTransformCount = 0;
+		this.mWarnings.clear();
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
@@ -0,0 +1,405 @@
+package org.anddev.andengine.extension.svg.adt;
+
+
+/**
+ * A path made of lines and quadratic/cubic Bezier curves, independent of any Android class.
+ * The segments are stored as a list of verbs with their points in a flat coordinate array, so they can be iterated without any allocation.
+ * Like <code>android.graphics.Path</code>, a segment that does not follow a {@link SVGPath#moveTo(float, float)} implicitly starts at the start of the last contour.
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 10:47:03 - 30.05.2011
+ */
+public class SVGPath {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	public static final int FILLRULE_NONZERO = 0;
+	public static final int FILLRULE_EVENODD = 1;
+
+	public static final byte VERB_MOVE = 0;
+	public static final byte VERB_LINE = 1;
+	public static final byte VERB_QUAD = 2;
+	public static final byte VERB_CUBIC = 3;
+	public static final byte VERB_CLOSE = 4;
+
+	private static final int CAPACITY_DEFAULT = 16;
+
+	/** The distance of the control points of a cubic Bezier curve approximating a quarter circle of radius <code>1</code>. */
+	private static final float KAPPA = 0.5522847498f;
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private byte[] mVerbs;
+	private int mVerbCount;
+	private float[] mCoordinates;
+	private int mCoordinateCount;
+
+	private int mFillRule = FILLRULE_NONZERO;
+
+	private float mLastMoveX;
+	private float mLastMoveY;
+	/** Whether the next segment has to start a new contour, because the path is empty or the last contour was closed. */
+	private boolean mMoveRequired = true;
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	public SVGPath() {
+		this.mVerbs = new byte[SVGPath.CAPACITY_DEFAULT];
+		this.mCoordinates = new float[2 * SVGPath.CAPACITY_DEFAULT];
+	}
+
+	public SVGPath(final SVGPath pSVGPath) {
+		this.mVerbs = new byte[Math.max(SVGPath.CAPACITY_DEFAULT, pSVGPath.mVerbCount)];
+		this.mCoordinates = new float[Math.max(2 * SVGPath.CAPACITY_DEFAULT, pSVGPath.mCoordinateCount)];
+		this.set(pSVGPath);
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	public int getFillRule() {
+		return this.mFillRule;
+	}
+
+	/**
+	 * @param pFillRule one of {@link SVGPath#FILLRULE_NONZERO} or {@link SVGPath#FILLRULE_EVENODD}.
+	 */
+	public void setFillRule(final int pFillRule) {
+		this.mFillRule = pFillRule;
+	}
+
+	public boolean isEmpty() {
+		return this.mVerbCount == 0;
+	}
+
+	public int getVerbCount() {
+		return this.mVerbCount;
+	}
+
+	public byte getVerb(final int pIndex) {
+		return this.mVerbs[pIndex];
+	}
+
+	/**
+	 * @return the backing array, of which only the first {@link SVGPath#getVerbCount()} entries are valid. Must not be modified.
+	 */
+	public byte[] getVerbs() {
+		return this.mVerbs;
+	}
+
+	public int getCoordinateCount() {
+		return this.mCoordinateCount;
+	}
+
+	/**
+	 * @return the backing array of consecutive x/y pairs, of which only the first {@link SVGPath#getCoordinateCount()} entries are valid. Must not be modified.
+	 */
+	public float[] getCoordinates() {
+		return this.mCoordinates;
+	}
+
+	/**
+	 * @return the number of points that follow <code>pVerb</code> in the coordinates.
+	 */
+	public static int getPointCount(final byte pVerb) {
+		switch(pVerb) {
+			case VERB_MOVE:
+			case VERB_LINE:
+				return 1;
+			case VERB_QUAD:
+				return 2;
+			case VERB_CUBIC:
+				return 3;
+			default:
+				return 0;
+		}
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	public void reset() {
+		this.mVerbCount = 0;
+		this.mCoordinateCount = 0;
+		this.mFillRule = FILLRULE_NONZERO;
+		this.mLastMoveX = 0;
+		this.mLastMoveY = 0;
+		this.mMoveRequired = true;
+	}
+
+	public void set(final SVGPath pSVGPath) {
+		if(pSVGPath == this) {
+			return;
+		}
+		this.reset();
+		this.addPath(pSVGPath);
+		this.mFillRule = pSVGPath.mFillRule;
+	}
+
+	/**
+	 * Appends all contours of <code>pSVGPath</code>, keeping the fill rule of <code>this</code>.
+	 */
+	public void addPath(final SVGPath pSVGPath) {
+		final int verbCount = pSVGPath.mVerbCount;
+		final int coordinateCount = pSVGPath.mCoordinateCount;
+		this.ensureCapacity(verbCount, coordinateCount);
+		System.arraycopy(pSVGPath.mVerbs, 0, this.mVerbs, this.mVerbCount, verbCount);
+		System.arraycopy(pSVGPath.mCoordinates, 0, this.mCoordinates, this.mCoordinateCount, coordinateCount);
+		this.mVerbCount += verbCount;
+		this.mCoordinateCount += coordinateCount;
+		if(verbCount > 0) {
+			this.mLastMoveX = pSVGPath.mLastMoveX;
+			this.mLastMoveY = pSVGPath.mLastMoveY;
+			this.mMoveRequired = pSVGPath.mMoveRequired;
+		}
+	}
+
+	public void moveTo(final float pX, final float pY) {
+		if(this.mVerbCount > 0 && this.mVerbs[this.mVerbCount - 1] == VERB_MOVE) {
+			/* Consecutive moves collapse into the last one. */
+			this.mCoordinates[this.mCoordinateCount - 2] = pX;
+			this.mCoordinates[this.mCoordinateCount - 1] = pY;
+		} else {
+			this.ensureCapacity(1, 2);
+			this.mVerbs[this.mVerbCount++] = VERB_MOVE;
+			this.mCoordinates[this.mCoordinateCount++] = pX;
+			this.mCoordinates[this.mCoordinateCount++] = pY;
+		}
+		this.mLastMoveX = pX;
+		this.mLastMoveY = pY;
+		this.mMoveRequired = false;
+	}
+
+	public void lineTo(final float pX, final float pY) {
+		this.ensureContour();
+		this.ensureCapacity(1, 2);
+		this.mVerbs[this.mVerbCount++] = VERB_LINE;
+		this.mCoordinates[this.mCoordinateCount++] = pX;
+		this.mCoordinates[this.mCoordinateCount++] = pY;
+	}
+
+	public void quadTo(final float pX1, final float pY1, final float pX2, final float pY2) {
+		this.ensureContour();
+		this.ensureCapacity(1, 4);
+		this.mVerbs[this.mVerbCount++] = VERB_QUAD;
+		final float[] coordinates = this.mCoordinates;
+		coordinates[this.mCoordinateCount++] = pX1;
+		coordinates[this.mCoordinateCount++] = pY1;
+		coordinates[this.mCoordinateCount++] = pX2;
+		coordinates[this.mCoordinateCount++] = pY2;
+	}
+
+	public void cubicTo(final float pX1, final float pY1, final float pX2, final float pY2, final float pX3, final float pY3) {
+		this.ensureContour();
+		this.ensureCapacity(1, 6);
+		this.mVerbs[this.mVerbCount++] = VERB_CUBIC;
+		final float[] coordinates = this.mCoordinates;
+		coordinates[this.mCoordinateCount++] = pX1;
+		coordinates[this.mCoordinateCount++] = pY1;
+		coordinates[this.mCoordinateCount++] = pX2;
+		coordinates[this.mCoordinateCount++] = pY2;
+		coordinates[this.mCoordinateCount++] = pX3;
+		coordinates[this.mCoordinateCount++] = pY3;
+	}
+
+	public void close() {
+		if(this.mVerbCount > 0 && !this.mMoveRequired) {
+			this.ensureCapacity(1, 0);
+			this.mVerbs[this.mVerbCount++] = VERB_CLOSE;
+			this.mMoveRequired = true;
+		}
+	}
+
+	/**
+	 * Appends an elliptic arc of the oval inscribed in the given bounds, like <code>android.graphics.Path.arcTo(RectF, float, float)</code>:
+	 * A line connects the current point to the start of the arc, which is then approximated by cubic Bezier curves of at most 90 degrees each.
+	 *
+	 * @param pStartAngle in degrees, clockwise from the positive x-axis.
+	 * @param pSweepAngle in degrees, clockwise if positive.
+	 */
+	public void arcTo(final float pLeft, final float pTop, final float pRight, final float pBottom, final float pStartAngle, final float pSweepAngle) {
+		final float centerX = (pLeft + pRight) * 0.5f;
+		final float centerY = (pTop + pBottom) * 0.5f;
+		final float radiusX = (pRight - pLeft) * 0.5f;
+		final float radiusY = (pBottom - pTop) * 0.5f;
+
+		final double startAngle = Math.toRadians(pStartAngle);
+		final float startX = centerX + radiusX * (float) Math.cos(startAngle);
+		final float startY = centerY + radiusY * (float) Math.sin(startAngle);
+		if(this.mMoveRequired) {
+			this.moveTo(startX, startY);
+		} else if(this.mCoordinates[this.mCoordinateCount - 2] != startX || this.mCoordinates[this.mCoordinateCount - 1] != startY) {
+			this.lineTo(startX, startY);
+		}
+
+		final int segmentCount = (int) Math.ceil(Math.abs(pSweepAngle) / 90f);
+		if(segmentCount == 0) {
+			return;
+		}
+
+		final double segmentAngle = Math.toRadians(pSweepAngle) / segmentCount;
+		final float kappa = (float) (4.0 / 3.0 * Math.tan(segmentAngle / 4));
+		double angle = startAngle;
+		float cos = (float) Math.cos(angle);
+		float sin = (float) Math.sin(angle);
+		for(int i = 0; i < segmentCount; i++) {
+			angle += segmentAngle;
+			final float nextCos = (float) Math.cos(angle);
+			final float nextSin = (float) Math.sin(angle);
+			this.cubicTo(
+				centerX + radiusX * (cos - kappa * sin), centerY + radiusY * (sin + kappa * cos),
+				centerX + radiusX * (nextCos + kappa * nextSin), centerY + radiusY * (nextSin - kappa * nextCos),
+				centerX + radiusX * nextCos, centerY + radiusY * nextSin
+			);
+			cos = nextCos;
+			sin = nextSin;
+		}
+	}
+
+	/**
+	 * Adds a closed, clockwise contour.
+	 */
+	public void addRect(final float pLeft, final float pTop, final float pRight, final float pBottom) {
+		this.moveTo(pLeft, pTop);
+		this.lineTo(pRight, pTop);
+		this.lineTo(pRight, pBottom);
+		this.lineTo(pLeft, pBottom);
+		this.close();
+	}
+
+	/**
+	 * Adds a closed, clockwise contour.
+	 */
+	public void addOval(final float pLeft, final float pTop, final float pRight, final float pBottom) {
+		final float centerX = (pLeft + pRight) * 0.5f;
+		final float centerY = (pTop + pBottom) * 0.5f;
+		final float kappaX = (pRight - pLeft) * 0.5f * SVGPath.KAPPA;
+		final float kappaY = (pBottom - pTop) * 0.5f * SVGPath.KAPPA;
+
+		this.moveTo(pRight, centerY);
+		this.cubicTo(pRight, centerY + kappaY, centerX + kappaX, pBottom, centerX, pBottom);
+		this.cubicTo(centerX - kappaX, pBottom, pLeft, centerY + kappaY, pLeft, centerY);
+		this.cubicTo(pLeft, centerY - kappaY, centerX - kappaX, pTop, centerX, pTop);
+		this.cubicTo(centerX + kappaX, pTop, pRight, centerY - kappaY, pRight, centerY);
+		this.close();
+	}
+
+	/**
+	 * Adds a closed, clockwise contour.
+	 */
+	public void addCircle(final float pCenterX, final float pCenterY, final float pRadius) {
+		this.addOval(pCenterX - pRadius, pCenterY - pRadius, pCenterX + pRadius, pCenterY + pRadius);
+	}
+
+	/**
+	 * Adds a closed, clockwise contour.
+	 *
+	 * @param pRadiusX has to be at most half the width.
+	 * @param pRadiusY has to be at most half the height.
+	 */
+	public void addRoundRect(final float pLeft, final float pTop, final float pRight, final float pBottom, final float pRadiusX, final float pRadiusY) {
+		if(pRadiusX <= 0 || pRadiusY <= 0) {
+			this.addRect(pLeft, pTop, pRight, pBottom);
+			return;
+		}
+
+		final float kappaX = pRadiusX * SVGPath.KAPPA;
+		final float kappaY = pRadiusY * SVGPath.KAPPA;
+
+		this.moveTo(pLeft + pRadiusX, pTop);
+		this.lineTo(pRight - pRadiusX, pTop);
+		this.cubicTo(pRight - pRadiusX + kappaX, pTop, pRight, pTop + pRadiusY - kappaY, pRight, pTop + pRadiusY);
+		this.lineTo(pRight, pBottom - pRadiusY);
+		this.cubicTo(pRight, pBottom - pRadiusY + kappaY, pRight - pRadiusX + kappaX, pBottom, pRight - pRadiusX, pBottom);
+		this.lineTo(pLeft + pRadiusX, pBottom);
+		this.cubicTo(pLeft + pRadiusX - kappaX, pBottom, pLeft, pBottom - pRadiusY + kappaY, pLeft, pBottom - pRadiusY);
+		this.lineTo(pLeft, pTop + pRadiusY);
+		this.cubicTo(pLeft, pTop + pRadiusY - kappaY, pLeft + pRadiusX - kappaX, pTop, pLeft + pRadiusX, pTop);
+		this.close();
+	}
+
+	/**
+	 * Maps all points in place.
+	 */
+	public void transform(final SVGMatrix pSVGMatrix) {
+		pSVGMatrix.mapPoints(this.mCoordinates, 0, this.mCoordinateCount / 2);
+		final float lastMoveX = this.mLastMoveX;
+		final float lastMoveY = this.mLastMoveY;
+		this.mLastMoveX = pSVGMatrix.mapX(lastMoveX, lastMoveY);
+		this.mLastMoveY = pSVGMatrix.mapY(lastMoveX, lastMoveY);
+	}
+
+	/**
+	 * Like <code>android.graphics.Path.computeBounds(RectF, false)</code>, the bounds include the control points, so they may not be tight around curves.
+	 *
+	 * @param pBounds set to <code>0, 0, 0, 0</code> if the path is empty.
+	 */
+	public void computeBounds(final SVGRect pBounds) {
+		final int coordinateCount = this.mCoordinateCount;
+		if(coordinateCount == 0) {
+			pBounds.set(0, 0, 0, 0);
+			return;
+		}
+
+		final float[] coordinates = this.mCoordinates;
+		float left = coordinates[0];
+		float top = coordinates[1];
+		float right = left;
+		float bottom = top;
+		for(int i = 2; i < coordinateCount; i += 2) {
+			final float x = coordinates[i];
+			final float y = coordinates[i + 1];
+			if(x < left) {
+				left = x;
+			} else if(x > right) {
+				right = x;
+			}
+			if(y < top) {
+				top = y;
+			} else if(y > bottom) {
+				bottom = y;
+			}
+		}
+		pBounds.set(left, top, right, bottom);
+	}
+
+	private void ensureContour() {
+		if(this.mMoveRequired) {
+			this.moveTo(this.mLastMoveX, this.mLastMoveY);
+		}
+	}
+
+	private void ensureCapacity(final int pVerbCount, final int pCoordinateCount) {
+		final int verbCapacity = this.mVerbCount + pVerbCount;
+		if(verbCapacity > this.mVerbs.length) {
+			final byte[] verbs = new byte[Math.max(verbCapacity, 2 * this.mVerbs.length)];
+			System.arraycopy(this.mVerbs, 0, verbs, 0, this.mVerbCount);
+			this.mVerbs = verbs;
+		}
+
+		final int coordinateCapacity = this.mCoordinateCount + pCoordinateCount;
+		if(coordinateCapacity > this.mCoordinates.length) {
+			final float[] coordinates = new float[Math.max(coordinateCapacity, 2 * this.mCoordinates.length)];
+			System.arraycopy(this.mCoordinates, 0, coordinates, 0, this.mCoordinateCount);
+			this.mCoordinates = coordinates;
+		}
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
@@ -0,0 +1,182 @@
+package org.anddev.andengine.extension.svg.adt;
+
+
+/**
+ * An axis aligned rectangle, independent of any Android class.
+ * Like <code>android.graphics.RectF</code>, it is empty if <code>left &gt;= right</code> or <code>top &gt;= bottom</code>.
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 10:31:52 - 30.05.2011
+ */
+public class SVGRect {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private float mLeft;
+	private float mTop;
+	private float mRight;
+	private float mBottom;
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	public SVGRect() {
+
+	}
+
+	public SVGRect(final float pLeft, final float pTop, final float pRight, final float pBottom) {
+		this.set(pLeft, pTop, pRight, pBottom);
+	}
+
+	public SVGRect(final SVGRect pSVGRect) {
+		this.set(pSVGRect);
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	public float getLeft() {
+		return this.mLeft;
+	}
+
+	public float getTop() {
+		return this.mTop;
+	}
+
+	public float getRight() {
+		return this.mRight;
+	}
+
+	public float getBottom() {
+		return this.mBottom;
+	}
+
+	public float getWidth() {
+		return this.mRight - this.mLeft;
+	}
+
+	public float getHeight() {
+		return this.mBottom - this.mTop;
+	}
+
+	public boolean isEmpty() {
+		return this.mLeft >= this.mRight || this.mTop >= this.mBottom;
+	}
+
+	/**
+	 * @return <code>false</code> if nothing was included since the last {@link SVGRect#setUndefined()}.
+	 */
+	public boolean isDefined() {
+		return this.mLeft <= this.mRight && this.mTop <= this.mBottom;
+	}
+
+	public void set(final float pLeft, final float pTop, final float pRight, final float pBottom) {
+		this.mLeft = pLeft;
+		this.mTop = pTop;
+		this.mRight = pRight;
+		this.mBottom = pBottom;
+	}
+
+	public void set(final SVGRect pSVGRect) {
+		this.set(pSVGRect.mLeft, pSVGRect.mTop, pSVGRect.mRight, pSVGRect.mBottom);
+	}
+
+	/**
+	 * Inverts the rectangle to infinity, so the first {@link SVGRect#include(float, float)} defines it.
+	 */
+	public void setUndefined() {
+		this.set(Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY);
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	@Override
+	public int hashCode() {
+		int hashCode = Float.floatToIntBits(this.mLeft);
+		hashCode = 31 * hashCode + Float.floatToIntBits(this.mTop);
+		hashCode = 31 * hashCode + Float.floatToIntBits(this.mRight);
+		hashCode = 31 * hashCode + Float.floatToIntBits(this.mBottom);
+		return hashCode;
+	}
+
+	@Override
+	public boolean equals(final Object pObject) {
+		if(this == pObject) {
+			return true;
+		} else if(!(pObject instanceof SVGRect)) {
+			return false;
+		}
+
+		final SVGRect other = (SVGRect) pObject;
+		return this.mLeft == other.mLeft && this.mTop == other.mTop && this.mRight == other.mRight && this.mBottom == other.mBottom;
+	}
+
+	@Override
+	public String toString() {
+		return this.getClass().getSimpleName() + "[Left=" + this.mLeft + ", Top=" + this.mTop + ", Right=" + this.mRight + ", Bottom=" + this.mBottom + "]";
+	}
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	public void include(final float pX, final float pY) {
+		if(pX < this.mLeft) {
+			this.mLeft = pX;
+		}
+		if(pX > this.mRight) {
+			this.mRight = pX;
+		}
+		if(pY < this.mTop) {
+			this.mTop = pY;
+		}
+		if(pY > this.mBottom) {
+			this.mBottom = pY;
+		}
+	}
+
+	public void include(final SVGRect pSVGRect) {
+		if(pSVGRect.isDefined()) {
+			this.include(pSVGRect.mLeft, pSVGRect.mTop);
+			this.include(pSVGRect.mRight, pSVGRect.mBottom);
+		}
+	}
+
+	/**
+	 * @param pDeltaX negative values grow the rectangle.
+	 * @param pDeltaY negative values grow the rectangle.
+	 */
+	public void inset(final float pDeltaX, final float pDeltaY) {
+		this.mLeft += pDeltaX;
+		this.mTop += pDeltaY;
+		this.mRight -= pDeltaX;
+		this.mBottom -= pDeltaY;
+	}
+
+	public boolean contains(final float pX, final float pY) {
+		return pX >= this.mLeft && pX < this.mRight && pY >= this.mTop && pY < this.mBottom;
+	}
+
+	/**
+	 * @return <code>true</code> if both rectangles overlap with a non-empty area.
+	 */
+	public static boolean intersects(final SVGRect pSVGRectA, final SVGRect pSVGRectB) {
+		return pSVGRectA.mLeft < pSVGRectB.mRight && pSVGRectB.mLeft < pSVGRectA.mRight && pSVGRectA.mTop < pSVGRectB.mBottom && pSVGRectB.mTop < pSVGRectA.mBottom;
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
@@ -0,0 +1,295 @@
+package org.anddev.andengine.extension.svg.adt;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import org.anddev.andengine.extension.svg.util.SAXHelper;
+import org.anddev.andengine.extension.svg.util.SVGNumberParser;
+import org.anddev.andengine.extension.svg.util.SVGNumberParser.SVGNumberParserFloatResult;
+import org.anddev.andengine.extension.svg.util.constants.ISVGConstants;
+import org.xml.sax.Attributes;
+import org.xml.sax.helpers.AttributesImpl;
+
+
+/**
+ * A subtree of the document that is not rendered where it is defined (i.e. inside a <code>&lt;defs&gt;</code> or as a <code>&lt;symbol&gt;</code>),
+ * but instantiated by <code>&lt;use&gt;</code> elements referencing its id.
+ * The elements of the subtree are recorded while parsing and compiled into a {@link CompiledSVGSymbol} only once per distinct set of inherited properties,
+ * so every further <code>&lt;use&gt;</code> just replays the compiled recording.
+ * As the document is parsed in a single pass, a <code>&lt;use&gt;</code> can neither reference an element that is rendered where it is defined, nor one that is defined after it.
+ * The <code>viewBox</code> and <code>preserveAspectRatio</code> of a <code>&lt;symbol&gt;</code> are applied to the transform of each <code>&lt;use&gt;</code>,
+ * but its content is not clipped to the viewport.
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 10:41:17 - 27.05.2011
+ */
+public class SVGSymbol implements ISVGConstants {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	/** The properties an instantiated {@link SVGSymbol} can inherit from its <code>&lt;use&gt;</code> element, which have an effect on the compiled result. */
+	private static final String[] INHERITED_PROPERTIES = new String[] {
+		ATTRIBUTE_DISPLAY,
+		ATTRIBUTE_OPACITY,
+		ATTRIBUTE_FILTER,
+		ATTRIBUTE_FILL,
+		ATTRIBUTE_FILL_OPACITY,
+		ATTRIBUTE_FILLRULE,
+		ATTRIBUTE_STROKE,
+		ATTRIBUTE_STROKE_OPACITY,
+		ATTRIBUTE_STROKE_WIDTH,
+		ATTRIBUTE_STROKE_LINECAP,
+		ATTRIBUTE_STROKE_LINEJOIN_VALUE_,
+		ATTRIBUTE_STROKE_MITERLIMIT
+	};
+
+	private static final char INHERITED_PROPERTIES_KEY_SEPARATOR = '\u0000';
+	private static final char INHERITED_PROPERTIES_KEY_UNSET = '\u0001';
+
+	/** Half of the alignment is the share of the free space of the viewport that is left before the <code>viewBox</code>. */
+	private static final int ALIGN_MIN = 0;
+	private static final int ALIGN_MID = 1;
+	private static final int ALIGN_MAX = 2;
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private final String mID;
+
+	private final ArrayList<String> mElementNames = new ArrayList<String>();
+	/** <code>null</code> entries mark the end of the element with the same index in {@link SVGSymbol#mElementNames}. */
+	private final ArrayList<Attributes> mElementAttributes = new ArrayList<Attributes>();
+	private int mDepth;
+	/** The depth within a nested <code>&lt;defs&gt;</code> or <code>&lt;symbol&gt;</code>, which is not recorded. */
+	private int mSkippedDepth;
+
+	private final HashMap<String, CompiledSVGSymbol> mCompiledSVGSymbols = new HashMap<String, CompiledSVGSymbol>();
+
+	/** The x, y, width and height of the <code>viewBox</code> of a <code>&lt;symbol&gt;</code>, or <code>null</code> if it has none. */
+	private float[] mViewBox;
+	/** <code>false</code> if the <code>viewBox</code> is stretched to fill the viewport. */
+	private boolean mPreserveAspectRatio = true;
+	private boolean mSlice;
+	private int mAlignX = SVGSymbol.ALIGN_MID;
+	private int mAlignY = SVGSymbol.ALIGN_MID;
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	public SVGSymbol(final String pID, final String pElementName, final Attributes pAttributes) {
+		this.mID = pID;
+		this.recordStartElement(pElementName, pAttributes);
+		if(pElementName.equals(TAG_SYMBOL)) {
+			this.parseViewBox(pAttributes);
+		}
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	public String getID() {
+		return this.mID;
+	}
+
+	public boolean isRecording() {
+		return this.mDepth > 0;
+	}
+
+	public int getElementCount() {
+		return this.mElementNames.size();
+	}
+
+	public String getElementName(final int pIndex) {
+		return this.mElementNames.get(pIndex);
+	}
+
+	/**
+	 * @return <code>null</code> if the element at <code>pIndex</code> is an end element.
+	 */
+	public Attributes getElementAttributes(final int pIndex) {
+		return this.mElementAttributes.get(pIndex);
+	}
+
+	public CompiledSVGSymbol getCompiledSVGSymbol(final String pInheritedPropertiesKey) {
+		return this.mCompiledSVGSymbols.get(pInheritedPropertiesKey);
+	}
+
+	public void putCompiledSVGSymbol(final String pInheritedPropertiesKey, final CompiledSVGSymbol pCompiledSVGSymbol) {
+		this.mCompiledSVGSymbols.put(pInheritedPropertiesKey, pCompiledSVGSymbol);
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	public void recordStartElement(final String pElementName, final Attributes pAttributes) {
+		/* Nested definitions are parsed where they are defined, replaying them with every compilation would only define them anew. */
+		if(this.mSkippedDepth > 0 || (this.mDepth > 0 && (pElementName.equals(TAG_DEFS) || pElementName.equals(TAG_SYMBOL)))) {
+			this.mSkippedDepth++;
+			return;
+		}
+		this.mElementNames.add(pElementName);
+		this.mElementAttributes.add(new AttributesImpl(pAttributes));
+		this.mDepth++;
+	}
+
+	/**
+	 * @return <code>true</code> if this was the end of the recorded subtree, <code>false</code> otherwise.
+	 */
+	public boolean recordEndElement(final String pElementName) {
+		if(this.mSkippedDepth > 0) {
+			this.mSkippedDepth--;
+			return false;
+		}
+		this.mElementNames.add(pElementName);
+		this.mElementAttributes.add(null);
+		this.mDepth--;
+		return this.mDepth == 0;
+	}
+
+	/**
+	 * Makes <code>pMatrix</code> map the <code>viewBox</code> of this <code>&lt;symbol&gt;</code> into the viewport of a <code>&lt;use&gt;</code>, as its <code>preserveAspectRatio</code> says.
+	 * Does nothing if this is no <code>&lt;symbol&gt;</code> with a <code>viewBox</code>.
+	 *
+	 * @param pMatrix the transform of the <code>&lt;use&gt;</code>, which is applied after the mapping.
+	 */
+	public void preConcatViewBoxTransform(final SVGMatrix pMatrix, final float pViewportWidth, final float pViewportHeight) {
+		final float[] viewBox = this.mViewBox;
+		if(viewBox == null || pViewportWidth <= 0 || pViewportHeight <= 0) {
+			return;
+		}
+
+		float scaleX = pViewportWidth / viewBox[2];
+		float scaleY = pViewportHeight / viewBox[3];
+		if(this.mPreserveAspectRatio) {
+			final float scale = (this.mSlice) ? Math.max(scaleX, scaleY) : Math.min(scaleX, scaleY);
+			scaleX = scale;
+			scaleY = scale;
+		}
+		final float translateX = (pViewportWidth - viewBox[2] * scaleX) * this.mAlignX * 0.5f - viewBox[0] * scaleX;
+		final float translateY = (pViewportHeight - viewBox[3] * scaleY) * this.mAlignY * 0.5f - viewBox[1] * scaleY;
+
+		pMatrix.preTranslate(translateX, translateY);
+		pMatrix.preScale(scaleX, scaleY);
+	}
+
+	private void parseViewBox(final Attributes pAttributes) {
+		final SVGNumberParserFloatResult viewBox = SVGNumberParser.parseFloats(SAXHelper.getStringAttribute(pAttributes, ATTRIBUTE_VIEWBOX));
+		if(viewBox == null || viewBox.getNumberCount() != 4 || viewBox.getNumber(2) <= 0 || viewBox.getNumber(3) <= 0) {
+			return;
+		}
+		this.mViewBox = viewBox.getNumbers();
+
+		final String preserveAspectRatio = SAXHelper.getStringAttribute(pAttributes, ATTRIBUTE_PRESERVEASPECTRATIO);
+		if(preserveAspectRatio == null) {
+			return;
+		}
+		final String[] parts = preserveAspectRatio.trim().split("\\s+");
+		int i = (parts[0].equals(ATTRIBUTE_PRESERVEASPECTRATIO_VALUE_DEFER)) ? 1 : 0;
+		if(i < parts.length) {
+			final String align = parts[i++];
+			if(align.equals(VALUE_NONE)) {
+				this.mPreserveAspectRatio = false;
+			} else if(align.length() == 8) {
+				/* i.e. "xMinYMax". */
+				this.mAlignX = SVGSymbol.parseAlign(align.substring(1, 4));
+				this.mAlignY = SVGSymbol.parseAlign(align.substring(5, 8));
+			}
+		}
+		if(i < parts.length) {
+			this.mSlice = parts[i].equals(ATTRIBUTE_PRESERVEASPECTRATIO_VALUE_SLICE);
+		}
+	}
+
+	private static int parseAlign(final String pAlign) {
+		if(pAlign.equals(ATTRIBUTE_PRESERVEASPECTRATIO_VALUE_MID)) {
+			return SVGSymbol.ALIGN_MID;
+		} else if(pAlign.equals(ATTRIBUTE_PRESERVEASPECTRATIO_VALUE_MAX)) {
+			return SVGSymbol.ALIGN_MAX;
+		} else {
+			return SVGSymbol.ALIGN_MIN;
+		}
+	}
+
+	/**
+	 * @return a key that is equal for all {@link SVGProperties} that would compile this {@link SVGSymbol} to the same result.
+	 */
+	public static String getInheritedPropertiesKey(final SVGProperties pSVGProperties) {
+		final StringBuilder stringBuilder = new StringBuilder();
+		for(int i = 0; i < INHERITED_PROPERTIES.length; i++) {
+			final String property = pSVGProperties.getStringProperty(INHERITED_PROPERTIES[i]);
+			if(property == null) {
+				stringBuilder.append(INHERITED_PROPERTIES_KEY_UNSET);
+			} else {
+				stringBuilder.append(property);
+			}
+			stringBuilder.append(INHERITED_PROPERTIES_KEY_SEPARATOR);
+		}
+		return stringBuilder.toString();
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+
+	public static class CompiledSVGSymbol {
+		// ===========================================================
+		// Constants
+		// ===========================================================
+
+		// ===========================================================
+		// Fields
+		// ===========================================================
+
+		private final Object mRecording;
+		private final SVGRect mComputedBounds;
+
+		// ===========================================================
+		// Constructors
+		// ===========================================================
+
+		/**
+		 * @param pRecording as returned by <code>ISVGBackend.endRecording()</code>.
+		 * @param pComputedBounds the computed bounds of the recorded elements, in the coordinate system of the symbol.
+		 */
+		public CompiledSVGSymbol(final Object pRecording, final SVGRect pComputedBounds) {
+			this.mRecording = pRecording;
+			this.mComputedBounds = pComputedBounds;
+		}
+
+		// ===========================================================
+		// Getter & Setter
+		// ===========================================================
+
+		public Object getRecording() {
+			return this.mRecording;
+		}
+
+		public SVGRect getComputedBounds() {
+			return this.mComputedBounds;
+		}
+
+		// ===========================================================
+		// Methods for/from SuperClass/Interfaces
+		// ===========================================================
+
+		// ===========================================================
+		// Methods
+		// ===========================================================
+
+		// ===========================================================
+		// Inner and Anonymous Classes
+		// ===========================================================
+	}
+}
@@ -0,0 +1,64 @@
+package org.anddev.andengine.extension.svg.backend;
+
+import org.anddev.andengine.extension.svg.adt.SVGGradient;
+import org.anddev.andengine.extension.svg.adt.SVGMatrix;
+import org.anddev.andengine.extension.svg.adt.SVGPaintState;
+import org.anddev.andengine.extension.svg.adt.SVGPath;
+import org.anddev.andengine.extension.svg.adt.filter.SVGFilter;
+
+/**
+ * The target the <code>SVGHandler</code> draws the parsed elements into.
+ * All parameters are only valid during the call, so implementations have to copy what they want to keep.
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 11:02:47 - 30.05.2011
+ */
+public interface ISVGBackend {
+	// ===========================================================
+	// Final Fields
+	// ===========================================================
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	/**
+	 * Called once, before anything is drawn.
+	 *
+	 * @param pWidth the width of the document.
+	 * @param pHeight the height of the document.
+	 */
+	public void begin(final int pWidth, final int pHeight);
+	/**
+	 * Called once, after everything was drawn.
+	 */
+	public void end();
+
+	public void save();
+	/**
+	 * Applies <code>pSVGMatrix</code> before the current transform, to everything drawn until the matching {@link ISVGBackend#restore()}.
+	 */
+	public void concat(final SVGMatrix pSVGMatrix);
+	public void restore();
+
+	/**
+	 * @param pSVGGradient the gradient referenced by <code>pSVGPaintState</code>, or <code>null</code>.
+	 * @param pSVGFilter the filter referenced by <code>pSVGPaintState</code>, or <code>null</code>.
+	 * @param pTransform the transform that was folded into the coordinates of <code>pSVGPath</code>, which applies to the gradient as well, or <code>null</code>.
+	 */
+	public void drawPath(final SVGPath pSVGPath, final SVGPaintState pSVGPaintState, final SVGGradient pSVGGradient, final SVGFilter pSVGFilter, final SVGMatrix pTransform);
+
+	/**
+	 * Redirects everything drawn until {@link ISVGBackend#endRecording()} into a new recording, which can be drawn multiple times.
+	 * Recordings may be nested.
+	 */
+	public void beginRecording(final int pWidth, final int pHeight);
+	/**
+	 * @return the recording, to be passed to {@link ISVGBackend#drawRecording(Object)}.
+	 */
+	public Object endRecording();
+	public void drawRecording(final Object pRecording);
+}
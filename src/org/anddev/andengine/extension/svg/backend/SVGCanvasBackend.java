@@ -0,0 +1,407 @@
+package org.anddev.andengine.extension.svg.backend;
+
+import java.util.HashMap;
+import java.util.Stack;
+
+import org.anddev.andengine.extension.svg.adt.SVGGradient;
+import org.anddev.andengine.extension.svg.adt.SVGMatrix;
+import org.anddev.andengine.extension.svg.adt.SVGPaintState;
+import org.anddev.andengine.extension.svg.adt.SVGPath;
+import org.anddev.andengine.extension.svg.adt.filter.SVGFilter;
+import org.anddev.andengine.extension.svg.metrics.SVGMetrics;
+import org.anddev.andengine.extension.svg.metrics.SVGTracer;
+
+import android.graphics.Canvas;
+import android.graphics.LinearGradient;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.Paint.Style;
+import android.graphics.Path;
+import android.graphics.Path.FillType;
+import android.graphics.Picture;
+import android.graphics.RadialGradient;
+import android.graphics.Shader;
+import android.graphics.Shader.TileMode;
+
+/**
+ * Records everything into an <code>android.graphics.Picture</code>, which is how the {@link org.anddev.andengine.extension.svg.adt.SVG} is rendered on Android.
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 11:21:09 - 30.05.2011
+ */
+public class SVGCanvasBackend implements ISVGBackend {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private final Picture mPicture;
+	private Canvas mCanvas;
+
+	private final Stack<Canvas> mCanvasStack = new Stack<Canvas>();
+	private final Stack<Picture> mRecordingStack = new Stack<Picture>();
+
+	/** Reused for every draw, as the <code>Picture</code> copies the path when recording it. */
+	private final Path mPath = new Path();
+	private final Matrix mMatrix = new Matrix();
+	private final float[] mMatrixValues = new float[9];
+
+	/** Paints are referenced (not copied) by the <code>Picture</code>, so a cached {@link Paint} must never be modified. */
+	private final HashMap<SVGPaintCacheKey, Paint> mPaintCache = new HashMap<SVGPaintCacheKey, Paint>();
+	/** Reused for every lookup, only a miss copies it into a key of its own. */
+	private final SVGPaintCacheKey mPaintCacheLookupKey = new SVGPaintCacheKey();
+	private final HashMap<SVGGradient, SVGGradientShaders> mSVGGradientShaders = new HashMap<SVGGradient, SVGGradientShaders>();
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	public SVGCanvasBackend(final Picture pPicture) {
+		this.mPicture = pPicture;
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	public Picture getPicture() {
+		return this.mPicture;
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	@Override
+	public void begin(final int pWidth, final int pHeight) {
+		this.mCanvas = this.mPicture.beginRecording(pWidth, pHeight);
+	}
+
+	@Override
+	public void end() {
+		this.mPicture.endRecording();
+		this.mCanvas = null;
+	}
+
+	@Override
+	public void save() {
+		this.mCanvas.save();
+	}
+
+	@Override
+	public void concat(final SVGMatrix pSVGMatrix) {
+		this.mCanvas.concat(this.toMatrix(pSVGMatrix, this.mMatrix));
+	}
+
+	@Override
+	public void restore() {
+		this.mCanvas.restore();
+	}
+
+	@Override
+	public void drawPath(final SVGPath pSVGPath, final SVGPaintState pSVGPaintState, final SVGGradient pSVGGradient, final SVGFilter pSVGFilter, final SVGMatrix pTransform) {
+		final Paint paint = this.getPaint(pSVGPaintState, pSVGGradient, pSVGFilter, pTransform);
+		this.mCanvas.drawPath(this.toPath(pSVGPath, this.mPath), paint);
+	}
+
+	@Override
+	public void beginRecording(final int pWidth, final int pHeight) {
+		final Picture picture = new Picture();
+		this.mCanvasStack.push(this.mCanvas);
+		this.mRecordingStack.push(picture);
+		this.mCanvas = picture.beginRecording(pWidth, pHeight);
+	}
+
+	@Override
+	public Object endRecording() {
+		final Picture picture = this.mRecordingStack.pop();
+		picture.endRecording();
+		this.mCanvas = this.mCanvasStack.pop();
+		return picture;
+	}
+
+	@Override
+	public void drawRecording(final Object pRecording) {
+		this.mCanvas.drawPicture((Picture) pRecording);
+	}
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	private Path toPath(final SVGPath pSVGPath, final Path pPath) {
+		pPath.rewind();
+		pPath.setFillType((pSVGPath.getFillRule() == SVGPath.FILLRULE_EVENODD) ? FillType.EVEN_ODD : FillType.WINDING);
+
+		final byte[] verbs = pSVGPath.getVerbs();
+		final float[] coordinates = pSVGPath.getCoordinates();
+		final int verbCount = pSVGPath.getVerbCount();
+		int c = 0;
+		for(int i = 0; i < verbCount; i++) {
+			switch(verbs[i]) {
+				case SVGPath.VERB_MOVE:
+					pPath.moveTo(coordinates[c], coordinates[c + 1]);
+					c += 2;
+					break;
+				case SVGPath.VERB_LINE:
+					pPath.lineTo(coordinates[c], coordinates[c + 1]);
+					c += 2;
+					break;
+				case SVGPath.VERB_QUAD:
+					pPath.quadTo(coordinates[c], coordinates[c + 1], coordinates[c + 2], coordinates[c + 3]);
+					c += 4;
+					break;
+				case SVGPath.VERB_CUBIC:
+					pPath.cubicTo(coordinates[c], coordinates[c + 1], coordinates[c + 2], coordinates[c + 3], coordinates[c + 4], coordinates[c + 5]);
+					c += 6;
+					break;
+				case SVGPath.VERB_CLOSE:
+					pPath.close();
+					break;
+			}
+		}
+		return pPath;
+	}
+
+	private Matrix toMatrix(final SVGMatrix pSVGMatrix, final Matrix pMatrix) {
+		pSVGMatrix.getValues(this.mMatrixValues);
+		pMatrix.setValues(this.mMatrixValues);
+		return pMatrix;
+	}
+
+	private Paint getPaint(final SVGPaintState pSVGPaintState, final SVGGradient pSVGGradient, final SVGFilter pSVGFilter, final SVGMatrix pTransform) {
+		final SVGTracer svgTracer = SVGTracer.getSVGTracer();
+		if(svgTracer != null) {
+			svgTracer.begin(SVGTracer.CATEGORY_CACHE, "paint", null);
+		}
+
+		/* The gradient shader depends on the transform that was folded into the geometry, so it is part of the key of gradient paints. */
+		final SVGMatrix shaderTransform = (pSVGGradient == null || pTransform == null || pTransform.isIdentity()) ? null : pTransform;
+
+		final SVGPaintCacheKey lookupKey = this.mPaintCacheLookupKey;
+		lookupKey.mSVGPaintState = pSVGPaintState;
+		lookupKey.mShaderTransform = shaderTransform;
+		Paint paint = this.mPaintCache.get(lookupKey);
+		lookupKey.mSVGPaintState = null;
+		lookupKey.mShaderTransform = null;
+
+		if(paint == null) {
+			SVGMetrics.PAINT_CACHE.onMiss();
+			paint = this.createPaint(pSVGPaintState, pSVGGradient, pSVGFilter, shaderTransform);
+			/* The paint state and the transform are changed by the caller after this draw, so the key holds copies of them. */
+			final SVGPaintCacheKey key = new SVGPaintCacheKey();
+			key.mSVGPaintState = new SVGPaintState(pSVGPaintState);
+			key.mShaderTransform = (shaderTransform == null) ? null : new SVGMatrix(shaderTransform);
+			this.mPaintCache.put(key, paint);
+			if(svgTracer != null) {
+				svgTracer.end(SVGTracer.CATEGORY_CACHE, "paint", SVGTracer.RESULT_MISS);
+			}
+		} else {
+			SVGMetrics.PAINT_CACHE.onHit();
+			if(svgTracer != null) {
+				svgTracer.end(SVGTracer.CATEGORY_CACHE, "paint", SVGTracer.RESULT_HIT);
+			}
+		}
+		return paint;
+	}
+
+	private Paint createPaint(final SVGPaintState pSVGPaintState, final SVGGradient pSVGGradient, final SVGFilter pSVGFilter, final SVGMatrix pTransform) {
+		final Paint paint = new Paint();
+		paint.setAntiAlias(true); // TODO AntiAliasing could be made optional through some SVGOptions object.
+
+		if(pSVGFilter != null) {
+			pSVGFilter.applyFilterElements(paint);
+		}
+
+		if(pSVGGradient != null) {
+			paint.setShader(this.getShader(pSVGGradient, pTransform));
+		} else {
+			paint.setColor(pSVGPaintState.getColor());
+		}
+
+		if(pSVGPaintState.getStyle() == SVGPaintState.STYLE_STROKE) {
+			paint.setStyle(Style.STROKE);
+			paint.setStrokeWidth(pSVGPaintState.getStrokeWidth());
+			switch(pSVGPaintState.getStrokeCap()) {
+				case SVGPaintState.CAP_ROUND:
+					paint.setStrokeCap(Paint.Cap.ROUND);
+					break;
+				case SVGPaintState.CAP_SQUARE:
+					paint.setStrokeCap(Paint.Cap.SQUARE);
+					break;
+				default:
+					paint.setStrokeCap(Paint.Cap.BUTT);
+			}
+			switch(pSVGPaintState.getStrokeJoin()) {
+				case SVGPaintState.JOIN_ROUND:
+					paint.setStrokeJoin(Paint.Join.ROUND);
+					break;
+				case SVGPaintState.JOIN_BEVEL:
+					paint.setStrokeJoin(Paint.Join.BEVEL);
+					break;
+				default:
+					paint.setStrokeJoin(Paint.Join.MITER);
+			}
+			paint.setStrokeMiter(pSVGPaintState.getStrokeMiterLimit());
+		} else {
+			paint.setStyle(Style.FILL);
+		}
+		return paint;
+	}
+
+	/**
+	 * Shaders are referenced (not copied) by the <code>Paint</code>s recorded into a <code>Picture</code>,
+	 * so every distinct transform gets a {@link Shader} of its own, instead of changing the local matrix of a shared one.
+	 *
+	 * @param pTransform the transform that was folded into the geometry the {@link Shader} is going to be applied to, or <code>null</code>.
+	 */
+	private Shader getShader(final SVGGradient pSVGGradient, final SVGMatrix pTransform) {
+		SVGGradientShaders svgGradientShaders = this.mSVGGradientShaders.get(pSVGGradient);
+		if(svgGradientShaders == null) {
+			svgGradientShaders = new SVGGradientShaders();
+			this.mSVGGradientShaders.put(pSVGGradient, svgGradientShaders);
+		}
+
+		final SVGMatrix gradientTransform = pSVGGradient.getTransform();
+		if(pTransform == null || pTransform.isIdentity()) {
+			if(svgGradientShaders.mShader == null) {
+				svgGradientShaders.mShader = this.newShader(pSVGGradient);
+				if(gradientTransform != null) {
+					svgGradientShaders.mShader.setLocalMatrix(this.toMatrix(gradientTransform, new Matrix()));
+				}
+			}
+			return svgGradientShaders.mShader;
+		}
+
+		Shader transformedShader = svgGradientShaders.mTransformedShaders.get(pTransform);
+		if(transformedShader == null) {
+			final SVGMatrix localMatrix = new SVGMatrix(pTransform);
+			if(gradientTransform != null) {
+				localMatrix.preConcat(gradientTransform);
+			}
+
+			transformedShader = this.newShader(pSVGGradient);
+			transformedShader.setLocalMatrix(this.toMatrix(localMatrix, new Matrix()));
+			svgGradientShaders.mTransformedShaders.put(new SVGMatrix(pTransform), transformedShader);
+		}
+		return transformedShader;
+	}
+
+	private Shader newShader(final SVGGradient pSVGGradient) {
+		final TileMode tileMode;
+		switch(pSVGGradient.getSpreadMethod()) {
+			case SVGGradient.SPREADMETHOD_REFLECT:
+				tileMode = TileMode.MIRROR;
+				break;
+			case SVGGradient.SPREADMETHOD_REPEAT:
+				tileMode = TileMode.REPEAT;
+				break;
+			default:
+				tileMode = TileMode.CLAMP;
+		}
+
+		/* The evenly distributed samples of the shared ramp, instead of the stops, so gradients look the same as in software and never have less than two colors. */
+		final int[] colors = pSVGGradient.getSVGColorRamp().getColors();
+		if(pSVGGradient.isLinear()) {
+			return new LinearGradient(pSVGGradient.getX1(), pSVGGradient.getY1(), pSVGGradient.getX2(), pSVGGradient.getY2(), colors, null, tileMode);
+		} else {
+			return new RadialGradient(pSVGGradient.getCenterX(), pSVGGradient.getCenterY(), pSVGGradient.getRadius(), colors, null, tileMode);
+		}
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+
+	private static class SVGGradientShaders {
+		// ===========================================================
+		// Constants
+		// ===========================================================
+
+		// ===========================================================
+		// Fields
+		// ===========================================================
+
+		private Shader mShader;
+		/** By the transform they were created for. */
+		private final HashMap<SVGMatrix, Shader> mTransformedShaders = new HashMap<SVGMatrix, Shader>();
+
+		// ===========================================================
+		// Constructors
+		// ===========================================================
+
+		// ===========================================================
+		// Getter & Setter
+		// ===========================================================
+
+		// ===========================================================
+		// Methods for/from SuperClass/Interfaces
+		// ===========================================================
+
+		// ===========================================================
+		// Methods
+		// ===========================================================
+
+		// ===========================================================
+		// Inner and Anonymous Classes
+		// ===========================================================
+	}
+
+	private static class SVGPaintCacheKey {
+		// ===========================================================
+		// Constants
+		// ===========================================================
+
+		// ===========================================================
+		// Fields
+		// ===========================================================
+
+		private SVGPaintState mSVGPaintState;
+		/** The transform folded into the geometry a gradient is applied to, <code>null</code> if there is none or the paint has no gradient. */
+		private SVGMatrix mShaderTransform;
+
+		// ===========================================================
+		// Constructors
+		// ===========================================================
+
+		// ===========================================================
+		// Getter & Setter
+		// ===========================================================
+
+		// ===========================================================
+		// Methods for/from SuperClass/Interfaces
+		// ===========================================================
+
+		@Override
+		public int hashCode() {
+			return 31 * this.mSVGPaintState.hashCode() + ((this.mShaderTransform == null) ? 0 : this.mShaderTransform.hashCode());
+		}
+
+		@Override
+		public boolean equals(final Object pObject) {
+			if(this == pObject) {
+				return true;
+			} else if(!(pObject instanceof SVGPaintCacheKey)) {
+				return false;
+			}
+
+			final SVGPaintCacheKey other = (SVGPaintCacheKey) pObject;
+			return this.mSVGPaintState.equals(other.mSVGPaintState)
+					&& ((this.mShaderTransform == null) ? (other.mShaderTransform == null) : this.mShaderTransform.equals(other.mShaderTransform));
+		}
+
+		// ===========================================================
+		// Methods
+		// ===========================================================
+
+		// ===========================================================
+		// Inner and Anonymous Classes
+		// ===========================================================
+	}
+}
@@ -0,0 +1,278 @@
+package org.anddev.andengine.extension.svg.backend;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Stack;
+
+import org.anddev.andengine.extension.svg.adt.SVGGradient;
+import org.anddev.andengine.extension.svg.adt.SVGMatrix;
+import org.anddev.andengine.extension.svg.adt.SVGPaintState;
+import org.anddev.andengine.extension.svg.adt.SVGPath;
+import org.anddev.andengine.extension.svg.adt.SVGRect;
+import org.anddev.andengine.extension.svg.adt.filter.SVGFilter;
+
+/**
+ * Records all calls into a list of commands, which can be replayed into any other {@link ISVGBackend}, any number of times.
+ * This is the parsed form of a SVG document that does not depend on any Android class, i.e. to render it with the <code>SVGRasterBackend</code> on a plain JVM.
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 11:48:30 - 30.05.2011
+ */
+public class SVGDisplayList implements ISVGBackend {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	private static final int COMMAND_SAVE = 0;
+	private static final int COMMAND_CONCAT = 1;
+	private static final int COMMAND_RESTORE = 2;
+	private static final int COMMAND_DRAWPATH = 3;
+	private static final int COMMAND_DRAWRECORDING = 4;
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private int mWidth;
+	private int mHeight;
+
+	private final ArrayList<SVGDisplayListCommand> mSVGDisplayListCommands = new ArrayList<SVGDisplayListCommand>();
+	/** The nested recordings that are currently recorded into, innermost last. */
+	private final Stack<SVGDisplayList> mRecordingStack = new Stack<SVGDisplayList>();
+
+	private SVGRect mBounds;
+	private SVGRect mComputedBounds;
+	private int mMaximumGroupDepth;
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	public SVGDisplayList() {
+
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	public int getWidth() {
+		return this.mWidth;
+	}
+
+	public int getHeight() {
+		return this.mHeight;
+	}
+
+	public int getCommandCount() {
+		return this.mSVGDisplayListCommands.size();
+	}
+
+	/**
+	 * @return the bounds of the hidden "bounds" layer of the document, or <code>null</code> if there was none.
+	 */
+	public SVGRect getBounds() {
+		return this.mBounds;
+	}
+
+	public void setBounds(final SVGRect pBounds) {
+		this.mBounds = pBounds;
+	}
+
+	/**
+	 * @return the bounds computed from the elements while parsing, or <code>null</code> if they were not set.
+	 */
+	public SVGRect getComputedBounds() {
+		return this.mComputedBounds;
+	}
+
+	public void setComputedBounds(final SVGRect pComputedBounds) {
+		this.mComputedBounds = pComputedBounds;
+	}
+
+	/**
+	 * @return the deepest nesting of groups in the document, which the commands do not tell, as transforms are usually folded into the paths.
+	 */
+	public int getMaximumGroupDepth() {
+		return this.mMaximumGroupDepth;
+	}
+
+	public void setMaximumGroupDepth(final int pMaximumGroupDepth) {
+		this.mMaximumGroupDepth = pMaximumGroupDepth;
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	@Override
+	public void begin(final int pWidth, final int pHeight) {
+		this.mWidth = pWidth;
+		this.mHeight = pHeight;
+	}
+
+	@Override
+	public void end() {
+
+	}
+
+	@Override
+	public void save() {
+		this.getRecordingTarget().add(new SVGDisplayListCommand(COMMAND_SAVE));
+	}
+
+	@Override
+	public void concat(final SVGMatrix pSVGMatrix) {
+		final SVGDisplayListCommand svgDisplayListCommand = new SVGDisplayListCommand(COMMAND_CONCAT);
+		svgDisplayListCommand.mSVGMatrix = new SVGMatrix(pSVGMatrix);
+		this.getRecordingTarget().add(svgDisplayListCommand);
+	}
+
+	@Override
+	public void restore() {
+		this.getRecordingTarget().add(new SVGDisplayListCommand(COMMAND_RESTORE));
+	}
+
+	@Override
+	public void drawPath(final SVGPath pSVGPath, final SVGPaintState pSVGPaintState, final SVGGradient pSVGGradient, final SVGFilter pSVGFilter, final SVGMatrix pTransform) {
+		final SVGDisplayListCommand svgDisplayListCommand = new SVGDisplayListCommand(COMMAND_DRAWPATH);
+		svgDisplayListCommand.mSVGPath = new SVGPath(pSVGPath);
+		svgDisplayListCommand.mSVGPaintState = new SVGPaintState(pSVGPaintState);
+		svgDisplayListCommand.mSVGGradient = pSVGGradient;
+		svgDisplayListCommand.mSVGFilter = pSVGFilter;
+		svgDisplayListCommand.mSVGMatrix = (pTransform == null) ? null : new SVGMatrix(pTransform);
+		this.getRecordingTarget().add(svgDisplayListCommand);
+	}
+
+	@Override
+	public void beginRecording(final int pWidth, final int pHeight) {
+		final SVGDisplayList recording = new SVGDisplayList();
+		recording.begin(pWidth, pHeight);
+		this.mRecordingStack.push(recording);
+	}
+
+	@Override
+	public Object endRecording() {
+		return this.mRecordingStack.pop();
+	}
+
+	@Override
+	public void drawRecording(final Object pRecording) {
+		final SVGDisplayListCommand svgDisplayListCommand = new SVGDisplayListCommand(COMMAND_DRAWRECORDING);
+		svgDisplayListCommand.mRecording = (SVGDisplayList) pRecording;
+		this.getRecordingTarget().add(svgDisplayListCommand);
+	}
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	private ArrayList<SVGDisplayListCommand> getRecordingTarget() {
+		if(this.mRecordingStack.isEmpty()) {
+			return this.mSVGDisplayListCommands;
+		} else {
+			return this.mRecordingStack.peek().mSVGDisplayListCommands;
+		}
+	}
+
+	/**
+	 * Replays the whole document, including the calls to {@link ISVGBackend#begin(int, int)} and {@link ISVGBackend#end()}.
+	 * Nested recordings are converted into recordings of <code>pSVGBackend</code> once, so they keep being shared.
+	 */
+	public void replay(final ISVGBackend pSVGBackend) {
+		pSVGBackend.begin(this.mWidth, this.mHeight);
+		this.replayCommands(pSVGBackend, new HashMap<SVGDisplayList, Object>());
+		pSVGBackend.end();
+	}
+
+	/**
+	 * Replays the commands only, into the current state of <code>pSVGBackend</code>, i.e. to draw a recording inline.
+	 */
+	public void replayCommands(final ISVGBackend pSVGBackend) {
+		this.replayCommands(pSVGBackend, new HashMap<SVGDisplayList, Object>());
+	}
+
+	private void replayCommands(final ISVGBackend pSVGBackend, final HashMap<SVGDisplayList, Object> pRecordings) {
+		final ArrayList<SVGDisplayListCommand> svgDisplayListCommands = this.mSVGDisplayListCommands;
+		final int commandCount = svgDisplayListCommands.size();
+		for(int i = 0; i < commandCount; i++) {
+			final SVGDisplayListCommand svgDisplayListCommand = svgDisplayListCommands.get(i);
+			switch(svgDisplayListCommand.mType) {
+				case COMMAND_SAVE:
+					pSVGBackend.save();
+					break;
+				case COMMAND_CONCAT:
+					pSVGBackend.concat(svgDisplayListCommand.mSVGMatrix);
+					break;
+				case COMMAND_RESTORE:
+					pSVGBackend.restore();
+					break;
+				case COMMAND_DRAWPATH:
+					pSVGBackend.drawPath(svgDisplayListCommand.mSVGPath, svgDisplayListCommand.mSVGPaintState, svgDisplayListCommand.mSVGGradient, svgDisplayListCommand.mSVGFilter, svgDisplayListCommand.mSVGMatrix);
+					break;
+				case COMMAND_DRAWRECORDING:
+					final SVGDisplayList recording = svgDisplayListCommand.mRecording;
+					Object replayedRecording = pRecordings.get(recording);
+					if(replayedRecording == null) {
+						pSVGBackend.beginRecording(recording.mWidth, recording.mHeight);
+						recording.replayCommands(pSVGBackend, pRecordings);
+						replayedRecording = pSVGBackend.endRecording();
+						pRecordings.put(recording, replayedRecording);
+					}
+					pSVGBackend.drawRecording(replayedRecording);
+					break;
+			}
+		}
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+
+	private static class SVGDisplayListCommand {
+		// ===========================================================
+		// Constants
+		// ===========================================================
+
+		// ===========================================================
+		// Fields
+		// ===========================================================
+
+		private final int mType;
+
+		private SVGPath mSVGPath;
+		private SVGPaintState mSVGPaintState;
+		private SVGGradient mSVGGradient;
+		private SVGFilter mSVGFilter;
+		/** The matrix of a concat, or the folded transform of a drawn path. */
+		private SVGMatrix mSVGMatrix;
+		private SVGDisplayList mRecording;
+
+		// ===========================================================
+		// Constructors
+		// ===========================================================
+
+		public SVGDisplayListCommand(final int pType) {
+			this.mType = pType;
+		}
+
+		// ===========================================================
+		// Getter & Setter
+		// ===========================================================
+
+		// ===========================================================
+		// Methods for/from SuperClass/Interfaces
+		// ===========================================================
+
+		// ===========================================================
+		// Methods
+		// ===========================================================
+
+		// ===========================================================
+		// Inner and Anonymous Classes
+		// ===========================================================
+	}
+}
@@ -0,0 +1,573 @@
+package org.anddev.andengine.extension.svg.backend.analysis;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Stack;
+
+import org.anddev.andengine.extension.svg.adt.SVGGradient;
+import org.anddev.andengine.extension.svg.adt.SVGMatrix;
+import org.anddev.andengine.extension.svg.adt.SVGPaintState;
+import org.anddev.andengine.extension.svg.adt.SVGPath;
+import org.anddev.andengine.extension.svg.adt.SVGRect;
+import org.anddev.andengine.extension.svg.adt.filter.SVGFilter;
+import org.anddev.andengine.extension.svg.adt.filter.element.ISVGFilterElement;
+import org.anddev.andengine.extension.svg.adt.filter.element.SVGFilterElementGaussianBlur;
+import org.anddev.andengine.extension.svg.backend.ISVGBackend;
+import org.anddev.andengine.extension.svg.backend.SVGDisplayList;
+import org.anddev.andengine.extension.svg.util.SVGPathFlattener;
+import org.anddev.andengine.extension.svg.util.SVGPathFlattener.ISVGPathFlattenerListener;
+
+/**
+ * Measures how expensive a document is to render, without rendering it, by replaying its {@link SVGDisplayList} into this backend.
+ * Everything is measured at the size of the document, and scaled to an output size by {@link SVGComplexityReport#getPredictedRenderCost(int, int)}.
+ * Works on a plain JVM, i.e. to check assets against cost budgets in a build.
+ *
+ * Covered areas are the areas of the flattened contours, or the length times the width of strokes, clipped to the document in proportion to their bounds.
+ * So overlapping contours of one path are counted twice and anything hidden behind other shapes is counted as well, which is what a painter's algorithm renderer pays for.
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 17:12:45 - 04.06.2011
+ */
+public class SVGComplexityAnalyzer implements ISVGBackend, ISVGPathFlattenerListener {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	/** A blur reaches this many standard deviations far. */
+	private static final float BLUR_EXTENT = 3;
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private SVGComplexityReport mSVGComplexityReport;
+
+	private final SVGPathFlattener mSVGPathFlattener = new SVGPathFlattener();
+	private SVGMatrix mTransform = new SVGMatrix();
+	private final Stack<SVGMatrix> mTransformStack = new Stack<SVGMatrix>();
+	private final SVGRect mBounds = new SVGRect();
+
+	/** The recordings that are currently recorded into, innermost last. */
+	private final Stack<SVGDisplayList> mRecordingStack = new Stack<SVGDisplayList>();
+
+	private final HashSet<SVGGradient> mSVGGradients = new HashSet<SVGGradient>();
+	private final HashSet<SVGFilter> mSVGFilters = new HashSet<SVGFilter>();
+
+	/* The path that is being flattened. */
+	private int mVertexCount;
+	/** The rows crossed by all segments, not counting the ones that implicitly close the contours of fills. */
+	private double mEdgeRowCount;
+	private double mClosingEdgeRowCount;
+	private double mLength;
+	private double mArea;
+
+	/* The contour that is being flattened. */
+	private boolean mContourStarted;
+	private float mContourStartX;
+	private float mContourStartY;
+	private float mLastX;
+	private float mLastY;
+	/** Twice the signed area of the contour. */
+	private double mContourArea;
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	public static SVGComplexityReport analyze(final SVGDisplayList pSVGDisplayList) {
+		final SVGComplexityAnalyzer svgComplexityAnalyzer = new SVGComplexityAnalyzer();
+		pSVGDisplayList.replay(svgComplexityAnalyzer);
+
+		final SVGComplexityReport svgComplexityReport = svgComplexityAnalyzer.getSVGComplexityReport();
+		svgComplexityReport.mMaximumGroupDepth = pSVGDisplayList.getMaximumGroupDepth();
+		return svgComplexityReport;
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	/**
+	 * @return the report of the last document replayed into this analyzer, or <code>null</code> before {@link SVGComplexityAnalyzer#begin(int, int)}.
+	 */
+	public SVGComplexityReport getSVGComplexityReport() {
+		return this.mSVGComplexityReport;
+	}
+
+	private boolean isRecording() {
+		return !this.mRecordingStack.isEmpty();
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	@Override
+	public void begin(final int pWidth, final int pHeight) {
+		this.mSVGComplexityReport = new SVGComplexityReport(pWidth, pHeight);
+		this.mTransform = new SVGMatrix();
+		this.mTransformStack.clear();
+		this.mRecordingStack.clear();
+		this.mSVGGradients.clear();
+		this.mSVGFilters.clear();
+	}
+
+	@Override
+	public void end() {
+		this.mSVGComplexityReport.mGradientCount = this.mSVGGradients.size();
+		this.mSVGComplexityReport.mFilterCount = this.mSVGFilters.size();
+	}
+
+	@Override
+	public void save() {
+		if(this.isRecording()) {
+			this.mRecordingStack.peek().save();
+		} else {
+			this.mTransformStack.push(new SVGMatrix(this.mTransform));
+		}
+	}
+
+	@Override
+	public void concat(final SVGMatrix pSVGMatrix) {
+		if(this.isRecording()) {
+			this.mRecordingStack.peek().concat(pSVGMatrix);
+		} else {
+			this.mTransform.preConcat(pSVGMatrix);
+		}
+	}
+
+	@Override
+	public void restore() {
+		if(this.isRecording()) {
+			this.mRecordingStack.peek().restore();
+		} else {
+			this.mTransform = this.mTransformStack.pop();
+		}
+	}
+
+	@Override
+	public void drawPath(final SVGPath pSVGPath, final SVGPaintState pSVGPaintState, final SVGGradient pSVGGradient, final SVGFilter pSVGFilter, final SVGMatrix pTransform) {
+		if(this.isRecording()) {
+			this.mRecordingStack.peek().drawPath(pSVGPath, pSVGPaintState, pSVGGradient, pSVGFilter, pTransform);
+		} else {
+			this.analyzePath(pSVGPath, pSVGPaintState, pSVGGradient, pSVGFilter);
+		}
+	}
+
+	/**
+	 * Records into a {@link SVGDisplayList}, so every instance of a recording is analyzed on its own, with the transform it is drawn with.
+	 */
+	@Override
+	public void beginRecording(final int pWidth, final int pHeight) {
+		final SVGDisplayList recording = new SVGDisplayList();
+		recording.begin(pWidth, pHeight);
+		this.mRecordingStack.push(recording);
+	}
+
+	@Override
+	public Object endRecording() {
+		return this.mRecordingStack.pop();
+	}
+
+	@Override
+	public void drawRecording(final Object pRecording) {
+		if(this.isRecording()) {
+			this.mRecordingStack.peek().drawRecording(pRecording);
+		} else {
+			this.mSVGComplexityReport.mRecordingDrawCount++;
+			((SVGDisplayList) pRecording).replayCommands(this);
+		}
+	}
+
+	@Override
+	public void onMoveTo(final float pX, final float pY) {
+		this.finishContour();
+		this.mContourStarted = true;
+		this.mContourStartX = pX;
+		this.mContourStartY = pY;
+		this.mLastX = pX;
+		this.mLastY = pY;
+		this.mVertexCount++;
+	}
+
+	@Override
+	public void onLineTo(final float pX, final float pY) {
+		this.addSegment(pX, pY);
+		this.mVertexCount++;
+	}
+
+	@Override
+	public void onClose() {
+		this.addSegment(this.mContourStartX, this.mContourStartY);
+		this.finishContour();
+	}
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	private void addSegment(final float pX, final float pY) {
+		final float dX = pX - this.mLastX;
+		final float dY = pY - this.mLastY;
+		this.mEdgeRowCount += Math.abs(dY);
+		this.mLength += Math.sqrt(dX * dX + dY * dY);
+		this.mContourArea += (double) this.mLastX * pY - (double) pX * this.mLastY;
+		this.mLastX = pX;
+		this.mLastY = pY;
+	}
+
+	/**
+	 * Closes the contour implicitly, as a fill does.
+	 */
+	private void finishContour() {
+		if(this.mContourStarted) {
+			this.mClosingEdgeRowCount += Math.abs(this.mContourStartY - this.mLastY);
+			this.mContourArea += (double) this.mLastX * this.mContourStartY - (double) this.mContourStartX * this.mLastY;
+			this.mArea += Math.abs(this.mContourArea) / 2;
+			this.mContourArea = 0;
+			this.mContourStarted = false;
+		}
+	}
+
+	private void analyzePath(final SVGPath pSVGPath, final SVGPaintState pSVGPaintState, final SVGGradient pSVGGradient, final SVGFilter pSVGFilter) {
+		final SVGComplexityReport svgComplexityReport = this.mSVGComplexityReport;
+		svgComplexityReport.mDrawCount++;
+
+		int straightVertexCount = 0;
+		final byte[] verbs = pSVGPath.getVerbs();
+		final int verbCount = pSVGPath.getVerbCount();
+		for(int i = 0; i < verbCount; i++) {
+			switch(verbs[i]) {
+				case SVGPath.VERB_MOVE:
+					svgComplexityReport.mContourCount++;
+					straightVertexCount++;
+					break;
+				case SVGPath.VERB_LINE:
+					svgComplexityReport.mLineSegmentCount++;
+					straightVertexCount++;
+					break;
+				case SVGPath.VERB_QUAD:
+					svgComplexityReport.mQuadSegmentCount++;
+					break;
+				case SVGPath.VERB_CUBIC:
+					svgComplexityReport.mCubicSegmentCount++;
+					break;
+			}
+		}
+
+		this.mVertexCount = 0;
+		this.mEdgeRowCount = 0;
+		this.mClosingEdgeRowCount = 0;
+		this.mLength = 0;
+		this.mArea = 0;
+		this.mSVGPathFlattener.setTolerance(SVGPathFlattener.TOLERANCE_DEFAULT);
+		this.mSVGPathFlattener.flatten(pSVGPath, this.mTransform, this);
+		this.finishContour();
+
+		final SVGRect bounds = this.mBounds;
+		pSVGPath.computeBounds(bounds);
+		this.mTransform.mapRect(bounds);
+
+		final double area;
+		final int curveVertexCount = Math.max(0, this.mVertexCount - straightVertexCount);
+		if(pSVGPaintState.getStyle() == SVGPaintState.STYLE_STROKE) {
+			svgComplexityReport.mStrokeCount++;
+			/* The outline runs along both sides of the stroke. Like android.graphics.Paint, a width of 0 is a hairline of one pixel. */
+			final float strokeWidth = (pSVGPaintState.getStrokeWidth() > 0) ? pSVGPaintState.getStrokeWidth() * this.mTransform.getAverageScale() : 1;
+			bounds.inset(-strokeWidth / 2, -strokeWidth / 2);
+			svgComplexityReport.mStraightVertexCount += 2 * straightVertexCount;
+			svgComplexityReport.mCurveVertexCount += 2 * curveVertexCount;
+			svgComplexityReport.mEdgeRowCount += 2 * this.mEdgeRowCount;
+			area = this.mLength * strokeWidth;
+		} else {
+			svgComplexityReport.mFillCount++;
+			svgComplexityReport.mStraightVertexCount += straightVertexCount;
+			svgComplexityReport.mCurveVertexCount += curveVertexCount;
+			svgComplexityReport.mEdgeRowCount += this.mEdgeRowCount + this.mClosingEdgeRowCount;
+			area = this.mArea;
+		}
+
+		final double boundsArea = (double) bounds.getWidth() * bounds.getHeight();
+		final double visibleBoundsArea = SVGComplexityAnalyzer.getVisibleArea(bounds, svgComplexityReport.mWidth, svgComplexityReport.mHeight);
+		final double visibleArea = (boundsArea > 0) ? Math.min(visibleBoundsArea, area * visibleBoundsArea / boundsArea) : 0;
+		svgComplexityReport.mCoveredArea += visibleArea;
+
+		if(pSVGGradient != null) {
+			if(pSVGGradient.isLinear()) {
+				svgComplexityReport.mLinearGradientDrawCount++;
+			} else {
+				svgComplexityReport.mRadialGradientDrawCount++;
+			}
+			svgComplexityReport.mGradientArea += visibleArea;
+			this.mSVGGradients.add(pSVGGradient);
+		}
+
+		if(pSVGFilter != null) {
+			svgComplexityReport.mFilterDrawCount++;
+			this.mSVGFilters.add(pSVGFilter);
+
+			final ArrayList<ISVGFilterElement> svgFilterElements = pSVGFilter.getSVGFilterElements();
+			for(int i = 0; i < svgFilterElements.size(); i++) {
+				final ISVGFilterElement svgFilterElement = svgFilterElements.get(i);
+				if(svgFilterElement instanceof SVGFilterElementGaussianBlur) {
+					/* A separable blur samples every pixel of the blurred bounds once per pass and per kernel tap. */
+					final float extent = SVGComplexityAnalyzer.BLUR_EXTENT * ((SVGFilterElementGaussianBlur) svgFilterElement).getStandardDeviation() * this.mTransform.getAverageScale();
+					bounds.inset(-extent, -extent);
+					final double blurredArea = SVGComplexityAnalyzer.getVisibleArea(bounds, svgComplexityReport.mWidth, svgComplexityReport.mHeight);
+					svgComplexityReport.mBlurSampleCount += 2 * blurredArea * (2 * extent + 1);
+				}
+			}
+		}
+	}
+
+	private static double getVisibleArea(final SVGRect pBounds, final int pWidth, final int pHeight) {
+		final float width = Math.min(pBounds.getRight(), pWidth) - Math.max(pBounds.getLeft(), 0);
+		final float height = Math.min(pBounds.getBottom(), pHeight) - Math.max(pBounds.getTop(), 0);
+		return (width > 0 && height > 0) ? (double) width * height : 0;
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+
+	/**
+	 * What a document consists of and how much of it there is, as measured by an {@link SVGComplexityAnalyzer}, in the pixels of the document.
+	 */
+	public static class SVGComplexityReport {
+		// ===========================================================
+		// Constants
+		// ===========================================================
+
+		/* The coefficients of the cost model, in nanoseconds, fitted to the SVGRasterBackend on a desktop JVM. */
+		private static final double COST_PER_DRAW = 2300;
+		private static final double COST_PER_VERTEX = 700;
+		private static final double COST_PER_EDGE_ROW = 500;
+		private static final double COST_PER_PIXEL = 3;
+		private static final double COST_PER_GRADIENT_PIXEL = 10;
+		/** Only the <code>SVGCanvasBackend</code> applies blurs, so this one is estimated rather than fitted. */
+		private static final double COST_PER_BLUR_SAMPLE = 1;
+		/** The pixels of the output are cleared and converted once. */
+		private static final double COST_PER_OUTPUT_PIXEL = 1;
+
+		// ===========================================================
+		// Fields
+		// ===========================================================
+
+		private final int mWidth;
+		private final int mHeight;
+
+		private int mDrawCount;
+		private int mFillCount;
+		private int mStrokeCount;
+		private int mRecordingDrawCount;
+		private int mMaximumGroupDepth;
+
+		private int mContourCount;
+		private int mLineSegmentCount;
+		private int mQuadSegmentCount;
+		private int mCubicSegmentCount;
+		private long mStraightVertexCount;
+		private long mCurveVertexCount;
+		private double mEdgeRowCount;
+
+		private double mCoveredArea;
+		private double mGradientArea;
+		private double mBlurSampleCount;
+
+		private int mLinearGradientDrawCount;
+		private int mRadialGradientDrawCount;
+		private int mGradientCount;
+		private int mFilterDrawCount;
+		private int mFilterCount;
+
+		// ===========================================================
+		// Constructors
+		// ===========================================================
+
+		SVGComplexityReport(final int pWidth, final int pHeight) {
+			this.mWidth = pWidth;
+			this.mHeight = pHeight;
+		}
+
+		// ===========================================================
+		// Getter & Setter
+		// ===========================================================
+
+		public int getWidth() {
+			return this.mWidth;
+		}
+
+		public int getHeight() {
+			return this.mHeight;
+		}
+
+		/**
+		 * @return the number of paths drawn, counting every instance of a symbol.
+		 */
+		public int getDrawCount() {
+			return this.mDrawCount;
+		}
+
+		public int getFillCount() {
+			return this.mFillCount;
+		}
+
+		public int getStrokeCount() {
+			return this.mStrokeCount;
+		}
+
+		/**
+		 * @return the number of times a recording, i.e. a symbol, was drawn.
+		 */
+		public int getRecordingDrawCount() {
+			return this.mRecordingDrawCount;
+		}
+
+		/**
+		 * @return <code>0</code> unless the report was created by {@link SVGComplexityAnalyzer#analyze(SVGDisplayList)}.
+		 */
+		public int getMaximumGroupDepth() {
+			return this.mMaximumGroupDepth;
+		}
+
+		public int getContourCount() {
+			return this.mContourCount;
+		}
+
+		public int getPathSegmentCount() {
+			return this.mLineSegmentCount + this.mQuadSegmentCount + this.mCubicSegmentCount;
+		}
+
+		public int getLineSegmentCount() {
+			return this.mLineSegmentCount;
+		}
+
+		public int getQuadSegmentCount() {
+			return this.mQuadSegmentCount;
+		}
+
+		public int getCubicSegmentCount() {
+			return this.mCubicSegmentCount;
+		}
+
+		/**
+		 * @return the number of vertices the paths are flattened into at the size of the document, including both sides of strokes.
+		 */
+		public long getFlattenedVertexCount() {
+			return this.mStraightVertexCount + this.mCurveVertexCount;
+		}
+
+		/**
+		 * @return the sum of the heights of all flattened edges, which is how many rows a scanline rasterizer has to step the edges through.
+		 */
+		public double getEdgeRowCount() {
+			return this.mEdgeRowCount;
+		}
+
+		/**
+		 * @return in square pixels of the document, counting every pixel as often as it is painted.
+		 */
+		public double getCoveredArea() {
+			return this.mCoveredArea;
+		}
+
+		/**
+		 * @return the share of {@link SVGComplexityReport#getCoveredArea()} that is painted with gradients.
+		 */
+		public double getGradientArea() {
+			return this.mGradientArea;
+		}
+
+		/**
+		 * @return how often every pixel of the document is painted, on average.
+		 */
+		public float getOverdraw() {
+			final double documentArea = (double) this.mWidth * this.mHeight;
+			return (documentArea > 0) ? (float) (this.mCoveredArea / documentArea) : 0;
+		}
+
+		public int getLinearGradientDrawCount() {
+			return this.mLinearGradientDrawCount;
+		}
+
+		public int getRadialGradientDrawCount() {
+			return this.mRadialGradientDrawCount;
+		}
+
+		/**
+		 * @return the number of distinct gradients used.
+		 */
+		public int getGradientCount() {
+			return this.mGradientCount;
+		}
+
+		public int getFilterDrawCount() {
+			return this.mFilterDrawCount;
+		}
+
+		/**
+		 * @return the number of distinct filters used.
+		 */
+		public int getFilterCount() {
+			return this.mFilterCount;
+		}
+
+		/**
+		 * @return the estimated number of pixels read by all blurs, at the size of the document.
+		 */
+		public double getBlurSampleCount() {
+			return this.mBlurSampleCount;
+		}
+
+		/**
+		 * Predicts how long rendering the document at <code>pWidth</code> x <code>pHeight</code> pixels takes, in nanoseconds of the <code>SVGRasterBackend</code> on a desktop JVM.
+		 * Slower devices take proportionally longer, so the prediction is best used to compare documents and output sizes, or to check them against budgets derived from it.
+		 *
+		 * Covered pixels scale with the area of the output, edges with its height, blurs additionally with the growing kernel, and the vertices of curves with the square root of the scale, as curves are subdivided more finely the larger they get.
+		 */
+		public long getPredictedRenderCost(final int pWidth, final int pHeight) {
+			final double scaleX = (this.mWidth > 0) ? (double) pWidth / this.mWidth : 1;
+			final double scaleY = (this.mHeight > 0) ? (double) pHeight / this.mHeight : 1;
+			final double areaScale = scaleX * scaleY;
+			final double scale = Math.sqrt(areaScale);
+
+			double cost = SVGComplexityReport.COST_PER_DRAW * this.mDrawCount;
+			cost += SVGComplexityReport.COST_PER_VERTEX * (this.mStraightVertexCount + this.mCurveVertexCount * Math.sqrt(scale));
+			cost += SVGComplexityReport.COST_PER_EDGE_ROW * this.mEdgeRowCount * scaleY;
+			cost += (SVGComplexityReport.COST_PER_PIXEL * this.mCoveredArea + SVGComplexityReport.COST_PER_GRADIENT_PIXEL * this.mGradientArea) * areaScale;
+			cost += SVGComplexityReport.COST_PER_BLUR_SAMPLE * this.mBlurSampleCount * areaScale * scale;
+			cost += SVGComplexityReport.COST_PER_OUTPUT_PIXEL * pWidth * pHeight;
+			return (long) cost;
+		}
+
+		// ===========================================================
+		// Methods for/from SuperClass/Interfaces
+		// ===========================================================
+
+		/**
+		 * @return a human readable summary over multiple lines, i.e. to be logged.
+		 */
+		@Override
+		public String toString() {
+			final StringBuilder stringBuilder = new StringBuilder();
+			stringBuilder.append(String.format(Locale.US, "%dx%d, %d draws (%d fills, %d strokes, %d symbol instances), group depth %d", this.mWidth, this.mHeight, this.mDrawCount, this.mFillCount, this.mStrokeCount, this.mRecordingDrawCount, this.mMaximumGroupDepth));
+			stringBuilder.append(String.format(Locale.US, "\n%d contours, %d segments (%d lines, %d quads, %d cubics), %d flattened vertices, %.0f edge rows", this.mContourCount, this.getPathSegmentCount(), this.mLineSegmentCount, this.mQuadSegmentCount, this.mCubicSegmentCount, this.getFlattenedVertexCount(), this.mEdgeRowCount));
+			stringBuilder.append(String.format(Locale.US, "\n%.0f pixels covered, overdraw %.2f, %.0f of them with gradients", this.mCoveredArea, this.getOverdraw(), this.mGradientArea));
+			stringBuilder.append(String.format(Locale.US, "\n%d gradients (%d linear draws, %d radial draws), %d filters (%d draws, %.0f blur samples)", this.mGradientCount, this.mLinearGradientDrawCount, this.mRadialGradientDrawCount, this.mFilterCount, this.mFilterDrawCount, this.mBlurSampleCount));
+			stringBuilder.append(String.format(Locale.US, "\npredicted render cost at %dx%d: %.2f ms", this.mWidth, this.mHeight, this.getPredictedRenderCost(this.mWidth, this.mHeight) / 1e6));
+			return stringBuilder.toString();
+		}
+
+		// ===========================================================
+		// Methods
+		// ===========================================================
+
+		// ===========================================================
+		// Inner and Anonymous Classes
+		// ===========================================================
+	}
+}
@@ -0,0 +1,222 @@
+package org.anddev.andengine.extension.svg.backend.mesh;
+
+/**
+ * An indexed triangle mesh with a color per vertex, kept in primitive arrays that can be uploaded into vertex buffers as they are.
+ * The indices are <code>short</code>s, to be read as unsigned (<code>GL_UNSIGNED_SHORT</code>), so a mesh holds at most {@link SVGMesh#VERTEX_COUNT_MAXIMUM} vertices.
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 14:07:51 - 01.06.2011
+ */
+public class SVGMesh {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	public static final int VERTEX_COUNT_MAXIMUM = 1 << 16;
+
+	/** The number of floats per vertex in {@link SVGMesh#getVertices()}. */
+	public static final int VERTEX_SIZE = 2;
+
+	private static final int CAPACITY_DEFAULT = 64;
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private float[] mVertices;
+	private int[] mColors;
+	private int mVertexCount;
+
+	private short[] mIndices;
+	private int mIndexCount;
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	public SVGMesh() {
+		this(SVGMesh.CAPACITY_DEFAULT);
+	}
+
+	/**
+	 * @param pVertexCapacity the number of vertices space is reserved for upfront.
+	 */
+	public SVGMesh(final int pVertexCapacity) {
+		final int vertexCapacity = Math.max(1, Math.min(SVGMesh.VERTEX_COUNT_MAXIMUM, pVertexCapacity));
+		this.mVertices = new float[SVGMesh.VERTEX_SIZE * vertexCapacity];
+		this.mColors = new int[vertexCapacity];
+		this.mIndices = new short[3 * vertexCapacity];
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	public int getVertexCount() {
+		return this.mVertexCount;
+	}
+
+	/**
+	 * @return the positions as consecutive <code>x, y</code> pairs. Only the first {@link SVGMesh#getVertexCount()} vertices are valid.
+	 */
+	public float[] getVertices() {
+		return this.mVertices;
+	}
+
+	/**
+	 * @return the (non-premultiplied) ARGB colors of the vertices. Only the first {@link SVGMesh#getVertexCount()} colors are valid.
+	 */
+	public int[] getColors() {
+		return this.mColors;
+	}
+
+	public int getColor(final int pVertexIndex) {
+		return this.mColors[pVertexIndex];
+	}
+
+	/**
+	 * @param pColor (non-premultiplied) ARGB.
+	 */
+	public void setColor(final int pVertexIndex, final int pColor) {
+		this.mColors[pVertexIndex] = pColor;
+	}
+
+	public int getIndexCount() {
+		return this.mIndexCount;
+	}
+
+	public int getTriangleCount() {
+		return this.mIndexCount / 3;
+	}
+
+	/**
+	 * @return the indices of the vertices of the triangles, three per triangle, to be read as unsigned: <code>getIndices()[i] & 0xFFFF</code>. Only the first {@link SVGMesh#getIndexCount()} indices are valid.
+	 */
+	public short[] getIndices() {
+		return this.mIndices;
+	}
+
+	public boolean isEmpty() {
+		return this.mIndexCount == 0;
+	}
+
+	/**
+	 * @return whether <code>pVertexCount</code> more vertices can be added.
+	 */
+	public boolean hasCapacity(final int pVertexCount) {
+		return this.mVertexCount + pVertexCount <= SVGMesh.VERTEX_COUNT_MAXIMUM;
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	@Override
+	public String toString() {
+		return this.getClass().getSimpleName() + "[vertices=" + this.mVertexCount + ", triangles=" + this.getTriangleCount() + "]";
+	}
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	public void reset() {
+		this.mVertexCount = 0;
+		this.mIndexCount = 0;
+	}
+
+	/**
+	 * Shrinks the arrays to the vertices and indices actually used, i.e. before keeping the mesh around.
+	 */
+	public void trim() {
+		final int vertexCapacity = Math.max(1, this.mVertexCount);
+		if(vertexCapacity < this.mColors.length) {
+			this.resizeVertices(vertexCapacity);
+		}
+		final int indexCapacity = Math.max(3, this.mIndexCount);
+		if(indexCapacity < this.mIndices.length) {
+			this.resizeIndices(indexCapacity);
+		}
+	}
+
+	/**
+	 * @param pColor (non-premultiplied) ARGB.
+	 * @return the index of the new vertex.
+	 * @throws IllegalStateException if the mesh already holds {@link SVGMesh#VERTEX_COUNT_MAXIMUM} vertices.
+	 */
+	public int addVertex(final float pX, final float pY, final int pColor) {
+		final int vertexIndex = this.mVertexCount;
+		if(vertexIndex == SVGMesh.VERTEX_COUNT_MAXIMUM) {
+			throw new IllegalStateException("A mesh can not hold more than " + SVGMesh.VERTEX_COUNT_MAXIMUM + " vertices.");
+		}
+		if(vertexIndex == this.mColors.length) {
+			this.resizeVertices(Math.min(SVGMesh.VERTEX_COUNT_MAXIMUM, 2 * vertexIndex));
+		}
+		this.mVertices[SVGMesh.VERTEX_SIZE * vertexIndex] = pX;
+		this.mVertices[SVGMesh.VERTEX_SIZE * vertexIndex + 1] = pY;
+		this.mColors[vertexIndex] = pColor;
+		this.mVertexCount++;
+		return vertexIndex;
+	}
+
+	public void addTriangle(final int pVertexIndexA, final int pVertexIndexB, final int pVertexIndexC) {
+		if(this.mIndexCount + 3 > this.mIndices.length) {
+			this.resizeIndices(2 * this.mIndices.length);
+		}
+		final short[] indices = this.mIndices;
+		indices[this.mIndexCount++] = (short) pVertexIndexA;
+		indices[this.mIndexCount++] = (short) pVertexIndexB;
+		indices[this.mIndexCount++] = (short) pVertexIndexC;
+	}
+
+	/**
+	 * Appends all vertices and triangles of <code>pSVGMesh</code>.
+	 *
+	 * @throws IllegalStateException if there is no capacity for the vertices of <code>pSVGMesh</code>.
+	 */
+	public void addSVGMesh(final SVGMesh pSVGMesh) {
+		final int vertexCount = pSVGMesh.mVertexCount;
+		if(!this.hasCapacity(vertexCount)) {
+			throw new IllegalStateException("A mesh can not hold more than " + SVGMesh.VERTEX_COUNT_MAXIMUM + " vertices.");
+		}
+		final int vertexOffset = this.mVertexCount;
+		if(vertexOffset + vertexCount > this.mColors.length) {
+			this.resizeVertices(Math.min(SVGMesh.VERTEX_COUNT_MAXIMUM, Math.max(2 * this.mColors.length, vertexOffset + vertexCount)));
+		}
+		System.arraycopy(pSVGMesh.mVertices, 0, this.mVertices, SVGMesh.VERTEX_SIZE * vertexOffset, SVGMesh.VERTEX_SIZE * vertexCount);
+		System.arraycopy(pSVGMesh.mColors, 0, this.mColors, vertexOffset, vertexCount);
+		this.mVertexCount += vertexCount;
+
+		final int indexCount = pSVGMesh.mIndexCount;
+		if(this.mIndexCount + indexCount > this.mIndices.length) {
+			this.resizeIndices(Math.max(2 * this.mIndices.length, this.mIndexCount + indexCount));
+		}
+		final short[] sourceIndices = pSVGMesh.mIndices;
+		final short[] indices = this.mIndices;
+		for(int i = 0; i < indexCount; i++) {
+			indices[this.mIndexCount++] = (short) ((sourceIndices[i] & 0xFFFF) + vertexOffset);
+		}
+	}
+
+	private void resizeVertices(final int pVertexCapacity) {
+		final float[] vertices = new float[SVGMesh.VERTEX_SIZE * pVertexCapacity];
+		System.arraycopy(this.mVertices, 0, vertices, 0, SVGMesh.VERTEX_SIZE * this.mVertexCount);
+		this.mVertices = vertices;
+		final int[] colors = new int[pVertexCapacity];
+		System.arraycopy(this.mColors, 0, colors, 0, this.mVertexCount);
+		this.mColors = colors;
+	}
+
+	private void resizeIndices(final int pIndexCapacity) {
+		final short[] indices = new short[pIndexCapacity];
+		System.arraycopy(this.mIndices, 0, indices, 0, this.mIndexCount);
+		this.mIndices = indices;
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
@@ -0,0 +1,257 @@
+package org.anddev.andengine.extension.svg.backend.mesh;
+
+import java.util.ArrayList;
+import java.util.Stack;
+
+import org.anddev.andengine.extension.svg.adt.SVGGradient;
+import org.anddev.andengine.extension.svg.adt.SVGMatrix;
+import org.anddev.andengine.extension.svg.adt.SVGPaintState;
+import org.anddev.andengine.extension.svg.adt.SVGPath;
+import org.anddev.andengine.extension.svg.adt.filter.SVGFilter;
+import org.anddev.andengine.extension.svg.backend.ISVGBackend;
+import org.anddev.andengine.extension.svg.backend.SVGDisplayList;
+import org.anddev.andengine.extension.svg.backend.raster.SVGRasterBlitter;
+import org.anddev.andengine.extension.svg.backend.raster.SVGRasterGradient;
+import org.anddev.andengine.extension.svg.util.SVGPathStroker;
+import org.anddev.andengine.extension.svg.util.SVGPathFlattener;
+
+/**
+ * Tessellates everything drawn into {@link SVGMesh}es, in drawing order, so a document can be drawn at any scale without rasterizing it again.
+ * A new mesh is started whenever the current one can not hold the vertices of the next path.
+ * Gradients are sampled at the vertices only, so they are interpolated linearly across every triangle. Filters are not supported and are ignored.
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 15:21:40 - 01.06.2011
+ */
+public class SVGMeshBackend implements ISVGBackend {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	private static final float GRADIENT_SAMPLING_RESOLUTION = 256;
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private final float mScale;
+
+	private final SVGTessellator mSVGTessellator = new SVGTessellator();
+	private final SVGPathStroker mSVGPathStroker = new SVGPathStroker();
+	private final SVGPath mStrokePath = new SVGPath();
+	private final SVGMesh mPathSVGMesh = new SVGMesh();
+	private final int[] mShadedColor = new int[1];
+
+	private final ArrayList<SVGMesh> mSVGMeshes = new ArrayList<SVGMesh>();
+
+	/** Maps the current coordinate system to the one of the meshes. */
+	private SVGMatrix mTransform = new SVGMatrix();
+	private final Stack<SVGMatrix> mTransformStack = new Stack<SVGMatrix>();
+	private final SVGMatrix mGradientTransform = new SVGMatrix();
+
+	/** The recordings that are currently recorded into, innermost last. */
+	private final Stack<SVGDisplayList> mRecordingStack = new Stack<SVGDisplayList>();
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	/**
+	 * Tessellates in the coordinate system of the document.
+	 */
+	public SVGMeshBackend() {
+		this(1);
+	}
+
+	/**
+	 * Tessellates in the coordinate system of the document, multiplied by <code>pScale</code>.
+	 */
+	public SVGMeshBackend(final float pScale) {
+		this.mScale = pScale;
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	public float getTolerance() {
+		return this.mSVGTessellator.getTolerance();
+	}
+
+	/**
+	 * @param pTolerance the maximum distance between curves and the triangles they are approximated with, in the coordinate system of the meshes. Defaults to {@link SVGPathFlattener#TOLERANCE_DEFAULT}.
+	 */
+	public void setTolerance(final float pTolerance) {
+		this.mSVGTessellator.setTolerance(pTolerance);
+	}
+
+	/**
+	 * @return the meshes, to be drawn in order.
+	 */
+	public ArrayList<SVGMesh> getSVGMeshes() {
+		return this.mSVGMeshes;
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	@Override
+	public void begin(final int pWidth, final int pHeight) {
+		this.mTransform = new SVGMatrix();
+		this.mTransform.postScale(this.mScale, this.mScale);
+		this.mTransformStack.clear();
+		this.mSVGMeshes.clear();
+		this.mSVGMeshes.add(new SVGMesh());
+	}
+
+	@Override
+	public void end() {
+		for(int i = this.mSVGMeshes.size() - 1; i >= 0; i--) {
+			final SVGMesh svgMesh = this.mSVGMeshes.get(i);
+			if(svgMesh.isEmpty()) {
+				this.mSVGMeshes.remove(i);
+			} else {
+				svgMesh.trim();
+			}
+		}
+	}
+
+	@Override
+	public void save() {
+		if(this.isRecording()) {
+			this.mRecordingStack.peek().save();
+		} else {
+			this.mTransformStack.push(new SVGMatrix(this.mTransform));
+		}
+	}
+
+	@Override
+	public void concat(final SVGMatrix pSVGMatrix) {
+		if(this.isRecording()) {
+			this.mRecordingStack.peek().concat(pSVGMatrix);
+		} else {
+			this.mTransform.preConcat(pSVGMatrix);
+		}
+	}
+
+	@Override
+	public void restore() {
+		if(this.isRecording()) {
+			this.mRecordingStack.peek().restore();
+		} else {
+			this.mTransform = this.mTransformStack.pop();
+		}
+	}
+
+	@Override
+	public void drawPath(final SVGPath pSVGPath, final SVGPaintState pSVGPaintState, final SVGGradient pSVGGradient, final SVGFilter pSVGFilter, final SVGMatrix pTransform) {
+		if(this.isRecording()) {
+			this.mRecordingStack.peek().drawPath(pSVGPath, pSVGPaintState, pSVGGradient, pSVGFilter, pTransform);
+			return;
+		}
+
+		final SVGPath svgPath;
+		final int fillRule;
+		if(pSVGPaintState.getStyle() == SVGPaintState.STYLE_STROKE) {
+			final float scale = this.mTransform.getAverageScale();
+			if(scale == 0) {
+				return;
+			}
+			/* The tolerance has to hold in the direction that is scaled the most. */
+			final float tolerance = this.mSVGTessellator.getTolerance() / this.mTransform.getMaximumScale();
+			/* Like android.graphics.Paint, a width of 0 is a hairline of one unit of the meshes. */
+			final float strokeWidth = (pSVGPaintState.getStrokeWidth() > 0) ? pSVGPaintState.getStrokeWidth() : 1 / scale;
+
+			svgPath = this.mStrokePath;
+			svgPath.reset();
+			this.mSVGPathStroker.stroke(pSVGPath, pSVGPaintState, strokeWidth, tolerance, svgPath);
+			fillRule = SVGPath.FILLRULE_NONZERO;
+		} else {
+			svgPath = pSVGPath;
+			fillRule = pSVGPath.getFillRule();
+		}
+
+		final SVGMesh pathSVGMesh = this.mPathSVGMesh;
+		pathSVGMesh.reset();
+		this.mSVGTessellator.tessellate(svgPath, this.mTransform, fillRule, pSVGPaintState.getColor(), pathSVGMesh);
+		if(pathSVGMesh.isEmpty()) {
+			return;
+		}
+
+		if(pSVGGradient != null) {
+			final SVGMatrix gradientTransform = this.mGradientTransform;
+			gradientTransform.set(this.mTransform);
+			if(pTransform != null) {
+				gradientTransform.preConcat(pTransform);
+			}
+			/* Shaded pixels are this much smaller than a unit, so their centers are close to the vertices. */
+			gradientTransform.postScale(SVGMeshBackend.GRADIENT_SAMPLING_RESOLUTION, SVGMeshBackend.GRADIENT_SAMPLING_RESOLUTION);
+			this.shade(pathSVGMesh, new SVGRasterGradient(pSVGGradient, gradientTransform));
+		}
+
+		SVGMesh svgMesh = this.mSVGMeshes.get(this.mSVGMeshes.size() - 1);
+		if(!svgMesh.hasCapacity(pathSVGMesh.getVertexCount())) {
+			svgMesh = new SVGMesh();
+			this.mSVGMeshes.add(svgMesh);
+		}
+		svgMesh.addSVGMesh(pathSVGMesh);
+	}
+
+	@Override
+	public void beginRecording(final int pWidth, final int pHeight) {
+		final SVGDisplayList recording = new SVGDisplayList();
+		recording.begin(pWidth, pHeight);
+		this.mRecordingStack.push(recording);
+	}
+
+	@Override
+	public Object endRecording() {
+		return this.mRecordingStack.pop();
+	}
+
+	@Override
+	public void drawRecording(final Object pRecording) {
+		if(this.isRecording()) {
+			this.mRecordingStack.peek().drawRecording(pRecording);
+		} else {
+			this.save();
+			((SVGDisplayList) pRecording).replayCommands(this);
+			this.restore();
+		}
+	}
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	private boolean isRecording() {
+		return !this.mRecordingStack.isEmpty();
+	}
+
+	/**
+	 * Replaces the colors of all vertices of <code>pSVGMesh</code> with the ones of <code>pSVGRasterGradient</code> at their positions.
+	 *
+	 * @param pSVGRasterGradient maps the coordinates of the mesh, multiplied by {@link SVGMeshBackend#GRADIENT_SAMPLING_RESOLUTION}, to the gradient.
+	 */
+	private void shade(final SVGMesh pSVGMesh, final SVGRasterGradient pSVGRasterGradient) {
+		final float[] vertices = pSVGMesh.getVertices();
+		final int[] shadedColor = this.mShadedColor;
+		final int vertexCount = pSVGMesh.getVertexCount();
+		for(int i = 0; i < vertexCount; i++) {
+			final float x = vertices[SVGMesh.VERTEX_SIZE * i];
+			final float y = vertices[SVGMesh.VERTEX_SIZE * i + 1];
+			final int pixelX = (int) Math.floor(x * SVGMeshBackend.GRADIENT_SAMPLING_RESOLUTION);
+			final int pixelY = (int) Math.floor(y * SVGMeshBackend.GRADIENT_SAMPLING_RESOLUTION);
+			pSVGRasterGradient.shadeSpan(pixelX, pixelY, 1, shadedColor);
+			pSVGMesh.setColor(i, SVGRasterBlitter.unpremultiply(shadedColor[0]));
+		}
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
@@ -0,0 +1,400 @@
+package org.anddev.andengine.extension.svg.backend.mesh;
+
+import java.util.Arrays;
+
+import org.anddev.andengine.extension.svg.adt.SVGMatrix;
+import org.anddev.andengine.extension.svg.adt.SVGPath;
+import org.anddev.andengine.extension.svg.backend.raster.SVGRasterEdgeList;
+import org.anddev.andengine.extension.svg.util.SVGPathFlattener;
+
+/**
+ * Turns the area a path fills into triangles, honoring {@link SVGPath#FILLRULE_NONZERO} and {@link SVGPath#FILLRULE_EVENODD}.
+ * The flattened path is cut into horizontal slabs at every vertex and at every point where two edges cross, so within a slab the edges keep their order from left to right.
+ * Walking the edges of a slab from left to right, the fill rule tells which spans between them are inside.
+ * Spans between the same two edges in consecutive slabs are merged, and every span then becomes a trapezoid of two triangles. Vertices are shared between the trapezoids along the same edge.
+ *
+ * Works with any kind of path, including self-intersecting ones and ones with holes. A tessellator is not thread-safe, but it can be reused for any number of paths.
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 14:32:16 - 01.06.2011
+ */
+public class SVGTessellator {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	/** Crossings closer than this fraction of the tolerance to the top or bottom of a slab do not split it. */
+	private static final float CROSSING_EPSILON = 1e-3f;
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private float mTolerance = SVGPathFlattener.TOLERANCE_DEFAULT;
+
+	private final SVGRasterEdgeList mSVGRasterEdgeList = new SVGRasterEdgeList();
+
+	/** The tops and bottoms of all edges, sorted and without duplicates. */
+	private float[] mBreakpoints = new float[64];
+	/** The edges sorted by their tops, each as the sortable bits of the top in the upper and the edge in the lower half. */
+	private long[] mEdgeOrder = new long[32];
+
+	/** The edges crossing the current slab, sorted from left to right. */
+	private int[] mActiveEdges = new int[32];
+	private float[] mActiveEdgeXs = new float[32];
+	private int mActiveEdgeCount;
+
+	/** The spans inside the path, which are only emitted once they do not continue into the next slab, by their left edges. */
+	private int[] mSpanLeftEdges = new int[32];
+	private int mSpanCount;
+	/** The right edge of the span starting at every edge, or <code>-1</code>. */
+	private int[] mSpanRightEdges = new int[32];
+	private float[] mSpanTops = new float[32];
+	private float[] mSpanBottoms = new float[32];
+
+	/** The last vertex created on every edge, to be shared by the span below. */
+	private int[] mEdgeVertexIndices = new int[32];
+	private float[] mEdgeVertexYs = new float[32];
+
+	private SVGMesh mSVGMesh;
+	private int mColor;
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	public float getTolerance() {
+		return this.mTolerance;
+	}
+
+	/**
+	 * @param pTolerance the maximum distance between curves and the triangles they are approximated with, in the coordinate system of the mesh.
+	 */
+	public void setTolerance(final float pTolerance) {
+		if(!(pTolerance > 0)) {
+			throw new IllegalArgumentException("pTolerance must be positive.");
+		}
+		this.mTolerance = pTolerance;
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	/**
+	 * Appends the triangles covering the area <code>pSVGPath</code> fills to <code>pSVGMesh</code>.
+	 *
+	 * @param pTransform maps the coordinates of <code>pSVGPath</code> to the ones of the mesh. May be <code>null</code>.
+	 * @param pFillRule {@link SVGPath#FILLRULE_NONZERO} or {@link SVGPath#FILLRULE_EVENODD}.
+	 * @param pColor the (non-premultiplied) ARGB color of all new vertices.
+	 * @throws IllegalStateException if <code>pSVGMesh</code> runs out of vertices.
+	 */
+	public void tessellate(final SVGPath pSVGPath, final SVGMatrix pTransform, final int pFillRule, final int pColor, final SVGMesh pSVGMesh) {
+		final SVGRasterEdgeList svgRasterEdgeList = this.mSVGRasterEdgeList;
+		svgRasterEdgeList.set(pSVGPath, pTransform, this.mTolerance);
+		final int edgeCount = svgRasterEdgeList.getEdgeCount();
+		if(edgeCount == 0) {
+			return;
+		}
+
+		this.mSVGMesh = pSVGMesh;
+		this.mColor = pColor;
+		this.prepare(edgeCount);
+
+		final float[] edges = svgRasterEdgeList.getEdges();
+		final float[] breakpoints = this.mBreakpoints;
+		final int breakpointCount = this.sortBreakpoints(edgeCount);
+		final long[] edgeOrder = this.mEdgeOrder;
+		final float epsilon = SVGTessellator.CROSSING_EPSILON * this.mTolerance;
+
+		int nextEdge = 0;
+		float top = breakpoints[0];
+		for(int b = 1; b < breakpointCount; b++) {
+			final float bottom = breakpoints[b];
+
+			/* Edges ending at the top of the slab drop out, edges starting there join in. */
+			this.removeActiveEdges(top);
+			while(nextEdge < edgeCount && edges[4 * (int) edgeOrder[nextEdge] + 1] <= top) {
+				this.addActiveEdge((int) edgeOrder[nextEdge]);
+				nextEdge++;
+			}
+
+			/* Crossing edges split the slab, so the edges keep their order within every part. */
+			while(top < bottom) {
+				float partBottom = bottom;
+				if(this.mActiveEdgeCount > 1) {
+					while(true) {
+						final float crossingY = this.findCrossing(top, partBottom, epsilon);
+						if(crossingY < partBottom) {
+							partBottom = crossingY;
+						} else {
+							break;
+						}
+					}
+					this.emitSlab(top, partBottom, pFillRule);
+				}
+				top = partBottom;
+			}
+		}
+
+		for(int i = 0; i < this.mSpanCount; i++) {
+			this.emitSpan(this.mSpanLeftEdges[i]);
+		}
+		this.mSpanCount = 0;
+		this.mActiveEdgeCount = 0;
+		this.mSVGMesh = null;
+	}
+
+	private void prepare(final int pEdgeCount) {
+		if(this.mEdgeOrder.length < pEdgeCount) {
+			final int capacity = Math.max(pEdgeCount, 2 * this.mEdgeOrder.length);
+			this.mBreakpoints = new float[2 * capacity];
+			this.mEdgeOrder = new long[capacity];
+			this.mActiveEdges = new int[capacity];
+			this.mActiveEdgeXs = new float[capacity];
+			this.mEdgeVertexIndices = new int[capacity];
+			this.mEdgeVertexYs = new float[capacity];
+			this.mSpanLeftEdges = new int[capacity];
+			this.mSpanRightEdges = new int[capacity];
+			this.mSpanTops = new float[capacity];
+			this.mSpanBottoms = new float[capacity];
+		}
+		Arrays.fill(this.mEdgeVertexIndices, 0, pEdgeCount, -1);
+		Arrays.fill(this.mSpanRightEdges, 0, pEdgeCount, -1);
+		this.mActiveEdgeCount = 0;
+		this.mSpanCount = 0;
+	}
+
+	/**
+	 * Sorts the edges by their tops and collects the distinct tops and bottoms.
+	 *
+	 * @return the number of breakpoints.
+	 */
+	private int sortBreakpoints(final int pEdgeCount) {
+		final float[] edges = this.mSVGRasterEdgeList.getEdges();
+		final float[] breakpoints = this.mBreakpoints;
+		final long[] edgeOrder = this.mEdgeOrder;
+		for(int e = 0; e < pEdgeCount; e++) {
+			final float edgeTop = edges[4 * e + 1];
+			breakpoints[2 * e] = edgeTop;
+			breakpoints[2 * e + 1] = edges[4 * e + 3];
+			edgeOrder[e] = ((long) SVGTessellator.toSortableBits(edgeTop) << 32) | e;
+		}
+		Arrays.sort(edgeOrder, 0, pEdgeCount);
+		Arrays.sort(breakpoints, 0, 2 * pEdgeCount);
+
+		int breakpointCount = 1;
+		for(int i = 1; i < 2 * pEdgeCount; i++) {
+			if(breakpoints[i] != breakpoints[breakpointCount - 1]) {
+				breakpoints[breakpointCount++] = breakpoints[i];
+			}
+		}
+		return breakpointCount;
+	}
+
+	/**
+	 * @return an <code>int</code> that sorts like <code>pValue</code> when compared as signed.
+	 */
+	private static int toSortableBits(final float pValue) {
+		final int bits = Float.floatToIntBits(pValue);
+		return bits ^ ((bits >> 31) & 0x7FFFFFFF);
+	}
+
+	private void addActiveEdge(final int pEdge) {
+		this.mActiveEdges[this.mActiveEdgeCount++] = pEdge;
+	}
+
+	private void removeActiveEdges(final float pY) {
+		final float[] edges = this.mSVGRasterEdgeList.getEdges();
+		final int[] activeEdges = this.mActiveEdges;
+		int activeEdgeCount = 0;
+		for(int i = 0; i < this.mActiveEdgeCount; i++) {
+			final int edge = activeEdges[i];
+			if(edges[4 * edge + 3] > pY) {
+				activeEdges[activeEdgeCount++] = edge;
+			}
+		}
+		this.mActiveEdgeCount = activeEdgeCount;
+	}
+
+	/**
+	 * Insertion sort by the x at <code>pY</code>, as the order mostly carries over from the previous slab.
+	 */
+	private void sortActiveEdges(final float pY) {
+		final int[] activeEdges = this.mActiveEdges;
+		final float[] activeEdgeXs = this.mActiveEdgeXs;
+		final int activeEdgeCount = this.mActiveEdgeCount;
+		for(int i = 0; i < activeEdgeCount; i++) {
+			activeEdgeXs[i] = this.getX(activeEdges[i], pY);
+		}
+		for(int i = 1; i < activeEdgeCount; i++) {
+			final int edge = activeEdges[i];
+			final float x = activeEdgeXs[i];
+			int j = i - 1;
+			while(j >= 0 && activeEdgeXs[j] > x) {
+				activeEdges[j + 1] = activeEdges[j];
+				activeEdgeXs[j + 1] = activeEdgeXs[j];
+				j--;
+			}
+			activeEdges[j + 1] = edge;
+			activeEdgeXs[j + 1] = x;
+		}
+	}
+
+	/**
+	 * Leaves the active edges sorted by their x in the middle of the slab.
+	 * Two edges cross within the slab, if their order at its top or bottom differs from the one in its middle. Then so do two edges that are neighbors in the middle.
+	 *
+	 * @return the topmost crossing of two active edges between <code>pTop</code> and <code>pBottom</code>, or <code>pBottom</code> if there is none.
+	 */
+	private float findCrossing(final float pTop, final float pBottom, final float pEpsilon) {
+		this.sortActiveEdges((pTop + pBottom) * 0.5f);
+
+		final int[] activeEdges = this.mActiveEdges;
+		float crossingY = pBottom;
+		for(int i = 1; i < this.mActiveEdgeCount; i++) {
+			final int left = activeEdges[i - 1];
+			final int right = activeEdges[i];
+			final float topDistance = this.getX(left, pTop) - this.getX(right, pTop);
+			final float bottomDistance = this.getX(left, pBottom) - this.getX(right, pBottom);
+			if(topDistance > pEpsilon || bottomDistance > pEpsilon) {
+				final float y = pTop + (pBottom - pTop) * topDistance / (topDistance - bottomDistance);
+				if(y > pTop + pEpsilon && y < crossingY - pEpsilon) {
+					crossingY = y;
+				}
+			}
+		}
+		return crossingY;
+	}
+
+	private float getX(final int pEdge, final float pY) {
+		final float[] edges = this.mSVGRasterEdgeList.getEdges();
+		final int offset = 4 * pEdge;
+		final float topY = edges[offset + 1];
+		final float bottomY = edges[offset + 3];
+		if(pY <= topY) {
+			return edges[offset];
+		} else if(pY >= bottomY) {
+			return edges[offset + 2];
+		} else {
+			return edges[offset] + (edges[offset + 2] - edges[offset]) * (pY - topY) / (bottomY - topY);
+		}
+	}
+
+	private void emitSlab(final float pTop, final float pBottom, final int pFillRule) {
+		final int[] activeEdges = this.mActiveEdges;
+		final int[] edgeWindings = this.mSVGRasterEdgeList.getEdgeWindings();
+
+		int winding = 0;
+		int leftEdge = -1;
+		for(int i = 0; i < this.mActiveEdgeCount; i++) {
+			final int edge = activeEdges[i];
+			final boolean wasInside = SVGTessellator.isInside(winding, pFillRule);
+			winding += edgeWindings[edge];
+			final boolean isInside = SVGTessellator.isInside(winding, pFillRule);
+			if(!wasInside && isInside) {
+				leftEdge = edge;
+			} else if(wasInside && !isInside) {
+				this.addSpan(leftEdge, edge, pTop, pBottom);
+			}
+		}
+
+		/* Spans that did not continue into this slab are complete. */
+		final int[] spanLeftEdges = this.mSpanLeftEdges;
+		final float[] spanBottoms = this.mSpanBottoms;
+		int spanCount = 0;
+		for(int i = 0; i < this.mSpanCount; i++) {
+			final int spanLeftEdge = spanLeftEdges[i];
+			if(spanBottoms[spanLeftEdge] == pBottom) {
+				spanLeftEdges[spanCount++] = spanLeftEdge;
+			} else {
+				this.emitSpan(spanLeftEdge);
+			}
+		}
+		this.mSpanCount = spanCount;
+	}
+
+	/**
+	 * Extends the span starting at <code>pLeftEdge</code> by the slab, if it had the same right edge in the slab above. Otherwise the span is emitted and a new one is started.
+	 */
+	private void addSpan(final int pLeftEdge, final int pRightEdge, final float pTop, final float pBottom) {
+		if(this.mSpanRightEdges[pLeftEdge] == pRightEdge && this.mSpanBottoms[pLeftEdge] == pTop) {
+			this.mSpanBottoms[pLeftEdge] = pBottom;
+			return;
+		}
+
+		if(this.mSpanRightEdges[pLeftEdge] >= 0) {
+			this.emitSpan(pLeftEdge);
+			this.removeSpan(pLeftEdge);
+		}
+		this.mSpanRightEdges[pLeftEdge] = pRightEdge;
+		this.mSpanTops[pLeftEdge] = pTop;
+		this.mSpanBottoms[pLeftEdge] = pBottom;
+		this.mSpanLeftEdges[this.mSpanCount++] = pLeftEdge;
+	}
+
+	private void removeSpan(final int pLeftEdge) {
+		final int[] spanLeftEdges = this.mSpanLeftEdges;
+		for(int i = 0; i < this.mSpanCount; i++) {
+			if(spanLeftEdges[i] == pLeftEdge) {
+				spanLeftEdges[i] = spanLeftEdges[--this.mSpanCount];
+				return;
+			}
+		}
+	}
+
+	private void emitSpan(final int pLeftEdge) {
+		this.emitTrapezoid(pLeftEdge, this.mSpanRightEdges[pLeftEdge], this.mSpanTops[pLeftEdge], this.mSpanBottoms[pLeftEdge]);
+		this.mSpanRightEdges[pLeftEdge] = -1;
+	}
+
+	private static boolean isInside(final int pWinding, final int pFillRule) {
+		return (pFillRule == SVGPath.FILLRULE_EVENODD) ? (pWinding & 1) != 0 : pWinding != 0;
+	}
+
+	private void emitTrapezoid(final int pLeftEdge, final int pRightEdge, final float pTop, final float pBottom) {
+		final float topLeftX = this.getX(pLeftEdge, pTop);
+		final float topRightX = this.getX(pRightEdge, pTop);
+		final float bottomLeftX = this.getX(pLeftEdge, pBottom);
+		final float bottomRightX = this.getX(pRightEdge, pBottom);
+
+		final int topLeft = this.getVertex(pLeftEdge, topLeftX, pTop);
+		final int topRight = this.getVertex(pRightEdge, topRightX, pTop);
+		final int bottomLeft = this.getVertex(pLeftEdge, bottomLeftX, pBottom);
+		final int bottomRight = this.getVertex(pRightEdge, bottomRightX, pBottom);
+
+		/* Where the edges meet, the trapezoid is a triangle. */
+		if(topRightX > topLeftX) {
+			this.mSVGMesh.addTriangle(topLeft, topRight, bottomRight);
+		}
+		if(bottomRightX > bottomLeftX) {
+			this.mSVGMesh.addTriangle(topLeft, bottomRight, bottomLeft);
+		}
+	}
+
+	private int getVertex(final int pEdge, final float pX, final float pY) {
+		final int vertexIndex = this.mEdgeVertexIndices[pEdge];
+		if(vertexIndex >= 0 && this.mEdgeVertexYs[pEdge] == pY) {
+			return vertexIndex;
+		}
+		final int newVertexIndex = this.mSVGMesh.addVertex(pX, pY, this.mColor);
+		this.mEdgeVertexIndices[pEdge] = newVertexIndex;
+		this.mEdgeVertexYs[pEdge] = pY;
+		return newVertexIndex;
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
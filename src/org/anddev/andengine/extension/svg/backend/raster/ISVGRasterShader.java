@@ -0,0 +1,27 @@
+package org.anddev.andengine.extension.svg.backend.raster;
+
+/**
+ * Provides the colors of a fill that varies per pixel, like a gradient.
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 13:05:44 - 30.05.2011
+ */
+public interface ISVGRasterShader {
+	// ===========================================================
+	// Final Fields
+	// ===========================================================
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	/**
+	 * @param pX the first pixel of the span, whose center is at <code>pX + 0.5</code>.
+	 * @param pY the row of the span, whose center is at <code>pY + 0.5</code>.
+	 * @param pColors receives the premultiplied ARGB colors of the <code>pCount</code> pixels, starting at index <code>0</code>.
+	 */
+	public void shadeSpan(final int pX, final int pY, final int pCount, final int[] pColors);
+}
@@ -0,0 +1,417 @@
+package org.anddev.andengine.extension.svg.backend.raster;
+
+import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.anddev.andengine.extension.svg.adt.SVGMatrix;
+import org.anddev.andengine.extension.svg.adt.SVGPath;
+
+/**
+ * A {@link SVGRasterBackend} that renders horizontal bands of the buffer on multiple threads.
+ * The paths are only flattened while drawing. The edges are binned into the bands they cross and everything is rasterized in {@link SVGParallelRasterBackend#end()}, where every thread picks the next band that is left and rasterizes all fills of that band in order.
+ * As every row is rasterized independently, the result is identical to the one of a single threaded {@link SVGRasterBackend}.
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 11:05:17 - 31.05.2011
+ */
+public class SVGParallelRasterBackend extends SVGRasterBackend {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	private static final int BAND_HEIGHT_DEFAULT = 32;
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private final int mThreadCount;
+	private final ExecutorService mExecutorService;
+	private int mBandHeight = SVGParallelRasterBackend.BAND_HEIGHT_DEFAULT;
+
+	private final ArrayList<SVGRasterFill> mSVGRasterFills = new ArrayList<SVGRasterFill>();
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	/**
+	 * Creates a thread pool of <code>pThreadCount - 1</code> threads for every document, the calling thread renders as well.
+	 */
+	public SVGParallelRasterBackend(final float pScale, final int pThreadCount) {
+		this(pScale, pThreadCount, null);
+	}
+
+	/**
+	 * @param pExecutorService runs <code>pThreadCount - 1</code> of the workers, the calling thread runs the last one. Is not shut down.
+	 */
+	public SVGParallelRasterBackend(final float pScale, final int pThreadCount, final ExecutorService pExecutorService) {
+		super(pScale);
+		this.mThreadCount = Math.max(1, pThreadCount);
+		this.mExecutorService = pExecutorService;
+	}
+
+	/**
+	 * Creates a thread pool of <code>pThreadCount - 1</code> threads for every document, the calling thread renders as well.
+	 */
+	public SVGParallelRasterBackend(final int pTargetWidth, final int pTargetHeight, final int pThreadCount) {
+		this(pTargetWidth, pTargetHeight, pThreadCount, null);
+	}
+
+	/**
+	 * @param pExecutorService runs <code>pThreadCount - 1</code> of the workers, the calling thread runs the last one. Is not shut down.
+	 */
+	public SVGParallelRasterBackend(final int pTargetWidth, final int pTargetHeight, final int pThreadCount, final ExecutorService pExecutorService) {
+		super(pTargetWidth, pTargetHeight);
+		this.mThreadCount = Math.max(1, pThreadCount);
+		this.mExecutorService = pExecutorService;
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	public int getThreadCount() {
+		return this.mThreadCount;
+	}
+
+	public int getBandHeight() {
+		return this.mBandHeight;
+	}
+
+	/**
+	 * @param pBandHeight in pixels. Smaller bands balance the load better, but edges crossing multiple bands are visited once per band.
+	 */
+	public void setBandHeight(final int pBandHeight) {
+		if(pBandHeight <= 0) {
+			throw new IllegalArgumentException("pBandHeight must be positive.");
+		}
+		this.mBandHeight = pBandHeight;
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	@Override
+	public void begin(final int pWidth, final int pHeight) {
+		super.begin(pWidth, pHeight);
+		this.mSVGRasterFills.clear();
+	}
+
+	@Override
+	public void end() {
+		try {
+			this.rasterize();
+		} finally {
+			this.mSVGRasterFills.clear();
+		}
+		super.end();
+	}
+
+	@Override
+	protected void fill(final SVGPath pSVGPath, final SVGMatrix pTransform, final int pFillRule, final int pColor, final ISVGRasterShader pSVGRasterShader) {
+		if(pSVGRasterShader == null && (pColor >>> 24) == 0) {
+			return;
+		}
+
+		final SVGRasterEdgeList svgRasterEdgeList = new SVGRasterEdgeList();
+		svgRasterEdgeList.set(pSVGPath, pTransform);
+		if(svgRasterEdgeList.isEmpty()) {
+			return;
+		}
+		svgRasterEdgeList.trim();
+
+		final int premultipliedColor = (pSVGRasterShader == null) ? SVGRasterBlitter.premultiply(pColor) : 0;
+		this.mSVGRasterFills.add(new SVGRasterFill(svgRasterEdgeList, pFillRule, premultipliedColor, pSVGRasterShader));
+	}
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	private void rasterize() {
+		final ArrayList<SVGRasterFill> svgRasterFills = this.mSVGRasterFills;
+		if(svgRasterFills.isEmpty()) {
+			return;
+		}
+
+		final SVGRasterizer svgRasterizer = this.getSVGRasterizer();
+		final int width = svgRasterizer.getWidth();
+		final int height = svgRasterizer.getHeight();
+		final int[] pixels = svgRasterizer.getPremultipliedPixels();
+
+		final SVGRasterBand[] svgRasterBands = this.binEdges(height);
+		final AtomicInteger nextBand = new AtomicInteger();
+
+		final int workerCount = Math.min(this.mThreadCount, svgRasterBands.length);
+		if(workerCount == 1) {
+			new SVGRasterWorker(svgRasterizer, svgRasterBands, nextBand).run();
+			return;
+		}
+
+		final ExecutorService executorService = (this.mExecutorService != null) ? this.mExecutorService : Executors.newFixedThreadPool(workerCount - 1);
+		try {
+			final ArrayList<Future<?>> futures = new ArrayList<Future<?>>(workerCount - 1);
+			for(int i = 1; i < workerCount; i++) {
+				futures.add(executorService.submit(new SVGRasterWorker(new SVGRasterizer(width, height, pixels), svgRasterBands, nextBand)));
+			}
+			new SVGRasterWorker(svgRasterizer, svgRasterBands, nextBand).run();
+
+			for(int i = 0; i < futures.size(); i++) {
+				futures.get(i).get();
+			}
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while rasterizing.", e);
+		} catch (final ExecutionException e) {
+			final Throwable cause = e.getCause();
+			if(cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if(cause instanceof Error) {
+				throw (Error) cause;
+			} else {
+				throw new IllegalStateException(cause);
+			}
+		} finally {
+			if(this.mExecutorService == null) {
+				executorService.shutdown();
+			}
+		}
+	}
+
+	/**
+	 * Assigns the edges of every fill to the bands of rows they cross. The fills keep their order within every band.
+	 */
+	private SVGRasterBand[] binEdges(final int pHeight) {
+		final int bandHeight = this.mBandHeight;
+		final int bandCount = (pHeight + bandHeight - 1) / bandHeight;
+		final SVGRasterBand[] svgRasterBands = new SVGRasterBand[bandCount];
+		for(int i = 0; i < bandCount; i++) {
+			svgRasterBands[i] = new SVGRasterBand(i * bandHeight, Math.min(pHeight, (i + 1) * bandHeight));
+		}
+
+		final int[] bandEdgeCounts = new int[bandCount];
+		final ArrayList<SVGRasterFill> svgRasterFills = this.mSVGRasterFills;
+		final int fillCount = svgRasterFills.size();
+		for(int fill = 0; fill < fillCount; fill++) {
+			final SVGRasterEdgeList svgRasterEdgeList = svgRasterFills.get(fill).mSVGRasterEdgeList;
+			final int firstBand = SVGParallelRasterBackend.getFirstBand(svgRasterEdgeList.getMinY(), bandHeight);
+			final int lastBand = SVGParallelRasterBackend.getLastBand(svgRasterEdgeList.getMaxY(), bandHeight, bandCount);
+			if(firstBand > lastBand) {
+				continue;
+			}
+
+			final float[] edges = svgRasterEdgeList.getEdges();
+			final int edgeCount = svgRasterEdgeList.getEdgeCount();
+			for(int edge = 0; edge < edgeCount; edge++) {
+				final int edgeLastBand = SVGParallelRasterBackend.getLastBand(edges[4 * edge + 3], bandHeight, bandCount);
+				for(int band = SVGParallelRasterBackend.getFirstBand(edges[4 * edge + 1], bandHeight); band <= edgeLastBand; band++) {
+					bandEdgeCounts[band]++;
+				}
+			}
+
+			for(int band = firstBand; band <= lastBand; band++) {
+				if(bandEdgeCounts[band] > 0) {
+					svgRasterBands[band].beginFill(fill, bandEdgeCounts[band]);
+					bandEdgeCounts[band] = 0;
+				}
+			}
+
+			for(int edge = 0; edge < edgeCount; edge++) {
+				final int edgeLastBand = SVGParallelRasterBackend.getLastBand(edges[4 * edge + 3], bandHeight, bandCount);
+				for(int band = SVGParallelRasterBackend.getFirstBand(edges[4 * edge + 1], bandHeight); band <= edgeLastBand; band++) {
+					svgRasterBands[band].addEdge(edge);
+				}
+			}
+		}
+		return svgRasterBands;
+	}
+
+	private static int getFirstBand(final float pTopY, final int pBandHeight) {
+		return Math.max(0, (int) Math.floor(pTopY) / pBandHeight);
+	}
+
+	private static int getLastBand(final float pBottomY, final int pBandHeight, final int pBandCount) {
+		final int bottomRow = (int) Math.ceil(pBottomY) - 1;
+		if(bottomRow < 0) {
+			return -1;
+		}
+		return Math.min(pBandCount - 1, bottomRow / pBandHeight);
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+
+	private static class SVGRasterFill {
+		// ===========================================================
+		// Constants
+		// ===========================================================
+
+		// ===========================================================
+		// Fields
+		// ===========================================================
+
+		private final SVGRasterEdgeList mSVGRasterEdgeList;
+		private final int mFillRule;
+		private final int mPremultipliedColor;
+		private final ISVGRasterShader mSVGRasterShader;
+
+		// ===========================================================
+		// Constructors
+		// ===========================================================
+
+		public SVGRasterFill(final SVGRasterEdgeList pSVGRasterEdgeList, final int pFillRule, final int pPremultipliedColor, final ISVGRasterShader pSVGRasterShader) {
+			this.mSVGRasterEdgeList = pSVGRasterEdgeList;
+			this.mFillRule = pFillRule;
+			this.mPremultipliedColor = pPremultipliedColor;
+			this.mSVGRasterShader = pSVGRasterShader;
+		}
+
+		// ===========================================================
+		// Getter & Setter
+		// ===========================================================
+
+		// ===========================================================
+		// Methods for/from SuperClass/Interfaces
+		// ===========================================================
+
+		// ===========================================================
+		// Methods
+		// ===========================================================
+
+		// ===========================================================
+		// Inner and Anonymous Classes
+		// ===========================================================
+	}
+
+	/**
+	 * The rows <code>[mRowStart, mRowEnd)</code> and the edges crossing them, as consecutive records of <code>fill, edgeCount, edge...</code>.
+	 */
+	private static class SVGRasterBand {
+		// ===========================================================
+		// Constants
+		// ===========================================================
+
+		// ===========================================================
+		// Fields
+		// ===========================================================
+
+		private final int mRowStart;
+		private final int mRowEnd;
+
+		private int[] mEntries = new int[16];
+		private int mEntryCount;
+
+		// ===========================================================
+		// Constructors
+		// ===========================================================
+
+		public SVGRasterBand(final int pRowStart, final int pRowEnd) {
+			this.mRowStart = pRowStart;
+			this.mRowEnd = pRowEnd;
+		}
+
+		// ===========================================================
+		// Getter & Setter
+		// ===========================================================
+
+		// ===========================================================
+		// Methods for/from SuperClass/Interfaces
+		// ===========================================================
+
+		// ===========================================================
+		// Methods
+		// ===========================================================
+
+		public void beginFill(final int pFill, final int pEdgeCount) {
+			final int required = this.mEntryCount + 2 + pEdgeCount;
+			if(required > this.mEntries.length) {
+				final int[] entries = new int[Math.max(2 * this.mEntries.length, required)];
+				System.arraycopy(this.mEntries, 0, entries, 0, this.mEntryCount);
+				this.mEntries = entries;
+			}
+			this.mEntries[this.mEntryCount++] = pFill;
+			this.mEntries[this.mEntryCount++] = pEdgeCount;
+		}
+
+		/**
+		 * Only as many times as announced in {@link SVGRasterBand#beginFill(int, int)}.
+		 */
+		public void addEdge(final int pEdge) {
+			this.mEntries[this.mEntryCount++] = pEdge;
+		}
+
+		// ===========================================================
+		// Inner and Anonymous Classes
+		// ===========================================================
+	}
+
+	private class SVGRasterWorker implements Runnable {
+		// ===========================================================
+		// Constants
+		// ===========================================================
+
+		// ===========================================================
+		// Fields
+		// ===========================================================
+
+		private final SVGRasterizer mSVGRasterizer;
+		private final SVGRasterBand[] mSVGRasterBands;
+		private final AtomicInteger mNextBand;
+
+		// ===========================================================
+		// Constructors
+		// ===========================================================
+
+		public SVGRasterWorker(final SVGRasterizer pSVGRasterizer, final SVGRasterBand[] pSVGRasterBands, final AtomicInteger pNextBand) {
+			this.mSVGRasterizer = pSVGRasterizer;
+			this.mSVGRasterBands = pSVGRasterBands;
+			this.mNextBand = pNextBand;
+		}
+
+		// ===========================================================
+		// Getter & Setter
+		// ===========================================================
+
+		// ===========================================================
+		// Methods for/from SuperClass/Interfaces
+		// ===========================================================
+
+		@Override
+		public void run() {
+			final ArrayList<SVGRasterFill> svgRasterFills = SVGParallelRasterBackend.this.mSVGRasterFills;
+			final SVGRasterBand[] svgRasterBands = this.mSVGRasterBands;
+
+			int band;
+			while((band = this.mNextBand.getAndIncrement()) < svgRasterBands.length) {
+				final SVGRasterBand svgRasterBand = svgRasterBands[band];
+				final int[] entries = svgRasterBand.mEntries;
+				final int entryCount = svgRasterBand.mEntryCount;
+				int i = 0;
+				while(i < entryCount) {
+					final SVGRasterFill svgRasterFill = svgRasterFills.get(entries[i]);
+					final int edgeCount = entries[i + 1];
+					this.mSVGRasterizer.fill(svgRasterFill.mSVGRasterEdgeList, entries, i + 2, edgeCount, svgRasterBand.mRowStart, svgRasterBand.mRowEnd, svgRasterFill.mFillRule, svgRasterFill.mPremultipliedColor, svgRasterFill.mSVGRasterShader);
+					i += 2 + edgeCount;
+				}
+			}
+		}
+
+		// ===========================================================
+		// Methods
+		// ===========================================================
+
+		// ===========================================================
+		// Inner and Anonymous Classes
+		// ===========================================================
+	}
+}
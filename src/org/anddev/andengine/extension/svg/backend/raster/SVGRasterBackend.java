@@ -0,0 +1,237 @@
+package org.anddev.andengine.extension.svg.backend.raster;
+
+import java.util.Stack;
+
+import org.anddev.andengine.extension.svg.adt.SVGGradient;
+import org.anddev.andengine.extension.svg.adt.SVGMatrix;
+import org.anddev.andengine.extension.svg.adt.SVGPaintState;
+import org.anddev.andengine.extension.svg.adt.SVGPath;
+import org.anddev.andengine.extension.svg.adt.filter.SVGFilter;
+import org.anddev.andengine.extension.svg.backend.ISVGBackend;
+import org.anddev.andengine.extension.svg.backend.SVGDisplayList;
+import org.anddev.andengine.extension.svg.metrics.SVGMetrics;
+import org.anddev.andengine.extension.svg.util.SVGPathStroker;
+
+/**
+ * Renders into the <code>int[]</code> of a {@link SVGRasterizer}, without any Android class, i.e. on a plain JVM or in a background thread.
+ * Filters are not supported and are ignored.
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 13:58:37 - 30.05.2011
+ */
+public class SVGRasterBackend implements ISVGBackend {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	private static final float STROKE_FLATTENING_TOLERANCE = 0.25f;
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private final int mTargetWidth;
+	private final int mTargetHeight;
+	private final float mScale;
+
+	private SVGRasterizer mSVGRasterizer;
+	private long mBeginTime;
+	private final SVGPathStroker mSVGPathStroker = new SVGPathStroker();
+	private final SVGPath mStrokePath = new SVGPath();
+
+	/** Maps the current coordinate system to pixels. */
+	private SVGMatrix mTransform = new SVGMatrix();
+	private final Stack<SVGMatrix> mTransformStack = new Stack<SVGMatrix>();
+	private final SVGMatrix mGradientTransform = new SVGMatrix();
+
+	/** The recordings that are currently recorded into, innermost last. */
+	private final Stack<SVGDisplayList> mRecordingStack = new Stack<SVGDisplayList>();
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	/**
+	 * Renders at the size of the document, multiplied by <code>pScale</code>.
+	 */
+	public SVGRasterBackend(final float pScale) {
+		this.mTargetWidth = 0;
+		this.mTargetHeight = 0;
+		this.mScale = pScale;
+	}
+
+	/**
+	 * Renders the document stretched to <code>pTargetWidth</code> x <code>pTargetHeight</code> pixels.
+	 */
+	public SVGRasterBackend(final int pTargetWidth, final int pTargetHeight) {
+		this.mTargetWidth = pTargetWidth;
+		this.mTargetHeight = pTargetHeight;
+		this.mScale = 1;
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	/**
+	 * @return the {@link SVGRasterizer} holding the pixels, or <code>null</code> before {@link SVGRasterBackend#begin(int, int)}.
+	 */
+	public SVGRasterizer getSVGRasterizer() {
+		return this.mSVGRasterizer;
+	}
+
+	/**
+	 * @return the (non-premultiplied) ARGB colors, row by row.
+	 */
+	public int[] getPixels() {
+		return this.mSVGRasterizer.getPixels();
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	@Override
+	public void begin(final int pWidth, final int pHeight) {
+		final int width;
+		final int height;
+		this.mTransform = new SVGMatrix();
+		this.mTransformStack.clear();
+		if(this.mTargetWidth > 0 && this.mTargetHeight > 0) {
+			width = this.mTargetWidth;
+			height = this.mTargetHeight;
+			if(pWidth > 0 && pHeight > 0) {
+				this.mTransform.postScale((float) width / pWidth, (float) height / pHeight);
+			}
+		} else {
+			width = Math.max(1, (int) Math.ceil(pWidth * this.mScale));
+			height = Math.max(1, (int) Math.ceil(pHeight * this.mScale));
+			this.mTransform.postScale(this.mScale, this.mScale);
+		}
+		this.mSVGRasterizer = new SVGRasterizer(width, height);
+		SVGMetrics.RASTER_PIXEL_COUNT.add((long) width * height);
+		this.mBeginTime = System.nanoTime();
+	}
+
+	@Override
+	public void end() {
+		SVGMetrics.RASTER_LATENCY.record(System.nanoTime() - this.mBeginTime);
+	}
+
+	@Override
+	public void save() {
+		if(this.isRecording()) {
+			this.mRecordingStack.peek().save();
+		} else {
+			this.mTransformStack.push(new SVGMatrix(this.mTransform));
+		}
+	}
+
+	@Override
+	public void concat(final SVGMatrix pSVGMatrix) {
+		if(this.isRecording()) {
+			this.mRecordingStack.peek().concat(pSVGMatrix);
+		} else {
+			this.mTransform.preConcat(pSVGMatrix);
+		}
+	}
+
+	@Override
+	public void restore() {
+		if(this.isRecording()) {
+			this.mRecordingStack.peek().restore();
+		} else {
+			this.mTransform = this.mTransformStack.pop();
+		}
+	}
+
+	@Override
+	public void drawPath(final SVGPath pSVGPath, final SVGPaintState pSVGPaintState, final SVGGradient pSVGGradient, final SVGFilter pSVGFilter, final SVGMatrix pTransform) {
+		if(this.isRecording()) {
+			this.mRecordingStack.peek().drawPath(pSVGPath, pSVGPaintState, pSVGGradient, pSVGFilter, pTransform);
+			return;
+		}
+
+		final SVGPath svgPath;
+		final int fillRule;
+		if(pSVGPaintState.getStyle() == SVGPaintState.STYLE_STROKE) {
+			final float scale = this.mTransform.getAverageScale();
+			if(scale == 0) {
+				return;
+			}
+			/* The tolerance has to hold in the direction that is scaled the most. */
+			final float tolerance = SVGRasterBackend.STROKE_FLATTENING_TOLERANCE / this.mTransform.getMaximumScale();
+			/* Like android.graphics.Paint, a width of 0 is a hairline of one pixel. */
+			final float strokeWidth = (pSVGPaintState.getStrokeWidth() > 0) ? pSVGPaintState.getStrokeWidth() : 1 / scale;
+
+			svgPath = this.mStrokePath;
+			svgPath.reset();
+			this.mSVGPathStroker.stroke(pSVGPath, pSVGPaintState, strokeWidth, tolerance, svgPath);
+			fillRule = SVGRasterizer.FILLRULE_NONZERO;
+		} else {
+			svgPath = pSVGPath;
+			fillRule = pSVGPath.getFillRule();
+		}
+
+		if(pSVGGradient != null) {
+			final SVGMatrix gradientTransform = this.mGradientTransform;
+			gradientTransform.set(this.mTransform);
+			if(pTransform != null) {
+				gradientTransform.preConcat(pTransform);
+			}
+			this.fill(svgPath, this.mTransform, fillRule, 0, new SVGRasterGradient(pSVGGradient, gradientTransform));
+		} else {
+			this.fill(svgPath, this.mTransform, fillRule, pSVGPaintState.getColor(), null);
+		}
+	}
+
+	@Override
+	public void beginRecording(final int pWidth, final int pHeight) {
+		final SVGDisplayList recording = new SVGDisplayList();
+		recording.begin(pWidth, pHeight);
+		this.mRecordingStack.push(recording);
+	}
+
+	@Override
+	public Object endRecording() {
+		return this.mRecordingStack.pop();
+	}
+
+	@Override
+	public void drawRecording(final Object pRecording) {
+		if(this.isRecording()) {
+			this.mRecordingStack.peek().drawRecording(pRecording);
+		} else {
+			this.save();
+			((SVGDisplayList) pRecording).replayCommands(this);
+			this.restore();
+		}
+	}
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	private boolean isRecording() {
+		return !this.mRecordingStack.isEmpty();
+	}
+
+	/**
+	 * @param pTransform maps the coordinates of <code>pSVGPath</code> to pixels.
+	 * @param pColor (non-premultiplied) ARGB, if <code>pSVGRasterShader</code> is <code>null</code>.
+	 */
+	protected void fill(final SVGPath pSVGPath, final SVGMatrix pTransform, final int pFillRule, final int pColor, final ISVGRasterShader pSVGRasterShader) {
+		if(pSVGRasterShader != null) {
+			this.mSVGRasterizer.fill(pSVGPath, pTransform, pFillRule, pSVGRasterShader);
+		} else {
+			this.mSVGRasterizer.fill(pSVGPath, pTransform, pFillRule, pColor);
+		}
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
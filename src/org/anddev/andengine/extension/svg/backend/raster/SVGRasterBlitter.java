@@ -0,0 +1,164 @@
+package org.anddev.andengine.extension.svg.backend.raster;
+
+import java.util.Arrays;
+
+/**
+ * Composites spans of pixels with the <code>SRC_OVER</code> operator, where colors are premultiplied ARGB and coverage is in the range of <code>[0, 255]</code>.
+ * Translucent solid spans are composited in runs of equal coverage, so the source color is scaled once per run and only the destination is scaled per pixel.
+ * The results are identical to compositing every pixel with {@link SVGRasterBlitter#blend(int, int, int)}.
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 14:12:09 - 31.05.2011
+ */
+public class SVGRasterBlitter {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	/**
+	 * @param pAlphas the coverage of the <code>pCount</code> pixels, starting at <code>pAlphaOffset</code>.
+	 * @param pPremultipliedColor the color of all pixels.
+	 */
+	public static void blitSolid(final int[] pPixels, final int pPixelOffset, final int[] pAlphas, final int pAlphaOffset, final int pCount, final int pPremultipliedColor) {
+		if((pPremultipliedColor >>> 24) == 255) {
+			/* Looking for runs does not pay off, when fully covered pixels are just stored. */
+			for(int i = 0; i < pCount; i++) {
+				final int alpha = pAlphas[pAlphaOffset + i];
+				if(alpha == 255) {
+					pPixels[pPixelOffset + i] = pPremultipliedColor;
+				} else if(alpha != 0) {
+					final int pixel = pPixelOffset + i;
+					pPixels[pixel] = SVGRasterBlitter.blend(pPremultipliedColor, alpha, pPixels[pixel]);
+				}
+			}
+			return;
+		}
+
+		int i = 0;
+		while(i < pCount) {
+			final int alpha = pAlphas[pAlphaOffset + i];
+			int runEnd = i + 1;
+			while(runEnd < pCount && pAlphas[pAlphaOffset + runEnd] == alpha) {
+				runEnd++;
+			}
+
+			if(alpha != 0) {
+				final int source = (alpha == 255) ? pPremultipliedColor : SVGRasterBlitter.scale(pPremultipliedColor, alpha);
+				final int sourceAlpha = source >>> 24;
+				if(sourceAlpha == 255) {
+					Arrays.fill(pPixels, pPixelOffset + i, pPixelOffset + runEnd, source);
+				} else if(source != 0) {
+					final int inverseSourceAlpha = 255 - sourceAlpha;
+					final int end = pPixelOffset + runEnd;
+					for(int pixel = pPixelOffset + i; pixel < end; pixel++) {
+						pPixels[pixel] = source + SVGRasterBlitter.scale(pPixels[pixel], inverseSourceAlpha);
+					}
+				}
+			}
+
+			i = runEnd;
+		}
+	}
+
+	/**
+	 * @param pAlphas the coverage of the <code>pCount</code> pixels, starting at <code>pAlphaOffset</code>.
+	 * @param pPremultipliedColors the colors of the <code>pCount</code> pixels, starting at <code>pColorOffset</code>.
+	 */
+	public static void blitShaded(final int[] pPixels, final int pPixelOffset, final int[] pAlphas, final int pAlphaOffset, final int[] pPremultipliedColors, final int pColorOffset, final int pCount) {
+		for(int i = 0; i < pCount; i++) {
+			final int alpha = pAlphas[pAlphaOffset + i];
+			if(alpha == 0) {
+				continue;
+			}
+
+			final int color = pPremultipliedColors[pColorOffset + i];
+			if(alpha == 255 && (color >>> 24) == 255) {
+				pPixels[pPixelOffset + i] = color;
+			} else {
+				final int pixel = pPixelOffset + i;
+				pPixels[pixel] = SVGRasterBlitter.blend(color, alpha, pPixels[pixel]);
+			}
+		}
+	}
+
+	/**
+	 * <code>SRC_OVER</code> of premultiplied colors.
+	 *
+	 * @param pAlpha the coverage of the source, in the range of <code>[0, 255]</code>.
+	 */
+	public static int blend(final int pSource, final int pAlpha, final int pDestination) {
+		final int source = (pAlpha == 255) ? pSource : SVGRasterBlitter.scale(pSource, pAlpha);
+		final int sourceAlpha = source >>> 24;
+		if(sourceAlpha == 255) {
+			return source;
+		} else if(sourceAlpha == 0 && source == 0) {
+			return pDestination;
+		} else {
+			return source + SVGRasterBlitter.scale(pDestination, 255 - sourceAlpha);
+		}
+	}
+
+	/**
+	 * @return all four channels of <code>pColor</code> multiplied by <code>pFactor / 255</code>, rounded.
+	 */
+	public static int scale(final int pColor, final int pFactor) {
+		int redBlue = (pColor & 0x00FF00FF) * pFactor + 0x00800080;
+		redBlue = ((redBlue + ((redBlue >>> 8) & 0x00FF00FF)) >>> 8) & 0x00FF00FF;
+		int alphaGreen = ((pColor >>> 8) & 0x00FF00FF) * pFactor + 0x00800080;
+		alphaGreen = (alphaGreen + ((alphaGreen >>> 8) & 0x00FF00FF)) & 0xFF00FF00;
+		return alphaGreen | redBlue;
+	}
+
+	/**
+	 * @param pColor non-premultiplied ARGB.
+	 */
+	public static int premultiply(final int pColor) {
+		final int alpha = pColor >>> 24;
+		if(alpha == 255) {
+			return pColor;
+		}
+		return (SVGRasterBlitter.scale(pColor, alpha) & 0x00FFFFFF) | (alpha << 24);
+	}
+
+	/**
+	 * @return the non-premultiplied ARGB color, with the channels rounded.
+	 */
+	public static int unpremultiply(final int pColor) {
+		final int alpha = pColor >>> 24;
+		if(alpha == 255 || alpha == 0) {
+			return (alpha == 0) ? 0 : pColor;
+		}
+		final int halfAlpha = alpha >> 1;
+		final int red = Math.min(255, (((pColor >> 16) & 0xFF) * 255 + halfAlpha) / alpha);
+		final int green = Math.min(255, (((pColor >> 8) & 0xFF) * 255 + halfAlpha) / alpha);
+		final int blue = Math.min(255, ((pColor & 0xFF) * 255 + halfAlpha) / alpha);
+		return (alpha << 24) | (red << 16) | (green << 8) | blue;
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
@@ -0,0 +1,217 @@
+package org.anddev.andengine.extension.svg.backend.raster;
+
+import org.anddev.andengine.extension.svg.adt.SVGMatrix;
+import org.anddev.andengine.extension.svg.adt.SVGPath;
+import org.anddev.andengine.extension.svg.util.SVGPathFlattener;
+import org.anddev.andengine.extension.svg.util.SVGPathFlattener.ISVGPathFlattenerListener;
+
+/**
+ * The edges a path is flattened into, in pixel coordinates, as rasterized by the {@link SVGRasterizer}.
+ * Curves are flattened by a {@link SVGPathFlattener}, by default with its default tolerance in pixels.
+ * Once built, an edge list is only read, so it can be rasterized by multiple threads at once, i.e. into different bands of the same buffer.
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 10:22:51 - 31.05.2011
+ */
+public class SVGRasterEdgeList implements ISVGPathFlattenerListener {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	private static final int EDGE_CAPACITY_DEFAULT = 64;
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	/** The edges as consecutive <code>topX, topY, bottomX, bottomY</code>. */
+	private float[] mEdges;
+	/** <code>1</code> for edges that point down, <code>-1</code> for edges that point up. */
+	private int[] mEdgeWindings;
+	private int mEdgeCount;
+	private float mEdgeMinY;
+	private float mEdgeMaxY;
+
+	private final SVGPathFlattener mSVGPathFlattener = new SVGPathFlattener();
+	private float mStartX;
+	private float mStartY;
+	private float mLastX;
+	private float mLastY;
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	public SVGRasterEdgeList() {
+		this(SVGRasterEdgeList.EDGE_CAPACITY_DEFAULT);
+	}
+
+	public SVGRasterEdgeList(final int pCapacity) {
+		final int capacity = Math.max(1, pCapacity);
+		this.mEdges = new float[4 * capacity];
+		this.mEdgeWindings = new int[capacity];
+		this.reset();
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	/**
+	 * @return the edges as consecutive <code>topX, topY, bottomX, bottomY</code>. Only the first {@link SVGRasterEdgeList#getEdgeCount()} edges are valid.
+	 */
+	public float[] getEdges() {
+		return this.mEdges;
+	}
+
+	/**
+	 * @return <code>1</code> for edges that point down, <code>-1</code> for edges that point up.
+	 */
+	public int[] getEdgeWindings() {
+		return this.mEdgeWindings;
+	}
+
+	public int getEdgeCount() {
+		return this.mEdgeCount;
+	}
+
+	public boolean isEmpty() {
+		return this.mEdgeCount == 0;
+	}
+
+	/**
+	 * @return the top of the topmost edge, or {@link Float#POSITIVE_INFINITY} if empty.
+	 */
+	public float getMinY() {
+		return this.mEdgeMinY;
+	}
+
+	/**
+	 * @return the bottom of the bottommost edge, or {@link Float#NEGATIVE_INFINITY} if empty.
+	 */
+	public float getMaxY() {
+		return this.mEdgeMaxY;
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	@Override
+	public void onMoveTo(final float pX, final float pY) {
+		this.onClose();
+		this.mStartX = this.mLastX = pX;
+		this.mStartY = this.mLastY = pY;
+	}
+
+	@Override
+	public void onLineTo(final float pX, final float pY) {
+		this.addEdge(this.mLastX, this.mLastY, pX, pY);
+		this.mLastX = pX;
+		this.mLastY = pY;
+	}
+
+	@Override
+	public void onClose() {
+		this.onLineTo(this.mStartX, this.mStartY);
+	}
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	public void reset() {
+		this.mEdgeCount = 0;
+		this.mStartX = this.mLastX = 0;
+		this.mStartY = this.mLastY = 0;
+		this.mEdgeMinY = Float.POSITIVE_INFINITY;
+		this.mEdgeMaxY = Float.NEGATIVE_INFINITY;
+	}
+
+	/**
+	 * Shrinks the arrays to the edges actually used, i.e. before keeping the edge list around.
+	 */
+	public void trim() {
+		final int capacity = Math.max(1, this.mEdgeCount);
+		if(capacity < this.mEdgeWindings.length) {
+			final float[] edges = new float[4 * capacity];
+			System.arraycopy(this.mEdges, 0, edges, 0, 4 * this.mEdgeCount);
+			this.mEdges = edges;
+			final int[] edgeWindings = new int[capacity];
+			System.arraycopy(this.mEdgeWindings, 0, edgeWindings, 0, this.mEdgeCount);
+			this.mEdgeWindings = edgeWindings;
+		}
+	}
+
+	/**
+	 * Flattens <code>pSVGPath</code> into edges in pixel coordinates, implicitly closing every contour.
+	 *
+	 * @param pTransform maps the coordinates of <code>pSVGPath</code> to pixels. May be <code>null</code>.
+	 */
+	public void set(final SVGPath pSVGPath, final SVGMatrix pTransform) {
+		this.set(pSVGPath, pTransform, SVGPathFlattener.TOLERANCE_DEFAULT);
+	}
+
+	/**
+	 * Flattens <code>pSVGPath</code> into edges in the coordinate system <code>pTransform</code> maps to, implicitly closing every contour.
+	 *
+	 * @param pTransform may be <code>null</code>.
+	 * @param pTolerance the maximum distance between curves and their edges, in the coordinate system <code>pTransform</code> maps to.
+	 */
+	public void set(final SVGPath pSVGPath, final SVGMatrix pTransform, final float pTolerance) {
+		this.reset();
+		this.mSVGPathFlattener.setTolerance(pTolerance);
+		this.mSVGPathFlattener.flatten(pSVGPath, pTransform, this);
+		this.onClose();
+	}
+
+	private void addEdge(final float pX0, final float pY0, final float pX1, final float pY1) {
+		if(pY0 == pY1 || pY0 != pY0 || pY1 != pY1) {
+			/* Horizontal edges do not cross any sub-scanline and NaNs can not be rasterized. */
+			return;
+		}
+
+		if(this.mEdgeCount == this.mEdgeWindings.length) {
+			final int capacity = 2 * this.mEdgeCount;
+			final float[] edges = new float[4 * capacity];
+			System.arraycopy(this.mEdges, 0, edges, 0, 4 * this.mEdgeCount);
+			this.mEdges = edges;
+			final int[] edgeWindings = new int[capacity];
+			System.arraycopy(this.mEdgeWindings, 0, edgeWindings, 0, this.mEdgeCount);
+			this.mEdgeWindings = edgeWindings;
+		}
+
+		final float[] edges = this.mEdges;
+		final int offset = 4 * this.mEdgeCount;
+		if(pY0 < pY1) {
+			edges[offset] = pX0;
+			edges[offset + 1] = pY0;
+			edges[offset + 2] = pX1;
+			edges[offset + 3] = pY1;
+			this.mEdgeWindings[this.mEdgeCount] = 1;
+		} else {
+			edges[offset] = pX1;
+			edges[offset + 1] = pY1;
+			edges[offset + 2] = pX0;
+			edges[offset + 3] = pY0;
+			this.mEdgeWindings[this.mEdgeCount] = -1;
+		}
+		this.mEdgeCount++;
+
+		final float minY = edges[offset + 1];
+		final float maxY = edges[offset + 3];
+		if(minY < this.mEdgeMinY) {
+			this.mEdgeMinY = minY;
+		}
+		if(maxY > this.mEdgeMaxY) {
+			this.mEdgeMaxY = maxY;
+		}
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
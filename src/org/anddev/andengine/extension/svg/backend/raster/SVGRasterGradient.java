@@ -0,0 +1,165 @@
+package org.anddev.andengine.extension.svg.backend.raster;
+
+import org.anddev.andengine.extension.svg.adt.SVGColorRamp;
+import org.anddev.andengine.extension.svg.adt.SVGGradient;
+import org.anddev.andengine.extension.svg.adt.SVGMatrix;
+
+/**
+ * Shades linear and radial {@link SVGGradient}s, by looking up the colors in the shared {@link SVGColorRamp} of the gradient.
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 13:11:26 - 30.05.2011
+ */
+public class SVGRasterGradient implements ISVGRasterShader {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private final boolean mLinear;
+	private final int mSpreadMethod;
+
+	/** Maps pixels to the coordinate system of the gradient. */
+	private final SVGMatrix mInverseTransform = new SVGMatrix();
+	private final boolean mInvertible;
+
+	private final float mX1;
+	private final float mY1;
+	/** The vector from the start to the end point, divided by its squared length, so the dot product with it is the gradient position. */
+	private final float mNormalizedDeltaX;
+	private final float mNormalizedDeltaY;
+
+	private final float mCenterX;
+	private final float mCenterY;
+	private final float mRadius;
+
+	/** Premultiplied ARGB, shared with other gradients. */
+	private final int[] mLookupTable;
+	private final int mLookupTableSize;
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	/**
+	 * @param pTransform maps the coordinate system of the gradient (after its own <code>gradientTransform</code>) to pixels.
+	 */
+	public SVGRasterGradient(final SVGGradient pSVGGradient, final SVGMatrix pTransform) {
+		this.mLinear = pSVGGradient.isLinear();
+		this.mSpreadMethod = pSVGGradient.getSpreadMethod();
+
+		final SVGMatrix transform = new SVGMatrix(pTransform);
+		final SVGMatrix gradientTransform = pSVGGradient.getTransform();
+		if(gradientTransform != null) {
+			transform.preConcat(gradientTransform);
+		}
+		this.mInvertible = transform.invert(this.mInverseTransform);
+
+		if(this.mLinear) {
+			this.mX1 = pSVGGradient.getX1();
+			this.mY1 = pSVGGradient.getY1();
+			final float deltaX = pSVGGradient.getX2() - this.mX1;
+			final float deltaY = pSVGGradient.getY2() - this.mY1;
+			final float lengthSquared = deltaX * deltaX + deltaY * deltaY;
+			this.mNormalizedDeltaX = (lengthSquared == 0) ? 0 : deltaX / lengthSquared;
+			this.mNormalizedDeltaY = (lengthSquared == 0) ? 0 : deltaY / lengthSquared;
+			this.mCenterX = 0;
+			this.mCenterY = 0;
+			this.mRadius = 0;
+		} else {
+			this.mX1 = 0;
+			this.mY1 = 0;
+			this.mNormalizedDeltaX = 0;
+			this.mNormalizedDeltaY = 0;
+			this.mCenterX = pSVGGradient.getCenterX();
+			this.mCenterY = pSVGGradient.getCenterY();
+			this.mRadius = pSVGGradient.getRadius();
+		}
+
+		this.mLookupTable = pSVGGradient.getSVGColorRamp().getPremultipliedColors();
+		this.mLookupTableSize = this.mLookupTable.length;
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	@Override
+	public void shadeSpan(final int pX, final int pY, final int pCount, final int[] pColors) {
+		final int[] lookupTable = this.mLookupTable;
+		if(!this.mInvertible || (this.mLinear && this.mNormalizedDeltaX == 0 && this.mNormalizedDeltaY == 0) || (!this.mLinear && this.mRadius <= 0)) {
+			/* A degenerate gradient is painted with its last stop. */
+			final int color = lookupTable[this.mLookupTableSize - 1];
+			for(int i = 0; i < pCount; i++) {
+				pColors[i] = color;
+			}
+			return;
+		}
+
+		final SVGMatrix inverseTransform = this.mInverseTransform;
+		final float y = pY + 0.5f;
+		float gradientX = inverseTransform.mapX(pX + 0.5f, y);
+		float gradientY = inverseTransform.mapY(pX + 0.5f, y);
+		final float stepX = inverseTransform.getScaleX();
+		final float stepY = inverseTransform.getSkewY();
+
+		for(int i = 0; i < pCount; i++) {
+			final float position;
+			if(this.mLinear) {
+				position = (gradientX - this.mX1) * this.mNormalizedDeltaX + (gradientY - this.mY1) * this.mNormalizedDeltaY;
+			} else {
+				final float deltaX = gradientX - this.mCenterX;
+				final float deltaY = gradientY - this.mCenterY;
+				position = (float) Math.sqrt(deltaX * deltaX + deltaY * deltaY) / this.mRadius;
+			}
+			pColors[i] = lookupTable[this.getLookupTableIndex(position)];
+
+			gradientX += stepX;
+			gradientY += stepY;
+		}
+	}
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	private int getLookupTableIndex(final float pPosition) {
+		float position;
+		switch(this.mSpreadMethod) {
+			case SVGGradient.SPREADMETHOD_REPEAT:
+				position = pPosition - (float) Math.floor(pPosition);
+				break;
+			case SVGGradient.SPREADMETHOD_REFLECT:
+				position = pPosition - 2 * (float) Math.floor(pPosition * 0.5f);
+				if(position > 1) {
+					position = 2 - position;
+				}
+				break;
+			default:
+				position = pPosition;
+		}
+
+		final int index = (int) (position * (this.mLookupTableSize - 1) + 0.5f);
+		if(index < 0) {
+			return 0;
+		} else if(index >= this.mLookupTableSize) {
+			return this.mLookupTableSize - 1;
+		} else {
+			return index;
+		}
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
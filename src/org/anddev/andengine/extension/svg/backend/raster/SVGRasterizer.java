@@ -0,0 +1,414 @@
+package org.anddev.andengine.extension.svg.backend.raster;
+
+import org.anddev.andengine.extension.svg.adt.SVGMatrix;
+import org.anddev.andengine.extension.svg.adt.SVGPath;
+
+/**
+ * A scanline rasterizer that fills paths with anti-aliasing into an <code>int[]</code> buffer, without depending on any Android class.
+ * Paths are flattened into edges, which are sampled at {@link SVGRasterizer#SUBSCANLINES} sub-scanlines per row.
+ * The horizontal coverage of each sub-scanline is computed exactly, so vertical and horizontal edges are equally smooth.
+ * Colors are kept premultiplied internally and composited span by span with the {@link SVGRasterBlitter}.
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 12:14:38 - 30.05.2011
+ */
+public class SVGRasterizer {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	public static final int FILLRULE_NONZERO = SVGPath.FILLRULE_NONZERO;
+	public static final int FILLRULE_EVENODD = SVGPath.FILLRULE_EVENODD;
+
+	private static final int SUBSCANLINES_SHIFT = 4;
+	private static final int SUBSCANLINES = 1 << SUBSCANLINES_SHIFT;
+	/** The coverage of a whole pixel in a single sub-scanline. */
+	private static final int SUBSCANLINE_COVERAGE = 256;
+	private static final int SUBSCANLINE_COVERAGE_SHIFT = 8;
+
+	private static final int EDGE_CAPACITY_DEFAULT = 64;
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private final int mWidth;
+	private final int mHeight;
+	/** Premultiplied ARGB. */
+	private final int[] mPixels;
+
+	private final SVGRasterEdgeList mSVGRasterEdgeList = new SVGRasterEdgeList();
+
+	/** The edges sorted by the row they start in (a counting sort, using {@link SVGRasterizer#mRowEdgeStarts}). */
+	private int[] mSortedEdges = new int[SVGRasterizer.EDGE_CAPACITY_DEFAULT];
+	private int[] mRowEdgeStarts;
+	private int[] mActiveEdges = new int[SVGRasterizer.EDGE_CAPACITY_DEFAULT];
+	private float[] mCrossingXs = new float[SVGRasterizer.EDGE_CAPACITY_DEFAULT];
+	private int[] mCrossingWindings = new int[SVGRasterizer.EDGE_CAPACITY_DEFAULT];
+
+	/** The coverage of the current row: <code>mCoverageAreas</code> applies to a single pixel, <code>mCoverageDeltas</code> to all pixels right of it. */
+	private final int[] mCoverageAreas;
+	private final int[] mCoverageDeltas;
+	private int mCoverageMinX;
+	private int mCoverageMaxX;
+
+	/** The coverage of the current row, converted to alpha. */
+	private final int[] mAlphas;
+	private final int[] mShadedColors;
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	public SVGRasterizer(final int pWidth, final int pHeight) {
+		this(pWidth, pHeight, new int[pWidth * pHeight]);
+	}
+
+	/**
+	 * @param pPixels the premultiplied ARGB buffer to render into, row by row, which may be shared with other {@link SVGRasterizer}s that render other rows.
+	 */
+	public SVGRasterizer(final int pWidth, final int pHeight, final int[] pPixels) {
+		if(pPixels.length < pWidth * pHeight) {
+			throw new IllegalArgumentException("pPixels is too small for " + pWidth + "x" + pHeight + ".");
+		}
+		this.mWidth = pWidth;
+		this.mHeight = pHeight;
+		this.mPixels = pPixels;
+
+		this.mCoverageAreas = new int[pWidth + 2];
+		this.mCoverageDeltas = new int[pWidth + 2];
+		this.mAlphas = new int[pWidth];
+		this.mShadedColors = new int[pWidth];
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	public int getWidth() {
+		return this.mWidth;
+	}
+
+	public int getHeight() {
+		return this.mHeight;
+	}
+
+	/**
+	 * @return the backing buffer in premultiplied ARGB, row by row.
+	 */
+	public int[] getPremultipliedPixels() {
+		return this.mPixels;
+	}
+
+	/**
+	 * @return a new buffer with the (non-premultiplied) ARGB colors, row by row, as expected by <code>android.graphics.Bitmap.setPixels(...)</code>.
+	 */
+	public int[] getPixels() {
+		final int[] pixels = new int[this.mPixels.length];
+		this.getPixels(pixels);
+		return pixels;
+	}
+
+	/**
+	 * @param pPixels receives the (non-premultiplied) ARGB colors, row by row.
+	 */
+	public void getPixels(final int[] pPixels) {
+		final int[] premultipliedPixels = this.mPixels;
+		for(int i = premultipliedPixels.length - 1; i >= 0; i--) {
+			pPixels[i] = SVGRasterBlitter.unpremultiply(premultipliedPixels[i]);
+		}
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	/**
+	 * @param pColor the (non-premultiplied) ARGB color every pixel is set to.
+	 */
+	public void clear(final int pColor) {
+		final int color = SVGRasterBlitter.premultiply(pColor);
+		final int[] pixels = this.mPixels;
+		for(int i = pixels.length - 1; i >= 0; i--) {
+			pixels[i] = color;
+		}
+	}
+
+	/**
+	 * @param pTransform maps the coordinates of <code>pSVGPath</code> to pixels. May be <code>null</code>.
+	 * @param pFillRule one of {@link SVGRasterizer#FILLRULE_NONZERO} or {@link SVGRasterizer#FILLRULE_EVENODD}.
+	 * @param pColor (non-premultiplied) ARGB.
+	 */
+	public void fill(final SVGPath pSVGPath, final SVGMatrix pTransform, final int pFillRule, final int pColor) {
+		if((pColor >>> 24) == 0) {
+			return;
+		}
+		this.fill(pSVGPath, pTransform, pFillRule, SVGRasterBlitter.premultiply(pColor), null);
+	}
+
+	/**
+	 * @param pTransform maps the coordinates of <code>pSVGPath</code> to pixels. May be <code>null</code>.
+	 * @param pFillRule one of {@link SVGRasterizer#FILLRULE_NONZERO} or {@link SVGRasterizer#FILLRULE_EVENODD}.
+	 */
+	public void fill(final SVGPath pSVGPath, final SVGMatrix pTransform, final int pFillRule, final ISVGRasterShader pSVGRasterShader) {
+		this.fill(pSVGPath, pTransform, pFillRule, 0, pSVGRasterShader);
+	}
+
+	private void fill(final SVGPath pSVGPath, final SVGMatrix pTransform, final int pFillRule, final int pPremultipliedColor, final ISVGRasterShader pSVGRasterShader) {
+		final SVGRasterEdgeList svgRasterEdgeList = this.mSVGRasterEdgeList;
+		svgRasterEdgeList.set(pSVGPath, pTransform);
+		this.fill(svgRasterEdgeList, null, 0, svgRasterEdgeList.getEdgeCount(), 0, this.mHeight, pFillRule, pPremultipliedColor, pSVGRasterShader);
+	}
+
+	/**
+	 * Rasterizes a subset of the edges of <code>pSVGRasterEdgeList</code>, into the rows <code>[pRowStart, pRowEnd)</code> only.
+	 * Every row is rasterized independently of the others, so splitting the rows into bands does not change the result.
+	 *
+	 * @param pEdgeIndices the indices of the edges to rasterize, starting at <code>pEdgeIndexOffset</code>, or <code>null</code> for the first <code>pEdgeIndexCount</code> edges.
+	 * @param pPremultipliedColor the color, if <code>pSVGRasterShader</code> is <code>null</code>.
+	 */
+	void fill(final SVGRasterEdgeList pSVGRasterEdgeList, final int[] pEdgeIndices, final int pEdgeIndexOffset, final int pEdgeIndexCount, final int pRowStart, final int pRowEnd, final int pFillRule, final int pPremultipliedColor, final ISVGRasterShader pSVGRasterShader) {
+		if(pEdgeIndexCount == 0) {
+			return;
+		}
+
+		final int rowStart = Math.max(Math.max(0, pRowStart), (int) Math.floor(pSVGRasterEdgeList.getMinY()));
+		final int rowEnd = Math.min(Math.min(this.mHeight, pRowEnd), (int) Math.ceil(pSVGRasterEdgeList.getMaxY()));
+		if(rowStart >= rowEnd) {
+			return;
+		}
+
+		this.sortEdges(pSVGRasterEdgeList, pEdgeIndices, pEdgeIndexOffset, pEdgeIndexCount, rowStart, rowEnd);
+		this.rasterizeRows(pSVGRasterEdgeList, rowStart, rowEnd, pFillRule == FILLRULE_EVENODD, pPremultipliedColor, pSVGRasterShader);
+	}
+
+	private void rasterizeRows(final SVGRasterEdgeList pSVGRasterEdgeList, final int pRowStart, final int pRowEnd, final boolean pEvenOdd, final int pPremultipliedColor, final ISVGRasterShader pSVGRasterShader) {
+		final float[] edges = pSVGRasterEdgeList.getEdges();
+		final int[] sortedEdges = this.mSortedEdges;
+		final int[] rowEdgeStarts = this.mRowEdgeStarts;
+		int[] activeEdges = this.mActiveEdges;
+		int activeEdgeCount = 0;
+
+		this.mCoverageMinX = Integer.MAX_VALUE;
+		this.mCoverageMaxX = Integer.MIN_VALUE;
+
+		for(int row = pRowStart; row < pRowEnd; row++) {
+			/* Retire the edges that ended above this row. */
+			int retainedEdgeCount = 0;
+			for(int i = 0; i < activeEdgeCount; i++) {
+				final int edge = activeEdges[i];
+				if(edges[4 * edge + 3] > row) {
+					activeEdges[retainedEdgeCount++] = edge;
+				}
+			}
+			activeEdgeCount = retainedEdgeCount;
+
+			/* Activate the edges that start in this row. */
+			final int edgeStart = rowEdgeStarts[row - pRowStart];
+			final int edgeEnd = rowEdgeStarts[row - pRowStart + 1];
+			if(activeEdgeCount + edgeEnd - edgeStart > activeEdges.length) {
+				final int[] grownActiveEdges = new int[Math.max(2 * activeEdges.length, activeEdgeCount + edgeEnd - edgeStart)];
+				System.arraycopy(activeEdges, 0, grownActiveEdges, 0, activeEdgeCount);
+				activeEdges = grownActiveEdges;
+				this.mActiveEdges = activeEdges;
+				this.mCrossingXs = new float[activeEdges.length];
+				this.mCrossingWindings = new int[activeEdges.length];
+			}
+			for(int i = edgeStart; i < edgeEnd; i++) {
+				activeEdges[activeEdgeCount++] = sortedEdges[i];
+			}
+
+			if(activeEdgeCount == 0) {
+				continue;
+			}
+
+			for(int subscanline = 0; subscanline < SUBSCANLINES; subscanline++) {
+				final float y = row + (subscanline + 0.5f) / SUBSCANLINES;
+				this.rasterizeSubscanline(pSVGRasterEdgeList, y, activeEdges, activeEdgeCount, pEvenOdd);
+			}
+
+			if(this.mCoverageMinX <= this.mCoverageMaxX) {
+				this.blendRow(row, pPremultipliedColor, pSVGRasterShader);
+			}
+		}
+	}
+
+	private void rasterizeSubscanline(final SVGRasterEdgeList pSVGRasterEdgeList, final float pY, final int[] pActiveEdges, final int pActiveEdgeCount, final boolean pEvenOdd) {
+		final float[] edges = pSVGRasterEdgeList.getEdges();
+		final int[] edgeWindings = pSVGRasterEdgeList.getEdgeWindings();
+		final float[] crossingXs = this.mCrossingXs;
+		final int[] crossingWindings = this.mCrossingWindings;
+
+		/* Collect the crossings, sorted by x with an insertion sort, as there are only a few of them. */
+		int crossingCount = 0;
+		for(int i = 0; i < pActiveEdgeCount; i++) {
+			final int edge = pActiveEdges[i];
+			final int offset = 4 * edge;
+			final float topY = edges[offset + 1];
+			final float bottomY = edges[offset + 3];
+			if(pY < topY || pY >= bottomY) {
+				continue;
+			}
+
+			final float topX = edges[offset];
+			final float x = topX + (pY - topY) * (edges[offset + 2] - topX) / (bottomY - topY);
+			final int winding = edgeWindings[edge];
+
+			int j = crossingCount;
+			while(j > 0 && crossingXs[j - 1] > x) {
+				crossingXs[j] = crossingXs[j - 1];
+				crossingWindings[j] = crossingWindings[j - 1];
+				j--;
+			}
+			crossingXs[j] = x;
+			crossingWindings[j] = winding;
+			crossingCount++;
+		}
+
+		int winding = 0;
+		for(int i = 0; i < crossingCount - 1; i++) {
+			winding += crossingWindings[i];
+			final boolean inside = (pEvenOdd) ? (winding & 1) != 0 : winding != 0;
+			if(inside) {
+				this.accumulateSpan(crossingXs[i], crossingXs[i + 1]);
+			}
+		}
+	}
+
+	private void accumulateSpan(final float pFromX, final float pToX) {
+		final float fromX = Math.max(0, pFromX);
+		final float toX = Math.min(this.mWidth, pToX);
+		if(toX <= fromX) {
+			return;
+		}
+
+		final int[] coverageAreas = this.mCoverageAreas;
+		final int fromPixel = (int) fromX;
+		final int toPixel = (int) toX;
+		if(fromPixel == toPixel) {
+			coverageAreas[fromPixel] += (int) ((toX - fromX) * SUBSCANLINE_COVERAGE + 0.5f);
+		} else {
+			coverageAreas[fromPixel] += (int) ((fromPixel + 1 - fromX) * SUBSCANLINE_COVERAGE + 0.5f);
+			this.mCoverageDeltas[fromPixel + 1] += SUBSCANLINE_COVERAGE;
+			this.mCoverageDeltas[toPixel] -= SUBSCANLINE_COVERAGE;
+			coverageAreas[toPixel] += (int) ((toX - toPixel) * SUBSCANLINE_COVERAGE + 0.5f);
+		}
+
+		if(fromPixel < this.mCoverageMinX) {
+			this.mCoverageMinX = fromPixel;
+		}
+		if(toPixel > this.mCoverageMaxX) {
+			this.mCoverageMaxX = toPixel;
+		}
+	}
+
+	/**
+	 * Composites the accumulated coverage of the row and resets it.
+	 */
+	private void blendRow(final int pRow, final int pPremultipliedColor, final ISVGRasterShader pSVGRasterShader) {
+		final int[] coverageAreas = this.mCoverageAreas;
+		final int[] coverageDeltas = this.mCoverageDeltas;
+		final int[] pixels = this.mPixels;
+		final int minX = this.mCoverageMinX;
+		final int maxX = Math.min(this.mCoverageMaxX, this.mWidth - 1);
+
+		final int[] alphas = this.mAlphas;
+		int coverage = 0;
+		for(int x = minX; x <= maxX; x++) {
+			coverage += coverageDeltas[x];
+			alphas[x - minX] = SVGRasterizer.coverageToAlpha(coverage + coverageAreas[x]);
+			coverageDeltas[x] = 0;
+			coverageAreas[x] = 0;
+		}
+
+		final int count = maxX - minX + 1;
+		final int pixelOffset = pRow * this.mWidth + minX;
+		if(pSVGRasterShader != null) {
+			final int[] shadedColors = this.mShadedColors;
+			pSVGRasterShader.shadeSpan(minX, pRow, count, shadedColors);
+			SVGRasterBlitter.blitShaded(pixels, pixelOffset, alphas, 0, shadedColors, 0, count);
+		} else {
+			SVGRasterBlitter.blitSolid(pixels, pixelOffset, alphas, 0, count, pPremultipliedColor);
+		}
+
+		for(int x = maxX + 1; x <= this.mCoverageMaxX + 1; x++) {
+			coverageDeltas[x] = 0;
+			coverageAreas[x] = 0;
+		}
+
+		this.mCoverageMinX = Integer.MAX_VALUE;
+		this.mCoverageMaxX = Integer.MIN_VALUE;
+	}
+
+	private static int coverageToAlpha(final int pCoverage) {
+		if(pCoverage <= 0) {
+			return 0;
+		}
+		final int alpha = (pCoverage * 255 + (1 << (SUBSCANLINES_SHIFT + SUBSCANLINE_COVERAGE_SHIFT - 1))) >> (SUBSCANLINES_SHIFT + SUBSCANLINE_COVERAGE_SHIFT);
+		return (alpha > 255) ? 255 : alpha;
+	}
+
+	/**
+	 * Sorts the edges by the row they start in, relative to <code>pRowStart</code>, so rows can be rasterized top to bottom.
+	 */
+	private void sortEdges(final SVGRasterEdgeList pSVGRasterEdgeList, final int[] pEdgeIndices, final int pEdgeIndexOffset, final int pEdgeIndexCount, final int pRowStart, final int pRowEnd) {
+		final int rowCount = pRowEnd - pRowStart;
+		if(this.mRowEdgeStarts == null || this.mRowEdgeStarts.length < rowCount + 2) {
+			this.mRowEdgeStarts = new int[this.mHeight + 2];
+		}
+		final int[] rowEdgeStarts = this.mRowEdgeStarts;
+		for(int i = rowCount + 1; i >= 0; i--) {
+			rowEdgeStarts[i] = 0;
+		}
+
+		final float[] edges = pSVGRasterEdgeList.getEdges();
+		for(int i = 0; i < pEdgeIndexCount; i++) {
+			final int edge = (pEdgeIndices == null) ? i : pEdgeIndices[pEdgeIndexOffset + i];
+			rowEdgeStarts[this.getEdgeStartRow(edges, edge, pRowStart, pRowEnd) + 1]++;
+		}
+		for(int i = 0; i < rowCount; i++) {
+			rowEdgeStarts[i + 1] += rowEdgeStarts[i];
+		}
+
+		if(this.mSortedEdges.length < pEdgeIndexCount) {
+			this.mSortedEdges = new int[Math.max(2 * this.mSortedEdges.length, pEdgeIndexCount)];
+		}
+		final int[] sortedEdges = this.mSortedEdges;
+		for(int i = 0; i < pEdgeIndexCount; i++) {
+			final int edge = (pEdgeIndices == null) ? i : pEdgeIndices[pEdgeIndexOffset + i];
+			final int startRow = this.getEdgeStartRow(edges, edge, pRowStart, pRowEnd);
+			if(startRow < rowCount) {
+				sortedEdges[rowEdgeStarts[startRow]++] = edge;
+			}
+		}
+
+		/* Filling the buckets advanced every start to the next one, so shift them back. */
+		for(int i = rowCount; i > 0; i--) {
+			rowEdgeStarts[i] = rowEdgeStarts[i - 1];
+		}
+		rowEdgeStarts[0] = 0;
+	}
+
+	/**
+	 * @return the row the edge starts in relative to <code>pRowStart</code>, or <code>pRowEnd - pRowStart</code> if it does not cross any of the rows.
+	 */
+	private int getEdgeStartRow(final float[] pEdges, final int pEdge, final int pRowStart, final int pRowEnd) {
+		final float topY = pEdges[4 * pEdge + 1];
+		final float bottomY = pEdges[4 * pEdge + 3];
+		if(bottomY <= pRowStart || topY >= pRowEnd) {
+			return pRowEnd - pRowStart;
+		}
+		return Math.max(pRowStart, (int) Math.floor(topY)) - pRowStart;
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
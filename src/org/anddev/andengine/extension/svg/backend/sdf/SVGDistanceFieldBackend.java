@@ -0,0 +1,535 @@
+package org.anddev.andengine.extension.svg.backend.sdf;
+
+import java.util.ArrayList;
+import java.util.Stack;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.anddev.andengine.extension.svg.adt.SVGGradient;
+import org.anddev.andengine.extension.svg.adt.SVGMatrix;
+import org.anddev.andengine.extension.svg.adt.SVGPaintState;
+import org.anddev.andengine.extension.svg.adt.SVGPath;
+import org.anddev.andengine.extension.svg.adt.filter.SVGFilter;
+import org.anddev.andengine.extension.svg.backend.ISVGBackend;
+import org.anddev.andengine.extension.svg.backend.SVGDisplayList;
+import org.anddev.andengine.extension.svg.metrics.SVGMetrics;
+import org.anddev.andengine.extension.svg.util.SVGPathStroker;
+
+/**
+ * Computes the signed distance field of everything drawn, straight from the outlines rather than from a rasterized bitmap, so it stays exact at the resolution of the field.
+ * Colors, gradients and filters are ignored, the field is the one of the union of all fills and strokes. Distances are measured from the centers of the pixels, positive inside, and encoded so that <code>0.5</code> lies on the outline and <code>0</code> and <code>1</code> are {@link SVGDistanceFieldBackend#getSpread()} pixels outside and inside.
+ *
+ * A single-channel field is encoded in all channels, including alpha, so it can be sampled from alpha-only textures. A multi-channel field (MSDF) is encoded in red, green and blue, whose median reproduces sharp corners that a single channel rounds off, and is opaque.
+ *
+ * The field is computed in {@link SVGDistanceFieldBackend#end()}, in square tiles that every thread picks the next one of. Only the segments close to a tile are visited for its pixels.
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 11:48:02 - 02.06.2011
+ */
+public class SVGDistanceFieldBackend implements ISVGBackend {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	private static final int TILE_SIZE_DEFAULT = 32;
+
+	/** Distance fields are sensitive to the direction of the outline, which flattening at a coarser tolerance makes wobble. */
+	private static final float FLATTENING_TOLERANCE = 1 / 16f;
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private final int mTargetWidth;
+	private final int mTargetHeight;
+	private final float mScale;
+	private final float mSpread;
+
+	private final int mThreadCount;
+	private final ExecutorService mExecutorService;
+	private int mTileSize = SVGDistanceFieldBackend.TILE_SIZE_DEFAULT;
+	private boolean mMultiChannel;
+
+	private int mWidth;
+	private int mHeight;
+	private int[] mPixels;
+
+	private final ArrayList<SVGDistanceFieldShape> mSVGDistanceFieldShapes = new ArrayList<SVGDistanceFieldShape>();
+	private final SVGPathStroker mSVGPathStroker = new SVGPathStroker();
+	private final SVGPath mStrokePath = new SVGPath();
+
+	/** Maps the current coordinate system to pixels. */
+	private SVGMatrix mTransform = new SVGMatrix();
+	private final Stack<SVGMatrix> mTransformStack = new Stack<SVGMatrix>();
+
+	/** The recordings that are currently recorded into, innermost last. */
+	private final Stack<SVGDisplayList> mRecordingStack = new Stack<SVGDisplayList>();
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	/**
+	 * Computes the field at the size of the document, multiplied by <code>pScale</code>. Creates a thread pool of <code>pThreadCount - 1</code> threads for every document, the calling thread computes as well.
+	 *
+	 * @param pSpread the distance in pixels up to which distances are encoded, farther ones are clamped.
+	 */
+	public SVGDistanceFieldBackend(final float pScale, final float pSpread, final int pThreadCount) {
+		this(pScale, pSpread, pThreadCount, null);
+	}
+
+	/**
+	 * @param pSpread the distance in pixels up to which distances are encoded, farther ones are clamped.
+	 * @param pExecutorService runs <code>pThreadCount - 1</code> of the workers, the calling thread runs the last one. Is not shut down.
+	 */
+	public SVGDistanceFieldBackend(final float pScale, final float pSpread, final int pThreadCount, final ExecutorService pExecutorService) {
+		this(0, 0, pScale, pSpread, pThreadCount, pExecutorService);
+	}
+
+	/**
+	 * Computes the field of the document stretched to <code>pTargetWidth</code> x <code>pTargetHeight</code> pixels. Creates a thread pool of <code>pThreadCount - 1</code> threads for every document, the calling thread computes as well.
+	 *
+	 * @param pSpread the distance in pixels up to which distances are encoded, farther ones are clamped.
+	 */
+	public SVGDistanceFieldBackend(final int pTargetWidth, final int pTargetHeight, final float pSpread, final int pThreadCount) {
+		this(pTargetWidth, pTargetHeight, pSpread, pThreadCount, null);
+	}
+
+	/**
+	 * @param pSpread the distance in pixels up to which distances are encoded, farther ones are clamped.
+	 * @param pExecutorService runs <code>pThreadCount - 1</code> of the workers, the calling thread runs the last one. Is not shut down.
+	 */
+	public SVGDistanceFieldBackend(final int pTargetWidth, final int pTargetHeight, final float pSpread, final int pThreadCount, final ExecutorService pExecutorService) {
+		this(pTargetWidth, pTargetHeight, 1, pSpread, pThreadCount, pExecutorService);
+	}
+
+	private SVGDistanceFieldBackend(final int pTargetWidth, final int pTargetHeight, final float pScale, final float pSpread, final int pThreadCount, final ExecutorService pExecutorService) {
+		if(pSpread <= 0) {
+			throw new IllegalArgumentException("pSpread must be positive.");
+		}
+		this.mTargetWidth = pTargetWidth;
+		this.mTargetHeight = pTargetHeight;
+		this.mScale = pScale;
+		this.mSpread = pSpread;
+		this.mThreadCount = Math.max(1, pThreadCount);
+		this.mExecutorService = pExecutorService;
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	public float getSpread() {
+		return this.mSpread;
+	}
+
+	public int getThreadCount() {
+		return this.mThreadCount;
+	}
+
+	public boolean isMultiChannel() {
+		return this.mMultiChannel;
+	}
+
+	/**
+	 * @param pMultiChannel whether to compute a multi-channel field (MSDF) instead of a single-channel one. Defaults to <code>false</code>.
+	 */
+	public void setMultiChannel(final boolean pMultiChannel) {
+		this.mMultiChannel = pMultiChannel;
+	}
+
+	public int getTileSize() {
+		return this.mTileSize;
+	}
+
+	/**
+	 * @param pTileSize in pixels. Smaller tiles visit fewer segments per pixel and balance the load better, but segments close to multiple tiles are collected once per tile.
+	 */
+	public void setTileSize(final int pTileSize) {
+		if(pTileSize <= 0) {
+			throw new IllegalArgumentException("pTileSize must be positive.");
+		}
+		this.mTileSize = pTileSize;
+	}
+
+	public int getWidth() {
+		return this.mWidth;
+	}
+
+	public int getHeight() {
+		return this.mHeight;
+	}
+
+	/**
+	 * @return the encoded field as ARGB colors, row by row, or <code>null</code> before {@link SVGDistanceFieldBackend#end()}.
+	 */
+	public int[] getPixels() {
+		return this.mPixels;
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	@Override
+	public void begin(final int pWidth, final int pHeight) {
+		this.mTransform = new SVGMatrix();
+		this.mTransformStack.clear();
+		this.mSVGDistanceFieldShapes.clear();
+		this.mPixels = null;
+		if(this.mTargetWidth > 0 && this.mTargetHeight > 0) {
+			this.mWidth = this.mTargetWidth;
+			this.mHeight = this.mTargetHeight;
+			if(pWidth > 0 && pHeight > 0) {
+				this.mTransform.postScale((float) this.mWidth / pWidth, (float) this.mHeight / pHeight);
+			}
+		} else {
+			this.mWidth = Math.max(1, (int) Math.ceil(pWidth * this.mScale));
+			this.mHeight = Math.max(1, (int) Math.ceil(pHeight * this.mScale));
+			this.mTransform.postScale(this.mScale, this.mScale);
+		}
+	}
+
+	@Override
+	public void end() {
+		final long startTime = System.nanoTime();
+		try {
+			this.mPixels = this.computeField();
+		} finally {
+			this.mSVGDistanceFieldShapes.clear();
+		}
+		SVGMetrics.RASTER_PIXEL_COUNT.add((long) this.mWidth * this.mHeight);
+		SVGMetrics.DISTANCE_FIELD_LATENCY.record(System.nanoTime() - startTime);
+	}
+
+	@Override
+	public void save() {
+		if(this.isRecording()) {
+			this.mRecordingStack.peek().save();
+		} else {
+			this.mTransformStack.push(new SVGMatrix(this.mTransform));
+		}
+	}
+
+	@Override
+	public void concat(final SVGMatrix pSVGMatrix) {
+		if(this.isRecording()) {
+			this.mRecordingStack.peek().concat(pSVGMatrix);
+		} else {
+			this.mTransform.preConcat(pSVGMatrix);
+		}
+	}
+
+	@Override
+	public void restore() {
+		if(this.isRecording()) {
+			this.mRecordingStack.peek().restore();
+		} else {
+			this.mTransform = this.mTransformStack.pop();
+		}
+	}
+
+	@Override
+	public void drawPath(final SVGPath pSVGPath, final SVGPaintState pSVGPaintState, final SVGGradient pSVGGradient, final SVGFilter pSVGFilter, final SVGMatrix pTransform) {
+		if(this.isRecording()) {
+			this.mRecordingStack.peek().drawPath(pSVGPath, pSVGPaintState, pSVGGradient, pSVGFilter, pTransform);
+			return;
+		}
+		if(pSVGGradient == null && (pSVGPaintState.getColor() >>> 24) == 0) {
+			return;
+		}
+
+		final SVGPath svgPath;
+		final int fillRule;
+		if(pSVGPaintState.getStyle() == SVGPaintState.STYLE_STROKE) {
+			final float scale = this.mTransform.getAverageScale();
+			if(scale == 0) {
+				return;
+			}
+			/* The tolerance has to hold in the direction that is scaled the most. */
+			final float tolerance = SVGDistanceFieldBackend.FLATTENING_TOLERANCE / this.mTransform.getMaximumScale();
+			/* Like android.graphics.Paint, a width of 0 is a hairline of one pixel. */
+			final float strokeWidth = (pSVGPaintState.getStrokeWidth() > 0) ? pSVGPaintState.getStrokeWidth() : 1 / scale;
+
+			svgPath = this.mStrokePath;
+			svgPath.reset();
+			this.mSVGPathStroker.stroke(pSVGPath, pSVGPaintState, strokeWidth, tolerance, svgPath);
+			fillRule = SVGPath.FILLRULE_NONZERO;
+		} else {
+			svgPath = pSVGPath;
+			fillRule = pSVGPath.getFillRule();
+		}
+
+		final SVGDistanceFieldShape svgDistanceFieldShape = new SVGDistanceFieldShape();
+		svgDistanceFieldShape.set(svgPath, this.mTransform, fillRule, SVGDistanceFieldBackend.FLATTENING_TOLERANCE);
+		if(!svgDistanceFieldShape.isEmpty()) {
+			this.mSVGDistanceFieldShapes.add(svgDistanceFieldShape);
+		}
+	}
+
+	@Override
+	public void beginRecording(final int pWidth, final int pHeight) {
+		final SVGDisplayList recording = new SVGDisplayList();
+		recording.begin(pWidth, pHeight);
+		this.mRecordingStack.push(recording);
+	}
+
+	@Override
+	public Object endRecording() {
+		return this.mRecordingStack.pop();
+	}
+
+	@Override
+	public void drawRecording(final Object pRecording) {
+		if(this.isRecording()) {
+			this.mRecordingStack.peek().drawRecording(pRecording);
+		} else {
+			this.save();
+			((SVGDisplayList) pRecording).replayCommands(this);
+			this.restore();
+		}
+	}
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	private boolean isRecording() {
+		return !this.mRecordingStack.isEmpty();
+	}
+
+	private int[] computeField() {
+		final int width = this.mWidth;
+		final int height = this.mHeight;
+		final int[] pixels = new int[width * height];
+
+		final int tileSize = this.mTileSize;
+		final int tileColumns = (width + tileSize - 1) / tileSize;
+		final int tileCount = tileColumns * ((height + tileSize - 1) / tileSize);
+		final AtomicInteger nextTile = new AtomicInteger();
+
+		final int workerCount = Math.min(this.mThreadCount, tileCount);
+		if(workerCount == 1) {
+			new SVGDistanceFieldWorker(pixels, tileColumns, tileCount, nextTile).run();
+			return pixels;
+		}
+
+		final ExecutorService executorService = (this.mExecutorService != null) ? this.mExecutorService : Executors.newFixedThreadPool(workerCount - 1);
+		try {
+			final ArrayList<Future<?>> futures = new ArrayList<Future<?>>(workerCount - 1);
+			for(int i = 1; i < workerCount; i++) {
+				futures.add(executorService.submit(new SVGDistanceFieldWorker(pixels, tileColumns, tileCount, nextTile)));
+			}
+			new SVGDistanceFieldWorker(pixels, tileColumns, tileCount, nextTile).run();
+
+			for(int i = 0; i < futures.size(); i++) {
+				futures.get(i).get();
+			}
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while computing the distance field.", e);
+		} catch (final ExecutionException e) {
+			final Throwable cause = e.getCause();
+			if(cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if(cause instanceof Error) {
+				throw (Error) cause;
+			} else {
+				throw new IllegalStateException(cause);
+			}
+		} finally {
+			if(this.mExecutorService == null) {
+				executorService.shutdown();
+			}
+		}
+		return pixels;
+	}
+
+	/**
+	 * @return <code>pDistance</code> mapped from <code>[-pSpread, pSpread]</code> to <code>[0, 255]</code>.
+	 */
+	private static int encode(final float pDistance, final float pSpread) {
+		final int value = Math.round(255 * (0.5f + 0.5f * pDistance / pSpread));
+		return (value < 0) ? 0 : (value > 255) ? 255 : value;
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+
+	private class SVGDistanceFieldWorker implements Runnable {
+		// ===========================================================
+		// Constants
+		// ===========================================================
+
+		// ===========================================================
+		// Fields
+		// ===========================================================
+
+		private final int[] mPixels;
+		private final int mTileColumns;
+		private final int mTileCount;
+		private final AtomicInteger mNextTile;
+
+		/** The signed distance of every pixel of the tile to the union of the shapes visited so far. */
+		private final float[] mDistances;
+		/** The signed pseudo-distances of the red, green and blue channel, of the shape the distance of a pixel belongs to. */
+		private final float[] mChannelDistances;
+		private final int[][] mSegmentIndices = new int[][] { new int[64] };
+		private final int[] mWindings;
+		private final boolean[] mInside;
+		private final float[] mShapeDistances = new float[4];
+
+		// ===========================================================
+		// Constructors
+		// ===========================================================
+
+		public SVGDistanceFieldWorker(final int[] pPixels, final int pTileColumns, final int pTileCount, final AtomicInteger pNextTile) {
+			this.mPixels = pPixels;
+			this.mTileColumns = pTileColumns;
+			this.mTileCount = pTileCount;
+			this.mNextTile = pNextTile;
+
+			final int tileSize = SVGDistanceFieldBackend.this.mTileSize;
+			this.mDistances = new float[tileSize * tileSize];
+			this.mChannelDistances = new float[3 * tileSize * tileSize];
+			this.mWindings = new int[tileSize];
+			this.mInside = new boolean[tileSize];
+		}
+
+		// ===========================================================
+		// Getter & Setter
+		// ===========================================================
+
+		// ===========================================================
+		// Methods for/from SuperClass/Interfaces
+		// ===========================================================
+
+		@Override
+		public void run() {
+			final int tileSize = SVGDistanceFieldBackend.this.mTileSize;
+			final int width = SVGDistanceFieldBackend.this.mWidth;
+			final int height = SVGDistanceFieldBackend.this.mHeight;
+
+			int tile;
+			while((tile = this.mNextTile.getAndIncrement()) < this.mTileCount) {
+				final int left = (tile % this.mTileColumns) * tileSize;
+				final int top = (tile / this.mTileColumns) * tileSize;
+				this.computeTile(left, top, Math.min(tileSize, width - left), Math.min(tileSize, height - top));
+			}
+		}
+
+		// ===========================================================
+		// Methods
+		// ===========================================================
+
+		private void computeTile(final int pLeft, final int pTop, final int pWidth, final int pHeight) {
+			final float spread = SVGDistanceFieldBackend.this.mSpread;
+			final boolean multiChannel = SVGDistanceFieldBackend.this.mMultiChannel;
+			final float[] distances = this.mDistances;
+			final float[] channelDistances = this.mChannelDistances;
+			final int pixelCount = pWidth * pHeight;
+			for(int i = 0; i < pixelCount; i++) {
+				distances[i] = -spread;
+			}
+			if(multiChannel) {
+				for(int i = 0; i < 3 * pixelCount; i++) {
+					channelDistances[i] = -spread;
+				}
+			}
+
+			/* The centers of the pixels of the tile. */
+			final float left = pLeft + 0.5f;
+			final float top = pTop + 0.5f;
+			final float right = pLeft + pWidth - 0.5f;
+			final float bottom = pTop + pHeight - 0.5f;
+
+			final ArrayList<SVGDistanceFieldShape> svgDistanceFieldShapes = SVGDistanceFieldBackend.this.mSVGDistanceFieldShapes;
+			final int shapeCount = svgDistanceFieldShapes.size();
+			for(int shape = 0; shape < shapeCount; shape++) {
+				final SVGDistanceFieldShape svgDistanceFieldShape = svgDistanceFieldShapes.get(shape);
+				final boolean overlapping = svgDistanceFieldShape.getMaxX() >= left && svgDistanceFieldShape.getMinX() <= right && svgDistanceFieldShape.getMaxY() >= top && svgDistanceFieldShape.getMinY() <= bottom;
+				final int segmentIndexCount = svgDistanceFieldShape.collectSegments(left, top, right, bottom, spread, this.mSegmentIndices);
+				if(!overlapping && segmentIndexCount == 0) {
+					continue;
+				}
+				this.computeShape(svgDistanceFieldShape, segmentIndexCount, overlapping, pLeft, pTop, pWidth, pHeight);
+			}
+
+			final int[] pixels = this.mPixels;
+			final int stride = SVGDistanceFieldBackend.this.mWidth;
+			for(int y = 0; y < pHeight; y++) {
+				for(int x = 0; x < pWidth; x++) {
+					final int i = y * pWidth + x;
+					final int pixel;
+					if(multiChannel) {
+						final int red = SVGDistanceFieldBackend.encode(channelDistances[3 * i], spread);
+						final int green = SVGDistanceFieldBackend.encode(channelDistances[3 * i + 1], spread);
+						final int blue = SVGDistanceFieldBackend.encode(channelDistances[3 * i + 2], spread);
+						pixel = 0xFF000000 | (red << 16) | (green << 8) | blue;
+					} else {
+						final int value = SVGDistanceFieldBackend.encode(distances[i], spread);
+						pixel = (value << 24) | (value << 16) | (value << 8) | value;
+					}
+					pixels[(pTop + y) * stride + pLeft + x] = pixel;
+				}
+			}
+		}
+
+		/**
+		 * Merges the signed distances to <code>pSVGDistanceFieldShape</code> into the ones of the tile, keeping the larger one, which is the distance to the union.
+		 */
+		private void computeShape(final SVGDistanceFieldShape pSVGDistanceFieldShape, final int pSegmentIndexCount, final boolean pOverlapping, final int pLeft, final int pTop, final int pWidth, final int pHeight) {
+			final float spread = SVGDistanceFieldBackend.this.mSpread;
+			final boolean multiChannel = SVGDistanceFieldBackend.this.mMultiChannel;
+			final float[] distances = this.mDistances;
+			final float[] channelDistances = this.mChannelDistances;
+			final float[] shapeDistances = this.mShapeDistances;
+			final int[] segmentIndices = this.mSegmentIndices[0];
+			final boolean[] inside = this.mInside;
+
+			for(int y = 0; y < pHeight; y++) {
+				if(pOverlapping) {
+					pSVGDistanceFieldShape.getInside(pLeft, pTop + y, pWidth, this.mWindings, inside);
+				} else {
+					for(int x = 0; x < pWidth; x++) {
+						inside[x] = false;
+					}
+				}
+
+				for(int x = 0; x < pWidth; x++) {
+					if(pSegmentIndexCount == 0) {
+						if(!inside[x]) {
+							continue;
+						}
+						shapeDistances[0] = shapeDistances[1] = shapeDistances[2] = shapeDistances[3] = spread;
+					} else {
+						pSVGDistanceFieldShape.getDistances(pLeft + x + 0.5f, pTop + y + 0.5f, segmentIndices, pSegmentIndexCount, spread, shapeDistances);
+					}
+
+					final float sign = inside[x] ? 1 : -1;
+					final int i = y * pWidth + x;
+					final float distance = sign * shapeDistances[0];
+					if(distance > distances[i]) {
+						distances[i] = distance;
+						if(multiChannel) {
+							channelDistances[3 * i] = sign * shapeDistances[1];
+							channelDistances[3 * i + 1] = sign * shapeDistances[2];
+							channelDistances[3 * i + 2] = sign * shapeDistances[3];
+						}
+					}
+				}
+			}
+		}
+
+		// ===========================================================
+		// Inner and Anonymous Classes
+		// ===========================================================
+	}
+}
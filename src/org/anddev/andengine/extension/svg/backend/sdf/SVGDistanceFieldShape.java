@@ -0,0 +1,460 @@
+package org.anddev.andengine.extension.svg.backend.sdf;
+
+import org.anddev.andengine.extension.svg.adt.SVGMatrix;
+import org.anddev.andengine.extension.svg.adt.SVGPath;
+import org.anddev.andengine.extension.svg.util.SVGPathFlattener;
+import org.anddev.andengine.extension.svg.util.SVGPathFlattener.ISVGPathFlattenerListener;
+
+/**
+ * The outline of a filled path, flattened into closed contours of segments in pixel coordinates, that distances and insideness can be queried from.
+ * For multi-channel distance fields, the contours are split into edges at their corners and every edge is assigned a color, so that the edges meeting in a corner only share a single channel.
+ * Once built, a shape is only read, so it can be queried by multiple threads at once.
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 10:12:37 - 02.06.2011
+ */
+public class SVGDistanceFieldShape implements ISVGPathFlattenerListener {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	public static final int CHANNEL_RED = 1 << 0;
+	public static final int CHANNEL_GREEN = 1 << 1;
+	public static final int CHANNEL_BLUE = 1 << 2;
+
+	private static final byte COLOR_WHITE = SVGDistanceFieldShape.CHANNEL_RED | SVGDistanceFieldShape.CHANNEL_GREEN | SVGDistanceFieldShape.CHANNEL_BLUE;
+	private static final byte COLOR_CYAN = SVGDistanceFieldShape.CHANNEL_GREEN | SVGDistanceFieldShape.CHANNEL_BLUE;
+	private static final byte COLOR_MAGENTA = SVGDistanceFieldShape.CHANNEL_RED | SVGDistanceFieldShape.CHANNEL_BLUE;
+	private static final byte COLOR_YELLOW = SVGDistanceFieldShape.CHANNEL_RED | SVGDistanceFieldShape.CHANNEL_GREEN;
+
+	/** The segment is the first one of its edge. */
+	private static final byte FLAG_EDGE_START = 1 << 0;
+	/** The segment is the last one of its edge. */
+	private static final byte FLAG_EDGE_END = 1 << 1;
+
+	/** Segments turning by more than 30 degrees meet in a corner. Flattened curves turn by less, as long as they are flattened finely enough. */
+	private static final float CORNER_COSINE_MAXIMUM = 0.8660254f;
+
+	private static final int SEGMENT_CAPACITY_DEFAULT = 64;
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private int mFillRule;
+
+	/** The segments as consecutive <code>startX, startY, endX, endY</code>. */
+	private float[] mSegments;
+	private byte[] mSegmentColors;
+	private byte[] mSegmentFlags;
+	private int mSegmentCount;
+
+	/** The index of the first segment of every contour. */
+	private int[] mContourStarts = new int[8];
+	private int mContourCount;
+
+	private float mMinX;
+	private float mMinY;
+	private float mMaxX;
+	private float mMaxY;
+
+	private final SVGPathFlattener mSVGPathFlattener = new SVGPathFlattener();
+	private float mStartX;
+	private float mStartY;
+	private float mLastX;
+	private float mLastY;
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	public SVGDistanceFieldShape() {
+		final int capacity = SVGDistanceFieldShape.SEGMENT_CAPACITY_DEFAULT;
+		this.mSegments = new float[4 * capacity];
+		this.mSegmentColors = new byte[capacity];
+		this.mSegmentFlags = new byte[capacity];
+		this.reset();
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	public int getFillRule() {
+		return this.mFillRule;
+	}
+
+	public boolean isEmpty() {
+		return this.mSegmentCount == 0;
+	}
+
+	public int getSegmentCount() {
+		return this.mSegmentCount;
+	}
+
+	/**
+	 * @return the segments as consecutive <code>startX, startY, endX, endY</code>. Only the first {@link SVGDistanceFieldShape#getSegmentCount()} segments are valid.
+	 */
+	public float[] getSegments() {
+		return this.mSegments;
+	}
+
+	/**
+	 * @return the channels of the multi-channel distance field every segment contributes to, as a combination of the <code>CHANNEL_*</code> constants.
+	 */
+	public byte[] getSegmentColors() {
+		return this.mSegmentColors;
+	}
+
+	public float getMinX() {
+		return this.mMinX;
+	}
+
+	public float getMinY() {
+		return this.mMinY;
+	}
+
+	public float getMaxX() {
+		return this.mMaxX;
+	}
+
+	public float getMaxY() {
+		return this.mMaxY;
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	@Override
+	public void onMoveTo(final float pX, final float pY) {
+		this.onClose();
+		this.mStartX = this.mLastX = pX;
+		this.mStartY = this.mLastY = pY;
+
+		if(this.mContourCount == this.mContourStarts.length) {
+			final int[] contourStarts = new int[2 * this.mContourCount];
+			System.arraycopy(this.mContourStarts, 0, contourStarts, 0, this.mContourCount);
+			this.mContourStarts = contourStarts;
+		}
+		this.mContourStarts[this.mContourCount++] = this.mSegmentCount;
+	}
+
+	@Override
+	public void onLineTo(final float pX, final float pY) {
+		this.addSegment(this.mLastX, this.mLastY, pX, pY);
+		this.mLastX = pX;
+		this.mLastY = pY;
+	}
+
+	/**
+	 * Fills close all contours, so this is also called for contours that are not closed explicitly.
+	 */
+	@Override
+	public void onClose() {
+		this.onLineTo(this.mStartX, this.mStartY);
+	}
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	public void reset() {
+		this.mSegmentCount = 0;
+		this.mContourCount = 0;
+		this.mMinX = Float.POSITIVE_INFINITY;
+		this.mMinY = Float.POSITIVE_INFINITY;
+		this.mMaxX = Float.NEGATIVE_INFINITY;
+		this.mMaxY = Float.NEGATIVE_INFINITY;
+		this.mStartX = this.mLastX = 0;
+		this.mStartY = this.mLastY = 0;
+	}
+
+	/**
+	 * @param pTransform maps the coordinates of <code>pSVGPath</code> to pixels. May be <code>null</code>.
+	 * @param pFillRule one of the <code>FILLRULE_*</code> constants of {@link SVGPath}.
+	 * @param pTolerance the maximum distance between curves and the segments they are flattened into, in pixels.
+	 */
+	public void set(final SVGPath pSVGPath, final SVGMatrix pTransform, final int pFillRule, final float pTolerance) {
+		this.reset();
+		this.mFillRule = pFillRule;
+
+		if(pTransform != null) {
+			this.mSVGPathFlattener.setTolerance(pTolerance, pTransform);
+		} else {
+			this.mSVGPathFlattener.setTolerance(pTolerance);
+		}
+		this.mSVGPathFlattener.flatten(pSVGPath, pTransform, this);
+		this.onClose();
+
+		for(int contour = 0; contour < this.mContourCount; contour++) {
+			final int start = this.mContourStarts[contour];
+			final int end = (contour + 1 < this.mContourCount) ? this.mContourStarts[contour + 1] : this.mSegmentCount;
+			if(end > start) {
+				this.colorEdges(start, end);
+			}
+		}
+	}
+
+	private void addSegment(final float pStartX, final float pStartY, final float pEndX, final float pEndY) {
+		if(pStartX == pEndX && pStartY == pEndY) {
+			return;
+		}
+
+		final int segment = this.mSegmentCount;
+		if(segment == this.mSegmentColors.length) {
+			final float[] segments = new float[8 * segment];
+			System.arraycopy(this.mSegments, 0, segments, 0, 4 * segment);
+			this.mSegments = segments;
+			final byte[] segmentColors = new byte[2 * segment];
+			System.arraycopy(this.mSegmentColors, 0, segmentColors, 0, segment);
+			this.mSegmentColors = segmentColors;
+			final byte[] segmentFlags = new byte[2 * segment];
+			System.arraycopy(this.mSegmentFlags, 0, segmentFlags, 0, segment);
+			this.mSegmentFlags = segmentFlags;
+		}
+		final float[] segments = this.mSegments;
+		segments[4 * segment] = pStartX;
+		segments[4 * segment + 1] = pStartY;
+		segments[4 * segment + 2] = pEndX;
+		segments[4 * segment + 3] = pEndY;
+		this.mSegmentCount++;
+
+		this.mMinX = Math.min(this.mMinX, Math.min(pStartX, pEndX));
+		this.mMinY = Math.min(this.mMinY, Math.min(pStartY, pEndY));
+		this.mMaxX = Math.max(this.mMaxX, Math.max(pStartX, pEndX));
+		this.mMaxY = Math.max(this.mMaxY, Math.max(pStartY, pEndY));
+	}
+
+	/**
+	 * Splits the contour of the segments <code>[pStart, pEnd)</code> into edges at its corners and colors them, so that neighboring edges share exactly one channel.
+	 * A contour without corners is white. A contour with a single corner is split into three edges, as it would need two colors that share a channel on both of its ends otherwise.
+	 */
+	private void colorEdges(final int pStart, final int pEnd) {
+		final byte[] segmentColors = this.mSegmentColors;
+		final byte[] segmentFlags = this.mSegmentFlags;
+		final int segmentCount = pEnd - pStart;
+
+		int cornerCount = 0;
+		int firstCorner = -1;
+		for(int i = 0; i < segmentCount; i++) {
+			final int segment = pStart + i;
+			segmentFlags[segment] = 0;
+			if(this.isCorner(pStart + (i + segmentCount - 1) % segmentCount, segment)) {
+				if(cornerCount == 0) {
+					firstCorner = i;
+				}
+				cornerCount++;
+			}
+		}
+
+		if(cornerCount == 0) {
+			for(int segment = pStart; segment < pEnd; segment++) {
+				segmentColors[segment] = SVGDistanceFieldShape.COLOR_WHITE;
+			}
+			return;
+		}
+
+		if(cornerCount == 1) {
+			for(int i = 0; i < segmentCount; i++) {
+				final int segment = pStart + (firstCorner + i) % segmentCount;
+				final int third = 3 * i / segmentCount;
+				segmentColors[segment] = (third == 0) ? SVGDistanceFieldShape.COLOR_MAGENTA : (third == 1) ? SVGDistanceFieldShape.COLOR_WHITE : SVGDistanceFieldShape.COLOR_YELLOW;
+			}
+			segmentFlags[pStart + firstCorner] |= SVGDistanceFieldShape.FLAG_EDGE_START;
+			segmentFlags[pStart + (firstCorner + segmentCount - 1) % segmentCount] |= SVGDistanceFieldShape.FLAG_EDGE_END;
+			return;
+		}
+
+		/* Alternate between cyan and magenta, an odd edge out closes the loop in yellow. */
+		int edge = -1;
+		byte color = 0;
+		for(int i = 0; i < segmentCount; i++) {
+			final int segment = pStart + (firstCorner + i) % segmentCount;
+			final int previousSegment = pStart + (firstCorner + i + segmentCount - 1) % segmentCount;
+			if(this.isCorner(previousSegment, segment)) {
+				edge++;
+				if(edge == cornerCount - 1 && (cornerCount & 1) == 1) {
+					color = SVGDistanceFieldShape.COLOR_YELLOW;
+				} else {
+					color = ((edge & 1) == 0) ? SVGDistanceFieldShape.COLOR_CYAN : SVGDistanceFieldShape.COLOR_MAGENTA;
+				}
+				segmentFlags[segment] |= SVGDistanceFieldShape.FLAG_EDGE_START;
+				segmentFlags[previousSegment] |= SVGDistanceFieldShape.FLAG_EDGE_END;
+			}
+			segmentColors[segment] = color;
+		}
+	}
+
+	private boolean isCorner(final int pIncomingSegment, final int pOutgoingSegment) {
+		final float[] segments = this.mSegments;
+		final float incomingX = segments[4 * pIncomingSegment + 2] - segments[4 * pIncomingSegment];
+		final float incomingY = segments[4 * pIncomingSegment + 3] - segments[4 * pIncomingSegment + 1];
+		final float outgoingX = segments[4 * pOutgoingSegment + 2] - segments[4 * pOutgoingSegment];
+		final float outgoingY = segments[4 * pOutgoingSegment + 3] - segments[4 * pOutgoingSegment + 1];
+		final float dot = incomingX * outgoingX + incomingY * outgoingY;
+		final float lengths = (float) Math.sqrt((incomingX * incomingX + incomingY * incomingY) * (outgoingX * outgoingX + outgoingY * outgoingY));
+		return dot < SVGDistanceFieldShape.CORNER_COSINE_MAXIMUM * lengths;
+	}
+
+	/**
+	 * Collects the segments that come closer than <code>pDistance</code> to the rectangle <code>[pLeft, pRight] x [pTop, pBottom]</code>.
+	 *
+	 * @return the number of segments collected into <code>pSegmentIndices</code>, which is grown as needed and returned in <code>pSegmentIndices[0]</code>.
+	 */
+	public int collectSegments(final float pLeft, final float pTop, final float pRight, final float pBottom, final float pDistance, final int[][] pSegmentIndices) {
+		final float left = pLeft - pDistance;
+		final float top = pTop - pDistance;
+		final float right = pRight + pDistance;
+		final float bottom = pBottom + pDistance;
+
+		final float[] segments = this.mSegments;
+		int[] segmentIndices = pSegmentIndices[0];
+		int segmentIndexCount = 0;
+		for(int segment = 0; segment < this.mSegmentCount; segment++) {
+			final float startX = segments[4 * segment];
+			final float startY = segments[4 * segment + 1];
+			final float endX = segments[4 * segment + 2];
+			final float endY = segments[4 * segment + 3];
+			if(Math.max(startX, endX) < left || Math.min(startX, endX) > right || Math.max(startY, endY) < top || Math.min(startY, endY) > bottom) {
+				continue;
+			}
+			if(segmentIndexCount == segmentIndices.length) {
+				final int[] grown = new int[2 * segmentIndexCount];
+				System.arraycopy(segmentIndices, 0, grown, 0, segmentIndexCount);
+				segmentIndices = grown;
+				pSegmentIndices[0] = segmentIndices;
+			}
+			segmentIndices[segmentIndexCount++] = segment;
+		}
+		return segmentIndexCount;
+	}
+
+	/**
+	 * Determines which of the pixels <code>(pX + i, pY)</code> for <code>i</code> in <code>[0, pCount)</code> have their center inside of the shape.
+	 *
+	 * @param pWindings scratch space of at least <code>pCount</code> elements.
+	 * @param pInside receives the result.
+	 */
+	public void getInside(final int pX, final int pY, final int pCount, final int[] pWindings, final boolean[] pInside) {
+		for(int i = 0; i < pCount; i++) {
+			pWindings[i] = 0;
+		}
+
+		final float centerY = pY + 0.5f;
+		final float[] segments = this.mSegments;
+		for(int segment = 0; segment < this.mSegmentCount; segment++) {
+			final float startY = segments[4 * segment + 1];
+			final float endY = segments[4 * segment + 3];
+			final int winding;
+			if(startY <= centerY && centerY < endY) {
+				winding = 1;
+			} else if(endY <= centerY && centerY < startY) {
+				winding = -1;
+			} else {
+				continue;
+			}
+			final float startX = segments[4 * segment];
+			final float endX = segments[4 * segment + 2];
+			final float crossingX = startX + (centerY - startY) * (endX - startX) / (endY - startY);
+
+			/* The crossing counts for all pixels whose center is right of it. */
+			final int first = Math.max(0, (int) Math.floor(crossingX - pX - 0.5f) + 1);
+			if(first < pCount) {
+				pWindings[first] += winding;
+			}
+		}
+
+		final boolean evenOdd = this.mFillRule == SVGPath.FILLRULE_EVENODD;
+		int winding = 0;
+		for(int i = 0; i < pCount; i++) {
+			winding += pWindings[i];
+			pInside[i] = evenOdd ? (winding & 1) != 0 : winding != 0;
+		}
+	}
+
+	/**
+	 * @param pSegmentIndices the segments to consider, as collected by {@link SVGDistanceFieldShape#collectSegments(float, float, float, float, float, int[][])}.
+	 * @param pMaximumDistance the distances are clamped to.
+	 * @param pDistances receives the (unsigned) distance to the nearest segment, followed by the pseudo-distances to the nearest edge of the red, green and blue channel.
+	 * At the open ends of edges, the pseudo-distance is the one to the extension of the edge, which is what keeps the corners sharp in a multi-channel distance field.
+	 */
+	public void getDistances(final float pX, final float pY, final int[] pSegmentIndices, final int pSegmentIndexCount, final float pMaximumDistance, final float[] pDistances) {
+		final float[] segments = this.mSegments;
+		final byte[] segmentColors = this.mSegmentColors;
+
+		final float maximumDistanceSquared = pMaximumDistance * pMaximumDistance;
+		float redDistanceSquared = maximumDistanceSquared;
+		float greenDistanceSquared = maximumDistanceSquared;
+		float blueDistanceSquared = maximumDistanceSquared;
+		int redSegment = -1;
+		int greenSegment = -1;
+		int blueSegment = -1;
+		float redT = 0;
+		float greenT = 0;
+		float blueT = 0;
+
+		for(int i = 0; i < pSegmentIndexCount; i++) {
+			final int segment = pSegmentIndices[i];
+			final float startX = segments[4 * segment];
+			final float startY = segments[4 * segment + 1];
+			final float directionX = segments[4 * segment + 2] - startX;
+			final float directionY = segments[4 * segment + 3] - startY;
+			final float offsetX = pX - startX;
+			final float offsetY = pY - startY;
+
+			final float t = (offsetX * directionX + offsetY * directionY) / (directionX * directionX + directionY * directionY);
+			final float clampedT = (t < 0) ? 0 : (t > 1) ? 1 : t;
+			final float deltaX = offsetX - clampedT * directionX;
+			final float deltaY = offsetY - clampedT * directionY;
+			final float distanceSquared = deltaX * deltaX + deltaY * deltaY;
+
+			final int color = segmentColors[segment];
+			if((color & SVGDistanceFieldShape.CHANNEL_RED) != 0 && distanceSquared < redDistanceSquared) {
+				redDistanceSquared = distanceSquared;
+				redSegment = segment;
+				redT = t;
+			}
+			if((color & SVGDistanceFieldShape.CHANNEL_GREEN) != 0 && distanceSquared < greenDistanceSquared) {
+				greenDistanceSquared = distanceSquared;
+				greenSegment = segment;
+				greenT = t;
+			}
+			if((color & SVGDistanceFieldShape.CHANNEL_BLUE) != 0 && distanceSquared < blueDistanceSquared) {
+				blueDistanceSquared = distanceSquared;
+				blueSegment = segment;
+				blueT = t;
+			}
+		}
+
+		/* Every segment belongs to at least one channel. */
+		pDistances[0] = (float) Math.sqrt(Math.min(redDistanceSquared, Math.min(greenDistanceSquared, blueDistanceSquared)));
+		pDistances[1] = this.getPseudoDistance(pX, pY, redSegment, redT, redDistanceSquared, pMaximumDistance);
+		pDistances[2] = this.getPseudoDistance(pX, pY, greenSegment, greenT, greenDistanceSquared, pMaximumDistance);
+		pDistances[3] = this.getPseudoDistance(pX, pY, blueSegment, blueT, blueDistanceSquared, pMaximumDistance);
+	}
+
+	private float getPseudoDistance(final float pX, final float pY, final int pSegment, final float pT, final float pDistanceSquared, final float pMaximumDistance) {
+		if(pSegment < 0) {
+			return pMaximumDistance;
+		}
+		final byte flags = this.mSegmentFlags[pSegment];
+		if((pT < 0 && (flags & SVGDistanceFieldShape.FLAG_EDGE_START) != 0) || (pT > 1 && (flags & SVGDistanceFieldShape.FLAG_EDGE_END) != 0)) {
+			final float[] segments = this.mSegments;
+			final float startX = segments[4 * pSegment];
+			final float startY = segments[4 * pSegment + 1];
+			final float directionX = segments[4 * pSegment + 2] - startX;
+			final float directionY = segments[4 * pSegment + 3] - startY;
+			final float cross = (pX - startX) * directionY - (pY - startY) * directionX;
+			return Math.abs(cross) / (float) Math.sqrt(directionX * directionX + directionY * directionY);
+		}
+		return (float) Math.sqrt(pDistanceSquared);
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
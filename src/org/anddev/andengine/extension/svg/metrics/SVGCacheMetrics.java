@@ -0,0 +1,76 @@
+package org.anddev.andengine.extension.svg.metrics;
+
+/**
+ * The hits, misses and evictions of one kind of cache, summed up over all its instances.
+ * The counters are named <code>cache.&lt;name&gt;.hits</code>, <code>cache.&lt;name&gt;.misses</code> and <code>cache.&lt;name&gt;.evictions</code>.
+ * Obtained from {@link SVGMetrics#getCacheMetrics(String)}.
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 15:44:37 - 04.06.2011
+ */
+public class SVGCacheMetrics {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private final SVGCounter mHitCounter;
+	private final SVGCounter mMissCounter;
+	private final SVGCounter mEvictionCounter;
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	SVGCacheMetrics(final SVGMetrics pSVGMetrics, final String pName) {
+		this.mHitCounter = pSVGMetrics.getCounter("cache." + pName + ".hits");
+		this.mMissCounter = pSVGMetrics.getCounter("cache." + pName + ".misses");
+		this.mEvictionCounter = pSVGMetrics.getCounter("cache." + pName + ".evictions");
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	public SVGCounter getHitCounter() {
+		return this.mHitCounter;
+	}
+
+	public SVGCounter getMissCounter() {
+		return this.mMissCounter;
+	}
+
+	public SVGCounter getEvictionCounter() {
+		return this.mEvictionCounter;
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	public void onHit() {
+		this.mHitCounter.increment();
+	}
+
+	public void onMiss() {
+		this.mMissCounter.increment();
+	}
+
+	public void onEviction() {
+		this.mEvictionCounter.increment();
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
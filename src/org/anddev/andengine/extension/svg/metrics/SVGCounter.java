@@ -0,0 +1,75 @@
+package org.anddev.andengine.extension.svg.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A value that only grows, i.e. the number of parses or the bytes read. Lock-free, so it can be updated from any number of threads at once.
+ * Obtained from {@link SVGMetrics#getCounter(String)}.
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 15:31:26 - 04.06.2011
+ */
+public class SVGCounter {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private final String mName;
+	private final AtomicLong mValue = new AtomicLong();
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	SVGCounter(final String pName) {
+		this.mName = pName;
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	public String getName() {
+		return this.mName;
+	}
+
+	public long getValue() {
+		return this.mValue.get();
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	@Override
+	public String toString() {
+		return this.mName + "=" + this.mValue.get();
+	}
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	public void increment() {
+		this.mValue.incrementAndGet();
+	}
+
+	public void add(final long pDelta) {
+		this.mValue.addAndGet(pDelta);
+	}
+
+	void reset() {
+		this.mValue.set(0);
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
@@ -0,0 +1,86 @@
+package org.anddev.andengine.extension.svg.metrics;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Adds every byte that is read or skipped to an {@link SVGCounter}. The XML parser reads in blocks, so this costs one atomic update per block.
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 15:47:12 - 04.06.2011
+ */
+public class SVGCountingInputStream extends FilterInputStream {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private final SVGCounter mSVGCounter;
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	public SVGCountingInputStream(final InputStream pInputStream, final SVGCounter pSVGCounter) {
+		super(pInputStream);
+		this.mSVGCounter = pSVGCounter;
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	@Override
+	public int read() throws IOException {
+		final int read = super.read();
+		if(read != -1) {
+			this.mSVGCounter.increment();
+		}
+		return read;
+	}
+
+	@Override
+	public int read(final byte[] pBuffer, final int pOffset, final int pLength) throws IOException {
+		final int count = super.read(pBuffer, pOffset, pLength);
+		if(count > 0) {
+			this.mSVGCounter.add(count);
+		}
+		return count;
+	}
+
+	@Override
+	public long skip(final long pCount) throws IOException {
+		final long count = super.skip(pCount);
+		if(count > 0) {
+			this.mSVGCounter.add(count);
+		}
+		return count;
+	}
+
+	/**
+	 * Marking is not supported, as bytes read again after a reset would be counted twice.
+	 */
+	@Override
+	public boolean markSupported() {
+		return false;
+	}
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
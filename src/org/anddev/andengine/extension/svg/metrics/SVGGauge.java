@@ -0,0 +1,75 @@
+package org.anddev.andengine.extension.svg.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A value that goes up and down, i.e. the number of entries in a cache. Lock-free, so it can be updated from any number of threads at once.
+ * Unlike an {@link SVGCounter}, it describes the current state, so {@link SVGMetrics#reset()} leaves it alone.
+ * Obtained from {@link SVGMetrics#getGauge(String)}.
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 15:33:48 - 04.06.2011
+ */
+public class SVGGauge {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private final String mName;
+	private final AtomicLong mValue = new AtomicLong();
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	SVGGauge(final String pName) {
+		this.mName = pName;
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	public String getName() {
+		return this.mName;
+	}
+
+	public long getValue() {
+		return this.mValue.get();
+	}
+
+	public void setValue(final long pValue) {
+		this.mValue.set(pValue);
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	@Override
+	public String toString() {
+		return this.mName + "=" + this.mValue.get();
+	}
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	/**
+	 * @param pDelta may be negative.
+	 */
+	public void add(final long pDelta) {
+		this.mValue.addAndGet(pDelta);
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
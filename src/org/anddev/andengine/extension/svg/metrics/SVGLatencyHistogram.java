@@ -0,0 +1,175 @@
+package org.anddev.andengine.extension.svg.metrics;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts durations into fixed buckets, from <code>100us</code> to <code>2.5s</code> plus one for everything slower, so percentiles can be estimated without keeping the samples.
+ * Lock-free, so it can be recorded into from any number of threads at once. Obtained from {@link SVGMetrics#getLatencyHistogram(String)}.
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 15:38:05 - 04.06.2011
+ */
+public class SVGLatencyHistogram {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	/** The inclusive upper bounds of all but the last bucket, in microseconds. */
+	private static final long[] BUCKET_BOUNDS = new long[] { 100, 250, 500, 1000, 2500, 5000, 10000, 25000, 50000, 100000, 250000, 500000, 1000000, 2500000 };
+
+	public static final int BUCKET_COUNT = SVGLatencyHistogram.BUCKET_BOUNDS.length + 1;
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private final String mName;
+	private final AtomicLongArray mBucketCounts = new AtomicLongArray(SVGLatencyHistogram.BUCKET_COUNT);
+	private final AtomicLong mTotalDuration = new AtomicLong();
+	private final AtomicLong mMaximumDuration = new AtomicLong();
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	SVGLatencyHistogram(final String pName) {
+		this.mName = pName;
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	public String getName() {
+		return this.mName;
+	}
+
+	/**
+	 * @return the inclusive upper bound of <code>pBucket</code> in nanoseconds, {@link Long#MAX_VALUE} for the last one.
+	 */
+	public static long getBucketBound(final int pBucket) {
+		return (pBucket < SVGLatencyHistogram.BUCKET_BOUNDS.length) ? SVGLatencyHistogram.BUCKET_BOUNDS[pBucket] * 1000 : Long.MAX_VALUE;
+	}
+
+	public long getBucketCount(final int pBucket) {
+		return this.mBucketCounts.get(pBucket);
+	}
+
+	/**
+	 * @return the number of durations recorded.
+	 */
+	public long getCount() {
+		long count = 0;
+		for(int i = 0; i < SVGLatencyHistogram.BUCKET_COUNT; i++) {
+			count += this.mBucketCounts.get(i);
+		}
+		return count;
+	}
+
+	/**
+	 * @return in nanoseconds.
+	 */
+	public long getTotalDuration() {
+		return this.mTotalDuration.get();
+	}
+
+	/**
+	 * @return in nanoseconds.
+	 */
+	public long getMaximumDuration() {
+		return this.mMaximumDuration.get();
+	}
+
+	/**
+	 * @return in nanoseconds, or <code>0</code> if nothing was recorded yet.
+	 */
+	public long getMeanDuration() {
+		final long count = this.getCount();
+		return (count == 0) ? 0 : this.mTotalDuration.get() / count;
+	}
+
+	/**
+	 * @param pPercentile from <code>0</code> to <code>100</code>.
+	 * @return in nanoseconds, an upper bound of the duration that <code>pPercentile</code> percent of the recorded durations did not exceed, or <code>0</code> if nothing was recorded yet.
+	 * This is the bound of the bucket the percentile falls into, but never more than {@link SVGLatencyHistogram#getMaximumDuration()}.
+	 */
+	public long getPercentileDuration(final float pPercentile) {
+		final long count = this.getCount();
+		if(count == 0) {
+			return 0;
+		}
+
+		final long rank = Math.max(1, (long) Math.ceil(count * pPercentile / 100));
+		final long maximumDuration = this.mMaximumDuration.get();
+		long cumulativeCount = 0;
+		for(int i = 0; i < SVGLatencyHistogram.BUCKET_COUNT; i++) {
+			cumulativeCount += this.mBucketCounts.get(i);
+			if(cumulativeCount >= rank) {
+				return Math.min(SVGLatencyHistogram.getBucketBound(i), maximumDuration);
+			}
+		}
+		return maximumDuration;
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	@Override
+	public String toString() {
+		return String.format(Locale.US, "%s: %d samples, mean %.2f ms, p50 %.2f ms, p90 %.2f ms, p99 %.2f ms, max %.2f ms", this.mName, this.getCount(), this.getMeanDuration() / 1e6, this.getPercentileDuration(50) / 1e6, this.getPercentileDuration(90) / 1e6, this.getPercentileDuration(99) / 1e6, this.mMaximumDuration.get() / 1e6);
+	}
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	/**
+	 * @param pDuration in nanoseconds, i.e. the difference of two {@link System#nanoTime()}s.
+	 */
+	public void record(final long pDuration) {
+		final long microseconds = pDuration / 1000;
+		final long[] bucketBounds = SVGLatencyHistogram.BUCKET_BOUNDS;
+		int bucket = 0;
+		while(bucket < bucketBounds.length && microseconds > bucketBounds[bucket]) {
+			bucket++;
+		}
+		this.mBucketCounts.incrementAndGet(bucket);
+		this.mTotalDuration.addAndGet(pDuration);
+
+		long maximumDuration;
+		do {
+			maximumDuration = this.mMaximumDuration.get();
+		} while(pDuration > maximumDuration && !this.mMaximumDuration.compareAndSet(maximumDuration, pDuration));
+	}
+
+	/**
+	 * @return a detached copy, which is not recorded into. Each value is copied atomically, but durations recorded meanwhile may be in some of them and not in others.
+	 */
+	SVGLatencyHistogram copy() {
+		final SVGLatencyHistogram svgLatencyHistogram = new SVGLatencyHistogram(this.mName);
+		for(int i = 0; i < SVGLatencyHistogram.BUCKET_COUNT; i++) {
+			svgLatencyHistogram.mBucketCounts.set(i, this.mBucketCounts.get(i));
+		}
+		svgLatencyHistogram.mTotalDuration.set(this.mTotalDuration.get());
+		svgLatencyHistogram.mMaximumDuration.set(this.mMaximumDuration.get());
+		return svgLatencyHistogram;
+	}
+
+	void reset() {
+		for(int i = 0; i < SVGLatencyHistogram.BUCKET_COUNT; i++) {
+			this.mBucketCounts.set(i, 0);
+		}
+		this.mTotalDuration.set(0);
+		this.mMaximumDuration.set(0);
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
@@ -0,0 +1,178 @@
+package org.anddev.andengine.extension.svg.metrics;
+
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A registry of named {@link SVGCounter}s, {@link SVGGauge}s and {@link SVGLatencyHistogram}s, which the SVG extension reports to while it parses and renders.
+ * Updating a metric is lock-free and cheap enough to always be on. Take a {@link SVGMetrics#snapshot()} to read them all at once, i.e. to log its {@link SVGMetricsSnapshot#toString()} at the end of a loading screen.
+ *
+ * The metrics reported by the extension itself are the constants of this class, all in the registry of {@link SVGMetrics#getInstance()}.
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 15:52:40 - 04.06.2011
+ */
+public class SVGMetrics {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	private static final SVGMetrics INSTANCE = new SVGMetrics();
+
+	/** Every document that is parsed, including the ones that fail. */
+	public static final SVGCounter PARSE_COUNT = SVGMetrics.INSTANCE.getCounter("parse.count");
+	/** Every document that fails to parse with an <code>SVGParseException</code>. */
+	public static final SVGCounter PARSE_FAILURE_COUNT = SVGMetrics.INSTANCE.getCounter("parse.failures");
+	/** The bytes of all documents that were parsed, as they were read, so the compressed ones of gzip compressed documents. Documents parsed from characters are not counted. */
+	public static final SVGCounter PARSE_BYTE_COUNT = SVGMetrics.INSTANCE.getCounter("parse.bytes");
+	public static final SVGLatencyHistogram PARSE_LATENCY = SVGMetrics.INSTANCE.getLatencyHistogram("parse.latency");
+
+	/** The pixels of all images rendered by the raster and distance field backends, and of all {@link android.graphics.Picture}s drawn into bitmaps. */
+	public static final SVGCounter RASTER_PIXEL_COUNT = SVGMetrics.INSTANCE.getCounter("raster.pixels");
+	public static final SVGLatencyHistogram RASTER_LATENCY = SVGMetrics.INSTANCE.getLatencyHistogram("raster.latency");
+	public static final SVGLatencyHistogram DISTANCE_FIELD_LATENCY = SVGMetrics.INSTANCE.getLatencyHistogram("distance_field.latency");
+
+	/** Every bitmap that the texture atlas sources allocate. */
+	public static final SVGCounter BITMAP_COUNT = SVGMetrics.INSTANCE.getCounter("bitmap.count");
+	public static final SVGCounter BITMAP_BYTE_COUNT = SVGMetrics.INSTANCE.getCounter("bitmap.bytes");
+
+	/** The <code>SVGColorRampCache</code>s, which are shared across documents. */
+	public static final SVGCacheMetrics COLOR_RAMP_CACHE = SVGMetrics.INSTANCE.getCacheMetrics("color_ramp");
+	/** The number of ramps held by all <code>SVGColorRampCache</code>s. */
+	public static final SVGGauge COLOR_RAMP_CACHE_SIZE = SVGMetrics.INSTANCE.getGauge("cache.color_ramp.size");
+	/** The {@link android.graphics.Paint}s the <code>SVGCanvasBackend</code> reuses within a document. */
+	public static final SVGCacheMetrics PAINT_CACHE = SVGMetrics.INSTANCE.getCacheMetrics("paint");
+	/** The symbols compiled once per set of inherited properties and replayed by every <code>&lt;use&gt;</code> of them within a document. */
+	public static final SVGCacheMetrics SYMBOL_CACHE = SVGMetrics.INSTANCE.getCacheMetrics("symbol");
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private final ConcurrentHashMap<String, SVGCounter> mCounters = new ConcurrentHashMap<String, SVGCounter>();
+	private final ConcurrentHashMap<String, SVGGauge> mGauges = new ConcurrentHashMap<String, SVGGauge>();
+	private final ConcurrentHashMap<String, SVGLatencyHistogram> mLatencyHistograms = new ConcurrentHashMap<String, SVGLatencyHistogram>();
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	/**
+	 * @return the registry the extension reports to, which applications may add their own metrics to as well.
+	 */
+	public static SVGMetrics getInstance() {
+		return SVGMetrics.INSTANCE;
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	/**
+	 * @return the counter named <code>pName</code>, which is created if there is none yet. Look it up once and keep it, rather than on every update.
+	 */
+	public SVGCounter getCounter(final String pName) {
+		final SVGCounter svgCounter = this.mCounters.get(pName);
+		if(svgCounter != null) {
+			return svgCounter;
+		}
+		final SVGCounter newSVGCounter = new SVGCounter(pName);
+		final SVGCounter existingSVGCounter = this.mCounters.putIfAbsent(pName, newSVGCounter);
+		return (existingSVGCounter == null) ? newSVGCounter : existingSVGCounter;
+	}
+
+	/**
+	 * @return the gauge named <code>pName</code>, which is created if there is none yet. Look it up once and keep it, rather than on every update.
+	 */
+	public SVGGauge getGauge(final String pName) {
+		final SVGGauge svgGauge = this.mGauges.get(pName);
+		if(svgGauge != null) {
+			return svgGauge;
+		}
+		final SVGGauge newSVGGauge = new SVGGauge(pName);
+		final SVGGauge existingSVGGauge = this.mGauges.putIfAbsent(pName, newSVGGauge);
+		return (existingSVGGauge == null) ? newSVGGauge : existingSVGGauge;
+	}
+
+	/**
+	 * @return the histogram named <code>pName</code>, which is created if there is none yet. Look it up once and keep it, rather than on every update.
+	 */
+	public SVGLatencyHistogram getLatencyHistogram(final String pName) {
+		final SVGLatencyHistogram svgLatencyHistogram = this.mLatencyHistograms.get(pName);
+		if(svgLatencyHistogram != null) {
+			return svgLatencyHistogram;
+		}
+		final SVGLatencyHistogram newSVGLatencyHistogram = new SVGLatencyHistogram(pName);
+		final SVGLatencyHistogram existingSVGLatencyHistogram = this.mLatencyHistograms.putIfAbsent(pName, newSVGLatencyHistogram);
+		return (existingSVGLatencyHistogram == null) ? newSVGLatencyHistogram : existingSVGLatencyHistogram;
+	}
+
+	/**
+	 * @return the counters of the cache named <code>pName</code>, see {@link SVGCacheMetrics}.
+	 */
+	public SVGCacheMetrics getCacheMetrics(final String pName) {
+		return new SVGCacheMetrics(this, pName);
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	@Override
+	public String toString() {
+		return this.snapshot().toString();
+	}
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	/**
+	 * @param pByteCount the bytes of the bitmap, i.e. its row bytes times its height.
+	 */
+	public static void onBitmapAllocated(final long pByteCount) {
+		SVGMetrics.BITMAP_COUNT.increment();
+		SVGMetrics.BITMAP_BYTE_COUNT.add(pByteCount);
+	}
+
+	/**
+	 * Copies all metrics, without stopping the threads that update them. So the copy of every single metric is consistent, but updates that happen meanwhile may be in some of the copies and not in others.
+	 */
+	public SVGMetricsSnapshot snapshot() {
+		final TreeMap<String, Long> counterValues = new TreeMap<String, Long>();
+		for(final SVGCounter svgCounter : this.mCounters.values()) {
+			counterValues.put(svgCounter.getName(), Long.valueOf(svgCounter.getValue()));
+		}
+
+		final TreeMap<String, Long> gaugeValues = new TreeMap<String, Long>();
+		for(final SVGGauge svgGauge : this.mGauges.values()) {
+			gaugeValues.put(svgGauge.getName(), Long.valueOf(svgGauge.getValue()));
+		}
+
+		final TreeMap<String, SVGLatencyHistogram> latencyHistograms = new TreeMap<String, SVGLatencyHistogram>();
+		for(final SVGLatencyHistogram svgLatencyHistogram : this.mLatencyHistograms.values()) {
+			latencyHistograms.put(svgLatencyHistogram.getName(), svgLatencyHistogram.copy());
+		}
+
+		return new SVGMetricsSnapshot(counterValues, gaugeValues, latencyHistograms);
+	}
+
+	/**
+	 * Sets all counters and histograms back to zero, i.e. to measure the next loading screen on its own. Gauges describe the current state and are kept.
+	 */
+	public void reset() {
+		for(final SVGCounter svgCounter : this.mCounters.values()) {
+			svgCounter.reset();
+		}
+		for(final SVGLatencyHistogram svgLatencyHistogram : this.mLatencyHistograms.values()) {
+			svgLatencyHistogram.reset();
+		}
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
@@ -0,0 +1,136 @@
+package org.anddev.andengine.extension.svg.metrics;
+
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+/**
+ * The values of all metrics of an {@link SVGMetrics} registry at one point in time, which no longer change. Taken with {@link SVGMetrics#snapshot()}.
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 15:58:21 - 04.06.2011
+ */
+public class SVGMetricsSnapshot {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private final TreeMap<String, Long> mCounterValues;
+	private final TreeMap<String, Long> mGaugeValues;
+	private final TreeMap<String, SVGLatencyHistogram> mLatencyHistograms;
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	SVGMetricsSnapshot(final TreeMap<String, Long> pCounterValues, final TreeMap<String, Long> pGaugeValues, final TreeMap<String, SVGLatencyHistogram> pLatencyHistograms) {
+		this.mCounterValues = pCounterValues;
+		this.mGaugeValues = pGaugeValues;
+		this.mLatencyHistograms = pLatencyHistograms;
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	/**
+	 * @return in alphabetical order.
+	 */
+	public ArrayList<String> getCounterNames() {
+		return new ArrayList<String>(this.mCounterValues.keySet());
+	}
+
+	/**
+	 * @return <code>0</code> if there is no counter named <code>pName</code>.
+	 */
+	public long getCounterValue(final String pName) {
+		final Long value = this.mCounterValues.get(pName);
+		return (value == null) ? 0 : value.longValue();
+	}
+
+	/**
+	 * @return in alphabetical order.
+	 */
+	public ArrayList<String> getGaugeNames() {
+		return new ArrayList<String>(this.mGaugeValues.keySet());
+	}
+
+	/**
+	 * @return <code>0</code> if there is no gauge named <code>pName</code>.
+	 */
+	public long getGaugeValue(final String pName) {
+		final Long value = this.mGaugeValues.get(pName);
+		return (value == null) ? 0 : value.longValue();
+	}
+
+	/**
+	 * @return in alphabetical order.
+	 */
+	public ArrayList<String> getLatencyHistogramNames() {
+		return new ArrayList<String>(this.mLatencyHistograms.keySet());
+	}
+
+	/**
+	 * @return a copy that is no longer recorded into, or <code>null</code> if there is no histogram named <code>pName</code>.
+	 */
+	public SVGLatencyHistogram getLatencyHistogram(final String pName) {
+		return this.mLatencyHistograms.get(pName);
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	/**
+	 * @return a human readable dump of all metrics, one per line and sorted by name, i.e. to be logged.
+	 */
+	@Override
+	public String toString() {
+		final StringBuilder stringBuilder = new StringBuilder();
+		stringBuilder.append("Counters:");
+		for(final Entry<String, Long> entry : this.mCounterValues.entrySet()) {
+			stringBuilder.append("\n  ").append(entry.getKey()).append(" = ").append(entry.getValue());
+		}
+
+		stringBuilder.append("\nGauges:");
+		for(final Entry<String, Long> entry : this.mGaugeValues.entrySet()) {
+			stringBuilder.append("\n  ").append(entry.getKey()).append(" = ").append(entry.getValue());
+		}
+
+		stringBuilder.append("\nLatencies:");
+		for(final SVGLatencyHistogram svgLatencyHistogram : this.mLatencyHistograms.values()) {
+			stringBuilder.append("\n  ").append(svgLatencyHistogram.toString());
+			if(svgLatencyHistogram.getCount() > 0) {
+				stringBuilder.append("\n   ");
+				for(int i = 0; i < SVGLatencyHistogram.BUCKET_COUNT; i++) {
+					final long bucketCount = svgLatencyHistogram.getBucketCount(i);
+					if(bucketCount > 0) {
+						final long bucketBound = SVGLatencyHistogram.getBucketBound(i);
+						if(bucketBound == Long.MAX_VALUE) {
+							stringBuilder.append(String.format(Locale.US, " >%.1fms: %d", SVGLatencyHistogram.getBucketBound(i - 1) / 1e6, bucketCount));
+						} else {
+							stringBuilder.append(String.format(Locale.US, " <=%.1fms: %d", bucketBound / 1e6, bucketCount));
+						}
+					}
+				}
+			}
+		}
+		return stringBuilder.toString();
+	}
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
@@ -0,0 +1,311 @@
+package org.anddev.andengine.extension.svg.metrics;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.Map.Entry;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Records when parses, renders and cache lookups begin and end, and on which thread, to be looked at as a timeline in <code>chrome://tracing</code>.
+ * Tracing is off unless a tracer is set with {@link SVGTracer#setSVGTracer(SVGTracer)}. While it is off, every traced spot costs a single branch on {@link SVGTracer#getSVGTracer()} being <code>null</code>.
+ *
+ * The events are kept in a ring buffer of a fixed capacity, which the recording threads write to without locking, so only the latest events are kept.
+ * Once the buffer wrapped around, the first end events in it may be missing their begin events.
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 16:24:09 - 04.06.2011
+ */
+public class SVGTracer {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	public static final int CAPACITY_DEFAULT = 1 << 16;
+
+	public static final String CATEGORY_PARSE = "parse";
+	public static final String CATEGORY_RENDER = "render";
+	public static final String CATEGORY_CACHE = "cache";
+
+	public static final String RESULT_HIT = "hit";
+	public static final String RESULT_MISS = "miss";
+
+	private static final char PHASE_BEGIN = 'B';
+	private static final char PHASE_END = 'E';
+
+	/** Marks a slot that is being written to. */
+	private static final long SEQUENCE_WRITING = -1;
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private static volatile SVGTracer sSVGTracer;
+
+	private final int mCapacity;
+	private final int mMask;
+	private final long mStartTime = System.nanoTime();
+	private final AtomicLong mNextSequence = new AtomicLong();
+
+	/** The sequence number of the event in each slot, which is set last, to publish the other fields of the slot. */
+	private final AtomicLongArray mSequences;
+	private final long[] mTimestamps;
+	private final long[] mThreadIDs;
+	private final String[] mThreadNames;
+	private final char[] mPhases;
+	private final String[] mCategories;
+	private final String[] mNames;
+	private final String[] mArguments;
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	public SVGTracer() {
+		this(SVGTracer.CAPACITY_DEFAULT);
+	}
+
+	/**
+	 * @param pCapacity the number of events kept, rounded up to a power of two.
+	 */
+	public SVGTracer(final int pCapacity) {
+		if(pCapacity < 1) {
+			throw new IllegalArgumentException("pCapacity must be positive.");
+		}
+		int capacity = 1;
+		while(capacity < pCapacity) {
+			capacity <<= 1;
+		}
+		this.mCapacity = capacity;
+		this.mMask = capacity - 1;
+
+		this.mSequences = new AtomicLongArray(capacity);
+		for(int i = 0; i < capacity; i++) {
+			this.mSequences.set(i, SVGTracer.SEQUENCE_WRITING);
+		}
+		this.mTimestamps = new long[capacity];
+		this.mThreadIDs = new long[capacity];
+		this.mThreadNames = new String[capacity];
+		this.mPhases = new char[capacity];
+		this.mCategories = new String[capacity];
+		this.mNames = new String[capacity];
+		this.mArguments = new String[capacity];
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	/**
+	 * @return the tracer that is recorded into, or <code>null</code> if tracing is off. Keep it in a local variable from the begin to the end of an event, so both go to the same tracer.
+	 */
+	public static SVGTracer getSVGTracer() {
+		return SVGTracer.sSVGTracer;
+	}
+
+	/**
+	 * @param pSVGTracer <code>null</code> to turn tracing off.
+	 */
+	public static void setSVGTracer(final SVGTracer pSVGTracer) {
+		SVGTracer.sSVGTracer = pSVGTracer;
+	}
+
+	public int getCapacity() {
+		return this.mCapacity;
+	}
+
+	/**
+	 * @return the number of events recorded, including the ones that were overwritten since.
+	 */
+	public long getRecordedEventCount() {
+		return this.mNextSequence.get();
+	}
+
+	/**
+	 * @return the number of events that were overwritten, as the buffer was full.
+	 */
+	public long getDroppedEventCount() {
+		return Math.max(0, this.mNextSequence.get() - this.mCapacity);
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	/**
+	 * @param pArgument shown with the event, i.e. the asset that is loaded. May be <code>null</code>.
+	 */
+	public void begin(final String pCategory, final String pName, final String pArgument) {
+		this.record(SVGTracer.PHASE_BEGIN, pCategory, pName, pArgument);
+	}
+
+	/**
+	 * @param pArgument shown with the event, in addition to the one of the begin event, i.e. whether a cache lookup was a hit. May be <code>null</code>.
+	 */
+	public void end(final String pCategory, final String pName, final String pArgument) {
+		this.record(SVGTracer.PHASE_END, pCategory, pName, pArgument);
+	}
+
+	private void record(final char pPhase, final String pCategory, final String pName, final String pArgument) {
+		final long timestamp = System.nanoTime();
+		final Thread thread = Thread.currentThread();
+
+		final long sequence = this.mNextSequence.getAndIncrement();
+		final int slot = (int) (sequence & this.mMask);
+		this.mSequences.set(slot, SVGTracer.SEQUENCE_WRITING);
+		this.mTimestamps[slot] = timestamp;
+		this.mThreadIDs[slot] = thread.getId();
+		this.mThreadNames[slot] = thread.getName();
+		this.mPhases[slot] = pPhase;
+		this.mCategories[slot] = pCategory;
+		this.mNames[slot] = pName;
+		this.mArguments[slot] = pArgument;
+		this.mSequences.set(slot, sequence);
+	}
+
+	/**
+	 * Forgets all events recorded so far. Must not be called while events are recorded.
+	 */
+	public void clear() {
+		for(int i = 0; i < this.mCapacity; i++) {
+			this.mSequences.set(i, SVGTracer.SEQUENCE_WRITING);
+			this.mThreadNames[i] = null;
+			this.mCategories[i] = null;
+			this.mNames[i] = null;
+			this.mArguments[i] = null;
+		}
+		this.mNextSequence.set(0);
+	}
+
+	public void writeJSON(final File pFile) throws IOException {
+		final Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(pFile), "UTF-8"));
+		try {
+			this.writeJSON(writer);
+		} finally {
+			writer.close();
+		}
+	}
+
+	/**
+	 * Writes the events in the JSON object format of the Chrome trace event profiler, with the timestamps in microseconds since this tracer was created.
+	 * Can be called while events are recorded, which then may or may not be included. Events that are overwritten while they are being written out are skipped.
+	 */
+	public void writeJSON(final Writer pWriter) throws IOException {
+		final long nextSequence = this.mNextSequence.get();
+		final long firstSequence = Math.max(0, nextSequence - this.mCapacity);
+		final HashMap<Long, String> threadNames = new HashMap<Long, String>();
+
+		pWriter.write("{\"traceEvents\":[");
+		boolean first = true;
+		for(long sequence = firstSequence; sequence < nextSequence; sequence++) {
+			final int slot = (int) (sequence & this.mMask);
+			if(this.mSequences.get(slot) != sequence) {
+				continue;
+			}
+			final long timestamp = this.mTimestamps[slot];
+			final long threadID = this.mThreadIDs[slot];
+			final String threadName = this.mThreadNames[slot];
+			final char phase = this.mPhases[slot];
+			final String category = this.mCategories[slot];
+			final String name = this.mNames[slot];
+			final String argument = this.mArguments[slot];
+			/* The slot was overwritten while it was read. */
+			if(this.mSequences.get(slot) != sequence) {
+				continue;
+			}
+
+			threadNames.put(Long.valueOf(threadID), threadName);
+
+			pWriter.write(first ? "\n" : ",\n");
+			first = false;
+			pWriter.write("{\"name\":");
+			SVGTracer.writeJSONString(pWriter, name);
+			pWriter.write(",\"cat\":");
+			SVGTracer.writeJSONString(pWriter, category);
+			pWriter.write(",\"ph\":\"");
+			pWriter.write(phase);
+			pWriter.write("\",\"ts\":");
+			final long nanoseconds = timestamp - this.mStartTime;
+			pWriter.write(Long.toString(nanoseconds / 1000));
+			pWriter.write('.');
+			final long fraction = nanoseconds % 1000;
+			pWriter.write((fraction < 10) ? "00" : (fraction < 100) ? "0" : "");
+			pWriter.write(Long.toString(fraction));
+			pWriter.write(",\"pid\":1,\"tid\":");
+			pWriter.write(Long.toString(threadID));
+			if(argument != null) {
+				pWriter.write(",\"args\":{\"");
+				pWriter.write((phase == SVGTracer.PHASE_BEGIN) ? "source" : "result");
+				pWriter.write("\":");
+				SVGTracer.writeJSONString(pWriter, argument);
+				pWriter.write('}');
+			}
+			pWriter.write('}');
+		}
+
+		for(final Entry<Long, String> entry : threadNames.entrySet()) {
+			pWriter.write(first ? "\n" : ",\n");
+			first = false;
+			pWriter.write("{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":");
+			pWriter.write(entry.getKey().toString());
+			pWriter.write(",\"args\":{\"name\":");
+			SVGTracer.writeJSONString(pWriter, entry.getValue());
+			pWriter.write("}}");
+		}
+		pWriter.write("\n],\"displayTimeUnit\":\"ms\"}\n");
+		pWriter.flush();
+	}
+
+	private static void writeJSONString(final Writer pWriter, final String pString) throws IOException {
+		if(pString == null) {
+			pWriter.write("null");
+			return;
+		}
+
+		pWriter.write('"');
+		final int length = pString.length();
+		for(int i = 0; i < length; i++) {
+			final char character = pString.charAt(i);
+			switch(character) {
+				case '"':
+					pWriter.write("\\\"");
+					break;
+				case '\\':
+					pWriter.write("\\\\");
+					break;
+				case '\n':
+					pWriter.write("\\n");
+					break;
+				case '\r':
+					pWriter.write("\\r");
+					break;
+				case '\t':
+					pWriter.write("\\t");
+					break;
+				default:
+					if(character < 0x20) {
+						pWriter.write(String.format("\\u%04x", Integer.valueOf(character)));
+					} else {
+						pWriter.write(character);
+					}
+			}
+		}
+		pWriter.write('"');
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
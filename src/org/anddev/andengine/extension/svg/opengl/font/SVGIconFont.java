@@ -0,0 +1,202 @@
+package org.anddev.andengine.extension.svg.opengl.font;
+
+import java.util.HashMap;
+
+import org.anddev.andengine.extension.svg.opengl.texture.atlas.bitmap.source.SVGPixelsBitmapTextureAtlasSource;
+import org.anddev.andengine.opengl.texture.ITexture;
+import org.anddev.andengine.opengl.texture.atlas.bitmap.source.IBitmapTextureAtlasSource;
+import org.anddev.andengine.opengl.texture.region.TextureRegion;
+
+/**
+ * A set of icons rendered at the same em size and packed into a single texture, with a metrics table mapping codepoints to their regions and advances, so strings of icons can be drawn with one texture bind.
+ * All icons are rendered from the top of the em box, so they share the baseline at {@link SVGIconFont#getEmSize()}.
+ * The metrics are kept in primitive arrays sorted by codepoint and looked up by binary search.
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 10:31:52 - 03.06.2011
+ */
+public class SVGIconFont {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	/** The number of ints per glyph in the region table: <code>x, y, width, height</code>. */
+	private static final int REGION_SIZE = 4;
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private final int mEmSize;
+
+	private final int[] mPixels;
+	private final int mWidth;
+	private final int mHeight;
+
+	private final int[] mCodepoints;
+	private final int[] mRegions;
+	private final float[] mAdvances;
+	private final HashMap<String, Integer> mCodepointsByName;
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	/**
+	 * @param pCodepoints in ascending order.
+	 * @param pRegions the <code>x, y, width, height</code> of every glyph within the texture, in the order of <code>pCodepoints</code>.
+	 * @param pAdvances in pixels, in the order of <code>pCodepoints</code>.
+	 */
+	SVGIconFont(final int pEmSize, final int[] pPixels, final int pWidth, final int pHeight, final int[] pCodepoints, final int[] pRegions, final float[] pAdvances, final HashMap<String, Integer> pCodepointsByName) {
+		this.mEmSize = pEmSize;
+		this.mPixels = pPixels;
+		this.mWidth = pWidth;
+		this.mHeight = pHeight;
+		this.mCodepoints = pCodepoints;
+		this.mRegions = pRegions;
+		this.mAdvances = pAdvances;
+		this.mCodepointsByName = pCodepointsByName;
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	public int getEmSize() {
+		return this.mEmSize;
+	}
+
+	/**
+	 * @return the width of the texture the icons are packed into.
+	 */
+	public int getWidth() {
+		return this.mWidth;
+	}
+
+	/**
+	 * @return the height of the texture the icons are packed into.
+	 */
+	public int getHeight() {
+		return this.mHeight;
+	}
+
+	/**
+	 * @return the (non-premultiplied) ARGB colors of the texture, row by row.
+	 */
+	public int[] getPixels() {
+		return this.mPixels;
+	}
+
+	public int getGlyphCount() {
+		return this.mCodepoints.length;
+	}
+
+	public int getCodepoint(final int pGlyphIndex) {
+		return this.mCodepoints[pGlyphIndex];
+	}
+
+	/**
+	 * @return the codepoint the icon named <code>pName</code> was added with, or <code>-1</code> if there is none.
+	 */
+	public int getCodepoint(final String pName) {
+		final Integer codepoint = this.mCodepointsByName.get(pName);
+		return (codepoint == null) ? -1 : codepoint.intValue();
+	}
+
+	/**
+	 * @return the index of the glyph of <code>pCodepoint</code>, or <code>-1</code> if there is none.
+	 */
+	public int getGlyphIndex(final int pCodepoint) {
+		final int[] codepoints = this.mCodepoints;
+		int low = 0;
+		int high = codepoints.length - 1;
+		while(low <= high) {
+			final int middle = (low + high) >>> 1;
+			final int codepoint = codepoints[middle];
+			if(codepoint < pCodepoint) {
+				low = middle + 1;
+			} else if(codepoint > pCodepoint) {
+				high = middle - 1;
+			} else {
+				return middle;
+			}
+		}
+		return -1;
+	}
+
+	public int getGlyphX(final int pGlyphIndex) {
+		return this.mRegions[SVGIconFont.REGION_SIZE * pGlyphIndex];
+	}
+
+	public int getGlyphY(final int pGlyphIndex) {
+		return this.mRegions[SVGIconFont.REGION_SIZE * pGlyphIndex + 1];
+	}
+
+	public int getGlyphWidth(final int pGlyphIndex) {
+		return this.mRegions[SVGIconFont.REGION_SIZE * pGlyphIndex + 2];
+	}
+
+	public int getGlyphHeight(final int pGlyphIndex) {
+		return this.mRegions[SVGIconFont.REGION_SIZE * pGlyphIndex + 3];
+	}
+
+	/**
+	 * @return the horizontal distance in pixels from the origin of the glyph to the origin of the next one.
+	 */
+	public float getAdvance(final int pGlyphIndex) {
+		return this.mAdvances[pGlyphIndex];
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	/**
+	 * @return the sum of the advances of all codepoints of <code>pText</code>. Codepoints without a glyph are skipped.
+	 */
+	public float getAdvance(final CharSequence pText) {
+		float advance = 0;
+		final int length = pText.length();
+		int i = 0;
+		while(i < length) {
+			final int codepoint = Character.codePointAt(pText, i);
+			final int glyphIndex = this.getGlyphIndex(codepoint);
+			if(glyphIndex >= 0) {
+				advance += this.mAdvances[glyphIndex];
+			}
+			i += Character.charCount(codepoint);
+		}
+		return advance;
+	}
+
+	/**
+	 * @return a source for the texture all icons are packed into, to be added to a texture atlas at <code>pTexturePositionX/pTexturePositionY</code>.
+	 */
+	public IBitmapTextureAtlasSource createBitmapTextureAtlasSource(final int pTexturePositionX, final int pTexturePositionY) {
+		return new SVGPixelsBitmapTextureAtlasSource(this.mPixels, pTexturePositionX, pTexturePositionY, this.mWidth, this.mHeight);
+	}
+
+	/**
+	 * @param pTexturePositionX where the source of {@link SVGIconFont#createBitmapTextureAtlasSource(int, int)} was added to <code>pTexture</code>.
+	 * @param pTexturePositionY where the source of {@link SVGIconFont#createBitmapTextureAtlasSource(int, int)} was added to <code>pTexture</code>.
+	 * @return the region of the glyph of <code>pCodepoint</code>, or <code>null</code> if there is none.
+	 */
+	public TextureRegion createTextureRegion(final ITexture pTexture, final int pTexturePositionX, final int pTexturePositionY, final int pCodepoint) {
+		final int glyphIndex = this.getGlyphIndex(pCodepoint);
+		if(glyphIndex < 0) {
+			return null;
+		}
+		return new TextureRegion(pTexture, pTexturePositionX + this.getGlyphX(glyphIndex), pTexturePositionY + this.getGlyphY(glyphIndex), this.getGlyphWidth(glyphIndex), this.getGlyphHeight(glyphIndex));
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
@@ -0,0 +1,429 @@
+package org.anddev.andengine.extension.svg.opengl.font;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.anddev.andengine.extension.svg.SVGParser;
+import org.anddev.andengine.extension.svg.backend.SVGDisplayList;
+import org.anddev.andengine.extension.svg.backend.raster.SVGRasterBackend;
+import org.anddev.andengine.extension.svg.exception.SVGParseException;
+
+import android.content.res.AssetManager;
+
+/**
+ * Renders a set of SVG icons at a common em size, on multiple threads and without any Android graphics class, and packs them into the texture of a {@link SVGIconFont}.
+ * Every icon is scaled so its document height matches the em size, its advance is its scaled document width.
+ * The icons are packed onto shelves, ordered by height, width and codepoint, so the same icons always end up in the same places.
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 11:02:44 - 03.06.2011
+ */
+public class SVGIconFontBuilder {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	/** The first codepoint of the private use area of the basic multilingual plane, where icons can be mapped without clashing with text. */
+	public static final int CODEPOINT_PRIVATE_USE_AREA_START = 0xE000;
+
+	private static final int PADDING_DEFAULT = 1;
+	private static final int TEXTURE_SIZE_MAXIMUM_DEFAULT = 2048;
+
+	private static final String SVG_FILE_EXTENSION = ".svg";
+
+	private static final Comparator<SVGIcon> PACKING_ORDER = new Comparator<SVGIcon>() {
+		@Override
+		public int compare(final SVGIcon pSVGIconA, final SVGIcon pSVGIconB) {
+			if(pSVGIconA.mHeight != pSVGIconB.mHeight) {
+				return pSVGIconB.mHeight - pSVGIconA.mHeight;
+			} else if(pSVGIconA.mWidth != pSVGIconB.mWidth) {
+				return pSVGIconB.mWidth - pSVGIconA.mWidth;
+			} else {
+				return (pSVGIconA.mCodepoint < pSVGIconB.mCodepoint) ? -1 : (pSVGIconA.mCodepoint == pSVGIconB.mCodepoint) ? 0 : 1;
+			}
+		}
+	};
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private final int mEmSize;
+	private int mPadding = SVGIconFontBuilder.PADDING_DEFAULT;
+	private int mTextureSizeMaximum = SVGIconFontBuilder.TEXTURE_SIZE_MAXIMUM_DEFAULT;
+	private int mThreadCount = Runtime.getRuntime().availableProcessors();
+	private ExecutorService mExecutorService;
+
+	private final ArrayList<SVGIcon> mSVGIcons = new ArrayList<SVGIcon>();
+	private final HashMap<String, Integer> mCodepointsByName = new HashMap<String, Integer>();
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	/**
+	 * @param pEmSize the height in pixels every icon is rendered at.
+	 */
+	public SVGIconFontBuilder(final int pEmSize) {
+		if(pEmSize <= 0) {
+			throw new IllegalArgumentException("pEmSize must be positive.");
+		}
+		this.mEmSize = pEmSize;
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	public int getEmSize() {
+		return this.mEmSize;
+	}
+
+	public int getIconCount() {
+		return this.mSVGIcons.size();
+	}
+
+	/**
+	 * @param pPadding the transparent pixels between the icons, so they do not bleed into each other when filtered. Defaults to <code>1</code>.
+	 */
+	public void setPadding(final int pPadding) {
+		if(pPadding < 0) {
+			throw new IllegalArgumentException("pPadding must not be negative.");
+		}
+		this.mPadding = pPadding;
+	}
+
+	/**
+	 * @param pTextureSizeMaximum the maximum width and height of the texture. Defaults to <code>2048</code>.
+	 */
+	public void setTextureSizeMaximum(final int pTextureSizeMaximum) {
+		this.mTextureSizeMaximum = pTextureSizeMaximum;
+	}
+
+	/**
+	 * @param pThreadCount the number of threads the icons are rendered on, including the calling thread. Defaults to the number of available processors.
+	 */
+	public void setThreadCount(final int pThreadCount) {
+		this.mThreadCount = Math.max(1, pThreadCount);
+	}
+
+	/**
+	 * @param pExecutorService runs all but one of the workers, the calling thread runs the last one. Is not shut down. If <code>null</code>, a thread pool is created for every build.
+	 */
+	public void setExecutorService(final ExecutorService pExecutorService) {
+		this.mExecutorService = pExecutorService;
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	/**
+	 * @param pName the name the codepoint can be looked up by with {@link SVGIconFont#getCodepoint(String)}. May be <code>null</code>.
+	 */
+	public void addIcon(final int pCodepoint, final String pName, final SVGDisplayList pSVGDisplayList) {
+		for(int i = this.mSVGIcons.size() - 1; i >= 0; i--) {
+			if(this.mSVGIcons.get(i).mCodepoint == pCodepoint) {
+				throw new IllegalArgumentException("An icon with the codepoint " + pCodepoint + " was already added.");
+			}
+		}
+		this.mSVGIcons.add(new SVGIcon(pCodepoint, pSVGDisplayList));
+		if(pName != null) {
+			this.mCodepointsByName.put(pName, Integer.valueOf(pCodepoint));
+		}
+	}
+
+	/**
+	 * Adds all <code>.svg</code> files of the asset directory <code>pAssetDirectory</code>, in the order of their names, with consecutive codepoints starting at <code>pFirstCodepoint</code>.
+	 * The icons are named like their files, without the extension.
+	 *
+	 * @return the codepoint after the last one added.
+	 */
+	public int addIconsFromAssetDirectory(final AssetManager pAssetManager, final String pAssetDirectory, final int pFirstCodepoint) throws IOException, SVGParseException {
+		final String[] fileNames = pAssetManager.list(pAssetDirectory);
+		Arrays.sort(fileNames);
+
+		final String assetBasePath = (pAssetDirectory.length() == 0 || pAssetDirectory.endsWith("/")) ? pAssetDirectory : pAssetDirectory + "/";
+		int codepoint = pFirstCodepoint;
+		for(final String fileName : fileNames) {
+			if(fileName.endsWith(SVGIconFontBuilder.SVG_FILE_EXTENSION)) {
+				final SVGDisplayList svgDisplayList = SVGParser.parseSVGDisplayListFromAsset(pAssetManager, assetBasePath + fileName, null, null);
+				this.addIcon(codepoint, fileName.substring(0, fileName.length() - SVGIconFontBuilder.SVG_FILE_EXTENSION.length()), svgDisplayList);
+				codepoint++;
+			}
+		}
+		return codepoint;
+	}
+
+	/**
+	 * @throws IllegalStateException if the icons do not fit into a texture of {@link SVGIconFontBuilder#setTextureSizeMaximum(int)}.
+	 */
+	public SVGIconFont build() {
+		final ArrayList<SVGIcon> svgIcons = this.mSVGIcons;
+		this.render();
+
+		final ArrayList<SVGIcon> packingOrder = new ArrayList<SVGIcon>(svgIcons);
+		Collections.sort(packingOrder, SVGIconFontBuilder.PACKING_ORDER);
+		final int width = this.pack(packingOrder);
+		final int height = SVGIconFontBuilder.getPowerOfTwo(this.getPackedHeight(packingOrder));
+
+		final int[] pixels = new int[width * height];
+		final int iconCount = svgIcons.size();
+		final ArrayList<SVGIcon> codepointOrder = new ArrayList<SVGIcon>(svgIcons);
+		Collections.sort(codepointOrder, new Comparator<SVGIcon>() {
+			@Override
+			public int compare(final SVGIcon pSVGIconA, final SVGIcon pSVGIconB) {
+				return (pSVGIconA.mCodepoint < pSVGIconB.mCodepoint) ? -1 : (pSVGIconA.mCodepoint == pSVGIconB.mCodepoint) ? 0 : 1;
+			}
+		});
+
+		final int[] codepoints = new int[iconCount];
+		final int[] regions = new int[4 * iconCount];
+		final float[] advances = new float[iconCount];
+		for(int i = 0; i < iconCount; i++) {
+			final SVGIcon svgIcon = codepointOrder.get(i);
+			for(int y = 0; y < svgIcon.mHeight; y++) {
+				System.arraycopy(svgIcon.mPixels, y * svgIcon.mWidth, pixels, (svgIcon.mY + y) * width + svgIcon.mX, svgIcon.mWidth);
+			}
+			svgIcon.mPixels = null;
+
+			codepoints[i] = svgIcon.mCodepoint;
+			regions[4 * i] = svgIcon.mX;
+			regions[4 * i + 1] = svgIcon.mY;
+			regions[4 * i + 2] = svgIcon.mWidth;
+			regions[4 * i + 3] = svgIcon.mHeight;
+			advances[i] = svgIcon.mAdvance;
+		}
+
+		return new SVGIconFont(this.mEmSize, pixels, width, height, codepoints, regions, advances, new HashMap<String, Integer>(this.mCodepointsByName));
+	}
+
+	private void render() {
+		final int iconCount = this.mSVGIcons.size();
+		final AtomicInteger nextIcon = new AtomicInteger();
+
+		final int workerCount = Math.min(this.mThreadCount, iconCount);
+		if(workerCount <= 1) {
+			new SVGIconRenderer(nextIcon).run();
+			return;
+		}
+
+		final ExecutorService executorService = (this.mExecutorService != null) ? this.mExecutorService : Executors.newFixedThreadPool(workerCount - 1);
+		try {
+			final ArrayList<Future<?>> futures = new ArrayList<Future<?>>(workerCount - 1);
+			for(int i = 1; i < workerCount; i++) {
+				futures.add(executorService.submit(new SVGIconRenderer(nextIcon)));
+			}
+			new SVGIconRenderer(nextIcon).run();
+
+			for(int i = 0; i < futures.size(); i++) {
+				futures.get(i).get();
+			}
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while rendering the icons.", e);
+		} catch (final ExecutionException e) {
+			final Throwable cause = e.getCause();
+			if(cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if(cause instanceof Error) {
+				throw (Error) cause;
+			} else {
+				throw new IllegalStateException(cause);
+			}
+		} finally {
+			if(this.mExecutorService == null) {
+				executorService.shutdown();
+			}
+		}
+	}
+
+	/**
+	 * Places the icons onto shelves, in the smallest power of two width whose height fits as well.
+	 *
+	 * @return the width of the texture.
+	 */
+	private int pack(final ArrayList<SVGIcon> pSVGIcons) {
+		final int padding = this.mPadding;
+		int maximumWidth = 0;
+		long area = 0;
+		for(int i = 0; i < pSVGIcons.size(); i++) {
+			final SVGIcon svgIcon = pSVGIcons.get(i);
+			maximumWidth = Math.max(maximumWidth, svgIcon.mWidth + 2 * padding);
+			area += (long) (svgIcon.mWidth + padding) * (svgIcon.mHeight + padding);
+		}
+
+		int width = SVGIconFontBuilder.getPowerOfTwo(Math.max(maximumWidth, (int) Math.ceil(Math.sqrt(area))));
+		while(width <= this.mTextureSizeMaximum) {
+			this.packShelves(pSVGIcons, width);
+			if(SVGIconFontBuilder.getPowerOfTwo(this.getPackedHeight(pSVGIcons)) <= this.mTextureSizeMaximum) {
+				return width;
+			}
+			width *= 2;
+		}
+		throw new IllegalStateException(pSVGIcons.size() + " icons of " + this.mEmSize + " pixels do not fit into a texture of " + this.mTextureSizeMaximum + " x " + this.mTextureSizeMaximum + " pixels.");
+	}
+
+	private void packShelves(final ArrayList<SVGIcon> pSVGIcons, final int pWidth) {
+		final int padding = this.mPadding;
+		int x = padding;
+		int shelfY = padding;
+		int shelfHeight = 0;
+		for(int i = 0; i < pSVGIcons.size(); i++) {
+			final SVGIcon svgIcon = pSVGIcons.get(i);
+			if(x + svgIcon.mWidth + padding > pWidth) {
+				x = padding;
+				shelfY += shelfHeight + padding;
+				shelfHeight = 0;
+			}
+			svgIcon.mX = x;
+			svgIcon.mY = shelfY;
+			x += svgIcon.mWidth + padding;
+			/* The icons are sorted by height, so the first one of a shelf is the highest. */
+			shelfHeight = Math.max(shelfHeight, svgIcon.mHeight);
+		}
+	}
+
+	private int getPackedHeight(final ArrayList<SVGIcon> pSVGIcons) {
+		int height = 1;
+		for(int i = 0; i < pSVGIcons.size(); i++) {
+			final SVGIcon svgIcon = pSVGIcons.get(i);
+			height = Math.max(height, svgIcon.mY + svgIcon.mHeight + this.mPadding);
+		}
+		return height;
+	}
+
+	private static int getPowerOfTwo(final int pMinimum) {
+		int powerOfTwo = 1;
+		while(powerOfTwo < pMinimum) {
+			powerOfTwo <<= 1;
+		}
+		return powerOfTwo;
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+
+	private static class SVGIcon {
+		// ===========================================================
+		// Constants
+		// ===========================================================
+
+		// ===========================================================
+		// Fields
+		// ===========================================================
+
+		private final int mCodepoint;
+		private final SVGDisplayList mSVGDisplayList;
+
+		private int[] mPixels;
+		private int mWidth;
+		private int mHeight;
+		private float mAdvance;
+
+		private int mX;
+		private int mY;
+
+		// ===========================================================
+		// Constructors
+		// ===========================================================
+
+		public SVGIcon(final int pCodepoint, final SVGDisplayList pSVGDisplayList) {
+			this.mCodepoint = pCodepoint;
+			this.mSVGDisplayList = pSVGDisplayList;
+		}
+
+		// ===========================================================
+		// Getter & Setter
+		// ===========================================================
+
+		// ===========================================================
+		// Methods for/from SuperClass/Interfaces
+		// ===========================================================
+
+		// ===========================================================
+		// Methods
+		// ===========================================================
+
+		public void render(final int pEmSize) {
+			final int documentWidth = this.mSVGDisplayList.getWidth();
+			final int documentHeight = this.mSVGDisplayList.getHeight();
+			final float scale = (documentHeight > 0) ? (float) pEmSize / documentHeight : 1;
+
+			final SVGRasterBackend svgRasterBackend = new SVGRasterBackend(scale);
+			this.mSVGDisplayList.replay(svgRasterBackend);
+			this.mPixels = svgRasterBackend.getPixels();
+			this.mWidth = svgRasterBackend.getSVGRasterizer().getWidth();
+			this.mHeight = svgRasterBackend.getSVGRasterizer().getHeight();
+			this.mAdvance = documentWidth * scale;
+		}
+
+		// ===========================================================
+		// Inner and Anonymous Classes
+		// ===========================================================
+	}
+
+	private class SVGIconRenderer implements Runnable {
+		// ===========================================================
+		// Constants
+		// ===========================================================
+
+		// ===========================================================
+		// Fields
+		// ===========================================================
+
+		private final AtomicInteger mNextIcon;
+
+		// ===========================================================
+		// Constructors
+		// ===========================================================
+
+		public SVGIconRenderer(final AtomicInteger pNextIcon) {
+			this.mNextIcon = pNextIcon;
+		}
+
+		// ===========================================================
+		// Getter & Setter
+		// ===========================================================
+
+		// ===========================================================
+		// Methods for/from SuperClass/Interfaces
+		// ===========================================================
+
+		@Override
+		public void run() {
+			final ArrayList<SVGIcon> svgIcons = SVGIconFontBuilder.this.mSVGIcons;
+			final int emSize = SVGIconFontBuilder.this.mEmSize;
+
+			int icon;
+			while((icon = this.mNextIcon.getAndIncrement()) < svgIcons.size()) {
+				svgIcons.get(icon).render(emSize);
+			}
+		}
+
+		// ===========================================================
+		// Methods
+		// ===========================================================
+
+		// ===========================================================
+		// Inner and Anonymous Classes
+		// ===========================================================
+	}
+}
@@ -1,199 +1,321 @@
-package org.anddev.andengine.extension.svg.opengl.texture.atlas.bitmap;
-
-import org.anddev.andengine.extension.svg.adt.ISVGColorMapper;
-import org.anddev.andengine.extension.svg.adt.SVG;
-import org.anddev.andengine.extension.svg.opengl.texture.atlas.bitmap.source.SVGAssetBitmapTextureAtlasSource;
-import org.anddev.andengine.extension.svg.opengl.texture.atlas.bitmap.source.SVGBaseBitmapTextureAtlasSource;
-import org.anddev.andengine.extension.svg.opengl.texture.atlas.bitmap.source.SVGResourceBitmapTextureAtlasSource;
-import org.anddev.andengine.opengl.texture.atlas.bitmap.BitmapTextureAtlas;
-import org.anddev.andengine.opengl.texture.atlas.bitmap.BuildableBitmapTextureAtlas;
-import org.anddev.andengine.opengl.texture.atlas.bitmap.source.IBitmapTextureAtlasSource;
-import org.anddev.andengine.opengl.texture.atlas.buildable.BuildableTextureAtlasTextureRegionFactory;
-import org.anddev.andengine.opengl.texture.region.TextureRegion;
-import org.anddev.andengine.opengl.texture.region.TextureRegionFactory;
-import org.anddev.andengine.opengl.texture.region.TiledTextureRegion;
-
-import android.content.Context;
-
-
-/**
- * TODO Add possibility to set the bounds/clipping to be rendered. Useful to render only a specific region of a big svg file, which could be a spritesheet.
- * 
- * (c) 2010 Nicolas Gramlich 
- * (c) 2011 Zynga Inc.
- * 
- * @author Nicolas Gramlich
- * @since 12:47:31 - 21.05.2011
- */
-public class SVGBitmapTextureAtlasTextureRegionFactory {
-	// ===========================================================
-	// Constants
-	// ===========================================================
-
-	// ===========================================================
-	// Fields
-	// ===========================================================
-
-	private static String sAssetBasePath = "";
-	private static float sScaleFactor = 1;
-	private static boolean sCreateTextureRegionBuffersManaged;
-
-	// ===========================================================
-	// Constructors
-	// ===========================================================
-
-	// ===========================================================
-	// Getter & Setter
-	// ===========================================================
-
-	/**
-	 * @param pAssetBasePath must end with '<code>/</code>' or have <code>.length() == 0</code>.
-	 */
-	public static void setAssetBasePath(final String pAssetBasePath) {
-		if(pAssetBasePath.endsWith("/") || pAssetBasePath.length() == 0) {
-			SVGBitmapTextureAtlasTextureRegionFactory.sAssetBasePath = pAssetBasePath;
-		} else {
-			throw new IllegalArgumentException("pAssetBasePath must end with '/' or be lenght zero.");
-		}
-	}
-
-	/**
-	 * @param pScaleFactor must be > 0;
-	 */
-	public static void setScaleFactor(final float pScaleFactor) {
-		if(pScaleFactor > 0) {
-			SVGBitmapTextureAtlasTextureRegionFactory.sScaleFactor = pScaleFactor;
-		} else {
-			throw new IllegalArgumentException("pScaleFactor must be greater than zero.");
-		}
-	}
-
-	public static void setCreateTextureRegionBuffersManaged(final boolean pCreateTextureRegionBuffersManaged) {
-		SVGBitmapTextureAtlasTextureRegionFactory.sCreateTextureRegionBuffersManaged = pCreateTextureRegionBuffersManaged;
-	}
-
-	public static void reset() {
-		SVGBitmapTextureAtlasTextureRegionFactory.setAssetBasePath("");
-		SVGBitmapTextureAtlasTextureRegionFactory.setCreateTextureRegionBuffersManaged(false);
-	}
-
-	// ===========================================================
-	// Methods for/from SuperClass/Interfaces
-	// ===========================================================
-
-	// ===========================================================
-	// Methods
-	// ===========================================================
-
-	private static int applyScaleFactor(final int pInt) {
-		return Math.round(pInt * SVGBitmapTextureAtlasTextureRegionFactory.sScaleFactor);
-	}
-
-	// ===========================================================
-	// Methods using Texture
-	// ===========================================================
-
-	public static TextureRegion createFromSVG(final BitmapTextureAtlas pBitmapTextureAtlas, final SVG pSVG, final int pWidth, final int pHeight, final int pTexturePositionX, final int pTexturePositionY) {
-		final IBitmapTextureAtlasSource bitmapTextureAtlasSource = new SVGBaseBitmapTextureAtlasSource(pSVG, SVGBitmapTextureAtlasTextureRegionFactory.applyScaleFactor(pWidth), SVGBitmapTextureAtlasTextureRegionFactory.applyScaleFactor(pHeight));
-		return TextureRegionFactory.createFromSource(pBitmapTextureAtlas, bitmapTextureAtlasSource, pTexturePositionX, pTexturePositionY, sCreateTextureRegionBuffersManaged);
-	}
-
-	public static TiledTextureRegion createTiledFromSVG(final BitmapTextureAtlas pBitmapTextureAtlas, final SVG pSVG, final int pWidth, final int pHeight, final int pTexturePositionX, final int pTexturePositionY, final int pTileColumns, final int pTileRows) {
-		final IBitmapTextureAtlasSource textureSource = new SVGBaseBitmapTextureAtlasSource(pSVG, SVGBitmapTextureAtlasTextureRegionFactory.applyScaleFactor(pWidth), SVGBitmapTextureAtlasTextureRegionFactory.applyScaleFactor(pHeight));
-		return TextureRegionFactory.createTiledFromSource(pBitmapTextureAtlas, textureSource, pTexturePositionX, pTexturePositionY, pTileColumns, pTileRows, sCreateTextureRegionBuffersManaged);
-	}
-
-
-	public static TextureRegion createFromAsset(final BitmapTextureAtlas pBitmapTextureAtlas, final Context pContext, final String pAssetPath, final int pWidth, final int pHeight, final int pTexturePositionX, final int pTexturePositionY) {
-		return SVGBitmapTextureAtlasTextureRegionFactory.createFromAsset(pBitmapTextureAtlas, pContext, pAssetPath, pWidth, pHeight, null, pTexturePositionX, pTexturePositionY);
-	}
-
-	public static TiledTextureRegion createTiledFromAsset(final BitmapTextureAtlas pBitmapTextureAtlas, final Context pContext, final String pAssetPath, final int pWidth, final int pHeight, final int pTexturePositionX, final int pTexturePositionY, final int pTileColumns, final int pTileRows) {
-		return SVGBitmapTextureAtlasTextureRegionFactory.createTiledFromAsset(pBitmapTextureAtlas, pContext, pAssetPath, pWidth, pHeight, null, pTexturePositionX, pTexturePositionY, pTileColumns, pTileRows);
-	}
-
-	public static TextureRegion createFromAsset(final BitmapTextureAtlas pBitmapTextureAtlas, final Context pContext, final String pAssetPath, final int pWidth, final int pHeight, final ISVGColorMapper pSVGColorMapper, final int pTexturePositionX, final int pTexturePositionY) {
-		final IBitmapTextureAtlasSource textureSource = new SVGAssetBitmapTextureAtlasSource(pContext, SVGBitmapTextureAtlasTextureRegionFactory.sAssetBasePath + pAssetPath, SVGBitmapTextureAtlasTextureRegionFactory.applyScaleFactor(pWidth), SVGBitmapTextureAtlasTextureRegionFactory.applyScaleFactor(pHeight), pSVGColorMapper);
-		return TextureRegionFactory.createFromSource(pBitmapTextureAtlas, textureSource, pTexturePositionX, pTexturePositionY, sCreateTextureRegionBuffersManaged);
-	}
-
-	public static TiledTextureRegion createTiledFromAsset(final BitmapTextureAtlas pBitmapTextureAtlas, final Context pContext, final String pAssetPath, final int pWidth, final int pHeight, final ISVGColorMapper pSVGColorMapper, final int pTexturePositionX, final int pTexturePositionY, final int pTileColumns, final int pTileRows) {
-		final IBitmapTextureAtlasSource textureSource = new SVGAssetBitmapTextureAtlasSource(pContext, SVGBitmapTextureAtlasTextureRegionFactory.sAssetBasePath + pAssetPath, SVGBitmapTextureAtlasTextureRegionFactory.applyScaleFactor(pWidth), SVGBitmapTextureAtlasTextureRegionFactory.applyScaleFactor(pHeight), pSVGColorMapper);
-		return TextureRegionFactory.createTiledFromSource(pBitmapTextureAtlas, textureSource, pTexturePositionX, pTexturePositionY, pTileColumns, pTileRows, sCreateTextureRegionBuffersManaged);
-	}
-
-
-	public static TextureRegion createFromResource(final BitmapTextureAtlas pBitmapTextureAtlas, final Context pContext, final int pRawResourceID, final int pWidth, final int pHeight, final int pTexturePositionX, final int pTexturePositionY) {
-		return SVGBitmapTextureAtlasTextureRegionFactory.createFromResource(pBitmapTextureAtlas, pContext, pRawResourceID, pWidth, pHeight, null, pTexturePositionX, pTexturePositionY);
-	}
-
-	public static TiledTextureRegion createTiledFromResource(final BitmapTextureAtlas pBitmapTextureAtlas, final Context pContext, final int pRawResourceID, final int pWidth, final int pHeight, final int pTexturePositionX, final int pTexturePositionY, final int pTileColumns, final int pTileRows) {
-		return SVGBitmapTextureAtlasTextureRegionFactory.createTiledFromResource(pBitmapTextureAtlas, pContext, pRawResourceID, pWidth, pHeight, null, pTexturePositionX, pTexturePositionY, pTileColumns, pTileRows);
-	}
-
-	public static TextureRegion createFromResource(final BitmapTextureAtlas pBitmapTextureAtlas, final Context pContext, final int pRawResourceID, final int pWidth, final int pHeight, final ISVGColorMapper pSVGColorMapper, final int pTexturePositionX, final int pTexturePositionY) {
-		final IBitmapTextureAtlasSource textureSource = new SVGResourceBitmapTextureAtlasSource(pContext, SVGBitmapTextureAtlasTextureRegionFactory.applyScaleFactor(pHeight), pRawResourceID, SVGBitmapTextureAtlasTextureRegionFactory.applyScaleFactor(pWidth), pSVGColorMapper);
-		return TextureRegionFactory.createFromSource(pBitmapTextureAtlas, textureSource, pTexturePositionX, pTexturePositionY, sCreateTextureRegionBuffersManaged);
-	}
-
-	public static TiledTextureRegion createTiledFromResource(final BitmapTextureAtlas pBitmapTextureAtlas, final Context pContext, final int pRawResourceID, final int pWidth, final int pHeight, final ISVGColorMapper pSVGColorMapper, final int pTexturePositionX, final int pTexturePositionY, final int pTileColumns, final int pTileRows) {
-		final IBitmapTextureAtlasSource textureSource = new SVGResourceBitmapTextureAtlasSource(pContext, SVGBitmapTextureAtlasTextureRegionFactory.applyScaleFactor(pHeight), pRawResourceID, SVGBitmapTextureAtlasTextureRegionFactory.applyScaleFactor(pWidth), pSVGColorMapper);
-		return TextureRegionFactory.createTiledFromSource(pBitmapTextureAtlas, textureSource, pTexturePositionX, pTexturePositionY, pTileColumns, pTileRows, sCreateTextureRegionBuffersManaged);
-	}
-
-	// ===========================================================
-	// Methods using BuildableTexture
-	// ===========================================================
-
-	public static TextureRegion createFromSVG(final BuildableBitmapTextureAtlas pBuildableBitmapTextureAtlas, final SVG pSVG, final int pWidth, final int pHeight) {
-		final IBitmapTextureAtlasSource textureSource = new SVGBaseBitmapTextureAtlasSource(pSVG, SVGBitmapTextureAtlasTextureRegionFactory.applyScaleFactor(pWidth), SVGBitmapTextureAtlasTextureRegionFactory.applyScaleFactor(pHeight));
-		return BuildableTextureAtlasTextureRegionFactory.createFromSource(pBuildableBitmapTextureAtlas, textureSource, sCreateTextureRegionBuffersManaged);
-	}
-
-	public static TiledTextureRegion createTiledFromSVG(final BuildableBitmapTextureAtlas pBuildableBitmapTextureAtlas, final SVG pSVG, final int pWidth, final int pHeight, final int pTileColumns, final int pTileRows) {
-		final IBitmapTextureAtlasSource textureSource = new SVGBaseBitmapTextureAtlasSource(pSVG, SVGBitmapTextureAtlasTextureRegionFactory.applyScaleFactor(pWidth), SVGBitmapTextureAtlasTextureRegionFactory.applyScaleFactor(pHeight));
-		return BuildableTextureAtlasTextureRegionFactory.createTiledFromSource(pBuildableBitmapTextureAtlas, textureSource, pTileColumns, pTileRows, sCreateTextureRegionBuffersManaged);
-	}
-
-
-	public static TextureRegion createFromAsset(final BuildableBitmapTextureAtlas pBuildableBitmapTextureAtlas, final Context pContext, final String pAssetPath, final int pWidth, final int pHeight) {
-		return SVGBitmapTextureAtlasTextureRegionFactory.createFromAsset(pBuildableBitmapTextureAtlas, pContext, pAssetPath, pWidth, pHeight, null);
-	}
-
-	public static TiledTextureRegion createTiledFromAsset(final BuildableBitmapTextureAtlas pBuildableBitmapTextureAtlas, final Context pContext, final String pAssetPath, final int pWidth, final int pHeight, final int pTileColumns, final int pTileRows) {
-		return SVGBitmapTextureAtlasTextureRegionFactory.createTiledFromAsset(pBuildableBitmapTextureAtlas, pContext, pAssetPath, pWidth, pHeight, null, pTileColumns, pTileRows);
-	}
-
-	public static TextureRegion createFromAsset(final BuildableBitmapTextureAtlas pBuildableBitmapTextureAtlas, final Context pContext, final String pAssetPath, final int pWidth, final int pHeight, final ISVGColorMapper pSVGColorMapper) {
-		final IBitmapTextureAtlasSource textureSource = new SVGAssetBitmapTextureAtlasSource(pContext, SVGBitmapTextureAtlasTextureRegionFactory.sAssetBasePath + pAssetPath, SVGBitmapTextureAtlasTextureRegionFactory.applyScaleFactor(pWidth), SVGBitmapTextureAtlasTextureRegionFactory.applyScaleFactor(pHeight), pSVGColorMapper);
-		return BuildableTextureAtlasTextureRegionFactory.createFromSource(pBuildableBitmapTextureAtlas, textureSource, sCreateTextureRegionBuffersManaged);
-	}
-
-	public static TiledTextureRegion createTiledFromAsset(final BuildableBitmapTextureAtlas pBuildableBitmapTextureAtlas, final Context pContext, final String pAssetPath, final int pWidth, final int pHeight, final ISVGColorMapper pSVGColorMapper, final int pTileColumns, final int pTileRows) {
-		final IBitmapTextureAtlasSource textureSource = new SVGAssetBitmapTextureAtlasSource(pContext, SVGBitmapTextureAtlasTextureRegionFactory.sAssetBasePath + pAssetPath, SVGBitmapTextureAtlasTextureRegionFactory.applyScaleFactor(pWidth), SVGBitmapTextureAtlasTextureRegionFactory.applyScaleFactor(pHeight), pSVGColorMapper);
-		return BuildableTextureAtlasTextureRegionFactory.createTiledFromSource(pBuildableBitmapTextureAtlas, textureSource, pTileColumns, pTileRows, sCreateTextureRegionBuffersManaged);
-	}
-
-
-	public static TextureRegion createFromResource(final BuildableBitmapTextureAtlas pBuildableBitmapTextureAtlas, final Context pContext, final int pRawResourceID, final int pWidth, final int pHeight) {
-		return SVGBitmapTextureAtlasTextureRegionFactory.createFromResource(pBuildableBitmapTextureAtlas, pContext, pRawResourceID, pWidth, pHeight, null);
-	}
-
-	public static TiledTextureRegion createTiledFromResource(final BuildableBitmapTextureAtlas pBuildableBitmapTextureAtlas, final Context pContext, final int pRawResourceID, final int pWidth, final int pHeight, final int pTileColumns, final int pTileRows) {
-		return SVGBitmapTextureAtlasTextureRegionFactory.createTiledFromResource(pBuildableBitmapTextureAtlas, pContext, pRawResourceID, pWidth, pHeight, null, pTileColumns, pTileRows);
-	}
-
-	public static TextureRegion createFromResource(final BuildableBitmapTextureAtlas pBuildableBitmapTextureAtlas, final Context pContext, final int pRawResourceID, final int pWidth, final int pHeight, final ISVGColorMapper pSVGColorMapper) {
-		final IBitmapTextureAtlasSource textureSource = new SVGResourceBitmapTextureAtlasSource(pContext, SVGBitmapTextureAtlasTextureRegionFactory.applyScaleFactor(pHeight), pRawResourceID, SVGBitmapTextureAtlasTextureRegionFactory.applyScaleFactor(pWidth), pSVGColorMapper);
-		return BuildableTextureAtlasTextureRegionFactory.createFromSource(pBuildableBitmapTextureAtlas, textureSource, sCreateTextureRegionBuffersManaged);
-	}
-
-	public static TiledTextureRegion createTiledFromResource(final BuildableBitmapTextureAtlas pBuildableBitmapTextureAtlas, final Context pContext, final int pRawResourceID, final int pWidth, final int pHeight, final ISVGColorMapper pSVGColorMapper, final int pTileColumns, final int pTileRows) {
-		final IBitmapTextureAtlasSource textureSource = new SVGResourceBitmapTextureAtlasSource(pContext, SVGBitmapTextureAtlasTextureRegionFactory.applyScaleFactor(pHeight), pRawResourceID, SVGBitmapTextureAtlasTextureRegionFactory.applyScaleFactor(pWidth), pSVGColorMapper);
-		return BuildableTextureAtlasTextureRegionFactory.createTiledFromSource(pBuildableBitmapTextureAtlas, textureSource, pTileColumns, pTileRows, sCreateTextureRegionBuffersManaged);
-	}
-
-	// ===========================================================
-	// Inner and Anonymous Classes
-	// ===========================================================
-}
+package org.anddev.andengine.extension.svg.opengl.texture.atlas.bitmap;
+
+import java.util.concurrent.ExecutorService;
+
+import org.anddev.andengine.extension.svg.SVGParser;
+import org.anddev.andengine.extension.svg.adt.ISVGColorMapper;
+import org.anddev.andengine.extension.svg.adt.SVG;
+import org.anddev.andengine.extension.svg.adt.SVGOptions;
+import org.anddev.andengine.extension.svg.backend.SVGDisplayList;
+import org.anddev.andengine.extension.svg.opengl.texture.atlas.bitmap.source.SVGAssetBitmapTextureAtlasSource;
+import org.anddev.andengine.extension.svg.opengl.texture.atlas.bitmap.source.SVGBaseBitmapTextureAtlasSource;
+import org.anddev.andengine.extension.svg.opengl.texture.atlas.bitmap.source.SVGDistanceFieldBitmapTextureAtlasSource;
+import org.anddev.andengine.extension.svg.opengl.texture.atlas.bitmap.source.SVGResourceBitmapTextureAtlasSource;
+import org.anddev.andengine.extension.svg.opengl.texture.atlas.bitmap.source.SVGTrimmedBitmapTextureAtlasSource;
+import org.anddev.andengine.extension.svg.opengl.texture.region.SVGTrimmedTextureRegion;
+import org.anddev.andengine.opengl.texture.ITexture;
+import org.anddev.andengine.opengl.texture.atlas.bitmap.BitmapTextureAtlas;
+import org.anddev.andengine.opengl.texture.atlas.bitmap.BuildableBitmapTextureAtlas;
+import org.anddev.andengine.opengl.texture.atlas.bitmap.source.IBitmapTextureAtlasSource;
+import org.anddev.andengine.opengl.texture.atlas.buildable.BuildableTextureAtlasTextureRegionFactory;
+import org.anddev.andengine.opengl.texture.region.TextureRegion;
+import org.anddev.andengine.opengl.texture.region.TextureRegionFactory;
+import org.anddev.andengine.opengl.texture.region.TiledTextureRegion;
+import org.anddev.andengine.util.Callback;
+import org.anddev.andengine.util.Debug;
+
+import android.content.Context;
+
+
+/**
+ * TODO Add possibility to set the bounds/clipping to be rendered. Useful to render only a specific region of a big svg file, which could be a spritesheet.
+ * 
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 12:47:31 - 21.05.2011
+ */
+public class SVGBitmapTextureAtlasTextureRegionFactory {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private static String sAssetBasePath = "";
+	private static float sScaleFactor = 1;
+	private static boolean sCreateTextureRegionBuffersManaged;
+	private static SVGOptions sSVGOptions;
+	private static ExecutorService sExecutorService;
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	/**
+	 * @param pAssetBasePath must end with '<code>/</code>' or have <code>.length() == 0</code>.
+	 */
+	public static void setAssetBasePath(final String pAssetBasePath) {
+		if(pAssetBasePath.endsWith("/") || pAssetBasePath.length() == 0) {
+			SVGBitmapTextureAtlasTextureRegionFactory.sAssetBasePath = pAssetBasePath;
+		} else {
+			throw new IllegalArgumentException("pAssetBasePath must end with '/' or be lenght zero.");
+		}
+	}
+
+	/**
+	 * @param pScaleFactor must be > 0;
+	 */
+	public static void setScaleFactor(final float pScaleFactor) {
+		if(pScaleFactor > 0) {
+			SVGBitmapTextureAtlasTextureRegionFactory.sScaleFactor = pScaleFactor;
+		} else {
+			throw new IllegalArgumentException("pScaleFactor must be greater than zero.");
+		}
+	}
+
+	public static void setCreateTextureRegionBuffersManaged(final boolean pCreateTextureRegionBuffersManaged) {
+		SVGBitmapTextureAtlasTextureRegionFactory.sCreateTextureRegionBuffersManaged = pCreateTextureRegionBuffersManaged;
+	}
+
+	/**
+	 * @param pSVGOptions used to parse the SVGs loaded from assets and resources, with the target size set to the size of the created {@link TextureRegion}. May be <code>null</code>.
+	 */
+	public static void setSVGOptions(final SVGOptions pSVGOptions) {
+		SVGBitmapTextureAtlasTextureRegionFactory.sSVGOptions = pSVGOptions;
+	}
+
+	/**
+	 * @param pExecutorService computes the distance fields of the created {@link TextureRegion}s. Is not shut down. If <code>null</code>, a thread pool is created for every distance field.
+	 */
+	public static void setExecutorService(final ExecutorService pExecutorService) {
+		SVGBitmapTextureAtlasTextureRegionFactory.sExecutorService = pExecutorService;
+	}
+
+	public static void reset() {
+		SVGBitmapTextureAtlasTextureRegionFactory.setAssetBasePath("");
+		SVGBitmapTextureAtlasTextureRegionFactory.setCreateTextureRegionBuffersManaged(false);
+		SVGBitmapTextureAtlasTextureRegionFactory.setSVGOptions(null);
+		SVGBitmapTextureAtlasTextureRegionFactory.setExecutorService(null);
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	private static int applyScaleFactor(final int pInt) {
+		return Math.round(pInt * SVGBitmapTextureAtlasTextureRegionFactory.sScaleFactor);
+	}
+
+	private static SVGDisplayList getSVGDisplayList(final Context pContext, final String pAssetPath) {
+		try {
+			return SVGParser.parseSVGDisplayListFromAsset(pContext.getAssets(), SVGBitmapTextureAtlasTextureRegionFactory.sAssetBasePath + pAssetPath, null, SVGBitmapTextureAtlasTextureRegionFactory.sSVGOptions);
+		} catch (final Throwable t) {
+			Debug.e("Failed loading SVG in SVGBitmapTextureAtlasTextureRegionFactory. AssetPath: " + pAssetPath, t);
+			return null;
+		}
+	}
+
+	private static SVGTrimmedTextureRegion createTrimmedTextureRegion(final ITexture pTexture, final SVGTrimmedBitmapTextureAtlasSource pSVGTrimmedBitmapTextureAtlasSource, final int pTexturePositionX, final int pTexturePositionY) {
+		final SVGTrimmedTextureRegion textureRegion = new SVGTrimmedTextureRegion(pTexture, pTexturePositionX, pTexturePositionY, pSVGTrimmedBitmapTextureAtlasSource.getWidth(), pSVGTrimmedBitmapTextureAtlasSource.getHeight(), pSVGTrimmedBitmapTextureAtlasSource.getTrimOffsetX(), pSVGTrimmedBitmapTextureAtlasSource.getTrimOffsetY(), pSVGTrimmedBitmapTextureAtlasSource.getUntrimmedWidth(), pSVGTrimmedBitmapTextureAtlasSource.getUntrimmedHeight());
+		textureRegion.setTextureRegionBufferManaged(sCreateTextureRegionBuffersManaged);
+		return textureRegion;
+	}
+
+	// ===========================================================
+	// Methods using Texture
+	// ===========================================================
+
+	public static TextureRegion createFromSVG(final BitmapTextureAtlas pBitmapTextureAtlas, final SVG pSVG, final int pWidth, final int pHeight, final int pTexturePositionX, final int pTexturePositionY) {
+		final IBitmapTextureAtlasSource bitmapTextureAtlasSource = new SVGBaseBitmapTextureAtlasSource(pSVG, SVGBitmapTextureAtlasTextureRegionFactory.applyScaleFactor(pWidth), SVGBitmapTextureAtlasTextureRegionFactory.applyScaleFactor(pHeight));
+		return TextureRegionFactory.createFromSource(pBitmapTextureAtlas, bitmapTextureAtlasSource, pTexturePositionX, pTexturePositionY, sCreateTextureRegionBuffersManaged);
+	}
+
+	public static TiledTextureRegion createTiledFromSVG(final BitmapTextureAtlas pBitmapTextureAtlas, final SVG pSVG, final int pWidth, final int pHeight, final int pTexturePositionX, final int pTexturePositionY, final int pTileColumns, final int pTileRows) {
+		final IBitmapTextureAtlasSource textureSource = new SVGBaseBitmapTextureAtlasSource(pSVG, SVGBitmapTextureAtlasTextureRegionFactory.applyScaleFactor(pWidth), SVGBitmapTextureAtlasTextureRegionFactory.applyScaleFactor(pHeight));
+		return TextureRegionFactory.createTiledFromSource(pBitmapTextureAtlas, textureSource, pTexturePositionX, pTexturePositionY, pTileColumns, pTileRows, sCreateTextureRegionBuffersManaged);
+	}
+
+
+	public static TextureRegion createFromAsset(final BitmapTextureAtlas pBitmapTextureAtlas, final Context pContext, final String pAssetPath, final int pWidth, final int pHeight, final int pTexturePositionX, final int pTexturePositionY) {
+		return SVGBitmapTextureAtlasTextureRegionFactory.createFromAsset(pBitmapTextureAtlas, pContext, pAssetPath, pWidth, pHeight, null, pTexturePositionX, pTexturePositionY);
+	}
+
+	public static TiledTextureRegion createTiledFromAsset(final BitmapTextureAtlas pBitmapTextureAtlas, final Context pContext, final String pAssetPath, final int pWidth, final int pHeight, final int pTexturePositionX, final int pTexturePositionY, final int pTileColumns, final int pTileRows) {
+		return SVGBitmapTextureAtlasTextureRegionFactory.createTiledFromAsset(pBitmapTextureAtlas, pContext, pAssetPath, pWidth, pHeight, null, pTexturePositionX, pTexturePositionY, pTileColumns, pTileRows);
+	}
+
+	public static TextureRegion createFromAsset(final BitmapTextureAtlas pBitmapTextureAtlas, final Context pContext, final String pAssetPath, final int pWidth, final int pHeight, final ISVGColorMapper pSVGColorMapper, final int pTexturePositionX, final int pTexturePositionY) {
+		final IBitmapTextureAtlasSource textureSource = new SVGAssetBitmapTextureAtlasSource(pContext, SVGBitmapTextureAtlasTextureRegionFactory.sAssetBasePath + pAssetPath, 0, 0, SVGBitmapTextureAtlasTextureRegionFactory.applyScaleFactor(pWidth), SVGBitmapTextureAtlasTextureRegionFactory.applyScaleFactor(pHeight), pSVGColorMapper, SVGBitmapTextureAtlasTextureRegionFactory.sSVGOptions);
+		return TextureRegionFactory.createFromSource(pBitmapTextureAtlas, textureSource, pTexturePositionX, pTexturePositionY, sCreateTextureRegionBuffersManaged);
+	}
+
+	public static TiledTextureRegion createTiledFromAsset(final BitmapTextureAtlas pBitmapTextureAtlas, final Context pContext, final String pAssetPath, final int pWidth, final int pHeight, final ISVGColorMapper pSVGColorMapper, final int pTexturePositionX, final int pTexturePositionY, final int pTileColumns, final int pTileRows) {
+		final IBitmapTextureAtlasSource textureSource = new SVGAssetBitmapTextureAtlasSource(pContext, SVGBitmapTextureAtlasTextureRegionFactory.sAssetBasePath + pAssetPath, 0, 0, SVGBitmapTextureAtlasTextureRegionFactory.applyScaleFactor(pWidth), SVGBitmapTextureAtlasTextureRegionFactory.applyScaleFactor(pHeight), pSVGColorMapper, SVGBitmapTextureAtlasTextureRegionFactory.sSVGOptions);
+		return TextureRegionFactory.createTiledFromSource(pBitmapTextureAtlas, textureSource, pTexturePositionX, pTexturePositionY, pTileColumns, pTileRows, sCreateTextureRegionBuffersManaged);
+	}
+
+
+	public static TextureRegion createFromResource(final BitmapTextureAtlas pBitmapTextureAtlas, final Context pContext, final int pRawResourceID, final int pWidth, final int pHeight, final int pTexturePositionX, final int pTexturePositionY) {
+		return SVGBitmapTextureAtlasTextureRegionFactory.createFromResource(pBitmapTextureAtlas, pContext, pRawResourceID, pWidth, pHeight, null, pTexturePositionX, pTexturePositionY);
+	}
+
+	public static TiledTextureRegion createTiledFromResource(final BitmapTextureAtlas pBitmapTextureAtlas, final Context pContext, final int pRawResourceID, final int pWidth, final int pHeight, final int pTexturePositionX, final int pTexturePositionY, final int pTileColumns, final int pTileRows) {
+		return SVGBitmapTextureAtlasTextureRegionFactory.createTiledFromResource(pBitmapTextureAtlas, pContext, pRawResourceID, pWidth, pHeight, null, pTexturePositionX, pTexturePositionY, pTileColumns, pTileRows);
+	}
+
+	public static TextureRegion createFromResource(final BitmapTextureAtlas pBitmapTextureAtlas, final Context pContext, final int pRawResourceID, final int pWidth, final int pHeight, final ISVGColorMapper pSVGColorMapper, final int pTexturePositionX, final int pTexturePositionY) {
+		final IBitmapTextureAtlasSource textureSource = new SVGResourceBitmapTextureAtlasSource(pContext, pRawResourceID, 0, 0, SVGBitmapTextureAtlasTextureRegionFactory.applyScaleFactor(pWidth), SVGBitmapTextureAtlasTextureRegionFactory.applyScaleFactor(pHeight), pSVGColorMapper, SVGBitmapTextureAtlasTextureRegionFactory.sSVGOptions);
+		return TextureRegionFactory.createFromSource(pBitmapTextureAtlas, textureSource, pTexturePositionX, pTexturePositionY, sCreateTextureRegionBuffersManaged);
+	}
+
+	public static TiledTextureRegion createTiledFromResource(final BitmapTextureAtlas pBitmapTextureAtlas, final Context pContext, final int pRawResourceID, final int pWidth, final int pHeight, final ISVGColorMapper pSVGColorMapper, final int pTexturePositionX, final int pTexturePositionY, final int pTileColumns, final int pTileRows) {
+		final IBitmapTextureAtlasSource textureSource = new SVGResourceBitmapTextureAtlasSource(pContext, pRawResourceID, 0, 0, SVGBitmapTextureAtlasTextureRegionFactory.applyScaleFactor(pWidth), SVGBitmapTextureAtlasTextureRegionFactory.applyScaleFactor(pHeight), pSVGColorMapper, SVGBitmapTextureAtlasTextureRegionFactory.sSVGOptions);
+		return TextureRegionFactory.createTiledFromSource(pBitmapTextureAtlas, textureSource, pTexturePositionX, pTexturePositionY, pTileColumns, pTileRows, sCreateTextureRegionBuffersManaged);
+	}
+
+	/**
+	 * @param pSpread the distance in (unscaled) pixels up to which distances are encoded into the signed distance field.
+	 * @param pMultiChannel whether to encode a multi-channel field (MSDF), which keeps corners sharp, instead of a single-channel one.
+	 * @return <code>null</code> if the asset could not be loaded.
+	 */
+	public static TextureRegion createDistanceFieldFromAsset(final BitmapTextureAtlas pBitmapTextureAtlas, final Context pContext, final String pAssetPath, final int pWidth, final int pHeight, final float pSpread, final boolean pMultiChannel, final int pTexturePositionX, final int pTexturePositionY) {
+		final SVGDisplayList svgDisplayList = SVGBitmapTextureAtlasTextureRegionFactory.getSVGDisplayList(pContext, pAssetPath);
+		if(svgDisplayList == null) {
+			return null;
+		}
+		final IBitmapTextureAtlasSource textureSource = new SVGDistanceFieldBitmapTextureAtlasSource(svgDisplayList, 0, 0, SVGBitmapTextureAtlasTextureRegionFactory.applyScaleFactor(pWidth), SVGBitmapTextureAtlasTextureRegionFactory.applyScaleFactor(pHeight), pSpread * SVGBitmapTextureAtlasTextureRegionFactory.sScaleFactor, pMultiChannel, SVGBitmapTextureAtlasTextureRegionFactory.sExecutorService);
+		return TextureRegionFactory.createFromSource(pBitmapTextureAtlas, textureSource, pTexturePositionX, pTexturePositionY, sCreateTextureRegionBuffersManaged);
+	}
+
+	/**
+	 * Renders <code>pSVGDisplayList</code> at <code>pWidth</code> x <code>pHeight</code>, but only stores the rectangle around its non-transparent pixels.
+	 * @return a region of the size of the trimmed rectangle, which knows where it is located within the untrimmed image.
+	 */
+	public static SVGTrimmedTextureRegion createTrimmedFromSVG(final BitmapTextureAtlas pBitmapTextureAtlas, final SVGDisplayList pSVGDisplayList, final int pWidth, final int pHeight, final int pTexturePositionX, final int pTexturePositionY) {
+		final SVGTrimmedBitmapTextureAtlasSource textureSource = new SVGTrimmedBitmapTextureAtlasSource(pSVGDisplayList, 0, 0, SVGBitmapTextureAtlasTextureRegionFactory.applyScaleFactor(pWidth), SVGBitmapTextureAtlasTextureRegionFactory.applyScaleFactor(pHeight));
+		final SVGTrimmedTextureRegion textureRegion = SVGBitmapTextureAtlasTextureRegionFactory.createTrimmedTextureRegion(pBitmapTextureAtlas, textureSource, pTexturePositionX, pTexturePositionY);
+		pBitmapTextureAtlas.addTextureAtlasSource(textureSource, pTexturePositionX, pTexturePositionY);
+		return textureRegion;
+	}
+
+	/**
+	 * @return <code>null</code> if the asset could not be loaded.
+	 * @see SVGBitmapTextureAtlasTextureRegionFactory#createTrimmedFromSVG(BitmapTextureAtlas, SVGDisplayList, int, int, int, int)
+	 */
+	public static SVGTrimmedTextureRegion createTrimmedFromAsset(final BitmapTextureAtlas pBitmapTextureAtlas, final Context pContext, final String pAssetPath, final int pWidth, final int pHeight, final int pTexturePositionX, final int pTexturePositionY) {
+		final SVGDisplayList svgDisplayList = SVGBitmapTextureAtlasTextureRegionFactory.getSVGDisplayList(pContext, pAssetPath);
+		if(svgDisplayList == null) {
+			return null;
+		}
+		return SVGBitmapTextureAtlasTextureRegionFactory.createTrimmedFromSVG(pBitmapTextureAtlas, svgDisplayList, pWidth, pHeight, pTexturePositionX, pTexturePositionY);
+	}
+
+	// ===========================================================
+	// Methods using BuildableTexture
+	// ===========================================================
+
+	public static TextureRegion createFromSVG(final BuildableBitmapTextureAtlas pBuildableBitmapTextureAtlas, final SVG pSVG, final int pWidth, final int pHeight) {
+		final IBitmapTextureAtlasSource textureSource = new SVGBaseBitmapTextureAtlasSource(pSVG, SVGBitmapTextureAtlasTextureRegionFactory.applyScaleFactor(pWidth), SVGBitmapTextureAtlasTextureRegionFactory.applyScaleFactor(pHeight));
+		return BuildableTextureAtlasTextureRegionFactory.createFromSource(pBuildableBitmapTextureAtlas, textureSource, sCreateTextureRegionBuffersManaged);
+	}
+
+	public static TiledTextureRegion createTiledFromSVG(final BuildableBitmapTextureAtlas pBuildableBitmapTextureAtlas, final SVG pSVG, final int pWidth, final int pHeight, final int pTileColumns, final int pTileRows) {
+		final IBitmapTextureAtlasSource textureSource = new SVGBaseBitmapTextureAtlasSource(pSVG, SVGBitmapTextureAtlasTextureRegionFactory.applyScaleFactor(pWidth), SVGBitmapTextureAtlasTextureRegionFactory.applyScaleFactor(pHeight));
+		return BuildableTextureAtlasTextureRegionFactory.createTiledFromSource(pBuildableBitmapTextureAtlas, textureSource, pTileColumns, pTileRows, sCreateTextureRegionBuffersManaged);
+	}
+
+
+	public static TextureRegion createFromAsset(final BuildableBitmapTextureAtlas pBuildableBitmapTextureAtlas, final Context pContext, final String pAssetPath, final int pWidth, final int pHeight) {
+		return SVGBitmapTextureAtlasTextureRegionFactory.createFromAsset(pBuildableBitmapTextureAtlas, pContext, pAssetPath, pWidth, pHeight, null);
+	}
+
+	public static TiledTextureRegion createTiledFromAsset(final BuildableBitmapTextureAtlas pBuildableBitmapTextureAtlas, final Context pContext, final String pAssetPath, final int pWidth, final int pHeight, final int pTileColumns, final int pTileRows) {
+		return SVGBitmapTextureAtlasTextureRegionFactory.createTiledFromAsset(pBuildableBitmapTextureAtlas, pContext, pAssetPath, pWidth, pHeight, null, pTileColumns, pTileRows);
+	}
+
+	public static TextureRegion createFromAsset(final BuildableBitmapTextureAtlas pBuildableBitmapTextureAtlas, final Context pContext, final String pAssetPath, final int pWidth, final int pHeight, final ISVGColorMapper pSVGColorMapper) {
+		final IBitmapTextureAtlasSource textureSource = new SVGAssetBitmapTextureAtlasSource(pContext, SVGBitmapTextureAtlasTextureRegionFactory.sAssetBasePath + pAssetPath, 0, 0, SVGBitmapTextureAtlasTextureRegionFactory.applyScaleFactor(pWidth), SVGBitmapTextureAtlasTextureRegionFactory.applyScaleFactor(pHeight), pSVGColorMapper, SVGBitmapTextureAtlasTextureRegionFactory.sSVGOptions);
+		return BuildableTextureAtlasTextureRegionFactory.createFromSource(pBuildableBitmapTextureAtlas, textureSource, sCreateTextureRegionBuffersManaged);
+	}
+
+	public static TiledTextureRegion createTiledFromAsset(final BuildableBitmapTextureAtlas pBuildableBitmapTextureAtlas, final Context pContext, final String pAssetPath, final int pWidth, final int pHeight, final ISVGColorMapper pSVGColorMapper, final int pTileColumns, final int pTileRows) {
+		final IBitmapTextureAtlasSource textureSource = new SVGAssetBitmapTextureAtlasSource(pContext, SVGBitmapTextureAtlasTextureRegionFactory.sAssetBasePath + pAssetPath, 0, 0, SVGBitmapTextureAtlasTextureRegionFactory.applyScaleFactor(pWidth), SVGBitmapTextureAtlasTextureRegionFactory.applyScaleFactor(pHeight), pSVGColorMapper, SVGBitmapTextureAtlasTextureRegionFactory.sSVGOptions);
+		return BuildableTextureAtlasTextureRegionFactory.createTiledFromSource(pBuildableBitmapTextureAtlas, textureSource, pTileColumns, pTileRows, sCreateTextureRegionBuffersManaged);
+	}
+
+
+	public static TextureRegion createFromResource(final BuildableBitmapTextureAtlas pBuildableBitmapTextureAtlas, final Context pContext, final int pRawResourceID, final int pWidth, final int pHeight) {
+		return SVGBitmapTextureAtlasTextureRegionFactory.createFromResource(pBuildableBitmapTextureAtlas, pContext, pRawResourceID, pWidth, pHeight, null);
+	}
+
+	public static TiledTextureRegion createTiledFromResource(final BuildableBitmapTextureAtlas pBuildableBitmapTextureAtlas, final Context pContext, final int pRawResourceID, final int pWidth, final int pHeight, final int pTileColumns, final int pTileRows) {
+		return SVGBitmapTextureAtlasTextureRegionFactory.createTiledFromResource(pBuildableBitmapTextureAtlas, pContext, pRawResourceID, pWidth, pHeight, null, pTileColumns, pTileRows);
+	}
+
+	public static TextureRegion createFromResource(final BuildableBitmapTextureAtlas pBuildableBitmapTextureAtlas, final Context pContext, final int pRawResourceID, final int pWidth, final int pHeight, final ISVGColorMapper pSVGColorMapper) {
+		final IBitmapTextureAtlasSource textureSource = new SVGResourceBitmapTextureAtlasSource(pContext, pRawResourceID, 0, 0, SVGBitmapTextureAtlasTextureRegionFactory.applyScaleFactor(pWidth), SVGBitmapTextureAtlasTextureRegionFactory.applyScaleFactor(pHeight), pSVGColorMapper, SVGBitmapTextureAtlasTextureRegionFactory.sSVGOptions);
+		return BuildableTextureAtlasTextureRegionFactory.createFromSource(pBuildableBitmapTextureAtlas, textureSource, sCreateTextureRegionBuffersManaged);
+	}
+
+	public static TiledTextureRegion createTiledFromResource(final BuildableBitmapTextureAtlas pBuildableBitmapTextureAtlas, final Context pContext, final int pRawResourceID, final int pWidth, final int pHeight, final ISVGColorMapper pSVGColorMapper, final int pTileColumns, final int pTileRows) {
+		final IBitmapTextureAtlasSource textureSource = new SVGResourceBitmapTextureAtlasSource(pContext, pRawResourceID, 0, 0, SVGBitmapTextureAtlasTextureRegionFactory.applyScaleFactor(pWidth), SVGBitmapTextureAtlasTextureRegionFactory.applyScaleFactor(pHeight), pSVGColorMapper, SVGBitmapTextureAtlasTextureRegionFactory.sSVGOptions);
+		return BuildableTextureAtlasTextureRegionFactory.createTiledFromSource(pBuildableBitmapTextureAtlas, textureSource, pTileColumns, pTileRows, sCreateTextureRegionBuffersManaged);
+	}
+
+	/**
+	 * @param pSpread the distance in (unscaled) pixels up to which distances are encoded into the signed distance field.
+	 * @param pMultiChannel whether to encode a multi-channel field (MSDF), which keeps corners sharp, instead of a single-channel one.
+	 * @return <code>null</code> if the asset could not be loaded.
+	 */
+	public static TextureRegion createDistanceFieldFromAsset(final BuildableBitmapTextureAtlas pBuildableBitmapTextureAtlas, final Context pContext, final String pAssetPath, final int pWidth, final int pHeight, final float pSpread, final boolean pMultiChannel) {
+		final SVGDisplayList svgDisplayList = SVGBitmapTextureAtlasTextureRegionFactory.getSVGDisplayList(pContext, pAssetPath);
+		if(svgDisplayList == null) {
+			return null;
+		}
+		final IBitmapTextureAtlasSource textureSource = new SVGDistanceFieldBitmapTextureAtlasSource(svgDisplayList, 0, 0, SVGBitmapTextureAtlasTextureRegionFactory.applyScaleFactor(pWidth), SVGBitmapTextureAtlasTextureRegionFactory.applyScaleFactor(pHeight), pSpread * SVGBitmapTextureAtlasTextureRegionFactory.sScaleFactor, pMultiChannel, SVGBitmapTextureAtlasTextureRegionFactory.sExecutorService);
+		return BuildableTextureAtlasTextureRegionFactory.createFromSource(pBuildableBitmapTextureAtlas, textureSource, sCreateTextureRegionBuffersManaged);
+	}
+
+	/**
+	 * @see SVGBitmapTextureAtlasTextureRegionFactory#createTrimmedFromSVG(BitmapTextureAtlas, SVGDisplayList, int, int, int, int)
+	 */
+	public static SVGTrimmedTextureRegion createTrimmedFromSVG(final BuildableBitmapTextureAtlas pBuildableBitmapTextureAtlas, final SVGDisplayList pSVGDisplayList, final int pWidth, final int pHeight) {
+		final SVGTrimmedBitmapTextureAtlasSource textureSource = new SVGTrimmedBitmapTextureAtlasSource(pSVGDisplayList, 0, 0, SVGBitmapTextureAtlasTextureRegionFactory.applyScaleFactor(pWidth), SVGBitmapTextureAtlasTextureRegionFactory.applyScaleFactor(pHeight));
+		final SVGTrimmedTextureRegion textureRegion = SVGBitmapTextureAtlasTextureRegionFactory.createTrimmedTextureRegion(pBuildableBitmapTextureAtlas, textureSource, 0, 0);
+		pBuildableBitmapTextureAtlas.addTextureAtlasSource(textureSource, new Callback<IBitmapTextureAtlasSource>() {
+			@Override
+			public void onCallback(final IBitmapTextureAtlasSource pCallbackValue) {
+				textureRegion.setTexturePosition(pCallbackValue.getTexturePositionX(), pCallbackValue.getTexturePositionY());
+			}
+		});
+		return textureRegion;
+	}
+
+	/**
+	 * @return <code>null</code> if the asset could not be loaded.
+	 * @see SVGBitmapTextureAtlasTextureRegionFactory#createTrimmedFromSVG(BitmapTextureAtlas, SVGDisplayList, int, int, int, int)
+	 */
+	public static SVGTrimmedTextureRegion createTrimmedFromAsset(final BuildableBitmapTextureAtlas pBuildableBitmapTextureAtlas, final Context pContext, final String pAssetPath, final int pWidth, final int pHeight) {
+		final SVGDisplayList svgDisplayList = SVGBitmapTextureAtlasTextureRegionFactory.getSVGDisplayList(pContext, pAssetPath);
+		if(svgDisplayList == null) {
+			return null;
+		}
+		return SVGBitmapTextureAtlasTextureRegionFactory.createTrimmedFromSVG(pBuildableBitmapTextureAtlas, svgDisplayList, pWidth, pHeight);
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
@@ -0,0 +1,34 @@
+package org.anddev.andengine.extension.svg.opengl.texture.atlas.bitmap.packer;
+
+/**
+ * Places rectangles within a fixed area, one after the other, without ever moving a rectangle that was already placed.
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 16:37:52 - 03.06.2011
+ */
+public interface ISVGPackingBin {
+	// ===========================================================
+	// Final Fields
+	// ===========================================================
+
+	/** The index of the x coordinate in the placement of {@link ISVGPackingBin#insert(int, int, boolean, int[])}. */
+	public static final int PLACEMENT_X = 0;
+	/** The index of the y coordinate in the placement of {@link ISVGPackingBin#insert(int, int, boolean, int[])}. */
+	public static final int PLACEMENT_Y = 1;
+	/** The index of the rotation flag in the placement of {@link ISVGPackingBin#insert(int, int, boolean, int[])}, which is <code>1</code> if the rectangle was placed as <code>pHeight</code> x <code>pWidth</code>. */
+	public static final int PLACEMENT_ROTATED = 2;
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	/**
+	 * @param pRotationAllowed whether the rectangle may be placed rotated by 90 degrees, if that fits better.
+	 * @param pPlacement receives the <code>x, y, rotated</code> of the placed rectangle, see {@link ISVGPackingBin#PLACEMENT_X}.
+	 * @return <code>false</code> if the rectangle does not fit anywhere, in which case <code>pPlacement</code> is left untouched.
+	 */
+	public boolean insert(final int pWidth, final int pHeight, final boolean pRotationAllowed, final int[] pPlacement);
+}
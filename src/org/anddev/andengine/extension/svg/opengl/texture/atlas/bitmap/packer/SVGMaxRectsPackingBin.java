@@ -0,0 +1,264 @@
+package org.anddev.andengine.extension.svg.opengl.texture.atlas.bitmap.packer;
+
+/**
+ * Keeps the maximal free rectangles of the area, which may overlap each other, and places every rectangle into the free rectangle that scores best for the chosen heuristic.
+ * After every placement, the free rectangles intersecting the placed one are split into the up to four maximal rectangles around it, and free rectangles contained in others are dropped.
+ * The free rectangles are kept in a flat array, which is only reallocated when it runs out of space.
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 16:52:10 - 03.06.2011
+ */
+public class SVGMaxRectsPackingBin implements ISVGPackingBin {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	/** Minimizes the shorter leftover side of the free rectangle, then the longer one. */
+	public static final int HEURISTIC_BEST_SHORT_SIDE_FIT = 0;
+	/** Minimizes the longer leftover side of the free rectangle, then the shorter one. */
+	public static final int HEURISTIC_BEST_LONG_SIDE_FIT = 1;
+	/** Minimizes the leftover area of the free rectangle, then the shorter leftover side. */
+	public static final int HEURISTIC_BEST_AREA_FIT = 2;
+	/** Minimizes the bottom edge of the placed rectangle, then its left edge. */
+	public static final int HEURISTIC_BOTTOM_LEFT = 3;
+
+	/** The number of ints per free rectangle: <code>x, y, width, height</code>. */
+	private static final int RECTANGLE_SIZE = 4;
+
+	private static final int FREE_RECTANGLE_CAPACITY_INITIAL = 32;
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private final int mWidth;
+	private final int mHeight;
+	private final int mHeuristic;
+
+	private int[] mFreeRectangles = new int[SVGMaxRectsPackingBin.RECTANGLE_SIZE * SVGMaxRectsPackingBin.FREE_RECTANGLE_CAPACITY_INITIAL];
+	private int mFreeRectangleCount;
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	/**
+	 * @param pHeuristic one of {@link SVGMaxRectsPackingBin#HEURISTIC_BEST_SHORT_SIDE_FIT}, {@link SVGMaxRectsPackingBin#HEURISTIC_BEST_LONG_SIDE_FIT}, {@link SVGMaxRectsPackingBin#HEURISTIC_BEST_AREA_FIT} or {@link SVGMaxRectsPackingBin#HEURISTIC_BOTTOM_LEFT}.
+	 */
+	public SVGMaxRectsPackingBin(final int pWidth, final int pHeight, final int pHeuristic) {
+		if(pHeuristic < SVGMaxRectsPackingBin.HEURISTIC_BEST_SHORT_SIDE_FIT || pHeuristic > SVGMaxRectsPackingBin.HEURISTIC_BOTTOM_LEFT) {
+			throw new IllegalArgumentException("Unexpected heuristic: '" + pHeuristic + "'.");
+		}
+		this.mWidth = pWidth;
+		this.mHeight = pHeight;
+		this.mHeuristic = pHeuristic;
+
+		this.addFreeRectangle(0, 0, pWidth, pHeight);
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	public int getWidth() {
+		return this.mWidth;
+	}
+
+	public int getHeight() {
+		return this.mHeight;
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	@Override
+	public boolean insert(final int pWidth, final int pHeight, final boolean pRotationAllowed, final int[] pPlacement) {
+		final int[] freeRectangles = this.mFreeRectangles;
+
+		int bestX = 0;
+		int bestY = 0;
+		boolean bestRotated = false;
+		long bestScorePrimary = Long.MAX_VALUE;
+		long bestScoreSecondary = Long.MAX_VALUE;
+
+		final boolean tryRotated = pRotationAllowed && pWidth != pHeight;
+		for(int i = 0; i < this.mFreeRectangleCount; i++) {
+			final int offset = SVGMaxRectsPackingBin.RECTANGLE_SIZE * i;
+			final int freeX = freeRectangles[offset];
+			final int freeY = freeRectangles[offset + 1];
+			final int freeWidth = freeRectangles[offset + 2];
+			final int freeHeight = freeRectangles[offset + 3];
+
+			for(int orientation = 0; orientation < (tryRotated ? 2 : 1); orientation++) {
+				final boolean rotated = orientation == 1;
+				final int width = rotated ? pHeight : pWidth;
+				final int height = rotated ? pWidth : pHeight;
+				if(width > freeWidth || height > freeHeight) {
+					continue;
+				}
+
+				final int leftoverHorizontal = freeWidth - width;
+				final int leftoverVertical = freeHeight - height;
+				final long scorePrimary;
+				final long scoreSecondary;
+				switch(this.mHeuristic) {
+					case SVGMaxRectsPackingBin.HEURISTIC_BEST_SHORT_SIDE_FIT:
+						scorePrimary = Math.min(leftoverHorizontal, leftoverVertical);
+						scoreSecondary = Math.max(leftoverHorizontal, leftoverVertical);
+						break;
+					case SVGMaxRectsPackingBin.HEURISTIC_BEST_LONG_SIDE_FIT:
+						scorePrimary = Math.max(leftoverHorizontal, leftoverVertical);
+						scoreSecondary = Math.min(leftoverHorizontal, leftoverVertical);
+						break;
+					case SVGMaxRectsPackingBin.HEURISTIC_BEST_AREA_FIT:
+						scorePrimary = (long) freeWidth * freeHeight - (long) width * height;
+						scoreSecondary = Math.min(leftoverHorizontal, leftoverVertical);
+						break;
+					case SVGMaxRectsPackingBin.HEURISTIC_BOTTOM_LEFT:
+					default:
+						scorePrimary = freeY + height;
+						scoreSecondary = freeX;
+						break;
+				}
+
+				if(scorePrimary < bestScorePrimary || (scorePrimary == bestScorePrimary && scoreSecondary < bestScoreSecondary)) {
+					bestX = freeX;
+					bestY = freeY;
+					bestRotated = rotated;
+					bestScorePrimary = scorePrimary;
+					bestScoreSecondary = scoreSecondary;
+				}
+			}
+		}
+
+		if(bestScorePrimary == Long.MAX_VALUE) {
+			return false;
+		}
+
+		final int placedWidth = bestRotated ? pHeight : pWidth;
+		final int placedHeight = bestRotated ? pWidth : pHeight;
+		this.splitFreeRectangles(bestX, bestY, placedWidth, placedHeight);
+		this.pruneFreeRectangles();
+
+		pPlacement[ISVGPackingBin.PLACEMENT_X] = bestX;
+		pPlacement[ISVGPackingBin.PLACEMENT_Y] = bestY;
+		pPlacement[ISVGPackingBin.PLACEMENT_ROTATED] = bestRotated ? 1 : 0;
+		return true;
+	}
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	/**
+	 * Replaces every free rectangle that intersects the placed rectangle with the maximal free rectangles left, above, right and below of it.
+	 * New rectangles are appended, so only the free rectangles that existed before are visited.
+	 */
+	private void splitFreeRectangles(final int pX, final int pY, final int pWidth, final int pHeight) {
+		final int right = pX + pWidth;
+		final int bottom = pY + pHeight;
+
+		int i = 0;
+		int count = this.mFreeRectangleCount;
+		while(i < count) {
+			final int offset = SVGMaxRectsPackingBin.RECTANGLE_SIZE * i;
+			final int freeX = this.mFreeRectangles[offset];
+			final int freeY = this.mFreeRectangles[offset + 1];
+			final int freeRight = freeX + this.mFreeRectangles[offset + 2];
+			final int freeBottom = freeY + this.mFreeRectangles[offset + 3];
+
+			if(pX >= freeRight || right <= freeX || pY >= freeBottom || bottom <= freeY) {
+				i++;
+				continue;
+			}
+
+			if(pX > freeX) {
+				this.addFreeRectangle(freeX, freeY, pX - freeX, freeBottom - freeY);
+			}
+			if(right < freeRight) {
+				this.addFreeRectangle(right, freeY, freeRight - right, freeBottom - freeY);
+			}
+			if(pY > freeY) {
+				this.addFreeRectangle(freeX, freeY, freeRight - freeX, pY - freeY);
+			}
+			if(bottom < freeBottom) {
+				this.addFreeRectangle(freeX, bottom, freeRight - freeX, freeBottom - bottom);
+			}
+
+			this.removeFreeRectangle(i);
+			count--;
+		}
+	}
+
+	/**
+	 * Drops every free rectangle that is contained in another one. Of two equal rectangles, the first one is kept.
+	 */
+	private void pruneFreeRectangles() {
+		final int[] freeRectangles = this.mFreeRectangles;
+		int i = 0;
+		while(i < this.mFreeRectangleCount) {
+			final int offsetA = SVGMaxRectsPackingBin.RECTANGLE_SIZE * i;
+			boolean removedA = false;
+
+			int j = i + 1;
+			while(j < this.mFreeRectangleCount) {
+				final int offsetB = SVGMaxRectsPackingBin.RECTANGLE_SIZE * j;
+				if(SVGMaxRectsPackingBin.contains(freeRectangles, offsetA, offsetB)) {
+					this.removeFreeRectangle(j);
+				} else if(SVGMaxRectsPackingBin.contains(freeRectangles, offsetB, offsetA)) {
+					this.removeFreeRectangle(i);
+					removedA = true;
+					break;
+				} else {
+					j++;
+				}
+			}
+
+			if(!removedA) {
+				i++;
+			}
+		}
+	}
+
+	private static boolean contains(final int[] pRectangles, final int pOuterOffset, final int pInnerOffset) {
+		final int outerX = pRectangles[pOuterOffset];
+		final int outerY = pRectangles[pOuterOffset + 1];
+		final int innerX = pRectangles[pInnerOffset];
+		final int innerY = pRectangles[pInnerOffset + 1];
+		return innerX >= outerX && innerY >= outerY
+				&& innerX + pRectangles[pInnerOffset + 2] <= outerX + pRectangles[pOuterOffset + 2]
+				&& innerY + pRectangles[pInnerOffset + 3] <= outerY + pRectangles[pOuterOffset + 3];
+	}
+
+	private void addFreeRectangle(final int pX, final int pY, final int pWidth, final int pHeight) {
+		final int offset = SVGMaxRectsPackingBin.RECTANGLE_SIZE * this.mFreeRectangleCount;
+		if(offset == this.mFreeRectangles.length) {
+			final int[] freeRectangles = new int[2 * this.mFreeRectangles.length];
+			System.arraycopy(this.mFreeRectangles, 0, freeRectangles, 0, offset);
+			this.mFreeRectangles = freeRectangles;
+		}
+		this.mFreeRectangles[offset] = pX;
+		this.mFreeRectangles[offset + 1] = pY;
+		this.mFreeRectangles[offset + 2] = pWidth;
+		this.mFreeRectangles[offset + 3] = pHeight;
+		this.mFreeRectangleCount++;
+	}
+
+	/**
+	 * Keeps the order of the remaining free rectangles, so ties are always resolved the same way.
+	 */
+	private void removeFreeRectangle(final int pIndex) {
+		final int offset = SVGMaxRectsPackingBin.RECTANGLE_SIZE * pIndex;
+		final int end = SVGMaxRectsPackingBin.RECTANGLE_SIZE * this.mFreeRectangleCount;
+		System.arraycopy(this.mFreeRectangles, offset + SVGMaxRectsPackingBin.RECTANGLE_SIZE, this.mFreeRectangles, offset, end - offset - SVGMaxRectsPackingBin.RECTANGLE_SIZE);
+		this.mFreeRectangleCount--;
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
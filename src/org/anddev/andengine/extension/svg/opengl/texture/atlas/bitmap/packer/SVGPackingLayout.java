@@ -0,0 +1,250 @@
+package org.anddev.andengine.extension.svg.opengl.texture.atlas.bitmap.packer;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Places images of known sizes into as many pages of a fixed size as needed, without depending on any Android or AndEngine class, so it can also be used offline.
+ * The images are placed from the largest to the smallest, ordered by their longer side, shorter side and name.
+ * Every image goes into the first page it fits into, a new page is started only when it fits into none, so the same images always end up in the same places.
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 09:41:55 - 04.06.2011
+ */
+public class SVGPackingLayout {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	/** @see SVGMaxRectsPackingBin#HEURISTIC_BEST_SHORT_SIDE_FIT */
+	public static final int HEURISTIC_MAXRECTS_BEST_SHORT_SIDE_FIT = 0;
+	/** @see SVGMaxRectsPackingBin#HEURISTIC_BEST_LONG_SIDE_FIT */
+	public static final int HEURISTIC_MAXRECTS_BEST_LONG_SIDE_FIT = 1;
+	/** @see SVGMaxRectsPackingBin#HEURISTIC_BEST_AREA_FIT */
+	public static final int HEURISTIC_MAXRECTS_BEST_AREA_FIT = 2;
+	/** @see SVGMaxRectsPackingBin#HEURISTIC_BOTTOM_LEFT */
+	public static final int HEURISTIC_MAXRECTS_BOTTOM_LEFT = 3;
+	/** @see SVGSkylinePackingBin */
+	public static final int HEURISTIC_SKYLINE_BOTTOM_LEFT = 4;
+
+	private static final int PADDING_DEFAULT = 1;
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private final int mPageWidth;
+	private final int mPageHeight;
+
+	private int mHeuristic = SVGPackingLayout.HEURISTIC_MAXRECTS_BEST_SHORT_SIDE_FIT;
+	private int mPadding = SVGPackingLayout.PADDING_DEFAULT;
+	private boolean mRotationAllowed;
+
+	private int mPageCount;
+	private int[] mPages;
+	private int[] mX;
+	private int[] mY;
+	private boolean[] mRotated;
+	private float[] mOccupancies;
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	/**
+	 * @param pPageWidth the width of every page.
+	 * @param pPageHeight the height of every page.
+	 */
+	public SVGPackingLayout(final int pPageWidth, final int pPageHeight) {
+		if(pPageWidth <= 0 || pPageHeight <= 0) {
+			throw new IllegalArgumentException("pPageWidth and pPageHeight must be greater than zero.");
+		}
+		this.mPageWidth = pPageWidth;
+		this.mPageHeight = pPageHeight;
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	public int getPageWidth() {
+		return this.mPageWidth;
+	}
+
+	public int getPageHeight() {
+		return this.mPageHeight;
+	}
+
+	/**
+	 * @param pHeuristic one of the <code>HEURISTIC_*</code> constants. Defaults to {@link SVGPackingLayout#HEURISTIC_MAXRECTS_BEST_SHORT_SIDE_FIT}.
+	 */
+	public void setHeuristic(final int pHeuristic) {
+		if(pHeuristic < SVGPackingLayout.HEURISTIC_MAXRECTS_BEST_SHORT_SIDE_FIT || pHeuristic > SVGPackingLayout.HEURISTIC_SKYLINE_BOTTOM_LEFT) {
+			throw new IllegalArgumentException("Unexpected heuristic: '" + pHeuristic + "'.");
+		}
+		this.mHeuristic = pHeuristic;
+	}
+
+	/**
+	 * @param pPadding the number of pixels kept free between two images, so they do not bleed into each other when the texture is filtered. Defaults to <code>1</code>.
+	 */
+	public void setPadding(final int pPadding) {
+		this.mPadding = Math.max(0, pPadding);
+	}
+
+	/**
+	 * @param pRotationAllowed whether images may be placed rotated by 90 degrees clockwise. Defaults to <code>false</code>.
+	 */
+	public void setRotationAllowed(final boolean pRotationAllowed) {
+		this.mRotationAllowed = pRotationAllowed;
+	}
+
+	/**
+	 * @return the number of pages used by the last {@link SVGPackingLayout#layout(String[], int[], int[])}.
+	 */
+	public int getPageCount() {
+		return this.mPageCount;
+	}
+
+	/**
+	 * @return the fraction of the area of page <code>pPage</code> that is covered by images, excluding padding.
+	 */
+	public float getOccupancy(final int pPage) {
+		return this.mOccupancies[pPage];
+	}
+
+	public int getPage(final int pIndex) {
+		return this.mPages[pIndex];
+	}
+
+	public int getX(final int pIndex) {
+		return this.mX[pIndex];
+	}
+
+	public int getY(final int pIndex) {
+		return this.mY[pIndex];
+	}
+
+	/**
+	 * @return whether the image at <code>pIndex</code> was placed rotated by 90 degrees clockwise, so it takes up <code>height</code> x <code>width</code> pixels.
+	 */
+	public boolean isRotated(final int pIndex) {
+		return this.mRotated[pIndex];
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	/**
+	 * Places the images, whose placements can then be retrieved by their index in the arguments.
+	 *
+	 * @param pNames used to order images of the same size, so must be unique.
+	 * @throws IllegalStateException if an image is larger than a page.
+	 */
+	public void layout(final String[] pNames, final int[] pWidths, final int[] pHeights) {
+		final int count = pNames.length;
+
+		final Integer[] order = new Integer[count];
+		for(int i = 0; i < count; i++) {
+			order[i] = Integer.valueOf(i);
+		}
+		Arrays.sort(order, new Comparator<Integer>() {
+			@Override
+			public int compare(final Integer pIndexA, final Integer pIndexB) {
+				final int indexA = pIndexA.intValue();
+				final int indexB = pIndexB.intValue();
+				final int longerSideA = Math.max(pWidths[indexA], pHeights[indexA]);
+				final int longerSideB = Math.max(pWidths[indexB], pHeights[indexB]);
+				final int shorterSideA = Math.min(pWidths[indexA], pHeights[indexA]);
+				final int shorterSideB = Math.min(pWidths[indexB], pHeights[indexB]);
+				if(longerSideA != longerSideB) {
+					return longerSideB - longerSideA;
+				} else if(shorterSideA != shorterSideB) {
+					return shorterSideB - shorterSideA;
+				} else {
+					return pNames[indexA].compareTo(pNames[indexB]);
+				}
+			}
+		});
+
+		/* Padding is added to the right and bottom of every image, so the bins are larger by the padding to make up for the last row and column. */
+		final int padding = this.mPadding;
+		final int binWidth = this.mPageWidth + padding;
+		final int binHeight = this.mPageHeight + padding;
+
+		this.mPages = new int[count];
+		this.mX = new int[count];
+		this.mY = new int[count];
+		this.mRotated = new boolean[count];
+
+		ISVGPackingBin[] svgPackingBins = new ISVGPackingBin[4];
+		int binCount = 0;
+		final int[] placement = new int[3];
+		for(int i = 0; i < count; i++) {
+			final int index = order[i].intValue();
+			final int width = pWidths[index] + padding;
+			final int height = pHeights[index] + padding;
+			final boolean fitsUnrotated = width <= binWidth && height <= binHeight;
+			final boolean fitsRotated = this.mRotationAllowed && height <= binWidth && width <= binHeight;
+			if(!fitsUnrotated && !fitsRotated) {
+				throw new IllegalStateException("The image named '" + pNames[index] + "' (" + pWidths[index] + "x" + pHeights[index] + ") does not fit into a page of " + this.mPageWidth + "x" + this.mPageHeight + ".");
+			}
+
+			int bin = 0;
+			while(bin < binCount && !svgPackingBins[bin].insert(width, height, this.mRotationAllowed, placement)) {
+				bin++;
+			}
+			if(bin == binCount) {
+				if(binCount == svgPackingBins.length) {
+					final ISVGPackingBin[] grown = new ISVGPackingBin[2 * binCount];
+					System.arraycopy(svgPackingBins, 0, grown, 0, binCount);
+					svgPackingBins = grown;
+				}
+				svgPackingBins[binCount] = this.createPackingBin(binWidth, binHeight);
+				svgPackingBins[binCount].insert(width, height, this.mRotationAllowed, placement);
+				binCount++;
+			}
+
+			this.mPages[index] = bin;
+			this.mX[index] = placement[ISVGPackingBin.PLACEMENT_X];
+			this.mY[index] = placement[ISVGPackingBin.PLACEMENT_Y];
+			this.mRotated[index] = placement[ISVGPackingBin.PLACEMENT_ROTATED] != 0;
+		}
+
+		this.mPageCount = binCount;
+		this.mOccupancies = new float[binCount];
+		final float pageArea = (float) this.mPageWidth * this.mPageHeight;
+		for(int i = 0; i < count; i++) {
+			this.mOccupancies[this.mPages[i]] += pWidths[i] * pHeights[i] / pageArea;
+		}
+	}
+
+	private ISVGPackingBin createPackingBin(final int pWidth, final int pHeight) {
+		switch(this.mHeuristic) {
+			case SVGPackingLayout.HEURISTIC_MAXRECTS_BEST_SHORT_SIDE_FIT:
+				return new SVGMaxRectsPackingBin(pWidth, pHeight, SVGMaxRectsPackingBin.HEURISTIC_BEST_SHORT_SIDE_FIT);
+			case SVGPackingLayout.HEURISTIC_MAXRECTS_BEST_LONG_SIDE_FIT:
+				return new SVGMaxRectsPackingBin(pWidth, pHeight, SVGMaxRectsPackingBin.HEURISTIC_BEST_LONG_SIDE_FIT);
+			case SVGPackingLayout.HEURISTIC_MAXRECTS_BEST_AREA_FIT:
+				return new SVGMaxRectsPackingBin(pWidth, pHeight, SVGMaxRectsPackingBin.HEURISTIC_BEST_AREA_FIT);
+			case SVGPackingLayout.HEURISTIC_MAXRECTS_BOTTOM_LEFT:
+				return new SVGMaxRectsPackingBin(pWidth, pHeight, SVGMaxRectsPackingBin.HEURISTIC_BOTTOM_LEFT);
+			case SVGPackingLayout.HEURISTIC_SKYLINE_BOTTOM_LEFT:
+				return new SVGSkylinePackingBin(pWidth, pHeight);
+			default:
+				throw new IllegalArgumentException("Unexpected heuristic: '" + this.mHeuristic + "'.");
+		}
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
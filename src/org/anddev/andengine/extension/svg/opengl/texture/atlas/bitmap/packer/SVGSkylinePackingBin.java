@@ -0,0 +1,200 @@
+package org.anddev.andengine.extension.svg.opengl.texture.atlas.bitmap.packer;
+
+/**
+ * Keeps only the skyline of the area, the top edge of the rectangles placed so far, and places every rectangle where its bottom edge ends up lowest, then leftmost.
+ * Space below the skyline is never reused, which wastes more area than {@link SVGMaxRectsPackingBin}, but placing a rectangle is linear in the number of skyline segments.
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 17:24:46 - 03.06.2011
+ */
+public class SVGSkylinePackingBin implements ISVGPackingBin {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	private static final int SEGMENT_CAPACITY_INITIAL = 32;
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private final int mWidth;
+	private final int mHeight;
+
+	/* The skyline segments from left to right, which always cover the whole width. */
+	private int[] mSegmentX = new int[SVGSkylinePackingBin.SEGMENT_CAPACITY_INITIAL];
+	private int[] mSegmentY = new int[SVGSkylinePackingBin.SEGMENT_CAPACITY_INITIAL];
+	private int[] mSegmentWidth = new int[SVGSkylinePackingBin.SEGMENT_CAPACITY_INITIAL];
+	private int mSegmentCount;
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	public SVGSkylinePackingBin(final int pWidth, final int pHeight) {
+		this.mWidth = pWidth;
+		this.mHeight = pHeight;
+
+		this.mSegmentX[0] = 0;
+		this.mSegmentY[0] = 0;
+		this.mSegmentWidth[0] = pWidth;
+		this.mSegmentCount = 1;
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	public int getWidth() {
+		return this.mWidth;
+	}
+
+	public int getHeight() {
+		return this.mHeight;
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	@Override
+	public boolean insert(final int pWidth, final int pHeight, final boolean pRotationAllowed, final int[] pPlacement) {
+		int bestSegment = -1;
+		int bestY = 0;
+		int bestBottom = Integer.MAX_VALUE;
+		int bestSegmentWidth = Integer.MAX_VALUE;
+		boolean bestRotated = false;
+
+		final boolean tryRotated = pRotationAllowed && pWidth != pHeight;
+		for(int i = 0; i < this.mSegmentCount; i++) {
+			for(int orientation = 0; orientation < (tryRotated ? 2 : 1); orientation++) {
+				final boolean rotated = orientation == 1;
+				final int width = rotated ? pHeight : pWidth;
+				final int height = rotated ? pWidth : pHeight;
+
+				final int y = this.fit(i, width, height);
+				if(y < 0) {
+					continue;
+				}
+
+				final int bottom = y + height;
+				if(bottom < bestBottom || (bottom == bestBottom && this.mSegmentWidth[i] < bestSegmentWidth)) {
+					bestSegment = i;
+					bestY = y;
+					bestBottom = bottom;
+					bestSegmentWidth = this.mSegmentWidth[i];
+					bestRotated = rotated;
+				}
+			}
+		}
+
+		if(bestSegment < 0) {
+			return false;
+		}
+
+		final int x = this.mSegmentX[bestSegment];
+		final int placedWidth = bestRotated ? pHeight : pWidth;
+		this.raise(bestSegment, x, bestBottom, placedWidth);
+
+		pPlacement[ISVGPackingBin.PLACEMENT_X] = x;
+		pPlacement[ISVGPackingBin.PLACEMENT_Y] = bestY;
+		pPlacement[ISVGPackingBin.PLACEMENT_ROTATED] = bestRotated ? 1 : 0;
+		return true;
+	}
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	/**
+	 * @return the lowest y at which a rectangle starting at the left edge of segment <code>pSegment</code> rests on the skyline, or <code>-1</code> if it does not fit there.
+	 */
+	private int fit(final int pSegment, final int pWidth, final int pHeight) {
+		final int x = this.mSegmentX[pSegment];
+		if(x + pWidth > this.mWidth) {
+			return -1;
+		}
+
+		int y = 0;
+		int widthLeft = pWidth;
+		int segment = pSegment;
+		while(widthLeft > 0) {
+			y = Math.max(y, this.mSegmentY[segment]);
+			if(y + pHeight > this.mHeight) {
+				return -1;
+			}
+			widthLeft -= this.mSegmentWidth[segment];
+			segment++;
+		}
+		return y;
+	}
+
+	/**
+	 * Inserts a segment at <code>pY</code> spanning the placed rectangle and shortens or removes the segments it covers.
+	 */
+	private void raise(final int pSegment, final int pX, final int pY, final int pWidth) {
+		this.insertSegment(pSegment, pX, pY, pWidth);
+
+		final int right = pX + pWidth;
+		final int next = pSegment + 1;
+		while(next < this.mSegmentCount && this.mSegmentX[next] < right) {
+			final int segmentRight = this.mSegmentX[next] + this.mSegmentWidth[next];
+			if(segmentRight <= right) {
+				this.removeSegment(next);
+			} else {
+				this.mSegmentX[next] = right;
+				this.mSegmentWidth[next] = segmentRight - right;
+				break;
+			}
+		}
+
+		/* Merge neighbours at the same height, so the skyline does not fragment. */
+		int i = 0;
+		while(i < this.mSegmentCount - 1) {
+			if(this.mSegmentY[i] == this.mSegmentY[i + 1]) {
+				this.mSegmentWidth[i] += this.mSegmentWidth[i + 1];
+				this.removeSegment(i + 1);
+			} else {
+				i++;
+			}
+		}
+	}
+
+	private void insertSegment(final int pIndex, final int pX, final int pY, final int pWidth) {
+		if(this.mSegmentCount == this.mSegmentX.length) {
+			final int capacity = 2 * this.mSegmentCount;
+			this.mSegmentX = SVGSkylinePackingBin.grow(this.mSegmentX, capacity);
+			this.mSegmentY = SVGSkylinePackingBin.grow(this.mSegmentY, capacity);
+			this.mSegmentWidth = SVGSkylinePackingBin.grow(this.mSegmentWidth, capacity);
+		}
+		final int moved = this.mSegmentCount - pIndex;
+		System.arraycopy(this.mSegmentX, pIndex, this.mSegmentX, pIndex + 1, moved);
+		System.arraycopy(this.mSegmentY, pIndex, this.mSegmentY, pIndex + 1, moved);
+		System.arraycopy(this.mSegmentWidth, pIndex, this.mSegmentWidth, pIndex + 1, moved);
+		this.mSegmentX[pIndex] = pX;
+		this.mSegmentY[pIndex] = pY;
+		this.mSegmentWidth[pIndex] = pWidth;
+		this.mSegmentCount++;
+	}
+
+	private void removeSegment(final int pIndex) {
+		final int moved = this.mSegmentCount - pIndex - 1;
+		System.arraycopy(this.mSegmentX, pIndex + 1, this.mSegmentX, pIndex, moved);
+		System.arraycopy(this.mSegmentY, pIndex + 1, this.mSegmentY, pIndex, moved);
+		System.arraycopy(this.mSegmentWidth, pIndex + 1, this.mSegmentWidth, pIndex, moved);
+		this.mSegmentCount--;
+	}
+
+	private static int[] grow(final int[] pArray, final int pCapacity) {
+		final int[] array = new int[pCapacity];
+		System.arraycopy(pArray, 0, array, 0, pArray.length);
+		return array;
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
@@ -0,0 +1,82 @@
+package org.anddev.andengine.extension.svg.opengl.texture.atlas.bitmap.packer;
+
+import java.util.HashMap;
+
+import org.anddev.andengine.extension.svg.opengl.texture.region.SVGPackedTextureRegion;
+import org.anddev.andengine.opengl.texture.atlas.bitmap.BitmapTextureAtlas;
+
+/**
+ * The texture atlases created by {@link SVGTextureAtlasPacker#pack(org.anddev.andengine.opengl.texture.TextureOptions)}, with the regions of all SVGs packed into them.
+ * The atlases still have to be loaded, i.e. by the <code>TextureManager</code>.
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 18:12:37 - 03.06.2011
+ */
+public class SVGTextureAtlasPack {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private final BitmapTextureAtlas[] mBitmapTextureAtlases;
+	private final float[] mOccupancies;
+	private final HashMap<String, SVGPackedTextureRegion> mTextureRegionsByName;
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	SVGTextureAtlasPack(final BitmapTextureAtlas[] pBitmapTextureAtlases, final float[] pOccupancies, final HashMap<String, SVGPackedTextureRegion> pTextureRegionsByName) {
+		this.mBitmapTextureAtlases = pBitmapTextureAtlases;
+		this.mOccupancies = pOccupancies;
+		this.mTextureRegionsByName = pTextureRegionsByName;
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	public int getBitmapTextureAtlasCount() {
+		return this.mBitmapTextureAtlases.length;
+	}
+
+	public BitmapTextureAtlas getBitmapTextureAtlas(final int pIndex) {
+		return this.mBitmapTextureAtlases[pIndex];
+	}
+
+	public BitmapTextureAtlas[] getBitmapTextureAtlases() {
+		return this.mBitmapTextureAtlases;
+	}
+
+	/**
+	 * @return the fraction of the area of the texture atlas at <code>pIndex</code> that is covered by images, excluding padding.
+	 */
+	public float getOccupancy(final int pIndex) {
+		return this.mOccupancies[pIndex];
+	}
+
+	/**
+	 * @return the region of the SVG that was added to the {@link SVGTextureAtlasPacker} as <code>pName</code>, or <code>null</code> if there is none.
+	 */
+	public SVGPackedTextureRegion getTextureRegion(final String pName) {
+		return this.mTextureRegionsByName.get(pName);
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
@@ -0,0 +1,254 @@
+package org.anddev.andengine.extension.svg.opengl.texture.atlas.bitmap.packer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import org.anddev.andengine.extension.svg.backend.SVGDisplayList;
+import org.anddev.andengine.extension.svg.backend.raster.SVGRasterBackend;
+import org.anddev.andengine.extension.svg.opengl.texture.atlas.bitmap.source.SVGPixelsBitmapTextureAtlasSource;
+import org.anddev.andengine.extension.svg.opengl.texture.atlas.bitmap.source.SVGTrimmedBitmapTextureAtlasSource;
+import org.anddev.andengine.extension.svg.opengl.texture.region.SVGPackedTextureRegion;
+import org.anddev.andengine.extension.svg.util.SVGPixelUtils;
+import org.anddev.andengine.opengl.texture.TextureOptions;
+import org.anddev.andengine.opengl.texture.atlas.bitmap.BitmapTextureAtlas;
+
+/**
+ * Packs SVGs into as many texture atlases of a fixed size as needed, based on the size they are actually rendered at instead of a size guessed upfront.
+ * Every SVG is rendered first, so it can be trimmed to its non-transparent pixels, then the SVGs are placed by a {@link SVGPackingLayout}, so the same SVGs always end up in the same places.
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 18:31:20 - 03.06.2011
+ */
+public class SVGTextureAtlasPacker {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private final SVGPackingLayout mSVGPackingLayout;
+	private boolean mTrimming = true;
+
+	private final ArrayList<SVGPackerEntry> mSVGPackerEntries = new ArrayList<SVGPackerEntry>();
+	private final HashMap<String, SVGPackerEntry> mSVGPackerEntriesByName = new HashMap<String, SVGPackerEntry>();
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	/**
+	 * @param pAtlasWidth the width of every texture atlas that is created.
+	 * @param pAtlasHeight the height of every texture atlas that is created.
+	 */
+	public SVGTextureAtlasPacker(final int pAtlasWidth, final int pAtlasHeight) {
+		this.mSVGPackingLayout = new SVGPackingLayout(pAtlasWidth, pAtlasHeight);
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	/**
+	 * @see SVGPackingLayout#setHeuristic(int)
+	 */
+	public void setHeuristic(final int pHeuristic) {
+		this.mSVGPackingLayout.setHeuristic(pHeuristic);
+	}
+
+	/**
+	 * @see SVGPackingLayout#setPadding(int)
+	 */
+	public void setPadding(final int pPadding) {
+		this.mSVGPackingLayout.setPadding(pPadding);
+	}
+
+	/**
+	 * @param pRotationAllowed whether images may be stored rotated by 90 degrees, see {@link SVGPackedTextureRegion#isRotated()}. Defaults to <code>false</code>.
+	 */
+	public void setRotationAllowed(final boolean pRotationAllowed) {
+		this.mSVGPackingLayout.setRotationAllowed(pRotationAllowed);
+	}
+
+	/**
+	 * @param pTrimming whether transparent borders are trimmed off the images, see {@link SVGTrimmedBitmapTextureAtlasSource}. Defaults to <code>true</code>.
+	 */
+	public void setTrimming(final boolean pTrimming) {
+		this.mTrimming = pTrimming;
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	/**
+	 * Adds <code>pSVGDisplayList</code> at its document size multiplied by <code>pScale</code>.
+	 *
+	 * @param pName the name the region can be retrieved by from the {@link SVGTextureAtlasPack}.
+	 */
+	public void addSVG(final String pName, final SVGDisplayList pSVGDisplayList, final float pScale) {
+		final int width = Math.max(1, (int) Math.ceil(pSVGDisplayList.getWidth() * pScale));
+		final int height = Math.max(1, (int) Math.ceil(pSVGDisplayList.getHeight() * pScale));
+		this.addSVG(pName, pSVGDisplayList, width, height);
+	}
+
+	/**
+	 * Adds <code>pSVGDisplayList</code> stretched to <code>pWidth</code> x <code>pHeight</code>.
+	 *
+	 * @param pName the name the region can be retrieved by from the {@link SVGTextureAtlasPack}.
+	 */
+	public void addSVG(final String pName, final SVGDisplayList pSVGDisplayList, final int pWidth, final int pHeight) {
+		if(this.mSVGPackerEntriesByName.containsKey(pName)) {
+			throw new IllegalArgumentException("An SVG named '" + pName + "' was already added.");
+		}
+		final SVGPackerEntry svgPackerEntry = new SVGPackerEntry(pName, pSVGDisplayList, pWidth, pHeight);
+		this.mSVGPackerEntries.add(svgPackerEntry);
+		this.mSVGPackerEntriesByName.put(pName, svgPackerEntry);
+	}
+
+	/**
+	 * Renders all SVGs, packs them and creates the texture atlases holding them.
+	 *
+	 * @throws IllegalStateException if an SVG is larger than a texture atlas.
+	 */
+	public SVGTextureAtlasPack pack(final TextureOptions pTextureOptions) {
+		final int count = this.mSVGPackerEntries.size();
+		final String[] names = new String[count];
+		final int[] widths = new int[count];
+		final int[] heights = new int[count];
+		for(int i = 0; i < count; i++) {
+			final SVGPackerEntry svgPackerEntry = this.mSVGPackerEntries.get(i);
+			svgPackerEntry.render(this.mTrimming);
+			names[i] = svgPackerEntry.mName;
+			widths[i] = svgPackerEntry.mWidth;
+			heights[i] = svgPackerEntry.mHeight;
+		}
+
+		final SVGPackingLayout svgPackingLayout = this.mSVGPackingLayout;
+		svgPackingLayout.layout(names, widths, heights);
+
+		final int atlasCount = svgPackingLayout.getPageCount();
+		final BitmapTextureAtlas[] bitmapTextureAtlases = new BitmapTextureAtlas[atlasCount];
+		final float[] occupancies = new float[atlasCount];
+		for(int i = 0; i < atlasCount; i++) {
+			bitmapTextureAtlases[i] = new BitmapTextureAtlas(svgPackingLayout.getPageWidth(), svgPackingLayout.getPageHeight(), pTextureOptions);
+			occupancies[i] = svgPackingLayout.getOccupancy(i);
+		}
+
+		final HashMap<String, SVGPackedTextureRegion> textureRegionsByName = new HashMap<String, SVGPackedTextureRegion>();
+		for(int i = 0; i < count; i++) {
+			final SVGPackerEntry svgPackerEntry = this.mSVGPackerEntries.get(i);
+			final BitmapTextureAtlas bitmapTextureAtlas = bitmapTextureAtlases[svgPackingLayout.getPage(i)];
+			final int x = svgPackingLayout.getX(i);
+			final int y = svgPackingLayout.getY(i);
+			final boolean rotated = svgPackingLayout.isRotated(i);
+			final int[] pixels;
+			final int width;
+			final int height;
+			if(rotated) {
+				pixels = SVGPixelUtils.rotateClockwise(svgPackerEntry.mPixels, svgPackerEntry.mWidth, svgPackerEntry.mHeight);
+				width = svgPackerEntry.mHeight;
+				height = svgPackerEntry.mWidth;
+			} else {
+				pixels = svgPackerEntry.mPixels;
+				width = svgPackerEntry.mWidth;
+				height = svgPackerEntry.mHeight;
+			}
+
+			bitmapTextureAtlas.addTextureAtlasSource(new SVGPixelsBitmapTextureAtlasSource(pixels, x, y, width, height), x, y);
+			textureRegionsByName.put(svgPackerEntry.mName, new SVGPackedTextureRegion(bitmapTextureAtlas, x, y, width, height, svgPackerEntry.mTrimOffsetX, svgPackerEntry.mTrimOffsetY, svgPackerEntry.mUntrimmedWidth, svgPackerEntry.mUntrimmedHeight, rotated));
+
+			/* The pixels are held by the texture atlas source from now on. */
+			svgPackerEntry.mPixels = null;
+		}
+
+		return new SVGTextureAtlasPack(bitmapTextureAtlases, occupancies, textureRegionsByName);
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+
+	private static class SVGPackerEntry {
+		// ===========================================================
+		// Constants
+		// ===========================================================
+
+		// ===========================================================
+		// Fields
+		// ===========================================================
+
+		private final String mName;
+		private final SVGDisplayList mSVGDisplayList;
+		private final int mUntrimmedWidth;
+		private final int mUntrimmedHeight;
+
+		private int[] mPixels;
+		private int mWidth;
+		private int mHeight;
+		private int mTrimOffsetX;
+		private int mTrimOffsetY;
+
+		// ===========================================================
+		// Constructors
+		// ===========================================================
+
+		public SVGPackerEntry(final String pName, final SVGDisplayList pSVGDisplayList, final int pUntrimmedWidth, final int pUntrimmedHeight) {
+			this.mName = pName;
+			this.mSVGDisplayList = pSVGDisplayList;
+			this.mUntrimmedWidth = pUntrimmedWidth;
+			this.mUntrimmedHeight = pUntrimmedHeight;
+		}
+
+		// ===========================================================
+		// Getter & Setter
+		// ===========================================================
+
+		// ===========================================================
+		// Methods for/from SuperClass/Interfaces
+		// ===========================================================
+
+		// ===========================================================
+		// Methods
+		// ===========================================================
+
+		public void render(final boolean pTrimming) {
+			final SVGRasterBackend svgRasterBackend = new SVGRasterBackend(this.mUntrimmedWidth, this.mUntrimmedHeight);
+			this.mSVGDisplayList.replay(svgRasterBackend);
+			final int[] pixels = svgRasterBackend.getPixels();
+
+			final int[] bounds = new int[4];
+			if(!pTrimming) {
+				this.mPixels = pixels;
+				this.mWidth = this.mUntrimmedWidth;
+				this.mHeight = this.mUntrimmedHeight;
+				this.mTrimOffsetX = 0;
+				this.mTrimOffsetY = 0;
+			} else if(SVGPixelUtils.computeOpaqueBounds(pixels, this.mUntrimmedWidth, this.mUntrimmedHeight, bounds)) {
+				this.mTrimOffsetX = bounds[0];
+				this.mTrimOffsetY = bounds[1];
+				this.mWidth = bounds[2] - bounds[0];
+				this.mHeight = bounds[3] - bounds[1];
+				this.mPixels = SVGPixelUtils.crop(pixels, this.mUntrimmedWidth, this.mTrimOffsetX, this.mTrimOffsetY, this.mWidth, this.mHeight);
+			} else {
+				this.mPixels = new int[1];
+				this.mWidth = 1;
+				this.mHeight = 1;
+				this.mTrimOffsetX = 0;
+				this.mTrimOffsetY = 0;
+			}
+		}
+
+		// ===========================================================
+		// Inner and Anonymous Classes
+		// ===========================================================
+	}
+}
@@ -1,73 +1,127 @@
-package org.anddev.andengine.extension.svg.opengl.texture.atlas.bitmap.source;
-
-import org.anddev.andengine.extension.svg.adt.SVG;
-import org.anddev.andengine.opengl.texture.atlas.bitmap.source.PictureBitmapTextureAtlasSource;
-import org.anddev.andengine.util.Debug;
-
-
-/**
- * (c) 2010 Nicolas Gramlich 
- * (c) 2011 Zynga Inc.
- * 
- * @author Nicolas Gramlich
- * @since 13:34:55 - 21.05.2011
- */
-public class SVGBaseBitmapTextureAtlasSource extends PictureBitmapTextureAtlasSource {
-	// ===========================================================
-	// Constants
-	// ===========================================================
-
-	// ===========================================================
-	// Fields
-	// ===========================================================
-
-	private final SVG mSVG;
-
-	// ===========================================================
-	// Constructors
-	// ===========================================================
-
-	public SVGBaseBitmapTextureAtlasSource(final SVG pSVG) {
-		this(pSVG, 0, 0);
-	}
-
-	public SVGBaseBitmapTextureAtlasSource(final SVG pSVG, final float pScale) {
-		this(pSVG, 0, 0, pScale);
-	}
-
-	public SVGBaseBitmapTextureAtlasSource(final SVG pSVG, final int pTexturePositionX, final int pTexturePositionY, final float pScale) {
-		super(pSVG.getPicture(), pTexturePositionX, pTexturePositionY, pScale);
-		this.mSVG = pSVG;
-	}
-
-	public SVGBaseBitmapTextureAtlasSource(final SVG pSVG, final int pWidth, final int pHeight) {
-		this(pSVG, 0, 0, pWidth, pHeight);
-	}
-
-	public SVGBaseBitmapTextureAtlasSource(final SVG pSVG, final int pTexturePositionX, final int pTexturePositionY, final int pWidth, final int pHeight) {
-		super(pSVG.getPicture(), pTexturePositionX, pTexturePositionY, pWidth, pHeight);
-		this.mSVG = pSVG;
-	}
-
-	@Override
-	public SVGBaseBitmapTextureAtlasSource deepCopy() {
-		Debug.w("SVGBaseBitmapTextureAtlasSource.deepCopy() does not actually deepCopy the SVG!");
-		return new SVGBaseBitmapTextureAtlasSource(this.mSVG, this.mTexturePositionX, this.mTexturePositionY, this.mWidth, this.mHeight);
-	}
-
-	// ===========================================================
-	// Getter & Setter
-	// ===========================================================
-
-	// ===========================================================
-	// Methods for/from SuperClass/Interfaces
-	// ===========================================================
-
-	// ===========================================================
-	// Methods
-	// ===========================================================
-
-	// ===========================================================
-	// Inner and Anonymous Classes
-	// ===========================================================
-}
+package org.anddev.andengine.extension.svg.opengl.texture.atlas.bitmap.source;
+
+import org.anddev.andengine.extension.svg.adt.SVG;
+import org.anddev.andengine.extension.svg.adt.SVGOptions;
+import org.anddev.andengine.extension.svg.metrics.SVGMetrics;
+import org.anddev.andengine.extension.svg.metrics.SVGTracer;
+import org.anddev.andengine.opengl.texture.atlas.bitmap.source.PictureBitmapTextureAtlasSource;
+import org.anddev.andengine.util.Debug;
+
+import android.graphics.Bitmap;
+import android.graphics.Bitmap.Config;
+
+
+/**
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 13:34:55 - 21.05.2011
+ */
+public class SVGBaseBitmapTextureAtlasSource extends PictureBitmapTextureAtlasSource {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private final SVG mSVG;
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	public SVGBaseBitmapTextureAtlasSource(final SVG pSVG) {
+		this(pSVG, 0, 0);
+	}
+
+	public SVGBaseBitmapTextureAtlasSource(final SVG pSVG, final float pScale) {
+		this(pSVG, 0, 0, pScale);
+	}
+
+	public SVGBaseBitmapTextureAtlasSource(final SVG pSVG, final int pTexturePositionX, final int pTexturePositionY, final float pScale) {
+		super(pSVG.getPicture(), pTexturePositionX, pTexturePositionY, pScale);
+		this.mSVG = pSVG;
+	}
+
+	public SVGBaseBitmapTextureAtlasSource(final SVG pSVG, final int pWidth, final int pHeight) {
+		this(pSVG, 0, 0, pWidth, pHeight);
+	}
+
+	public SVGBaseBitmapTextureAtlasSource(final SVG pSVG, final int pTexturePositionX, final int pTexturePositionY, final int pWidth, final int pHeight) {
+		super(pSVG.getPicture(), pTexturePositionX, pTexturePositionY, pWidth, pHeight);
+		this.mSVG = pSVG;
+	}
+
+	@Override
+	public SVGBaseBitmapTextureAtlasSource deepCopy() {
+		Debug.w("SVGBaseBitmapTextureAtlasSource.deepCopy() does not actually deepCopy the SVG!");
+		return new SVGBaseBitmapTextureAtlasSource(this.mSVG, this.mTexturePositionX, this.mTexturePositionY, this.mWidth, this.mHeight);
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	/**
+	 * Draws the {@link android.graphics.Picture} of the {@link SVG} into a new bitmap, reporting it to the {@link SVGMetrics} and the {@link SVGTracer}.
+	 */
+	@Override
+	public Bitmap onLoadBitmap(final Config pBitmapConfig) {
+		final SVGTracer svgTracer = SVGTracer.getSVGTracer();
+		if(svgTracer != null) {
+			svgTracer.begin(SVGTracer.CATEGORY_RENDER, this.getClass().getSimpleName(), this.mWidth + "x" + this.mHeight);
+		}
+		final long startTime = System.nanoTime();
+		final Bitmap bitmap = super.onLoadBitmap(pBitmapConfig);
+		if(bitmap != null) {
+			SVGMetrics.RASTER_PIXEL_COUNT.add((long) bitmap.getWidth() * bitmap.getHeight());
+			SVGMetrics.RASTER_LATENCY.record(System.nanoTime() - startTime);
+			SVGMetrics.onBitmapAllocated((long) bitmap.getRowBytes() * bitmap.getHeight());
+		}
+		if(svgTracer != null) {
+			svgTracer.end(SVGTracer.CATEGORY_RENDER, this.getClass().getSimpleName(), null);
+		}
+		return bitmap;
+	}
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	/**
+	 * @return a copy of <code>pSVGOptions</code>, targeting the size the {@link SVG} is going to be rendered at, or <code>null</code> if <code>pSVGOptions</code> is <code>null</code>.
+	 */
+	protected static SVGOptions applyTargetSize(final SVGOptions pSVGOptions, final int pWidth, final int pHeight) {
+		if(pSVGOptions == null) {
+			return null;
+		} else {
+			final SVGOptions svgOptions = new SVGOptions(pSVGOptions);
+			svgOptions.setTargetSize(pWidth, pHeight);
+			return svgOptions;
+		}
+	}
+
+	/**
+	 * @return a copy of <code>pSVGOptions</code>, targeting the scale the {@link SVG} is going to be rendered at, or <code>null</code> if <code>pSVGOptions</code> is <code>null</code>.
+	 */
+	protected static SVGOptions applyTargetScale(final SVGOptions pSVGOptions, final float pScale) {
+		if(pSVGOptions == null) {
+			return null;
+		} else {
+			final SVGOptions svgOptions = new SVGOptions(pSVGOptions);
+			svgOptions.setTargetScale(pScale);
+			return svgOptions;
+		}
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
@@ -0,0 +1,137 @@
+package org.anddev.andengine.extension.svg.opengl.texture.atlas.bitmap.source;
+
+import java.util.concurrent.ExecutorService;
+
+import org.anddev.andengine.extension.svg.backend.SVGDisplayList;
+import org.anddev.andengine.extension.svg.backend.sdf.SVGDistanceFieldBackend;
+import org.anddev.andengine.extension.svg.metrics.SVGMetrics;
+import org.anddev.andengine.extension.svg.metrics.SVGTracer;
+import org.anddev.andengine.opengl.texture.atlas.bitmap.source.IBitmapTextureAtlasSource;
+import org.anddev.andengine.opengl.texture.source.BaseTextureAtlasSource;
+
+import android.graphics.Bitmap;
+import android.graphics.Bitmap.Config;
+
+
+/**
+ * A signed distance field of a {@link SVGDisplayList}, computed from its outlines by a {@link SVGDistanceFieldBackend}, on all available processors.
+ * Sources loaded one after another should share an {@link ExecutorService}, so not every load starts and stops threads of its own.
+ * Drawn with an alpha test or a distance field shader, a single small texture serves all scales it is drawn at.
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 14:26:51 - 02.06.2011
+ */
+public class SVGDistanceFieldBitmapTextureAtlasSource extends BaseTextureAtlasSource implements IBitmapTextureAtlasSource {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private final SVGDisplayList mSVGDisplayList;
+	private final int mWidth;
+	private final int mHeight;
+	private final float mSpread;
+	private final boolean mMultiChannel;
+	private final ExecutorService mExecutorService;
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	/**
+	 * @param pSpread the distance in pixels up to which distances are encoded, farther ones are clamped.
+	 */
+	public SVGDistanceFieldBitmapTextureAtlasSource(final SVGDisplayList pSVGDisplayList, final int pTexturePositionX, final int pTexturePositionY, final int pWidth, final int pHeight, final float pSpread) {
+		this(pSVGDisplayList, pTexturePositionX, pTexturePositionY, pWidth, pHeight, pSpread, false);
+	}
+
+	/**
+	 * @param pSpread the distance in pixels up to which distances are encoded, farther ones are clamped.
+	 * @param pMultiChannel whether to encode a multi-channel field (MSDF), which keeps corners sharp, instead of a single-channel one.
+	 */
+	public SVGDistanceFieldBitmapTextureAtlasSource(final SVGDisplayList pSVGDisplayList, final int pTexturePositionX, final int pTexturePositionY, final int pWidth, final int pHeight, final float pSpread, final boolean pMultiChannel) {
+		this(pSVGDisplayList, pTexturePositionX, pTexturePositionY, pWidth, pHeight, pSpread, pMultiChannel, null);
+	}
+
+	/**
+	 * @param pSpread the distance in pixels up to which distances are encoded, farther ones are clamped.
+	 * @param pMultiChannel whether to encode a multi-channel field (MSDF), which keeps corners sharp, instead of a single-channel one.
+	 * @param pExecutorService runs all but one of the workers, the loading thread runs the last one. Is not shut down. If <code>null</code>, a thread pool is created for every load.
+	 */
+	public SVGDistanceFieldBitmapTextureAtlasSource(final SVGDisplayList pSVGDisplayList, final int pTexturePositionX, final int pTexturePositionY, final int pWidth, final int pHeight, final float pSpread, final boolean pMultiChannel, final ExecutorService pExecutorService) {
+		super(pTexturePositionX, pTexturePositionY);
+		this.mSVGDisplayList = pSVGDisplayList;
+		this.mWidth = pWidth;
+		this.mHeight = pHeight;
+		this.mSpread = pSpread;
+		this.mMultiChannel = pMultiChannel;
+		this.mExecutorService = pExecutorService;
+	}
+
+	@Override
+	public SVGDistanceFieldBitmapTextureAtlasSource deepCopy() {
+		return new SVGDistanceFieldBitmapTextureAtlasSource(this.mSVGDisplayList, this.mTexturePositionX, this.mTexturePositionY, this.mWidth, this.mHeight, this.mSpread, this.mMultiChannel, this.mExecutorService);
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	@Override
+	public int getWidth() {
+		return this.mWidth;
+	}
+
+	@Override
+	public int getHeight() {
+		return this.mHeight;
+	}
+
+	public float getSpread() {
+		return this.mSpread;
+	}
+
+	public boolean isMultiChannel() {
+		return this.mMultiChannel;
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	@Override
+	public Bitmap onLoadBitmap(final Config pBitmapConfig) {
+		final SVGTracer svgTracer = SVGTracer.getSVGTracer();
+		if(svgTracer != null) {
+			svgTracer.begin(SVGTracer.CATEGORY_RENDER, this.getClass().getSimpleName(), this.mWidth + "x" + this.mHeight);
+		}
+		try {
+			final SVGDistanceFieldBackend svgDistanceFieldBackend = new SVGDistanceFieldBackend(this.mWidth, this.mHeight, this.mSpread, Runtime.getRuntime().availableProcessors(), this.mExecutorService);
+			svgDistanceFieldBackend.setMultiChannel(this.mMultiChannel);
+			this.mSVGDisplayList.replay(svgDistanceFieldBackend);
+
+			final Bitmap bitmap = Bitmap.createBitmap(this.mWidth, this.mHeight, pBitmapConfig);
+			SVGMetrics.onBitmapAllocated((long) bitmap.getRowBytes() * bitmap.getHeight());
+			bitmap.setPixels(svgDistanceFieldBackend.getPixels(), 0, this.mWidth, 0, 0, this.mWidth, this.mHeight);
+			return bitmap;
+		} finally {
+			if(svgTracer != null) {
+				svgTracer.end(SVGTracer.CATEGORY_RENDER, this.getClass().getSimpleName(), null);
+			}
+		}
+	}
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
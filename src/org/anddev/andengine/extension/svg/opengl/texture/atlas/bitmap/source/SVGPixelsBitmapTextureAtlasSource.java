@@ -0,0 +1,96 @@
+package org.anddev.andengine.extension.svg.opengl.texture.atlas.bitmap.source;
+
+import org.anddev.andengine.extension.svg.metrics.SVGMetrics;
+import org.anddev.andengine.extension.svg.metrics.SVGTracer;
+import org.anddev.andengine.opengl.texture.atlas.bitmap.source.IBitmapTextureAtlasSource;
+import org.anddev.andengine.opengl.texture.source.BaseTextureAtlasSource;
+
+import android.graphics.Bitmap;
+import android.graphics.Bitmap.Config;
+
+
+/**
+ * Pixels that were already rendered, i.e. by the <code>SVGRasterBackend</code> on a background thread, to be loaded into a texture as they are.
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 10:04:19 - 03.06.2011
+ */
+public class SVGPixelsBitmapTextureAtlasSource extends BaseTextureAtlasSource implements IBitmapTextureAtlasSource {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private final int[] mPixels;
+	private final int mWidth;
+	private final int mHeight;
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	/**
+	 * @param pPixels (non-premultiplied) ARGB colors, row by row. Are not copied.
+	 */
+	public SVGPixelsBitmapTextureAtlasSource(final int[] pPixels, final int pTexturePositionX, final int pTexturePositionY, final int pWidth, final int pHeight) {
+		super(pTexturePositionX, pTexturePositionY);
+		if(pPixels.length < pWidth * pHeight) {
+			throw new IllegalArgumentException("pPixels must hold at least pWidth * pHeight pixels.");
+		}
+		this.mPixels = pPixels;
+		this.mWidth = pWidth;
+		this.mHeight = pHeight;
+	}
+
+	@Override
+	public SVGPixelsBitmapTextureAtlasSource deepCopy() {
+		return new SVGPixelsBitmapTextureAtlasSource(this.mPixels, this.mTexturePositionX, this.mTexturePositionY, this.mWidth, this.mHeight);
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	@Override
+	public int getWidth() {
+		return this.mWidth;
+	}
+
+	@Override
+	public int getHeight() {
+		return this.mHeight;
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	@Override
+	public Bitmap onLoadBitmap(final Config pBitmapConfig) {
+		final SVGTracer svgTracer = SVGTracer.getSVGTracer();
+		if(svgTracer != null) {
+			svgTracer.begin(SVGTracer.CATEGORY_RENDER, this.getClass().getSimpleName(), this.mWidth + "x" + this.mHeight);
+		}
+		final Bitmap bitmap = Bitmap.createBitmap(this.mWidth, this.mHeight, pBitmapConfig);
+		SVGMetrics.onBitmapAllocated((long) bitmap.getRowBytes() * bitmap.getHeight());
+		bitmap.setPixels(this.mPixels, 0, this.mWidth, 0, 0, this.mWidth, this.mHeight);
+		if(svgTracer != null) {
+			svgTracer.end(SVGTracer.CATEGORY_RENDER, this.getClass().getSimpleName(), null);
+		}
+		return bitmap;
+	}
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
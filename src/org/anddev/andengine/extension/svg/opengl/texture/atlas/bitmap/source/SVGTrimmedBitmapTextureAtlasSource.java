@@ -0,0 +1,165 @@
+package org.anddev.andengine.extension.svg.opengl.texture.atlas.bitmap.source;
+
+import org.anddev.andengine.extension.svg.backend.SVGDisplayList;
+import org.anddev.andengine.extension.svg.backend.raster.SVGRasterBackend;
+import org.anddev.andengine.extension.svg.metrics.SVGMetrics;
+import org.anddev.andengine.extension.svg.metrics.SVGTracer;
+import org.anddev.andengine.extension.svg.util.SVGPixelUtils;
+import org.anddev.andengine.opengl.texture.atlas.bitmap.source.IBitmapTextureAtlasSource;
+import org.anddev.andengine.opengl.texture.source.BaseTextureAtlasSource;
+
+import android.graphics.Bitmap;
+import android.graphics.Bitmap.Config;
+
+
+/**
+ * Renders an {@link SVGDisplayList} at its untrimmed size and keeps only the tight rectangle around its non-transparent pixels, so transparent borders of the canvas take up no texture space.
+ * The bounds are found by scanning the alpha of the rendered pixels, as the bounds computed while parsing neither include stroke widths nor filters.
+ * The position of the rectangle within the untrimmed size is kept as the trim offset.
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 15:21:08 - 03.06.2011
+ */
+public class SVGTrimmedBitmapTextureAtlasSource extends BaseTextureAtlasSource implements IBitmapTextureAtlasSource {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private final int[] mPixels;
+	private final int mWidth;
+	private final int mHeight;
+
+	private final int mTrimOffsetX;
+	private final int mTrimOffsetY;
+	private final int mUntrimmedWidth;
+	private final int mUntrimmedHeight;
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	/**
+	 * Renders <code>pSVGDisplayList</code> right away, so the trimmed size is known when the source is added to a texture atlas.
+	 *
+	 * @param pUntrimmedWidth the width the whole document is rendered at.
+	 * @param pUntrimmedHeight the height the whole document is rendered at.
+	 */
+	public SVGTrimmedBitmapTextureAtlasSource(final SVGDisplayList pSVGDisplayList, final int pTexturePositionX, final int pTexturePositionY, final int pUntrimmedWidth, final int pUntrimmedHeight) {
+		super(pTexturePositionX, pTexturePositionY);
+
+		final SVGRasterBackend svgRasterBackend = new SVGRasterBackend(pUntrimmedWidth, pUntrimmedHeight);
+		pSVGDisplayList.replay(svgRasterBackend);
+		final int[] pixels = svgRasterBackend.getPixels();
+
+		final int[] bounds = new int[4];
+		if(SVGPixelUtils.computeOpaqueBounds(pixels, pUntrimmedWidth, pUntrimmedHeight, bounds)) {
+			this.mTrimOffsetX = bounds[0];
+			this.mTrimOffsetY = bounds[1];
+			this.mWidth = bounds[2] - bounds[0];
+			this.mHeight = bounds[3] - bounds[1];
+			this.mPixels = SVGPixelUtils.crop(pixels, pUntrimmedWidth, this.mTrimOffsetX, this.mTrimOffsetY, this.mWidth, this.mHeight);
+		} else {
+			/* Nothing visible, but the texture atlas still needs a non-empty source. */
+			this.mTrimOffsetX = 0;
+			this.mTrimOffsetY = 0;
+			this.mWidth = 1;
+			this.mHeight = 1;
+			this.mPixels = new int[1];
+		}
+
+		this.mUntrimmedWidth = pUntrimmedWidth;
+		this.mUntrimmedHeight = pUntrimmedHeight;
+	}
+
+	private SVGTrimmedBitmapTextureAtlasSource(final int[] pPixels, final int pTexturePositionX, final int pTexturePositionY, final int pWidth, final int pHeight, final int pTrimOffsetX, final int pTrimOffsetY, final int pUntrimmedWidth, final int pUntrimmedHeight) {
+		super(pTexturePositionX, pTexturePositionY);
+		this.mPixels = pPixels;
+		this.mWidth = pWidth;
+		this.mHeight = pHeight;
+		this.mTrimOffsetX = pTrimOffsetX;
+		this.mTrimOffsetY = pTrimOffsetY;
+		this.mUntrimmedWidth = pUntrimmedWidth;
+		this.mUntrimmedHeight = pUntrimmedHeight;
+	}
+
+	@Override
+	public SVGTrimmedBitmapTextureAtlasSource deepCopy() {
+		return new SVGTrimmedBitmapTextureAtlasSource(this.mPixels, this.mTexturePositionX, this.mTexturePositionY, this.mWidth, this.mHeight, this.mTrimOffsetX, this.mTrimOffsetY, this.mUntrimmedWidth, this.mUntrimmedHeight);
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	/**
+	 * @return the width of the trimmed rectangle.
+	 */
+	@Override
+	public int getWidth() {
+		return this.mWidth;
+	}
+
+	/**
+	 * @return the height of the trimmed rectangle.
+	 */
+	@Override
+	public int getHeight() {
+		return this.mHeight;
+	}
+
+	/**
+	 * @return the horizontal distance from the left edge of the untrimmed image to the trimmed rectangle.
+	 */
+	public int getTrimOffsetX() {
+		return this.mTrimOffsetX;
+	}
+
+	/**
+	 * @return the vertical distance from the top edge of the untrimmed image to the trimmed rectangle.
+	 */
+	public int getTrimOffsetY() {
+		return this.mTrimOffsetY;
+	}
+
+	public int getUntrimmedWidth() {
+		return this.mUntrimmedWidth;
+	}
+
+	public int getUntrimmedHeight() {
+		return this.mUntrimmedHeight;
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	@Override
+	public Bitmap onLoadBitmap(final Config pBitmapConfig) {
+		final SVGTracer svgTracer = SVGTracer.getSVGTracer();
+		if(svgTracer != null) {
+			svgTracer.begin(SVGTracer.CATEGORY_RENDER, this.getClass().getSimpleName(), this.mWidth + "x" + this.mHeight);
+		}
+		final Bitmap bitmap = Bitmap.createBitmap(this.mWidth, this.mHeight, pBitmapConfig);
+		SVGMetrics.onBitmapAllocated((long) bitmap.getRowBytes() * bitmap.getHeight());
+		bitmap.setPixels(this.mPixels, 0, this.mWidth, 0, 0, this.mWidth, this.mHeight);
+		if(svgTracer != null) {
+			svgTracer.end(SVGTracer.CATEGORY_RENDER, this.getClass().getSimpleName(), null);
+		}
+		return bitmap;
+	}
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
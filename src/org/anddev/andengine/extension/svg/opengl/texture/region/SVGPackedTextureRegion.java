@@ -0,0 +1,62 @@
+package org.anddev.andengine.extension.svg.opengl.texture.region;
+
+import org.anddev.andengine.opengl.texture.ITexture;
+
+/**
+ * A {@link SVGTrimmedTextureRegion} placed by the <code>SVGTextureAtlasPacker</code>, which may have been stored rotated by 90 degrees clockwise to fit better.
+ * The width and height of a rotated region are those of the rotated image, so a sprite of it has to be rotated by -90 degrees to appear upright.
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 17:58:03 - 03.06.2011
+ */
+public class SVGPackedTextureRegion extends SVGTrimmedTextureRegion {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private final boolean mRotated;
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	public SVGPackedTextureRegion(final ITexture pTexture, final int pTexturePositionX, final int pTexturePositionY, final int pWidth, final int pHeight, final int pTrimOffsetX, final int pTrimOffsetY, final int pUntrimmedWidth, final int pUntrimmedHeight, final boolean pRotated) {
+		super(pTexture, pTexturePositionX, pTexturePositionY, pWidth, pHeight, pTrimOffsetX, pTrimOffsetY, pUntrimmedWidth, pUntrimmedHeight);
+		this.mRotated = pRotated;
+	}
+
+	@Override
+	public SVGPackedTextureRegion deepCopy() {
+		return new SVGPackedTextureRegion(this.mTexture, this.getTexturePositionX(), this.getTexturePositionY(), this.getWidth(), this.getHeight(), this.getTrimOffsetX(), this.getTrimOffsetY(), this.getUntrimmedWidth(), this.getUntrimmedHeight(), this.mRotated);
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	/**
+	 * @return whether the image is stored rotated by 90 degrees clockwise.
+	 */
+	public boolean isRotated() {
+		return this.mRotated;
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
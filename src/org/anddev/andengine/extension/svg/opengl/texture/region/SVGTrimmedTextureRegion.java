@@ -0,0 +1,84 @@
+package org.anddev.andengine.extension.svg.opengl.texture.region;
+
+import org.anddev.andengine.opengl.texture.ITexture;
+import org.anddev.andengine.opengl.texture.region.TextureRegion;
+
+/**
+ * A {@link TextureRegion} holding only the trimmed rectangle of an image, along with where that rectangle was located within the untrimmed image.
+ * To position a sprite of this region identically to one of the untrimmed image, offset it by {@link SVGTrimmedTextureRegion#getTrimOffsetX()} and {@link SVGTrimmedTextureRegion#getTrimOffsetY()}.
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 15:48:30 - 03.06.2011
+ */
+public class SVGTrimmedTextureRegion extends TextureRegion {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private final int mTrimOffsetX;
+	private final int mTrimOffsetY;
+	private final int mUntrimmedWidth;
+	private final int mUntrimmedHeight;
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	public SVGTrimmedTextureRegion(final ITexture pTexture, final int pTexturePositionX, final int pTexturePositionY, final int pWidth, final int pHeight, final int pTrimOffsetX, final int pTrimOffsetY, final int pUntrimmedWidth, final int pUntrimmedHeight) {
+		super(pTexture, pTexturePositionX, pTexturePositionY, pWidth, pHeight);
+		this.mTrimOffsetX = pTrimOffsetX;
+		this.mTrimOffsetY = pTrimOffsetY;
+		this.mUntrimmedWidth = pUntrimmedWidth;
+		this.mUntrimmedHeight = pUntrimmedHeight;
+	}
+
+	@Override
+	public SVGTrimmedTextureRegion deepCopy() {
+		return new SVGTrimmedTextureRegion(this.mTexture, this.getTexturePositionX(), this.getTexturePositionY(), this.getWidth(), this.getHeight(), this.mTrimOffsetX, this.mTrimOffsetY, this.mUntrimmedWidth, this.mUntrimmedHeight);
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	/**
+	 * @return the horizontal distance from the left edge of the untrimmed image to this region.
+	 */
+	public int getTrimOffsetX() {
+		return this.mTrimOffsetX;
+	}
+
+	/**
+	 * @return the vertical distance from the top edge of the untrimmed image to this region.
+	 */
+	public int getTrimOffsetY() {
+		return this.mTrimOffsetY;
+	}
+
+	public int getUntrimmedWidth() {
+		return this.mUntrimmedWidth;
+	}
+
+	public int getUntrimmedHeight() {
+		return this.mUntrimmedHeight;
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
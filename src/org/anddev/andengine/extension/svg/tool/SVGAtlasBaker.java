@@ -0,0 +1,721 @@
+package org.anddev.andengine.extension.svg.tool;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.anddev.andengine.extension.svg.SVGParser;
+import org.anddev.andengine.extension.svg.backend.SVGDisplayList;
+import org.anddev.andengine.extension.svg.backend.raster.SVGRasterBackend;
+import org.anddev.andengine.extension.svg.opengl.texture.atlas.bitmap.packer.SVGPackingLayout;
+import org.anddev.andengine.extension.svg.util.SVGPixelUtils;
+
+/**
+ * Bakes a directory tree of SVG files into texture atlas pages offline, on a plain JVM, so nothing has to be rasterized on the device.
+ * Every SVG is rendered by the <code>SVGRasterBackend</code> at every configured scale, trimmed, and packed by a {@link SVGPackingLayout}.
+ * For every scale, a subdirectory of the output directory receives the pages, as PNG or raw RGBA files, and a JSON manifest of the regions.
+ *
+ * The rendered images are cached in the output directory, keyed by the SHA-1 of the SVG file and the rendering settings, so only SVGs that changed are rendered again.
+ * Pages and manifests are only written if their content changed, so their timestamps can be relied upon by a build.
+ *
+ * Runs on a plain JVM: <code>java org.anddev.andengine.extension.svg.tool.SVGAtlasBaker [options] inputDirectory outputDirectory</code>
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 11:08:52 - 04.06.2011
+ */
+public class SVGAtlasBaker {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	public static final int FORMAT_PNG = 0;
+	/** The RGBA bytes of the (non-premultiplied) pixels, row by row, without any header. */
+	public static final int FORMAT_RAW = 1;
+
+	private static final int PAGE_SIZE_DEFAULT = 1024;
+
+	private static final String SVG_FILE_EXTENSION = ".svg";
+	private static final String CACHE_DIRECTORY = ".svgcache";
+	private static final String CACHE_FILE_EXTENSION = ".bin";
+	private static final String MANIFEST_FILE = "atlas.json";
+	private static final String PAGE_FILE_PREFIX = "page";
+
+	private static final String USAGE = "Usage: java " + SVGAtlasBaker.class.getName() + " [options] inputDirectory outputDirectory\n"
+			+ "  --scales 1,1.5,2      the scales to render at, each into its own subdirectory (default: 1)\n"
+			+ "  --size 1024           the width and height of every page (default: 1024)\n"
+			+ "  --format png|raw      the format of the pages (default: png)\n"
+			+ "  --heuristic name      bssf, blsf, baf, bl or skyline (default: bssf)\n"
+			+ "  --padding 1           the pixels kept free between two images (default: 1)\n"
+			+ "  --rotate              allow images to be rotated by 90 degrees\n"
+			+ "  --no-trim             keep transparent borders\n"
+			+ "  --threads n           the number of threads to render on (default: number of processors)";
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private final File mInputDirectory;
+	private final File mOutputDirectory;
+
+	private float[] mScales = new float[] { 1 };
+	private int mPageSize = SVGAtlasBaker.PAGE_SIZE_DEFAULT;
+	private int mFormat = SVGAtlasBaker.FORMAT_PNG;
+	private int mHeuristic = SVGPackingLayout.HEURISTIC_MAXRECTS_BEST_SHORT_SIDE_FIT;
+	private int mPadding = 1;
+	private boolean mRotationAllowed;
+	private boolean mTrimming = true;
+	private int mThreadCount = Runtime.getRuntime().availableProcessors();
+
+	private int mRenderedCount;
+	private int mCachedCount;
+	private int mWrittenCount;
+	private int mUnchangedCount;
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	public SVGAtlasBaker(final File pInputDirectory, final File pOutputDirectory) {
+		this.mInputDirectory = pInputDirectory;
+		this.mOutputDirectory = pOutputDirectory;
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	public void setScales(final float[] pScales) {
+		this.mScales = pScales;
+	}
+
+	public void setPageSize(final int pPageSize) {
+		this.mPageSize = pPageSize;
+	}
+
+	/**
+	 * @param pFormat either {@link SVGAtlasBaker#FORMAT_PNG} or {@link SVGAtlasBaker#FORMAT_RAW}.
+	 */
+	public void setFormat(final int pFormat) {
+		this.mFormat = pFormat;
+	}
+
+	/**
+	 * @see SVGPackingLayout#setHeuristic(int)
+	 */
+	public void setHeuristic(final int pHeuristic) {
+		this.mHeuristic = pHeuristic;
+	}
+
+	public void setPadding(final int pPadding) {
+		this.mPadding = pPadding;
+	}
+
+	public void setRotationAllowed(final boolean pRotationAllowed) {
+		this.mRotationAllowed = pRotationAllowed;
+	}
+
+	public void setTrimming(final boolean pTrimming) {
+		this.mTrimming = pTrimming;
+	}
+
+	public void setThreadCount(final int pThreadCount) {
+		this.mThreadCount = Math.max(1, pThreadCount);
+	}
+
+	/**
+	 * @return the number of images rendered by the last {@link SVGAtlasBaker#bake()}.
+	 */
+	public int getRenderedCount() {
+		return this.mRenderedCount;
+	}
+
+	/**
+	 * @return the number of images read from the cache by the last {@link SVGAtlasBaker#bake()}.
+	 */
+	public int getCachedCount() {
+		return this.mCachedCount;
+	}
+
+	/**
+	 * @return the number of pages and manifests written by the last {@link SVGAtlasBaker#bake()}.
+	 */
+	public int getWrittenCount() {
+		return this.mWrittenCount;
+	}
+
+	/**
+	 * @return the number of pages and manifests left untouched by the last {@link SVGAtlasBaker#bake()}, because their content did not change.
+	 */
+	public int getUnchangedCount() {
+		return this.mUnchangedCount;
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	public static void main(final String[] pArguments) throws Exception {
+		final ArrayList<String> directories = new ArrayList<String>();
+		final ArrayList<String> options = new ArrayList<String>();
+		for(int i = 0; i < pArguments.length; i++) {
+			if(pArguments[i].startsWith("--")) {
+				options.add(pArguments[i]);
+				if(!pArguments[i].equals("--rotate") && !pArguments[i].equals("--no-trim") && i + 1 < pArguments.length) {
+					options.add(pArguments[++i]);
+				}
+			} else {
+				directories.add(pArguments[i]);
+			}
+		}
+		if(directories.size() != 2) {
+			System.err.println(SVGAtlasBaker.USAGE);
+			System.exit(1);
+		}
+
+		final SVGAtlasBaker svgAtlasBaker = new SVGAtlasBaker(new File(directories.get(0)), new File(directories.get(1)));
+		for(int i = 0; i < options.size(); i++) {
+			final String option = options.get(i);
+			if(option.equals("--rotate")) {
+				svgAtlasBaker.setRotationAllowed(true);
+			} else if(option.equals("--no-trim")) {
+				svgAtlasBaker.setTrimming(false);
+			} else if(i + 1 == options.size()) {
+				System.err.println("Missing value for '" + option + "'.\n" + SVGAtlasBaker.USAGE);
+				System.exit(1);
+			} else {
+				final String value = options.get(++i);
+				if(option.equals("--scales")) {
+					final String[] scales = value.split(",");
+					final float[] parsedScales = new float[scales.length];
+					for(int j = 0; j < scales.length; j++) {
+						parsedScales[j] = Float.parseFloat(scales[j].trim());
+					}
+					svgAtlasBaker.setScales(parsedScales);
+				} else if(option.equals("--size")) {
+					svgAtlasBaker.setPageSize(Integer.parseInt(value));
+				} else if(option.equals("--format")) {
+					svgAtlasBaker.setFormat(value.equals("raw") ? SVGAtlasBaker.FORMAT_RAW : SVGAtlasBaker.FORMAT_PNG);
+				} else if(option.equals("--heuristic")) {
+					svgAtlasBaker.setHeuristic(SVGAtlasBaker.parseHeuristic(value));
+				} else if(option.equals("--padding")) {
+					svgAtlasBaker.setPadding(Integer.parseInt(value));
+				} else if(option.equals("--threads")) {
+					svgAtlasBaker.setThreadCount(Integer.parseInt(value));
+				} else {
+					System.err.println("Unknown option '" + option + "'.\n" + SVGAtlasBaker.USAGE);
+					System.exit(1);
+				}
+			}
+		}
+
+		final long start = System.nanoTime();
+		svgAtlasBaker.bake();
+		final long duration = System.nanoTime() - start;
+		System.out.println(String.format(Locale.US, "Rendered %d images, %d from cache. Wrote %d files, %d unchanged. Took %.1f ms.", svgAtlasBaker.getRenderedCount(), svgAtlasBaker.getCachedCount(), svgAtlasBaker.getWrittenCount(), svgAtlasBaker.getUnchangedCount(), duration / 1e6));
+	}
+
+	private static int parseHeuristic(final String pName) {
+		if(pName.equals("bssf")) {
+			return SVGPackingLayout.HEURISTIC_MAXRECTS_BEST_SHORT_SIDE_FIT;
+		} else if(pName.equals("blsf")) {
+			return SVGPackingLayout.HEURISTIC_MAXRECTS_BEST_LONG_SIDE_FIT;
+		} else if(pName.equals("baf")) {
+			return SVGPackingLayout.HEURISTIC_MAXRECTS_BEST_AREA_FIT;
+		} else if(pName.equals("bl")) {
+			return SVGPackingLayout.HEURISTIC_MAXRECTS_BOTTOM_LEFT;
+		} else if(pName.equals("skyline")) {
+			return SVGPackingLayout.HEURISTIC_SKYLINE_BOTTOM_LEFT;
+		} else {
+			throw new IllegalArgumentException("Unknown heuristic: '" + pName + "'.");
+		}
+	}
+
+	public void bake() throws IOException {
+		this.mRenderedCount = 0;
+		this.mCachedCount = 0;
+		this.mWrittenCount = 0;
+		this.mUnchangedCount = 0;
+
+		final ArrayList<String> names = new ArrayList<String>();
+		final ArrayList<File> files = new ArrayList<File>();
+		SVGAtlasBaker.collectSVGFiles(this.mInputDirectory, "", names, files);
+
+		final String[] hashes = new String[files.size()];
+		for(int i = 0; i < files.size(); i++) {
+			hashes[i] = SVGAtlasBaker.hash(SVGAtlasBaker.readFile(files.get(i)));
+		}
+
+		final File cacheDirectory = new File(this.mOutputDirectory, SVGAtlasBaker.CACHE_DIRECTORY);
+		SVGAtlasBaker.makeDirectory(cacheDirectory);
+
+		/* Load what is cached, and collect everything else to be rendered in parallel. */
+		final SVGBakedImage[][] svgBakedImages = new SVGBakedImage[this.mScales.length][files.size()];
+		final ArrayList<SVGBakedImage> pending = new ArrayList<SVGBakedImage>();
+		final HashSet<String> usedCacheFiles = new HashSet<String>();
+		for(int s = 0; s < this.mScales.length; s++) {
+			for(int i = 0; i < files.size(); i++) {
+				final String cacheFileName = hashes[i] + "_" + SVGAtlasBaker.formatScale(this.mScales[s]) + (this.mTrimming ? "_t" : "") + SVGAtlasBaker.CACHE_FILE_EXTENSION;
+				final SVGBakedImage svgBakedImage = new SVGBakedImage(files.get(i), new File(cacheDirectory, cacheFileName), this.mScales[s]);
+				svgBakedImages[s][i] = svgBakedImage;
+				usedCacheFiles.add(cacheFileName);
+
+				if(svgBakedImage.mCacheFile.exists()) {
+					svgBakedImage.readCacheFile();
+					this.mCachedCount++;
+				} else {
+					pending.add(svgBakedImage);
+				}
+			}
+		}
+		this.render(pending);
+		this.mRenderedCount = pending.size();
+
+		final File[] cacheFiles = cacheDirectory.listFiles();
+		if(cacheFiles != null) {
+			for(final File cacheFile : cacheFiles) {
+				if(!usedCacheFiles.contains(cacheFile.getName())) {
+					cacheFile.delete();
+				}
+			}
+		}
+
+		for(int s = 0; s < this.mScales.length; s++) {
+			this.bakeScale(this.mScales[s], names.toArray(new String[names.size()]), svgBakedImages[s]);
+		}
+	}
+
+	private void bakeScale(final float pScale, final String[] pNames, final SVGBakedImage[] pSVGBakedImages) throws IOException {
+		final int count = pNames.length;
+		final int[] widths = new int[count];
+		final int[] heights = new int[count];
+		for(int i = 0; i < count; i++) {
+			widths[i] = pSVGBakedImages[i].mWidth;
+			heights[i] = pSVGBakedImages[i].mHeight;
+		}
+
+		final SVGPackingLayout svgPackingLayout = new SVGPackingLayout(this.mPageSize, this.mPageSize);
+		svgPackingLayout.setHeuristic(this.mHeuristic);
+		svgPackingLayout.setPadding(this.mPadding);
+		svgPackingLayout.setRotationAllowed(this.mRotationAllowed);
+		svgPackingLayout.layout(pNames, widths, heights);
+
+		final File scaleDirectory = new File(this.mOutputDirectory, SVGAtlasBaker.formatScale(pScale) + "x");
+		SVGAtlasBaker.makeDirectory(scaleDirectory);
+
+		final int pageCount = svgPackingLayout.getPageCount();
+		final String pageFileExtension = (this.mFormat == SVGAtlasBaker.FORMAT_RAW) ? ".raw" : ".png";
+		final HashSet<String> pageFileNames = new HashSet<String>();
+		for(int page = 0; page < pageCount; page++) {
+			final int[] pixels = new int[this.mPageSize * this.mPageSize];
+			for(int i = 0; i < count; i++) {
+				if(svgPackingLayout.getPage(i) == page) {
+					final SVGBakedImage svgBakedImage = pSVGBakedImages[i];
+					if(svgPackingLayout.isRotated(i)) {
+						final int[] rotatedPixels = SVGPixelUtils.rotateClockwise(svgBakedImage.mPixels, svgBakedImage.mWidth, svgBakedImage.mHeight);
+						SVGAtlasBaker.blit(rotatedPixels, svgBakedImage.mHeight, svgBakedImage.mWidth, pixels, this.mPageSize, svgPackingLayout.getX(i), svgPackingLayout.getY(i));
+					} else {
+						SVGAtlasBaker.blit(svgBakedImage.mPixels, svgBakedImage.mWidth, svgBakedImage.mHeight, pixels, this.mPageSize, svgPackingLayout.getX(i), svgPackingLayout.getY(i));
+					}
+				}
+			}
+
+			final byte[] bytes = (this.mFormat == SVGAtlasBaker.FORMAT_RAW) ? SVGAtlasBaker.toRGBA(pixels) : SVGPNGEncoder.encode(pixels, this.mPageSize, this.mPageSize);
+			final String pageFileName = SVGAtlasBaker.PAGE_FILE_PREFIX + page + pageFileExtension;
+			pageFileNames.add(pageFileName);
+			this.writeFileIfChanged(new File(scaleDirectory, pageFileName), bytes);
+		}
+
+		/* Pages of a previous bake that are not needed anymore. */
+		final File[] files = scaleDirectory.listFiles();
+		if(files != null) {
+			for(final File file : files) {
+				if(file.getName().startsWith(SVGAtlasBaker.PAGE_FILE_PREFIX) && !pageFileNames.contains(file.getName())) {
+					file.delete();
+				}
+			}
+		}
+
+		final String manifest = this.createManifest(pScale, pNames, pSVGBakedImages, svgPackingLayout, pageFileExtension);
+		this.writeFileIfChanged(new File(scaleDirectory, SVGAtlasBaker.MANIFEST_FILE), manifest.getBytes("UTF-8"));
+	}
+
+	private String createManifest(final float pScale, final String[] pNames, final SVGBakedImage[] pSVGBakedImages, final SVGPackingLayout pSVGPackingLayout, final String pPageFileExtension) {
+		final StringBuilder manifest = new StringBuilder();
+		manifest.append("{\n");
+		manifest.append("\t\"scale\": ").append(SVGAtlasBaker.formatScale(pScale)).append(",\n");
+		manifest.append("\t\"pageWidth\": ").append(this.mPageSize).append(",\n");
+		manifest.append("\t\"pageHeight\": ").append(this.mPageSize).append(",\n");
+		manifest.append("\t\"format\": \"").append((this.mFormat == SVGAtlasBaker.FORMAT_RAW) ? "raw" : "png").append("\",\n");
+
+		manifest.append("\t\"pages\": [");
+		for(int page = 0; page < pSVGPackingLayout.getPageCount(); page++) {
+			manifest.append((page == 0) ? "\n" : ",\n");
+			manifest.append("\t\t{ \"file\": \"").append(SVGAtlasBaker.PAGE_FILE_PREFIX).append(page).append(pPageFileExtension).append("\"");
+			manifest.append(String.format(Locale.US, ", \"occupancy\": %.4f }", pSVGPackingLayout.getOccupancy(page)));
+		}
+		manifest.append("\n\t],\n");
+
+		manifest.append("\t\"regions\": [");
+		for(int i = 0; i < pNames.length; i++) {
+			final SVGBakedImage svgBakedImage = pSVGBakedImages[i];
+			final boolean rotated = pSVGPackingLayout.isRotated(i);
+			manifest.append((i == 0) ? "\n" : ",\n");
+			manifest.append("\t\t{ \"name\": \"").append(SVGAtlasBaker.escape(pNames[i])).append("\"");
+			manifest.append(", \"page\": ").append(pSVGPackingLayout.getPage(i));
+			manifest.append(", \"x\": ").append(pSVGPackingLayout.getX(i));
+			manifest.append(", \"y\": ").append(pSVGPackingLayout.getY(i));
+			manifest.append(", \"width\": ").append(rotated ? svgBakedImage.mHeight : svgBakedImage.mWidth);
+			manifest.append(", \"height\": ").append(rotated ? svgBakedImage.mWidth : svgBakedImage.mHeight);
+			manifest.append(", \"trimOffsetX\": ").append(svgBakedImage.mTrimOffsetX);
+			manifest.append(", \"trimOffsetY\": ").append(svgBakedImage.mTrimOffsetY);
+			manifest.append(", \"untrimmedWidth\": ").append(svgBakedImage.mUntrimmedWidth);
+			manifest.append(", \"untrimmedHeight\": ").append(svgBakedImage.mUntrimmedHeight);
+			manifest.append(", \"rotated\": ").append(rotated).append(" }");
+		}
+		manifest.append("\n\t]\n");
+		manifest.append("}\n");
+		return manifest.toString();
+	}
+
+	private void render(final ArrayList<SVGBakedImage> pSVGBakedImages) {
+		final AtomicInteger nextImage = new AtomicInteger();
+
+		final int workerCount = Math.min(this.mThreadCount, pSVGBakedImages.size());
+		if(workerCount <= 1) {
+			new SVGImageRenderer(pSVGBakedImages, nextImage).run();
+			return;
+		}
+
+		final ExecutorService executorService = Executors.newFixedThreadPool(workerCount - 1);
+		try {
+			final ArrayList<Future<?>> futures = new ArrayList<Future<?>>(workerCount - 1);
+			for(int i = 1; i < workerCount; i++) {
+				futures.add(executorService.submit(new SVGImageRenderer(pSVGBakedImages, nextImage)));
+			}
+			new SVGImageRenderer(pSVGBakedImages, nextImage).run();
+
+			for(int i = 0; i < futures.size(); i++) {
+				futures.get(i).get();
+			}
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while rendering the images.", e);
+		} catch (final ExecutionException e) {
+			final Throwable cause = e.getCause();
+			if(cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if(cause instanceof Error) {
+				throw (Error) cause;
+			} else {
+				throw new IllegalStateException(cause);
+			}
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+	private void writeFileIfChanged(final File pFile, final byte[] pBytes) throws IOException {
+		if(pFile.exists() && pFile.length() == pBytes.length && Arrays.equals(SVGAtlasBaker.readFile(pFile), pBytes)) {
+			this.mUnchangedCount++;
+		} else {
+			final OutputStream outputStream = new FileOutputStream(pFile);
+			try {
+				outputStream.write(pBytes);
+			} finally {
+				outputStream.close();
+			}
+			this.mWrittenCount++;
+		}
+	}
+
+	/**
+	 * Collects the SVG files below <code>pDirectory</code> in the order of their names, so the result does not depend on the file system.
+	 */
+	private static void collectSVGFiles(final File pDirectory, final String pPrefix, final ArrayList<String> pNames, final ArrayList<File> pFiles) throws IOException {
+		final File[] files = pDirectory.listFiles();
+		if(files == null) {
+			throw new IOException("'" + pDirectory + "' is not a readable directory.");
+		}
+		final String[] fileNames = new String[files.length];
+		for(int i = 0; i < files.length; i++) {
+			fileNames[i] = files[i].getName();
+		}
+		Arrays.sort(fileNames);
+
+		for(final String fileName : fileNames) {
+			final File file = new File(pDirectory, fileName);
+			if(file.isDirectory()) {
+				if(!fileName.startsWith(".")) {
+					SVGAtlasBaker.collectSVGFiles(file, pPrefix + fileName + "/", pNames, pFiles);
+				}
+			} else if(fileName.endsWith(SVGAtlasBaker.SVG_FILE_EXTENSION)) {
+				pNames.add(pPrefix + fileName.substring(0, fileName.length() - SVGAtlasBaker.SVG_FILE_EXTENSION.length()));
+				pFiles.add(file);
+			}
+		}
+	}
+
+	private static void blit(final int[] pSource, final int pWidth, final int pHeight, final int[] pDestination, final int pDestinationStride, final int pX, final int pY) {
+		for(int y = 0; y < pHeight; y++) {
+			System.arraycopy(pSource, y * pWidth, pDestination, (pY + y) * pDestinationStride + pX, pWidth);
+		}
+	}
+
+	private static byte[] toRGBA(final int[] pPixels) {
+		final byte[] bytes = new byte[4 * pPixels.length];
+		for(int i = 0; i < pPixels.length; i++) {
+			final int argb = pPixels[i];
+			bytes[4 * i] = (byte) (argb >> 16);
+			bytes[4 * i + 1] = (byte) (argb >> 8);
+			bytes[4 * i + 2] = (byte) argb;
+			bytes[4 * i + 3] = (byte) (argb >>> 24);
+		}
+		return bytes;
+	}
+
+	/**
+	 * @return the scale without a trailing <code>.0</code>, i.e. <code>1</code> or <code>1.5</code>.
+	 */
+	private static String formatScale(final float pScale) {
+		final String scale = Float.toString(pScale);
+		return scale.endsWith(".0") ? scale.substring(0, scale.length() - 2) : scale;
+	}
+
+	private static String escape(final String pString) {
+		return pString.replace("\\", "\\\\").replace("\"", "\\\"");
+	}
+
+	private static String hash(final byte[] pBytes) {
+		try {
+			final byte[] digest = MessageDigest.getInstance("SHA-1").digest(pBytes);
+			final StringBuilder hash = new StringBuilder(2 * digest.length);
+			for(final byte b : digest) {
+				hash.append(Character.forDigit((b >> 4) & 0x0F, 16)).append(Character.forDigit(b & 0x0F, 16));
+			}
+			return hash.toString();
+		} catch (final NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static byte[] readFile(final File pFile) throws IOException {
+		final InputStream inputStream = new FileInputStream(pFile);
+		try {
+			final ByteArrayOutputStream bytes = new ByteArrayOutputStream((int) pFile.length());
+			final byte[] buffer = new byte[8192];
+			int read;
+			while((read = inputStream.read(buffer)) != -1) {
+				bytes.write(buffer, 0, read);
+			}
+			return bytes.toByteArray();
+		} finally {
+			inputStream.close();
+		}
+	}
+
+	private static void makeDirectory(final File pDirectory) throws IOException {
+		if(!pDirectory.isDirectory() && !pDirectory.mkdirs()) {
+			throw new IOException("Could not create '" + pDirectory + "'.");
+		}
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+
+	private class SVGBakedImage {
+		// ===========================================================
+		// Constants
+		// ===========================================================
+
+		// ===========================================================
+		// Fields
+		// ===========================================================
+
+		private final File mFile;
+		private final File mCacheFile;
+		private final float mScale;
+
+		private int mUntrimmedWidth;
+		private int mUntrimmedHeight;
+		private int mTrimOffsetX;
+		private int mTrimOffsetY;
+		private int mWidth;
+		private int mHeight;
+		private int[] mPixels;
+
+		// ===========================================================
+		// Constructors
+		// ===========================================================
+
+		public SVGBakedImage(final File pFile, final File pCacheFile, final float pScale) {
+			this.mFile = pFile;
+			this.mCacheFile = pCacheFile;
+			this.mScale = pScale;
+		}
+
+		// ===========================================================
+		// Getter & Setter
+		// ===========================================================
+
+		// ===========================================================
+		// Methods for/from SuperClass/Interfaces
+		// ===========================================================
+
+		// ===========================================================
+		// Methods
+		// ===========================================================
+
+		public void render() throws IOException {
+			final SVGDisplayList svgDisplayList = SVGParser.parseSVGDisplayListFromInputStream(new ByteArrayInputStream(SVGAtlasBaker.readFile(this.mFile)), null);
+			final SVGRasterBackend svgRasterBackend = new SVGRasterBackend(this.mScale);
+			svgDisplayList.replay(svgRasterBackend);
+			final int[] pixels = svgRasterBackend.getPixels();
+			this.mUntrimmedWidth = svgRasterBackend.getSVGRasterizer().getWidth();
+			this.mUntrimmedHeight = svgRasterBackend.getSVGRasterizer().getHeight();
+
+			final int[] bounds = new int[4];
+			if(!SVGAtlasBaker.this.mTrimming) {
+				this.mPixels = pixels;
+				this.mWidth = this.mUntrimmedWidth;
+				this.mHeight = this.mUntrimmedHeight;
+			} else if(SVGPixelUtils.computeOpaqueBounds(pixels, this.mUntrimmedWidth, this.mUntrimmedHeight, bounds)) {
+				this.mTrimOffsetX = bounds[0];
+				this.mTrimOffsetY = bounds[1];
+				this.mWidth = bounds[2] - bounds[0];
+				this.mHeight = bounds[3] - bounds[1];
+				this.mPixels = SVGPixelUtils.crop(pixels, this.mUntrimmedWidth, this.mTrimOffsetX, this.mTrimOffsetY, this.mWidth, this.mHeight);
+			} else {
+				this.mPixels = new int[1];
+				this.mWidth = 1;
+				this.mHeight = 1;
+			}
+
+			this.writeCacheFile();
+		}
+
+		public void readCacheFile() throws IOException {
+			final DataInputStream dataInputStream = new DataInputStream(new BufferedInputStream(new FileInputStream(this.mCacheFile)));
+			try {
+				this.mUntrimmedWidth = dataInputStream.readInt();
+				this.mUntrimmedHeight = dataInputStream.readInt();
+				this.mTrimOffsetX = dataInputStream.readInt();
+				this.mTrimOffsetY = dataInputStream.readInt();
+				this.mWidth = dataInputStream.readInt();
+				this.mHeight = dataInputStream.readInt();
+				this.mPixels = new int[this.mWidth * this.mHeight];
+				for(int i = 0; i < this.mPixels.length; i++) {
+					this.mPixels[i] = dataInputStream.readInt();
+				}
+			} finally {
+				dataInputStream.close();
+			}
+		}
+
+		/**
+		 * Writes to a temporary file first, so an interrupted bake never leaves a truncated cache file behind.
+		 */
+		private void writeCacheFile() throws IOException {
+			final File temporaryFile = new File(this.mCacheFile.getPath() + ".tmp");
+			final DataOutputStream dataOutputStream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporaryFile)));
+			try {
+				dataOutputStream.writeInt(this.mUntrimmedWidth);
+				dataOutputStream.writeInt(this.mUntrimmedHeight);
+				dataOutputStream.writeInt(this.mTrimOffsetX);
+				dataOutputStream.writeInt(this.mTrimOffsetY);
+				dataOutputStream.writeInt(this.mWidth);
+				dataOutputStream.writeInt(this.mHeight);
+				for(int i = 0; i < this.mPixels.length; i++) {
+					dataOutputStream.writeInt(this.mPixels[i]);
+				}
+			} finally {
+				dataOutputStream.close();
+			}
+			if(!temporaryFile.renameTo(this.mCacheFile)) {
+				throw new IOException("Could not rename '" + temporaryFile + "' to '" + this.mCacheFile + "'.");
+			}
+		}
+
+		// ===========================================================
+		// Inner and Anonymous Classes
+		// ===========================================================
+	}
+
+	private static class SVGImageRenderer implements Runnable {
+		// ===========================================================
+		// Constants
+		// ===========================================================
+
+		// ===========================================================
+		// Fields
+		// ===========================================================
+
+		private final ArrayList<SVGBakedImage> mSVGBakedImages;
+		private final AtomicInteger mNextImage;
+
+		// ===========================================================
+		// Constructors
+		// ===========================================================
+
+		public SVGImageRenderer(final ArrayList<SVGBakedImage> pSVGBakedImages, final AtomicInteger pNextImage) {
+			this.mSVGBakedImages = pSVGBakedImages;
+			this.mNextImage = pNextImage;
+		}
+
+		// ===========================================================
+		// Getter & Setter
+		// ===========================================================
+
+		// ===========================================================
+		// Methods for/from SuperClass/Interfaces
+		// ===========================================================
+
+		@Override
+		public void run() {
+			int image;
+			while((image = this.mNextImage.getAndIncrement()) < this.mSVGBakedImages.size()) {
+				final SVGBakedImage svgBakedImage = this.mSVGBakedImages.get(image);
+				try {
+					svgBakedImage.render();
+				} catch (final IOException e) {
+					throw new IllegalStateException("Failed baking '" + svgBakedImage.mFile + "'.", e);
+				}
+			}
+		}
+
+		// ===========================================================
+		// Methods
+		// ===========================================================
+
+		// ===========================================================
+		// Inner and Anonymous Classes
+		// ===========================================================
+	}
+}
@@ -0,0 +1,242 @@
+package org.anddev.andengine.extension.svg.tool;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Locale;
+
+import org.anddev.andengine.extension.svg.SVGParser;
+import org.anddev.andengine.extension.svg.backend.SVGDisplayList;
+import org.anddev.andengine.extension.svg.backend.analysis.SVGComplexityAnalyzer;
+import org.anddev.andengine.extension.svg.backend.analysis.SVGComplexityAnalyzer.SVGComplexityReport;
+
+/**
+ * Prints the {@link SVGComplexityReport} of SVG files and checks them against budgets, so a build can reject assets that are too expensive to render.
+ * Exits with <code>1</code> if any file exceeds a budget or fails to parse.
+ *
+ * Runs on a plain JVM: <code>java org.anddev.andengine.extension.svg.tool.SVGComplexityChecker [options] file|directory...</code>
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 17:31:06 - 04.06.2011
+ */
+public class SVGComplexityChecker {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	private static final String SVG_FILE_EXTENSION = ".svg";
+
+	private static final String USAGE = "Usage: java " + SVGComplexityChecker.class.getName() + " [options] file|directory...\n"
+			+ "  --scale 1             the scale the files are rendered at (default: 1)\n"
+			+ "  --size 256x256        the size the files are rendered at, instead of a scale\n"
+			+ "  --budget-ms 5         the maximum predicted render cost, in milliseconds\n"
+			+ "  --max-vertices n      the maximum number of flattened vertices\n"
+			+ "  --max-overdraw 4      the maximum overdraw\n"
+			+ "  --quiet               only print the files that exceed a budget";
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private float mScale = 1;
+	private int mWidth;
+	private int mHeight;
+	private float mBudget = Float.POSITIVE_INFINITY;
+	private long mMaximumVertexCount = Long.MAX_VALUE;
+	private float mMaximumOverdraw = Float.POSITIVE_INFINITY;
+	private boolean mQuiet;
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	public void setScale(final float pScale) {
+		this.mScale = pScale;
+		this.mWidth = 0;
+		this.mHeight = 0;
+	}
+
+	/**
+	 * Renders every file at <code>pWidth</code> x <code>pHeight</code> pixels, regardless of its own size.
+	 */
+	public void setSize(final int pWidth, final int pHeight) {
+		this.mWidth = pWidth;
+		this.mHeight = pHeight;
+	}
+
+	/**
+	 * @param pBudget in milliseconds of {@link SVGComplexityReport#getPredictedRenderCost(int, int)}.
+	 */
+	public void setBudget(final float pBudget) {
+		this.mBudget = pBudget;
+	}
+
+	public void setMaximumVertexCount(final long pMaximumVertexCount) {
+		this.mMaximumVertexCount = pMaximumVertexCount;
+	}
+
+	public void setMaximumOverdraw(final float pMaximumOverdraw) {
+		this.mMaximumOverdraw = pMaximumOverdraw;
+	}
+
+	public void setQuiet(final boolean pQuiet) {
+		this.mQuiet = pQuiet;
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	public static void main(final String[] pArguments) throws Exception {
+		final SVGComplexityChecker svgComplexityChecker = new SVGComplexityChecker();
+		final ArrayList<File> files = new ArrayList<File>();
+		for(int i = 0; i < pArguments.length; i++) {
+			final String argument = pArguments[i];
+			if(argument.equals("--quiet")) {
+				svgComplexityChecker.setQuiet(true);
+			} else if(argument.startsWith("--")) {
+				if(i + 1 == pArguments.length) {
+					System.err.println("Missing value for '" + argument + "'.\n" + SVGComplexityChecker.USAGE);
+					System.exit(1);
+				}
+				final String value = pArguments[++i];
+				if(argument.equals("--scale")) {
+					svgComplexityChecker.setScale(Float.parseFloat(value));
+				} else if(argument.equals("--size")) {
+					final int separatorIndex = value.indexOf('x');
+					if(separatorIndex < 0) {
+						System.err.println("Invalid size '" + value + "'.\n" + SVGComplexityChecker.USAGE);
+						System.exit(1);
+					}
+					svgComplexityChecker.setSize(Integer.parseInt(value.substring(0, separatorIndex)), Integer.parseInt(value.substring(separatorIndex + 1)));
+				} else if(argument.equals("--budget-ms")) {
+					svgComplexityChecker.setBudget(Float.parseFloat(value));
+				} else if(argument.equals("--max-vertices")) {
+					svgComplexityChecker.setMaximumVertexCount(Long.parseLong(value));
+				} else if(argument.equals("--max-overdraw")) {
+					svgComplexityChecker.setMaximumOverdraw(Float.parseFloat(value));
+				} else {
+					System.err.println("Unknown option '" + argument + "'.\n" + SVGComplexityChecker.USAGE);
+					System.exit(1);
+				}
+			} else {
+				SVGComplexityChecker.collectSVGFiles(new File(argument), files);
+			}
+		}
+		if(files.isEmpty()) {
+			System.err.println(SVGComplexityChecker.USAGE);
+			System.exit(1);
+		}
+
+		int failureCount = 0;
+		for(final File file : files) {
+			if(!svgComplexityChecker.check(file)) {
+				failureCount++;
+			}
+		}
+		System.out.println(String.format(Locale.US, "Checked %d files, %d failed.", files.size(), failureCount));
+		System.exit((failureCount == 0) ? 0 : 1);
+	}
+
+	/**
+	 * Prints the report of <code>pFile</code> and every budget it exceeds.
+	 *
+	 * @return <code>false</code> if <code>pFile</code> exceeds a budget or fails to parse.
+	 */
+	public boolean check(final File pFile) {
+		final SVGComplexityReport svgComplexityReport;
+		try {
+			final InputStream inputStream = new BufferedInputStream(new FileInputStream(pFile));
+			try {
+				final SVGDisplayList svgDisplayList = SVGParser.parseSVGDisplayListFromInputStream(inputStream, null);
+				svgComplexityReport = SVGComplexityAnalyzer.analyze(svgDisplayList);
+			} finally {
+				inputStream.close();
+			}
+		} catch (final IOException e) {
+			System.out.println(pFile + ": FAILED, " + e);
+			return false;
+		} catch (final RuntimeException e) {
+			System.out.println(pFile + ": FAILED, " + e);
+			return false;
+		}
+
+		final int width;
+		final int height;
+		if(this.mWidth > 0 && this.mHeight > 0) {
+			width = this.mWidth;
+			height = this.mHeight;
+		} else {
+			width = Math.round(svgComplexityReport.getWidth() * this.mScale);
+			height = Math.round(svgComplexityReport.getHeight() * this.mScale);
+		}
+
+		final float cost = svgComplexityReport.getPredictedRenderCost(width, height) / 1e6f;
+		final ArrayList<String> violations = new ArrayList<String>();
+		if(cost > this.mBudget) {
+			violations.add(String.format(Locale.US, "predicted render cost at %dx%d of %.2f ms exceeds %.2f ms", width, height, cost, this.mBudget));
+		}
+		if(svgComplexityReport.getFlattenedVertexCount() > this.mMaximumVertexCount) {
+			violations.add(String.format(Locale.US, "%d flattened vertices exceed %d", svgComplexityReport.getFlattenedVertexCount(), this.mMaximumVertexCount));
+		}
+		if(svgComplexityReport.getOverdraw() > this.mMaximumOverdraw) {
+			violations.add(String.format(Locale.US, "overdraw of %.2f exceeds %.2f", svgComplexityReport.getOverdraw(), this.mMaximumOverdraw));
+		}
+
+		if(!this.mQuiet || !violations.isEmpty()) {
+			System.out.println(pFile + ": " + (violations.isEmpty() ? "OK" : "FAILED"));
+			System.out.println("  " + svgComplexityReport.toString().replace("\n", "\n  "));
+			if(width != svgComplexityReport.getWidth() || height != svgComplexityReport.getHeight()) {
+				System.out.println(String.format(Locale.US, "  predicted render cost at %dx%d: %.2f ms", width, height, cost));
+			}
+			for(final String violation : violations) {
+				System.out.println("  " + violation);
+			}
+		}
+		return violations.isEmpty();
+	}
+
+	/**
+	 * Collects <code>pFile</code>, or the SVG files below it if it is a directory, in the order of their names.
+	 */
+	private static void collectSVGFiles(final File pFile, final ArrayList<File> pFiles) throws IOException {
+		if(!pFile.isDirectory()) {
+			pFiles.add(pFile);
+			return;
+		}
+
+		final File[] files = pFile.listFiles();
+		if(files == null) {
+			throw new IOException("'" + pFile + "' is not a readable directory.");
+		}
+		Arrays.sort(files);
+		for(final File file : files) {
+			if(file.isDirectory()) {
+				if(!file.getName().startsWith(".")) {
+					SVGComplexityChecker.collectSVGFiles(file, pFiles);
+				}
+			} else if(file.getName().endsWith(SVGComplexityChecker.SVG_FILE_EXTENSION)) {
+				pFiles.add(file);
+			}
+		}
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
@@ -0,0 +1,202 @@
+package org.anddev.andengine.extension.svg.tool;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Encodes (non-premultiplied) ARGB pixels as a 32 bit RGBA PNG, without any Android or AWT class.
+ * Every row is filtered with the filter type that minimizes the sum of the absolute filtered bytes, as recommended by the PNG specification.
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 10:26:13 - 04.06.2011
+ */
+public class SVGPNGEncoder {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	private static final byte[] SIGNATURE = new byte[] { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n' };
+
+	private static final int BYTES_PER_PIXEL = 4;
+
+	private static final int BIT_DEPTH = 8;
+	private static final int COLOR_TYPE_RGBA = 6;
+
+	private static final int FILTER_NONE = 0;
+	private static final int FILTER_SUB = 1;
+	private static final int FILTER_UP = 2;
+	private static final int FILTER_AVERAGE = 3;
+	private static final int FILTER_PAETH = 4;
+	private static final int FILTER_COUNT = 5;
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	/**
+	 * @param pPixels (non-premultiplied) ARGB colors, row by row.
+	 * @return the bytes of the PNG file.
+	 */
+	public static byte[] encode(final int[] pPixels, final int pWidth, final int pHeight) throws IOException {
+		final ByteArrayOutputStream png = new ByteArrayOutputStream();
+		png.write(SVGPNGEncoder.SIGNATURE);
+
+		final byte[] header = new byte[13];
+		SVGPNGEncoder.putInt(header, 0, pWidth);
+		SVGPNGEncoder.putInt(header, 4, pHeight);
+		header[8] = SVGPNGEncoder.BIT_DEPTH;
+		header[9] = SVGPNGEncoder.COLOR_TYPE_RGBA;
+		/* Compression, filter and interlace method are all 0. */
+		SVGPNGEncoder.writeChunk(png, "IHDR", header, header.length);
+
+		final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+		final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+		final DeflaterOutputStream deflaterOutputStream = new DeflaterOutputStream(compressed, deflater);
+
+		final int stride = SVGPNGEncoder.BYTES_PER_PIXEL * pWidth;
+		byte[] previousRow = new byte[stride];
+		byte[] row = new byte[stride];
+		final byte[][] filteredRows = new byte[SVGPNGEncoder.FILTER_COUNT][1 + stride];
+		for(int y = 0; y < pHeight; y++) {
+			final int offset = y * pWidth;
+			for(int x = 0; x < pWidth; x++) {
+				final int argb = pPixels[offset + x];
+				final int index = SVGPNGEncoder.BYTES_PER_PIXEL * x;
+				row[index] = (byte) (argb >> 16);
+				row[index + 1] = (byte) (argb >> 8);
+				row[index + 2] = (byte) argb;
+				row[index + 3] = (byte) (argb >>> 24);
+			}
+
+			final byte[] filteredRow = SVGPNGEncoder.filter(row, previousRow, stride, filteredRows);
+			deflaterOutputStream.write(filteredRow, 0, 1 + stride);
+
+			final byte[] swap = previousRow;
+			previousRow = row;
+			row = swap;
+		}
+		deflaterOutputStream.finish();
+		deflater.end();
+
+		final byte[] data = compressed.toByteArray();
+		SVGPNGEncoder.writeChunk(png, "IDAT", data, data.length);
+		SVGPNGEncoder.writeChunk(png, "IEND", data, 0);
+		return png.toByteArray();
+	}
+
+	/**
+	 * @return the entry of <code>pFilteredRows</code> holding the filter type and the filtered bytes with the smallest sum of absolute values.
+	 */
+	private static byte[] filter(final byte[] pRow, final byte[] pPreviousRow, final int pStride, final byte[][] pFilteredRows) {
+		final int bpp = SVGPNGEncoder.BYTES_PER_PIXEL;
+
+		byte[] bestFilteredRow = null;
+		long bestSum = Long.MAX_VALUE;
+		for(int filter = 0; filter < SVGPNGEncoder.FILTER_COUNT; filter++) {
+			final byte[] filteredRow = pFilteredRows[filter];
+			filteredRow[0] = (byte) filter;
+
+			long sum = 0;
+			for(int i = 0; i < pStride; i++) {
+				final int current = pRow[i] & 0xFF;
+				final int left = (i >= bpp) ? pRow[i - bpp] & 0xFF : 0;
+				final int up = pPreviousRow[i] & 0xFF;
+				final int upLeft = (i >= bpp) ? pPreviousRow[i - bpp] & 0xFF : 0;
+
+				final int predicted;
+				switch(filter) {
+					case SVGPNGEncoder.FILTER_SUB:
+						predicted = left;
+						break;
+					case SVGPNGEncoder.FILTER_UP:
+						predicted = up;
+						break;
+					case SVGPNGEncoder.FILTER_AVERAGE:
+						predicted = (left + up) >> 1;
+						break;
+					case SVGPNGEncoder.FILTER_PAETH:
+						predicted = SVGPNGEncoder.paeth(left, up, upLeft);
+						break;
+					case SVGPNGEncoder.FILTER_NONE:
+					default:
+						predicted = 0;
+						break;
+				}
+
+				final byte filtered = (byte) (current - predicted);
+				filteredRow[1 + i] = filtered;
+				sum += Math.abs(filtered);
+			}
+
+			if(sum < bestSum) {
+				bestSum = sum;
+				bestFilteredRow = filteredRow;
+			}
+		}
+		return bestFilteredRow;
+	}
+
+	private static int paeth(final int pLeft, final int pUp, final int pUpLeft) {
+		final int estimate = pLeft + pUp - pUpLeft;
+		final int distanceLeft = Math.abs(estimate - pLeft);
+		final int distanceUp = Math.abs(estimate - pUp);
+		final int distanceUpLeft = Math.abs(estimate - pUpLeft);
+		if(distanceLeft <= distanceUp && distanceLeft <= distanceUpLeft) {
+			return pLeft;
+		} else if(distanceUp <= distanceUpLeft) {
+			return pUp;
+		} else {
+			return pUpLeft;
+		}
+	}
+
+	private static void writeChunk(final ByteArrayOutputStream pOutputStream, final String pType, final byte[] pData, final int pLength) {
+		final byte[] type = new byte[] { (byte) pType.charAt(0), (byte) pType.charAt(1), (byte) pType.charAt(2), (byte) pType.charAt(3) };
+
+		final byte[] length = new byte[4];
+		SVGPNGEncoder.putInt(length, 0, pLength);
+		pOutputStream.write(length, 0, 4);
+		pOutputStream.write(type, 0, 4);
+		pOutputStream.write(pData, 0, pLength);
+
+		final CRC32 crc = new CRC32();
+		crc.update(type, 0, 4);
+		crc.update(pData, 0, pLength);
+		final byte[] checksum = new byte[4];
+		SVGPNGEncoder.putInt(checksum, 0, (int) crc.getValue());
+		pOutputStream.write(checksum, 0, 4);
+	}
+
+	private static void putInt(final byte[] pBytes, final int pOffset, final int pValue) {
+		pBytes[pOffset] = (byte) (pValue >>> 24);
+		pBytes[pOffset + 1] = (byte) (pValue >>> 16);
+		pBytes[pOffset + 2] = (byte) (pValue >>> 8);
+		pBytes[pOffset + 3] = (byte) pValue;
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
@@ -0,0 +1,104 @@
+package org.anddev.andengine.extension.svg.util;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Reads the remaining bytes of a {@link ByteBuffer}, i.e. of a memory mapped file or a direct buffer a download was received into, without copying them into an array first.
+ * The position of the {@link ByteBuffer} itself is left untouched.
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 17:55:10 - 04.06.2011
+ */
+public class SVGByteBufferInputStream extends InputStream {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private final ByteBuffer mByteBuffer;
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	public SVGByteBufferInputStream(final ByteBuffer pByteBuffer) {
+		this.mByteBuffer = pByteBuffer.duplicate();
+		/* Like a ByteArrayInputStream, resets to the start unless marked otherwise. */
+		this.mByteBuffer.mark();
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	@Override
+	public int read() {
+		if(!this.mByteBuffer.hasRemaining()) {
+			return -1;
+		}
+		return this.mByteBuffer.get() & 0xFF;
+	}
+
+	@Override
+	public int read(final byte[] pBuffer, final int pOffset, final int pLength) {
+		if(pLength == 0) {
+			return 0;
+		}
+		final int remaining = this.mByteBuffer.remaining();
+		if(remaining == 0) {
+			return -1;
+		}
+		final int count = Math.min(pLength, remaining);
+		this.mByteBuffer.get(pBuffer, pOffset, count);
+		return count;
+	}
+
+	@Override
+	public long skip(final long pCount) {
+		if(pCount <= 0) {
+			return 0;
+		}
+		final int skipped = (int) Math.min(pCount, this.mByteBuffer.remaining());
+		this.mByteBuffer.position(this.mByteBuffer.position() + skipped);
+		return skipped;
+	}
+
+	@Override
+	public int available() {
+		return this.mByteBuffer.remaining();
+	}
+
+	@Override
+	public boolean markSupported() {
+		return true;
+	}
+
+	@Override
+	public synchronized void mark(final int pReadLimit) {
+		this.mByteBuffer.mark();
+	}
+
+	@Override
+	public synchronized void reset() {
+		this.mByteBuffer.reset();
+	}
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
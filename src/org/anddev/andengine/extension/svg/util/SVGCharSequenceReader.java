@@ -0,0 +1,122 @@
+package org.anddev.andengine.extension.svg.util;
+
+import java.io.Reader;
+
+/**
+ * Reads the characters of a {@link CharSequence} without copying it into a {@link String} first, i.e. of a {@link StringBuilder} a document was generated into.
+ * Not synchronized, as it is read by a single parser.
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 17:48:33 - 04.06.2011
+ */
+public class SVGCharSequenceReader extends Reader {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private CharSequence mCharSequence;
+	private int mPosition;
+	private int mMark;
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	public SVGCharSequenceReader(final CharSequence pCharSequence) {
+		this.mCharSequence = pCharSequence;
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	@Override
+	public int read() {
+		final CharSequence charSequence = this.mCharSequence;
+		if(charSequence == null || this.mPosition >= charSequence.length()) {
+			return -1;
+		}
+		return charSequence.charAt(this.mPosition++);
+	}
+
+	/**
+	 * Copies {@link String}s, {@link StringBuilder}s and {@link StringBuffer}s in bulk, any other {@link CharSequence} character by character.
+	 */
+	@Override
+	public int read(final char[] pBuffer, final int pOffset, final int pLength) {
+		final CharSequence charSequence = this.mCharSequence;
+		if(charSequence == null || this.mPosition >= charSequence.length()) {
+			return -1;
+		}
+
+		final int start = this.mPosition;
+		final int end = Math.min(start + pLength, charSequence.length());
+		if(charSequence instanceof String) {
+			((String) charSequence).getChars(start, end, pBuffer, pOffset);
+		} else if(charSequence instanceof StringBuilder) {
+			((StringBuilder) charSequence).getChars(start, end, pBuffer, pOffset);
+		} else if(charSequence instanceof StringBuffer) {
+			((StringBuffer) charSequence).getChars(start, end, pBuffer, pOffset);
+		} else {
+			for(int i = start; i < end; i++) {
+				pBuffer[pOffset + i - start] = charSequence.charAt(i);
+			}
+		}
+		this.mPosition = end;
+		return end - start;
+	}
+
+	@Override
+	public long skip(final long pCount) {
+		if(this.mCharSequence == null || pCount <= 0) {
+			return 0;
+		}
+		final int skipped = (int) Math.min(pCount, this.mCharSequence.length() - this.mPosition);
+		this.mPosition += skipped;
+		return skipped;
+	}
+
+	@Override
+	public boolean ready() {
+		return true;
+	}
+
+	@Override
+	public boolean markSupported() {
+		return true;
+	}
+
+	@Override
+	public void mark(final int pReadAheadLimit) {
+		this.mMark = this.mPosition;
+	}
+
+	@Override
+	public void reset() {
+		this.mPosition = this.mMark;
+	}
+
+	@Override
+	public void close() {
+		this.mCharSequence = null;
+	}
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
@@ -0,0 +1,309 @@
+package org.anddev.andengine.extension.svg.util;
+
+import org.anddev.andengine.extension.svg.adt.SVGMatrix;
+import org.anddev.andengine.extension.svg.adt.SVGPath;
+
+/**
+ * Flattens the curves of a {@link SVGPath} into polylines, that deviate at most the tolerance from them.
+ * Curves are subdivided adaptively until every piece can be flattened into a few uniform segments (Wang's formula), so flat parts get few segments and tight bends many.
+ * The subdivision uses a fixed size stack instead of recursion, so it neither allocates nor can overflow, and is limited to {@link SVGPathFlattener#SEGMENTS_PER_CURVE_MAXIMUM} segments per curve.
+ * Arcs are stored as cubic Bezier curves of at most 90 degrees each, which stay far closer to the arc than any sensible tolerance, so they are flattened just the same.
+ *
+ * A flattener is not thread-safe, but it can be reused for any number of paths.
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 11:36:18 - 01.06.2011
+ */
+public class SVGPathFlattener {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	/** The default maximum distance between a curve and the lines it is flattened into, in pixels. */
+	public static final float TOLERANCE_DEFAULT = 0.25f;
+
+	/** Pieces of curves that need more uniform segments than this are subdivided further, so their segments follow the curvature. */
+	private static final int UNIFORM_SEGMENTS_MAXIMUM = 8;
+	private static final int SUBDIVISION_DEPTH_MAXIMUM = 8;
+	public static final int SEGMENTS_PER_CURVE_MAXIMUM = SVGPathFlattener.UNIFORM_SEGMENTS_MAXIMUM << SVGPathFlattener.SUBDIVISION_DEPTH_MAXIMUM;
+
+	/** The number of floats of a cubic Bezier curve on the stack. */
+	private static final int STACK_ENTRY_SIZE = 8;
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private float mTolerance = SVGPathFlattener.TOLERANCE_DEFAULT;
+
+	/** The curves still to be flattened. A subdivision replaces the top curve with its two halves, so there are never more curves than levels of subdivision. */
+	private final float[] mStack = new float[SVGPathFlattener.STACK_ENTRY_SIZE * (SVGPathFlattener.SUBDIVISION_DEPTH_MAXIMUM + 1)];
+	private final int[] mStackDepths = new int[SVGPathFlattener.SUBDIVISION_DEPTH_MAXIMUM + 1];
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	public SVGPathFlattener() {
+
+	}
+
+	public SVGPathFlattener(final float pTolerance) {
+		this.setTolerance(pTolerance);
+	}
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	public float getTolerance() {
+		return this.mTolerance;
+	}
+
+	/**
+	 * @param pTolerance the maximum distance between a curve and the lines it is flattened into, in the coordinate system of the emitted points.
+	 */
+	public void setTolerance(final float pTolerance) {
+		if(!(pTolerance > 0)) {
+			throw new IllegalArgumentException("pTolerance must be positive.");
+		}
+		this.mTolerance = pTolerance;
+	}
+
+	/**
+	 * Sets the tolerance for flattening paths that will be drawn with <code>pTransform</code>, but are flattened in their own coordinate system, i.e. to be stroked.
+	 * The tolerance is divided by the largest scale of <code>pTransform</code>, so no direction ends up coarser than <code>pDeviceTolerance</code>.
+	 *
+	 * @param pDeviceTolerance in pixels.
+	 * @param pTransform maps the coordinates of the flattened paths to pixels.
+	 */
+	public void setTolerance(final float pDeviceTolerance, final SVGMatrix pTransform) {
+		final float scale = pTransform.getMaximumScale();
+		if(scale > 0 && scale < Float.POSITIVE_INFINITY) {
+			this.setTolerance(pDeviceTolerance / scale);
+		} else {
+			this.setTolerance(pDeviceTolerance);
+		}
+	}
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	/**
+	 * @return the number of segments a chord of a circle of radius <code>pRadius</code> needs to stay within <code>pTolerance</code> of an arc spanning <code>pSweepAngle</code>, at least <code>1</code>.
+	 */
+	public static int getArcSegmentCount(final float pRadius, final float pSweepAngle, final float pTolerance) {
+		if(!(pRadius > pTolerance)) {
+			return 1;
+		}
+		/* A chord spanning the angle a deviates radius * (1 - cos(a / 2)) from its arc. */
+		final double maximumAngle = 2 * Math.acos(1 - pTolerance / pRadius);
+		final double segmentCount = Math.ceil(Math.abs(pSweepAngle) / maximumAngle);
+		return (int) Math.max(1, Math.min(SVGPathFlattener.SEGMENTS_PER_CURVE_MAXIMUM, segmentCount));
+	}
+
+	/**
+	 * Every contour starts with {@link ISVGPathFlattenerListener#onMoveTo(float, float)}, followed by its points as {@link ISVGPathFlattenerListener#onLineTo(float, float)} and, if it is closed, {@link ISVGPathFlattenerListener#onClose()}.
+	 *
+	 * @param pTransform is applied to the points before flattening, so the tolerance is in its target coordinate system. May be <code>null</code>.
+	 */
+	public void flatten(final SVGPath pSVGPath, final SVGMatrix pTransform, final ISVGPathFlattenerListener pSVGPathFlattenerListener) {
+		final byte[] verbs = pSVGPath.getVerbs();
+		final float[] coordinates = pSVGPath.getCoordinates();
+		final int verbCount = pSVGPath.getVerbCount();
+
+		float lastX = 0;
+		float lastY = 0;
+		int c = 0;
+		for(int i = 0; i < verbCount; i++) {
+			final byte verb = verbs[i];
+			switch(verb) {
+				case SVGPath.VERB_MOVE: {
+					lastX = SVGPathFlattener.mapX(pTransform, coordinates[c], coordinates[c + 1]);
+					lastY = SVGPathFlattener.mapY(pTransform, coordinates[c], coordinates[c + 1]);
+					pSVGPathFlattenerListener.onMoveTo(lastX, lastY);
+					break;
+				}
+				case SVGPath.VERB_LINE: {
+					lastX = SVGPathFlattener.mapX(pTransform, coordinates[c], coordinates[c + 1]);
+					lastY = SVGPathFlattener.mapY(pTransform, coordinates[c], coordinates[c + 1]);
+					pSVGPathFlattenerListener.onLineTo(lastX, lastY);
+					break;
+				}
+				case SVGPath.VERB_QUAD: {
+					final float x1 = SVGPathFlattener.mapX(pTransform, coordinates[c], coordinates[c + 1]);
+					final float y1 = SVGPathFlattener.mapY(pTransform, coordinates[c], coordinates[c + 1]);
+					final float x2 = SVGPathFlattener.mapX(pTransform, coordinates[c + 2], coordinates[c + 3]);
+					final float y2 = SVGPathFlattener.mapY(pTransform, coordinates[c + 2], coordinates[c + 3]);
+					this.flattenQuad(lastX, lastY, x1, y1, x2, y2, pSVGPathFlattenerListener);
+					lastX = x2;
+					lastY = y2;
+					break;
+				}
+				case SVGPath.VERB_CUBIC: {
+					final float x1 = SVGPathFlattener.mapX(pTransform, coordinates[c], coordinates[c + 1]);
+					final float y1 = SVGPathFlattener.mapY(pTransform, coordinates[c], coordinates[c + 1]);
+					final float x2 = SVGPathFlattener.mapX(pTransform, coordinates[c + 2], coordinates[c + 3]);
+					final float y2 = SVGPathFlattener.mapY(pTransform, coordinates[c + 2], coordinates[c + 3]);
+					final float x3 = SVGPathFlattener.mapX(pTransform, coordinates[c + 4], coordinates[c + 5]);
+					final float y3 = SVGPathFlattener.mapY(pTransform, coordinates[c + 4], coordinates[c + 5]);
+					this.flattenCubic(lastX, lastY, x1, y1, x2, y2, x3, y3, pSVGPathFlattenerListener);
+					lastX = x3;
+					lastY = y3;
+					break;
+				}
+				case SVGPath.VERB_CLOSE: {
+					pSVGPathFlattenerListener.onClose();
+					break;
+				}
+			}
+			c += 2 * SVGPath.getPointCount(verb);
+		}
+	}
+
+	/**
+	 * Emits the points after <code>pX0/pY0</code> as {@link ISVGPathFlattenerListener#onLineTo(float, float)}, ending with <code>pX2/pY2</code>.
+	 */
+	public void flattenQuad(final float pX0, final float pY0, final float pX1, final float pY1, final float pX2, final float pY2, final ISVGPathFlattenerListener pSVGPathFlattenerListener) {
+		/* Degree elevation represents the quadratic curve exactly as a cubic one. */
+		final float x1 = pX0 + (pX1 - pX0) * (2f / 3f);
+		final float y1 = pY0 + (pY1 - pY0) * (2f / 3f);
+		final float x2 = pX2 + (pX1 - pX2) * (2f / 3f);
+		final float y2 = pY2 + (pY1 - pY2) * (2f / 3f);
+		this.flattenCubic(pX0, pY0, x1, y1, x2, y2, pX2, pY2, pSVGPathFlattenerListener);
+	}
+
+	/**
+	 * Emits the points after <code>pX0/pY0</code> as {@link ISVGPathFlattenerListener#onLineTo(float, float)}, ending with <code>pX3/pY3</code>.
+	 */
+	public void flattenCubic(final float pX0, final float pY0, final float pX1, final float pY1, final float pX2, final float pY2, final float pX3, final float pY3, final ISVGPathFlattenerListener pSVGPathFlattenerListener) {
+		final float[] stack = this.mStack;
+		final int[] stackDepths = this.mStackDepths;
+		final float tolerance = this.mTolerance;
+
+		stack[0] = pX0;
+		stack[1] = pY0;
+		stack[2] = pX1;
+		stack[3] = pY1;
+		stack[4] = pX2;
+		stack[5] = pY2;
+		stack[6] = pX3;
+		stack[7] = pY3;
+		stackDepths[0] = 0;
+		int stackSize = 1;
+
+		while(stackSize > 0) {
+			stackSize--;
+			final int offset = SVGPathFlattener.STACK_ENTRY_SIZE * stackSize;
+			final float x0 = stack[offset];
+			final float y0 = stack[offset + 1];
+			final float x1 = stack[offset + 2];
+			final float y1 = stack[offset + 3];
+			final float x2 = stack[offset + 4];
+			final float y2 = stack[offset + 5];
+			final float x3 = stack[offset + 6];
+			final float y3 = stack[offset + 7];
+			final int depth = stackDepths[stackSize];
+
+			/* Wang's formula: the number of uniform segments that keep the piece within the tolerance. */
+			final float ddX0 = x0 - 2 * x1 + x2;
+			final float ddY0 = y0 - 2 * y1 + y2;
+			final float ddX1 = x1 - 2 * x2 + x3;
+			final float ddY1 = y1 - 2 * y2 + y3;
+			final float dd = (float) Math.sqrt(Math.max(ddX0 * ddX0 + ddY0 * ddY0, ddX1 * ddX1 + ddY1 * ddY1));
+			/* An infinite curvature, i.e. of overflowing coordinates, would not get any flatter by subdividing, so it gets the most uniform segments right away. */
+			final float segmentCount = (dd == Float.POSITIVE_INFINITY) ? SVGPathFlattener.UNIFORM_SEGMENTS_MAXIMUM : (float) Math.ceil(Math.sqrt(0.75f * dd / tolerance));
+
+			/* NaNs are not subdivided either, as that would not get them any flatter. */
+			if(depth == SVGPathFlattener.SUBDIVISION_DEPTH_MAXIMUM || !(segmentCount > SVGPathFlattener.UNIFORM_SEGMENTS_MAXIMUM)) {
+				/* At the maximum depth, huge curves are drawn coarser than the tolerance, rather than with an unbounded number of segments. */
+				final int count = (segmentCount > 1) ? (int) Math.min(segmentCount, SVGPathFlattener.UNIFORM_SEGMENTS_MAXIMUM) : 1;
+				for(int i = 1; i < count; i++) {
+					final float t = (float) i / count;
+					final float u = 1 - t;
+					final float a = u * u * u;
+					final float b = 3 * u * u * t;
+					final float c = 3 * u * t * t;
+					final float d = t * t * t;
+					pSVGPathFlattenerListener.onLineTo(a * x0 + b * x1 + c * x2 + d * x3, a * y0 + b * y1 + c * y2 + d * y3);
+				}
+				pSVGPathFlattenerListener.onLineTo(x3, y3);
+				continue;
+			}
+
+			/* De Casteljau at t = 0.5. The second half replaces the curve, the first half goes on top, so the points are emitted in order. */
+			final float x01 = (x0 + x1) * 0.5f;
+			final float y01 = (y0 + y1) * 0.5f;
+			final float x12 = (x1 + x2) * 0.5f;
+			final float y12 = (y1 + y2) * 0.5f;
+			final float x23 = (x2 + x3) * 0.5f;
+			final float y23 = (y2 + y3) * 0.5f;
+			final float x012 = (x01 + x12) * 0.5f;
+			final float y012 = (y01 + y12) * 0.5f;
+			final float x123 = (x12 + x23) * 0.5f;
+			final float y123 = (y12 + y23) * 0.5f;
+			final float x0123 = (x012 + x123) * 0.5f;
+			final float y0123 = (y012 + y123) * 0.5f;
+
+			stack[offset] = x0123;
+			stack[offset + 1] = y0123;
+			stack[offset + 2] = x123;
+			stack[offset + 3] = y123;
+			stack[offset + 4] = x23;
+			stack[offset + 5] = y23;
+			stack[offset + 6] = x3;
+			stack[offset + 7] = y3;
+			stackDepths[stackSize] = depth + 1;
+
+			final int topOffset = offset + SVGPathFlattener.STACK_ENTRY_SIZE;
+			stack[topOffset] = x0;
+			stack[topOffset + 1] = y0;
+			stack[topOffset + 2] = x01;
+			stack[topOffset + 3] = y01;
+			stack[topOffset + 4] = x012;
+			stack[topOffset + 5] = y012;
+			stack[topOffset + 6] = x0123;
+			stack[topOffset + 7] = y0123;
+			stackDepths[stackSize + 1] = depth + 1;
+
+			stackSize += 2;
+		}
+	}
+
+	private static float mapX(final SVGMatrix pTransform, final float pX, final float pY) {
+		return (pTransform == null) ? pX : pTransform.mapX(pX, pY);
+	}
+
+	private static float mapY(final SVGMatrix pTransform, final float pX, final float pY) {
+		return (pTransform == null) ? pY : pTransform.mapY(pX, pY);
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+
+	public static interface ISVGPathFlattenerListener {
+		// ===========================================================
+		// Final Fields
+		// ===========================================================
+
+		// ===========================================================
+		// Methods
+		// ===========================================================
+
+		public void onMoveTo(final float pX, final float pY);
+		public void onLineTo(final float pX, final float pY);
+		/**
+		 * The contour is closed back to the point of its last {@link ISVGPathFlattenerListener#onMoveTo(float, float)}.
+		 */
+		public void onClose();
+	}
+}
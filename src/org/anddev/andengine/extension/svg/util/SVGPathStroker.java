@@ -0,0 +1,324 @@
+package org.anddev.andengine.extension.svg.util;
+
+import org.anddev.andengine.extension.svg.adt.SVGPaintState;
+import org.anddev.andengine.extension.svg.adt.SVGPath;
+import org.anddev.andengine.extension.svg.util.SVGPathFlattener.ISVGPathFlattenerListener;
+
+/**
+ * Expands the outline of a path into the outline of its stroke, that covers the stroke when filled with the {@link SVGPath#FILLRULE_NONZERO} rule.
+ * The path is flattened first, then every open contour becomes a single closed outline along both of its sides and around its caps, and every closed contour becomes two, one along each side.
+ * On the outer side of a turn, the join is mitered, beveled or rounded. On the inner side, the outline runs through the vertex itself, which is covered by the stroke anyway.
+ *
+ * The result can be tessellated, rasterized, hit-tested and bounded like any other fill. A stroker is not thread-safe, but it can be reused for any number of paths.
+ *
+ * (c) 2010 Nicolas Gramlich
+ * (c) 2011 Zynga Inc.
+ *
+ * @author Nicolas Gramlich
+ * @since 13:40:12 - 30.05.2011
+ */
+public class SVGPathStroker implements ISVGPathFlattenerListener {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	private static final int CIRCLE_SEGMENTS_MINIMUM = 8;
+	/** Turns smaller than this (as the sine of their angle) are considered straight. */
+	private static final float STRAIGHT_EPSILON = 1e-6f;
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private float mHalfWidth;
+	private int mCap;
+	private int mJoin;
+	private float mMiterLimit;
+	private float mTolerance;
+	private SVGPath mOutput;
+
+	private final SVGPathFlattener mSVGPathFlattener = new SVGPathFlattener();
+
+	/** The flattened points of the current contour, as consecutive x/y pairs. */
+	private float[] mPoints = new float[64];
+	private int mPointCount;
+
+	/** Whether the current outline was already started with a move. */
+	private boolean mOutlineStarted;
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	@Override
+	public void onMoveTo(final float pX, final float pY) {
+		this.finishContour(false);
+		this.addPoint(pX, pY);
+	}
+
+	@Override
+	public void onLineTo(final float pX, final float pY) {
+		this.addPoint(pX, pY);
+	}
+
+	@Override
+	public void onClose() {
+		this.finishContour(true);
+	}
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	/**
+	 * @param pStrokeWidth in the coordinate system of <code>pSVGPath</code>.
+	 * @param pTolerance the maximum distance between curves and the lines they are approximated with, in the coordinate system of <code>pSVGPath</code>.
+	 * @param pOutput receives the outlines, which are appended.
+	 */
+	public void stroke(final SVGPath pSVGPath, final SVGPaintState pSVGPaintState, final float pStrokeWidth, final float pTolerance, final SVGPath pOutput) {
+		this.stroke(pSVGPath, pStrokeWidth, pSVGPaintState.getStrokeCap(), pSVGPaintState.getStrokeJoin(), pSVGPaintState.getStrokeMiterLimit(), pTolerance, pOutput);
+	}
+
+	/**
+	 * @param pStrokeWidth in the coordinate system of <code>pSVGPath</code>.
+	 * @param pCap one of the <code>CAP_*</code> constants of {@link SVGPaintState}.
+	 * @param pJoin one of the <code>JOIN_*</code> constants of {@link SVGPaintState}.
+	 * @param pMiterLimit the maximum ratio of the length of a miter to the stroke width. Longer miters are beveled.
+	 * @param pTolerance the maximum distance between curves and the lines they are approximated with, in the coordinate system of <code>pSVGPath</code>.
+	 * @param pOutput receives the outlines, which are appended.
+	 */
+	public void stroke(final SVGPath pSVGPath, final float pStrokeWidth, final int pCap, final int pJoin, final float pMiterLimit, final float pTolerance, final SVGPath pOutput) {
+		this.mHalfWidth = pStrokeWidth * 0.5f;
+		this.mCap = pCap;
+		this.mJoin = pJoin;
+		this.mMiterLimit = pMiterLimit;
+		this.mTolerance = pTolerance;
+		this.mOutput = pOutput;
+		this.mPointCount = 0;
+
+		this.mSVGPathFlattener.setTolerance(pTolerance);
+		this.mSVGPathFlattener.flatten(pSVGPath, null, this);
+		this.finishContour(false);
+		this.mOutput = null;
+	}
+
+	private void addPoint(final float pX, final float pY) {
+		final int pointCount = this.mPointCount;
+		if(pointCount > 0 && this.mPoints[2 * pointCount - 2] == pX && this.mPoints[2 * pointCount - 1] == pY) {
+			return;
+		}
+		if(2 * pointCount + 2 > this.mPoints.length) {
+			final float[] points = new float[2 * this.mPoints.length];
+			System.arraycopy(this.mPoints, 0, points, 0, 2 * pointCount);
+			this.mPoints = points;
+		}
+		this.mPoints[2 * pointCount] = pX;
+		this.mPoints[2 * pointCount + 1] = pY;
+		this.mPointCount++;
+	}
+
+	private void finishContour(final boolean pClosed) {
+		final float[] points = this.mPoints;
+		int pointCount = this.mPointCount;
+		this.mPointCount = 0;
+		if(pointCount == 0) {
+			return;
+		}
+
+		if(pClosed && pointCount > 1 && points[0] == points[2 * pointCount - 2] && points[1] == points[2 * pointCount - 1]) {
+			pointCount--;
+		}
+
+		if(pointCount == 1) {
+			/* A zero length contour only shows its caps. */
+			this.emitDot(points[0], points[1]);
+		} else if(pClosed && pointCount > 2) {
+			this.emitSide(pointCount, true, false);
+			this.emitSide(pointCount, true, true);
+		} else {
+			/* Along one side, around the end, back along the other side and around the start. */
+			this.emitSide(pointCount, false, false);
+			this.emitSide(pointCount, false, true);
+			this.mOutput.close();
+		}
+	}
+
+	/**
+	 * Emits the offset of the contour to its left, with all joins. The contour is walked backwards if <code>pReverse</code> is set, so its right side is emitted.
+	 * Open contours continue the current outline and end with the cap at their last point, closed contours are closed outlines of their own.
+	 */
+	private void emitSide(final int pPointCount, final boolean pClosed, final boolean pReverse) {
+		this.mOutlineStarted = pClosed ? false : pReverse;
+
+		final int segmentCount = pClosed ? pPointCount : pPointCount - 1;
+		for(int s = 0; s < segmentCount; s++) {
+			final int from = this.getPointIndex(s, pPointCount, pReverse);
+			final int to = this.getPointIndex((s + 1) % pPointCount, pPointCount, pReverse);
+			if(s > 0 || pClosed) {
+				final int previous = this.getPointIndex((s + pPointCount - 1) % pPointCount, pPointCount, pReverse);
+				this.emitJoin(previous, from, to);
+			} else {
+				this.emitOffset(from, to, from);
+			}
+		}
+
+		final int last = this.getPointIndex(segmentCount % pPointCount, pPointCount, pReverse);
+		final int beforeLast = this.getPointIndex(segmentCount - 1, pPointCount, pReverse);
+		if(pClosed) {
+			this.mOutput.close();
+		} else {
+			this.emitOffset(beforeLast, last, last);
+			this.emitCap(beforeLast, last);
+		}
+	}
+
+	private int getPointIndex(final int pIndex, final int pPointCount, final boolean pReverse) {
+		return pReverse ? pPointCount - 1 - pIndex : pIndex;
+	}
+
+	private void outlineTo(final float pX, final float pY) {
+		if(this.mOutlineStarted) {
+			this.mOutput.lineTo(pX, pY);
+		} else {
+			this.mOutput.moveTo(pX, pY);
+			this.mOutlineStarted = true;
+		}
+	}
+
+	/**
+	 * Emits the point at <code>pAt</code>, offset to the left of the segment from <code>pFrom</code> to <code>pTo</code>.
+	 */
+	private void emitOffset(final int pFrom, final int pTo, final int pAt) {
+		final float[] points = this.mPoints;
+		final float directionX = points[2 * pTo] - points[2 * pFrom];
+		final float directionY = points[2 * pTo + 1] - points[2 * pFrom + 1];
+		final float scale = this.mHalfWidth / (float) Math.sqrt(directionX * directionX + directionY * directionY);
+		this.outlineTo(points[2 * pAt] - directionY * scale, points[2 * pAt + 1] + directionX * scale);
+	}
+
+	/**
+	 * Emits the left side of the join at <code>pAt</code>, from the offset of the segment arriving from <code>pFrom</code> to the offset of the segment leaving to <code>pTo</code>.
+	 */
+	private void emitJoin(final int pFrom, final int pAt, final int pTo) {
+		final float[] points = this.mPoints;
+		final float x = points[2 * pAt];
+		final float y = points[2 * pAt + 1];
+
+		float directionX0 = x - points[2 * pFrom];
+		float directionY0 = y - points[2 * pFrom + 1];
+		final float length0 = (float) Math.sqrt(directionX0 * directionX0 + directionY0 * directionY0);
+		directionX0 /= length0;
+		directionY0 /= length0;
+		float directionX1 = points[2 * pTo] - x;
+		float directionY1 = points[2 * pTo + 1] - y;
+		final float length1 = (float) Math.sqrt(directionX1 * directionX1 + directionY1 * directionY1);
+		directionX1 /= length1;
+		directionY1 /= length1;
+
+		final float halfWidth = this.mHalfWidth;
+		final float normalX0 = -directionY0 * halfWidth;
+		final float normalY0 = directionX0 * halfWidth;
+		final float normalX1 = -directionY1 * halfWidth;
+		final float normalY1 = directionX1 * halfWidth;
+
+		final float cross = directionX0 * directionY1 - directionY0 * directionX1;
+		final float dot = directionX0 * directionX1 + directionY0 * directionY1;
+
+		if(Math.abs(cross) < SVGPathStroker.STRAIGHT_EPSILON && dot > 0) {
+			/* Straight on. */
+			this.outlineTo(x + normalX0, y + normalY0);
+			return;
+		}
+
+		if(cross > 0) {
+			/* The left side is the inner side of the turn. */
+			this.outlineTo(x + normalX0, y + normalY0);
+			this.outlineTo(x, y);
+			this.outlineTo(x + normalX1, y + normalY1);
+			return;
+		}
+
+		this.outlineTo(x + normalX0, y + normalY0);
+		switch(this.mJoin) {
+			case SVGPaintState.JOIN_ROUND:
+				this.emitArc(x, y, normalX0, normalY0, -(float) Math.acos(Math.max(-1, Math.min(1, dot))));
+				break;
+			case SVGPaintState.JOIN_MITER:
+				/* The miter is 1 / sin(theta / 2) times as long as the stroke is wide, where theta is the angle between the segments. */
+				final float miterLimit = this.mMiterLimit;
+				if((1 + dot) * 0.5f * miterLimit * miterLimit >= 1) {
+					this.outlineTo(x + (normalX0 + normalX1) / (1 + dot), y + (normalY0 + normalY1) / (1 + dot));
+				}
+				break;
+		}
+		this.outlineTo(x + normalX1, y + normalY1);
+	}
+
+	/**
+	 * Emits the cap at <code>pAt</code>, at the end of the segment from <code>pFrom</code>, from its left to its right side.
+	 */
+	private void emitCap(final int pFrom, final int pAt) {
+		final float[] points = this.mPoints;
+		final float x = points[2 * pAt];
+		final float y = points[2 * pAt + 1];
+		final float directionX = x - points[2 * pFrom];
+		final float directionY = y - points[2 * pFrom + 1];
+		final float scale = this.mHalfWidth / (float) Math.sqrt(directionX * directionX + directionY * directionY);
+		final float forwardX = directionX * scale;
+		final float forwardY = directionY * scale;
+		final float normalX = -forwardY;
+		final float normalY = forwardX;
+
+		switch(this.mCap) {
+			case SVGPaintState.CAP_ROUND:
+				this.emitArc(x, y, normalX, normalY, (float) -Math.PI);
+				break;
+			case SVGPaintState.CAP_SQUARE:
+				this.outlineTo(x + normalX + forwardX, y + normalY + forwardY);
+				this.outlineTo(x - normalX + forwardX, y - normalY + forwardY);
+				break;
+		}
+		this.outlineTo(x - normalX, y - normalY);
+	}
+
+	/**
+	 * Emits the points of the arc around <code>pCenterX/pCenterY</code>, from the offset <code>pRadiusX/pRadiusY</code> rotated by <code>pSweepAngle</code> radians, excluding the start.
+	 */
+	private void emitArc(final float pCenterX, final float pCenterY, final float pRadiusX, final float pRadiusY, final float pSweepAngle) {
+		final int segmentCount = SVGPathFlattener.getArcSegmentCount(this.mHalfWidth, pSweepAngle, this.mTolerance);
+		for(int i = 1; i <= segmentCount; i++) {
+			final double angle = pSweepAngle * i / segmentCount;
+			final float cos = (float) Math.cos(angle);
+			final float sin = (float) Math.sin(angle);
+			this.outlineTo(pCenterX + pRadiusX * cos - pRadiusY * sin, pCenterY + pRadiusX * sin + pRadiusY * cos);
+		}
+	}
+
+	private void emitDot(final float pX, final float pY) {
+		final float radius = this.mHalfWidth;
+		final SVGPath output = this.mOutput;
+		if(this.mCap == SVGPaintState.CAP_ROUND) {
+			final int segmentCount = Math.max(SVGPathStroker.CIRCLE_SEGMENTS_MINIMUM, SVGPathFlattener.getArcSegmentCount(radius, (float) (2 * Math.PI), this.mTolerance));
+			output.moveTo(pX + radius, pY);
+			for(int i = 1; i < segmentCount; i++) {
+				final double angle = 2 * Math.PI * i / segmentCount;
+				output.lineTo(pX + radius * (float) Math.cos(angle), pY + radius * (float) Math.sin(angle));
+			}
+			output.close();
+		} else if(this.mCap == SVGPaintState.CAP_SQUARE) {
+			output.addRect(pX - radius, pY - radius, pX + radius, pY + radius);
+		}
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
@@ -0,0 +1,121 @@
+package org.anddev.andengine.extension.svg.util;
+
+/**
+ * Helpers for (non-premultiplied) ARGB pixels stored row by row in an <code>int[]</code>, as produced by the <code>SVGRasterBackend</code>.
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 09:14:27 - 04.06.2011
+ */
+public class SVGPixelUtils {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	/**
+	 * Scans rows from the top and the bottom first, so the columns only need to be scanned between the first and the last non-transparent row.
+	 *
+	 * @param pBounds receives the <code>left, top, right, bottom</code> of the non-transparent pixels, with <code>right</code> and <code>bottom</code> being exclusive.
+	 * @return <code>false</code> if all pixels are transparent, in which case <code>pBounds</code> is left untouched.
+	 */
+	public static boolean computeOpaqueBounds(final int[] pPixels, final int pWidth, final int pHeight, final int[] pBounds) {
+		int top = 0;
+		while(top < pHeight && SVGPixelUtils.isRowTransparent(pPixels, pWidth, top)) {
+			top++;
+		}
+		if(top == pHeight) {
+			return false;
+		}
+
+		int bottom = pHeight;
+		while(SVGPixelUtils.isRowTransparent(pPixels, pWidth, bottom - 1)) {
+			bottom--;
+		}
+
+		int left = 0;
+		while(SVGPixelUtils.isColumnTransparent(pPixels, pWidth, left, top, bottom)) {
+			left++;
+		}
+
+		int right = pWidth;
+		while(SVGPixelUtils.isColumnTransparent(pPixels, pWidth, right - 1, top, bottom)) {
+			right--;
+		}
+
+		pBounds[0] = left;
+		pBounds[1] = top;
+		pBounds[2] = right;
+		pBounds[3] = bottom;
+		return true;
+	}
+
+	private static boolean isRowTransparent(final int[] pPixels, final int pWidth, final int pY) {
+		final int end = (pY + 1) * pWidth;
+		for(int i = pY * pWidth; i < end; i++) {
+			if((pPixels[i] >>> 24) != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isColumnTransparent(final int[] pPixels, final int pWidth, final int pX, final int pTop, final int pBottom) {
+		for(int y = pTop; y < pBottom; y++) {
+			if((pPixels[y * pWidth + pX] >>> 24) != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return the <code>pWidth</code> x <code>pHeight</code> pixels at <code>pX/pY</code> of <code>pPixels</code>, which has <code>pStride</code> pixels per row.
+	 */
+	public static int[] crop(final int[] pPixels, final int pStride, final int pX, final int pY, final int pWidth, final int pHeight) {
+		final int[] pixels = new int[pWidth * pHeight];
+		for(int y = 0; y < pHeight; y++) {
+			System.arraycopy(pPixels, (pY + y) * pStride + pX, pixels, y * pWidth, pWidth);
+		}
+		return pixels;
+	}
+
+	/**
+	 * @return the <code>pHeight</code> x <code>pWidth</code> pixels of <code>pPixels</code> rotated by 90 degrees clockwise.
+	 */
+	public static int[] rotateClockwise(final int[] pPixels, final int pWidth, final int pHeight) {
+		final int[] pixels = new int[pWidth * pHeight];
+		for(int y = 0; y < pHeight; y++) {
+			final int rotatedX = pHeight - 1 - y;
+			for(int x = 0; x < pWidth; x++) {
+				pixels[x * pHeight + rotatedX] = pPixels[y * pWidth + x];
+			}
+		}
+		return pixels;
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
@@ -0,0 +1,230 @@
+package org.anddev.andengine.extension.svg;
+
+import junit.framework.TestCase;
+
+import org.anddev.andengine.extension.svg.adt.SVGOptions;
+import org.anddev.andengine.extension.svg.backend.SVGDisplayList;
+import org.anddev.andengine.extension.svg.backend.raster.SVGRasterBackend;
+import org.anddev.andengine.extension.svg.metrics.SVGMetrics;
+
+/**
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 18:34:18 - 04.06.2011
+ */
+public class SVGHandlerTest extends TestCase {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	private static final String SVG_START = "<svg xmlns=\"http://www.w3.org/2000/svg\" xmlns:xlink=\"http://www.w3.org/1999/xlink\" width=\"200\" height=\"200\">";
+	private static final String SVG_END = "</svg>";
+
+	private static final String TRANSFORMED_CONTENT = "<g transform=\"matrix(1 0 0 1 20 10)\">"
+			+ "<g transform=\"matrix(0.8660254 0.5 -0.5 0.8660254 40 0)\">"
+			+ "<rect x=\"0\" y=\"0\" width=\"50\" height=\"30\" fill=\"#3366cc\" fill-opacity=\"0.75\" stroke=\"#112244\" stroke-width=\"3\"/>"
+			+ "<circle cx=\"60\" cy=\"20\" r=\"15\" fill=\"#cc3333\"/>"
+			+ "</g>"
+			+ "<g transform=\"scale(2 2)\">"
+			+ "<path d=\"M5 60 Q25 40 45 60 T85 60\" fill=\"none\" stroke=\"#339933\" stroke-width=\"2\" stroke-linecap=\"round\"/>"
+			+ "</g>"
+			+ "<g transform=\"scale(3 1)\">"
+			+ "<polyline points=\"2 140 12 130 22 140 32 130\" fill=\"none\" stroke=\"#000000\" stroke-width=\"2\" stroke-linejoin=\"round\"/>"
+			+ "</g>"
+			+ "</g>"
+			+ "<defs><linearGradient id=\"gradient\" x1=\"0\" y1=\"0\" x2=\"1\" y2=\"0\"><stop offset=\"0\" stop-color=\"#ffcc00\"/><stop offset=\"1\" stop-color=\"#0066ff\"/></linearGradient></defs>"
+			+ "<g transform=\"matrix(1.5 0 0 1.5 10 150)\"><rect width=\"60\" height=\"20\" fill=\"url(#gradient)\"/></g>";
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	public void testTransformFoldingIsLossless() {
+		final String svg = SVGHandlerTest.SVG_START + SVGHandlerTest.TRANSFORMED_CONTENT + SVGHandlerTest.SVG_END;
+
+		final SVGDisplayList unfoldedSVGDisplayList = SVGHandlerTest.parse(svg, false, false);
+		final SVGDisplayList foldedSVGDisplayList = SVGHandlerTest.parse(svg, true, false);
+
+		/* The stroke under the non-uniform scale keeps its transform, all others are folded away. */
+		assertTrue(foldedSVGDisplayList.getCommandCount() < unfoldedSVGDisplayList.getCommandCount());
+		assertEquals(0, SVGHandlerTest.countDifferentPixels(SVGHandlerTest.render(unfoldedSVGDisplayList), SVGHandlerTest.render(foldedSVGDisplayList)));
+	}
+
+	public void testPathMergingIsLossless() {
+		final StringBuilder stringBuilder = new StringBuilder(SVGHandlerTest.SVG_START);
+		for(int i = 0; i < 64; i++) {
+			final int x = 4 + (i % 8) * 24;
+			final int y = 4 + (i / 8) * 24;
+			stringBuilder.append("<rect x=\"").append(x).append("\" y=\"").append(y).append("\" width=\"16\" height=\"16\" fill=\"#3366cc\" fill-opacity=\"0.5\"/>");
+		}
+		/* Overlaps the rects drawn before with the same paint, so it must not be merged with them. */
+		stringBuilder.append("<rect x=\"10\" y=\"10\" width=\"100\" height=\"100\" fill=\"#3366cc\" fill-opacity=\"0.5\"/>");
+		stringBuilder.append(SVGHandlerTest.SVG_END);
+		final String svg = stringBuilder.toString();
+
+		final SVGDisplayList unmergedSVGDisplayList = SVGHandlerTest.parse(svg, false, false);
+		final SVGDisplayList mergedSVGDisplayList = SVGHandlerTest.parse(svg, false, true);
+
+		assertTrue(mergedSVGDisplayList.getCommandCount() < unmergedSVGDisplayList.getCommandCount());
+		assertEquals(0, SVGHandlerTest.countDifferentPixels(SVGHandlerTest.render(unmergedSVGDisplayList), SVGHandlerTest.render(mergedSVGDisplayList)));
+	}
+
+	public void testPathMergingKeepsLongMitersApart() {
+		/* The miter of the spike reaches about 30 units past its corner at 40/52, into the translucent line at x = 60. */
+		final String svg = SVGHandlerTest.SVG_START
+				+ "<polyline points=\"10,50 40,52 10,54\" fill=\"none\" stroke=\"#3366cc\" stroke-opacity=\"0.5\" stroke-width=\"4\" stroke-miterlimit=\"20\"/>"
+				+ "<line x1=\"60\" y1=\"40\" x2=\"60\" y2=\"64\" fill=\"none\" stroke=\"#3366cc\" stroke-opacity=\"0.5\" stroke-width=\"4\" stroke-miterlimit=\"20\"/>"
+				+ SVGHandlerTest.SVG_END;
+
+		final int[] expectedPixels = SVGHandlerTest.render(SVGHandlerTest.parse(svg, false, false));
+		final int[] actualPixels = SVGHandlerTest.render(SVGHandlerTest.parse(svg, false, true));
+
+		assertTrue(expectedPixels[52 * 200 + 60] != expectedPixels[45 * 200 + 60]);
+		assertEquals(0, SVGHandlerTest.countDifferentPixels(expectedPixels, actualPixels));
+	}
+
+	public void testTransformFoldingAndPathMergingAreLossless() {
+		final StringBuilder stringBuilder = new StringBuilder(SVGHandlerTest.SVG_START);
+		stringBuilder.append(SVGHandlerTest.TRANSFORMED_CONTENT);
+		for(int i = 0; i < 16; i++) {
+			stringBuilder.append("<g transform=\"matrix(0.5 0 0 0.5 ").append(8 + i * 12).append(" 120)\"><circle cx=\"8\" cy=\"8\" r=\"8\" fill=\"#cc3333\"/></g>");
+		}
+		stringBuilder.append(SVGHandlerTest.SVG_END);
+		final String svg = stringBuilder.toString();
+
+		final int[] expectedPixels = SVGHandlerTest.render(SVGHandlerTest.parse(svg, false, false));
+		final int[] actualPixels = SVGHandlerTest.render(SVGHandlerTest.parse(svg, true, true));
+
+		assertEquals(0, SVGHandlerTest.countDifferentPixels(expectedPixels, actualPixels));
+	}
+
+	public void testFoldedStrokesDifferOnlyByRounding() {
+		final StringBuilder stringBuilder = new StringBuilder(SVGHandlerTest.SVG_START);
+		for(int i = 0; i < 16; i++) {
+			stringBuilder.append("<g transform=\"matrix(0.5 0 0 0.5 ").append(8 + i * 12).append(" 120)\"><circle cx=\"8\" cy=\"8\" r=\"8\" fill=\"#cc3333\" stroke=\"#000000\"/></g>");
+		}
+		stringBuilder.append(SVGHandlerTest.SVG_END);
+		final String svg = stringBuilder.toString();
+
+		final int[] expectedPixels = SVGHandlerTest.render(SVGHandlerTest.parse(svg, false, false));
+		final int[] actualPixels = SVGHandlerTest.render(SVGHandlerTest.parse(svg, true, true));
+
+		/* A folded stroke is outlined in pixels instead of in user units, which moves its outline by float rounding (~1e-5 pixels), enough to flip the coverage of an edge pixel by one step. */
+		assertEquals(0, SVGHandlerTest.countDifferentPixels(expectedPixels, actualPixels, 1));
+	}
+
+	public void testLevelOfDetailKeepsStrokedLines() {
+		final String svg = SVGHandlerTest.SVG_START
+				+ "<rect x=\"10\" y=\"10\" width=\"1\" height=\"1\" fill=\"#ff0000\"/>"
+				+ "<line x1=\"50\" y1=\"50\" x2=\"51\" y2=\"50\" stroke=\"#0000ff\" stroke-width=\"4\"/>"
+				+ SVGHandlerTest.SVG_END;
+
+		final SVGOptions svgOptions = new SVGOptions();
+		svgOptions.setLevelOfDetailThreshold(4);
+		final SVGDisplayList svgDisplayList = SVGParser.parseSVGDisplayListFromString(svg, null, svgOptions);
+
+		final int[] pixels = SVGHandlerTest.render(svgDisplayList);
+		assertEquals(0, pixels[10 * 200 + 10]);
+		assertEquals(0xFF0000FF, pixels[50 * 200 + 50]);
+	}
+
+	public void testLevelOfDetailKeepsLongMiters() {
+		/* The spike is only 10 x 1 units, but its miter reaches about 10 units past its corner at 60/50.5. */
+		final String svg = SVGHandlerTest.SVG_START
+				+ "<g stroke-miterlimit=\"40\"><path d=\"M50 50 L60 50.5 L50 51\" fill=\"none\" stroke=\"#0000ff\"/></g>"
+				+ SVGHandlerTest.SVG_END;
+
+		final SVGOptions svgOptions = new SVGOptions();
+		svgOptions.setLevelOfDetailThreshold(16);
+		final int[] pixels = SVGHandlerTest.render(SVGParser.parseSVGDisplayListFromString(svg, null, svgOptions));
+
+		assertTrue((pixels[50 * 200 + 62] >>> 24) > 0);
+	}
+
+	public void testSymbolWithNestedDefinitions() {
+		/* The inner <use> sets its fill-opacity itself, so the rect compiles the same within both instances of the symbol. */
+		final String svg = SVGHandlerTest.SVG_START
+				+ "<symbol id=\"symbol\">"
+				+ "<defs>"
+				+ "<linearGradient id=\"gradient\" x1=\"0\" y1=\"0\" x2=\"100\" y2=\"0\"><stop offset=\"0\" stop-color=\"#ff0000\"/><stop offset=\"1\" stop-color=\"#0000ff\"/></linearGradient>"
+				+ "<rect id=\"rect\" width=\"100\" height=\"20\" fill=\"url(#gradient)\"/>"
+				+ "</defs>"
+				+ "<use xlink:href=\"#rect\" fill-opacity=\"1\"/>"
+				+ "</symbol>"
+				+ "<use xlink:href=\"#symbol\" x=\"10\" y=\"10\" fill-opacity=\"1\"/>"
+				+ "<use xlink:href=\"#symbol\" x=\"10\" y=\"50\" fill-opacity=\"0.5\"/>"
+				+ SVGHandlerTest.SVG_END;
+
+		final long missCount = SVGMetrics.SYMBOL_CACHE.getMissCounter().getValue();
+		final int[] pixels = SVGHandlerTest.render(SVGHandlerTest.parse(svg, false, false));
+
+		/* The symbol is compiled for both fill-opacities, but the rect only once, as the nested <defs> is not redefined by compiling the symbol. */
+		assertEquals(3, SVGMetrics.SYMBOL_CACHE.getMissCounter().getValue() - missCount);
+		for(final int y : new int[] { 20, 60 }) {
+			final int left = pixels[y * 200 + 15];
+			final int right = pixels[y * 200 + 105];
+			assertEquals(0xFF, left >>> 24);
+			assertTrue(Integer.toHexString(left), ((left >> 16) & 0xFF) > (left & 0xFF));
+			assertTrue(Integer.toHexString(right), ((right >> 16) & 0xFF) < (right & 0xFF));
+		}
+	}
+
+	private static SVGDisplayList parse(final String pSVG, final boolean pTransformFolding, final boolean pPathMerging) {
+		final SVGOptions svgOptions = new SVGOptions();
+		svgOptions.setTransformFolding(pTransformFolding);
+		svgOptions.setPathMerging(pPathMerging);
+		return SVGParser.parseSVGDisplayListFromString(pSVG, null, svgOptions);
+	}
+
+	private static int[] render(final SVGDisplayList pSVGDisplayList) {
+		final SVGRasterBackend svgRasterBackend = new SVGRasterBackend(1);
+		pSVGDisplayList.replay(svgRasterBackend);
+		return svgRasterBackend.getPixels();
+	}
+
+	private static int countDifferentPixels(final int[] pPixelsA, final int[] pPixelsB) {
+		return SVGHandlerTest.countDifferentPixels(pPixelsA, pPixelsB, 0);
+	}
+
+	/**
+	 * @param pTolerance the difference per channel that still counts as equal.
+	 */
+	static int countDifferentPixels(final int[] pPixelsA, final int[] pPixelsB, final int pTolerance) {
+		assertEquals(pPixelsA.length, pPixelsB.length);
+
+		int differentPixelCount = 0;
+		for(int i = 0; i < pPixelsA.length; i++) {
+			final int pixelA = pPixelsA[i];
+			final int pixelB = pPixelsB[i];
+			for(int shift = 0; shift < 32; shift += 8) {
+				if(Math.abs(((pixelA >>> shift) & 0xFF) - ((pixelB >>> shift) & 0xFF)) > pTolerance) {
+					differentPixelCount++;
+					break;
+				}
+			}
+		}
+		return differentPixelCount;
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
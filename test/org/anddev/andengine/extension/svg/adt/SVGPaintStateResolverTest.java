@@ -0,0 +1,194 @@
+package org.anddev.andengine.extension.svg.adt;
+
+import junit.framework.TestCase;
+
+import org.anddev.andengine.extension.svg.util.constants.ISVGConstants;
+import org.xml.sax.helpers.AttributesImpl;
+
+/**
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 18:12:40 - 04.06.2011
+ */
+public class SVGPaintStateResolverTest extends TestCase implements ISVGConstants {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private SVGPaintStateResolver mSVGPaintStateResolver;
+	private SVGPaintState mSVGPaintState;
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	@Override
+	protected void setUp() throws Exception {
+		this.mSVGPaintStateResolver = new SVGPaintStateResolver(null);
+		this.mSVGPaintState = new SVGPaintState();
+	}
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	public void testDefaultFillIsBlack() {
+		final SVGProperties svgProperties = SVGPaintStateResolverTest.createSVGProperties(null);
+
+		assertTrue(this.mSVGPaintStateResolver.resolveFill(svgProperties, this.mSVGPaintState));
+		assertEquals(SVGPaintState.STYLE_FILL, this.mSVGPaintState.getStyle());
+		assertEquals(0xFF000000, this.mSVGPaintState.getColor());
+		assertFalse(this.mSVGPaintStateResolver.resolveStroke(svgProperties, this.mSVGPaintState));
+	}
+
+	public void testStrokeOnlyIsNotFilled() {
+		final SVGProperties svgProperties = SVGPaintStateResolverTest.createSVGProperties(null, ATTRIBUTE_STROKE, "#00FF00");
+
+		assertFalse(this.mSVGPaintStateResolver.resolveFill(svgProperties, this.mSVGPaintState));
+		assertTrue(this.mSVGPaintStateResolver.resolveStroke(svgProperties, this.mSVGPaintState));
+		assertEquals(SVGPaintState.STYLE_STROKE, this.mSVGPaintState.getStyle());
+		assertEquals(0xFF00FF00, this.mSVGPaintState.getColor());
+	}
+
+	public void testNone() {
+		final SVGProperties svgProperties = SVGPaintStateResolverTest.createSVGProperties(null, ATTRIBUTE_FILL, VALUE_NONE, ATTRIBUTE_STROKE, VALUE_NONE);
+
+		assertFalse(this.mSVGPaintStateResolver.resolveFill(svgProperties, this.mSVGPaintState));
+		assertFalse(this.mSVGPaintStateResolver.resolveStroke(svgProperties, this.mSVGPaintState));
+	}
+
+	public void testDisplayNone() {
+		final SVGProperties svgProperties = SVGPaintStateResolverTest.createSVGProperties(null, ATTRIBUTE_DISPLAY, VALUE_NONE, ATTRIBUTE_FILL, "red", ATTRIBUTE_STROKE, "blue");
+
+		assertFalse(this.mSVGPaintStateResolver.resolveFill(svgProperties, this.mSVGPaintState));
+		assertFalse(this.mSVGPaintStateResolver.resolveStroke(svgProperties, this.mSVGPaintState));
+	}
+
+	public void testColorFormats() {
+		assertEquals(0xFF0000, this.resolveFillColor("#FF0000") & 0xFFFFFF);
+		assertEquals(0x00FF00, this.resolveFillColor("rgb(0, 255, 0)") & 0xFFFFFF);
+		assertEquals(0x0000FF, this.resolveFillColor("blue") & 0xFFFFFF);
+	}
+
+	public void testOpacity() {
+		SVGProperties svgProperties = SVGPaintStateResolverTest.createSVGProperties(null, ATTRIBUTE_FILL, "#FF0000", ATTRIBUTE_FILL_OPACITY, "0.5");
+		assertTrue(this.mSVGPaintStateResolver.resolveFill(svgProperties, this.mSVGPaintState));
+		assertEquals(0x7FFF0000, this.mSVGPaintState.getColor());
+
+		/* The stroke does not use the fill-opacity. */
+		svgProperties = SVGPaintStateResolverTest.createSVGProperties(null, ATTRIBUTE_STROKE, "#FF0000", ATTRIBUTE_FILL_OPACITY, "0.5", ATTRIBUTE_STROKE_OPACITY, "0.25");
+		assertTrue(this.mSVGPaintStateResolver.resolveStroke(svgProperties, this.mSVGPaintState));
+		assertEquals(0x3FFF0000, this.mSVGPaintState.getColor());
+
+		/* Out of range opacities are clamped. */
+		svgProperties = SVGPaintStateResolverTest.createSVGProperties(null, ATTRIBUTE_FILL, "#FF0000", ATTRIBUTE_FILL_OPACITY, "2");
+		assertTrue(this.mSVGPaintStateResolver.resolveFill(svgProperties, this.mSVGPaintState));
+		assertEquals(0xFFFF0000, this.mSVGPaintState.getColor());
+	}
+
+	public void testGradientAndFilterReferences() {
+		final SVGProperties svgProperties = SVGPaintStateResolverTest.createSVGProperties(null, ATTRIBUTE_FILL, "url(#gradient)", ATTRIBUTE_FILTER, "url(#blur)");
+
+		assertTrue(this.mSVGPaintStateResolver.resolveFill(svgProperties, this.mSVGPaintState));
+		assertTrue(this.mSVGPaintState.hasGradient());
+		assertEquals("gradient", this.mSVGPaintState.getGradientID());
+		assertTrue(this.mSVGPaintState.hasFilter());
+		assertEquals("blur", this.mSVGPaintState.getFilterID());
+	}
+
+	public void testStrokeProperties() {
+		final SVGProperties svgProperties = SVGPaintStateResolverTest.createSVGProperties(null, ATTRIBUTE_STROKE, "black", ATTRIBUTE_STROKE_WIDTH, "3.5", ATTRIBUTE_STROKE_LINECAP, ATTRIBUTE_STROKE_LINECAP_VALUE_ROUND, ATTRIBUTE_STROKE_LINEJOIN_VALUE_, ATTRIBUTE_STROKE_LINEJOIN_VALUE_BEVEL, ATTRIBUTE_STROKE_MITERLIMIT, "8");
+
+		assertTrue(this.mSVGPaintStateResolver.resolveStroke(svgProperties, this.mSVGPaintState));
+		assertEquals(3.5f, this.mSVGPaintState.getStrokeWidth(), 0);
+		assertEquals(SVGPaintState.CAP_ROUND, this.mSVGPaintState.getStrokeCap());
+		assertEquals(SVGPaintState.JOIN_BEVEL, this.mSVGPaintState.getStrokeJoin());
+		assertEquals(8f, this.mSVGPaintState.getStrokeMiterLimit(), 0);
+	}
+
+	public void testInvalidMiterLimitIsIgnored() {
+		final SVGProperties svgProperties = SVGPaintStateResolverTest.createSVGProperties(null, ATTRIBUTE_STROKE, "black", ATTRIBUTE_STROKE_MITERLIMIT, "0.5");
+
+		assertTrue(this.mSVGPaintStateResolver.resolveStroke(svgProperties, this.mSVGPaintState));
+		assertEquals(4f, this.mSVGPaintState.getStrokeMiterLimit(), 0);
+	}
+
+	public void testInheritance() {
+		final SVGProperties parentSVGProperties = SVGPaintStateResolverTest.createSVGProperties(null, ATTRIBUTE_FILL, "red", ATTRIBUTE_STROKE, "blue", ATTRIBUTE_STROKE_WIDTH, "2");
+		final SVGProperties svgProperties = SVGPaintStateResolverTest.createSVGProperties(parentSVGProperties, ATTRIBUTE_FILL, "lime");
+
+		assertTrue(this.mSVGPaintStateResolver.resolveFill(svgProperties, this.mSVGPaintState));
+		assertEquals(0xFF00FF00, this.mSVGPaintState.getColor());
+
+		assertTrue(this.mSVGPaintStateResolver.resolveStroke(svgProperties, this.mSVGPaintState));
+		assertEquals(0xFF0000FF, this.mSVGPaintState.getColor());
+		assertEquals(2f, this.mSVGPaintState.getStrokeWidth(), 0);
+	}
+
+	public void testStyleOverridesAttributes() {
+		final SVGProperties svgProperties = SVGPaintStateResolverTest.createSVGProperties(null, ATTRIBUTE_FILL, "red", ATTRIBUTE_STYLE, "fill:blue; fill-opacity:0");
+
+		assertTrue(this.mSVGPaintStateResolver.resolveFill(svgProperties, this.mSVGPaintState));
+		assertEquals(0x000000FF, this.mSVGPaintState.getColor());
+	}
+
+	public void testSVGColorMapper() {
+		final SVGPaintStateResolver svgPaintStateResolver = new SVGPaintStateResolver(new ISVGColorMapper() {
+			@Override
+			public Integer mapColor(final Integer pColor) {
+				return (pColor == null) ? null : Integer.valueOf(pColor.intValue() ^ 0xFFFFFF);
+			}
+		});
+		final SVGProperties svgProperties = SVGPaintStateResolverTest.createSVGProperties(null, ATTRIBUTE_FILL, "#FF0000");
+
+		assertTrue(svgPaintStateResolver.resolveFill(svgProperties, this.mSVGPaintState));
+		assertEquals(0xFF00FFFF, this.mSVGPaintState.getColor());
+	}
+
+	public void testResolvedStatesAreReset() {
+		final SVGProperties strokedSVGProperties = SVGPaintStateResolverTest.createSVGProperties(null, ATTRIBUTE_STROKE, "url(#gradient)", ATTRIBUTE_STROKE_WIDTH, "5");
+		assertTrue(this.mSVGPaintStateResolver.resolveStroke(strokedSVGProperties, this.mSVGPaintState));
+
+		final SVGProperties filledSVGProperties = SVGPaintStateResolverTest.createSVGProperties(null, ATTRIBUTE_FILL, "black");
+		assertTrue(this.mSVGPaintStateResolver.resolveFill(filledSVGProperties, this.mSVGPaintState));
+
+		final SVGPaintState expectedSVGPaintState = new SVGPaintState();
+		expectedSVGPaintState.reset(SVGPaintState.STYLE_FILL);
+		assertEquals(expectedSVGPaintState, this.mSVGPaintState);
+		assertEquals(expectedSVGPaintState.hashCode(), this.mSVGPaintState.hashCode());
+	}
+
+	private int resolveFillColor(final String pFill) {
+		assertTrue(pFill, this.mSVGPaintStateResolver.resolveFill(SVGPaintStateResolverTest.createSVGProperties(null, ATTRIBUTE_FILL, pFill), this.mSVGPaintState));
+		return this.mSVGPaintState.getColor();
+	}
+
+	/**
+	 * @param pAttributes alternating names and values.
+	 */
+	private static SVGProperties createSVGProperties(final SVGProperties pParentSVGProperties, final String ... pAttributes) {
+		final AttributesImpl attributes = new AttributesImpl();
+		for(int i = 0; i < pAttributes.length; i += 2) {
+			attributes.addAttribute("", pAttributes[i], pAttributes[i], "CDATA", pAttributes[i + 1]);
+		}
+		return new SVGProperties(pParentSVGProperties, attributes, false);
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
@@ -0,0 +1,130 @@
+package org.anddev.andengine.extension.svg.backend.mesh;
+
+import java.util.ArrayList;
+
+import junit.framework.TestCase;
+
+import org.anddev.andengine.extension.svg.SVGParser;
+
+/**
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 18:27:49 - 04.06.2011
+ */
+public class SVGMeshBackendTest extends TestCase {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	private static final String SVG_START = "<svg xmlns=\"http://www.w3.org/2000/svg\" xmlns:xlink=\"http://www.w3.org/1999/xlink\" width=\"200\" height=\"200\">";
+	private static final String SVG_END = "</svg>";
+
+	private static final String SQUARE_WITH_HOLE = "M0 0 H100 V100 H0 Z M25 25 H75 V75 H25 Z";
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	public void testFill() {
+		final SVGMesh svgMesh = SVGMeshBackendTest.tessellate("<rect x=\"10\" y=\"10\" width=\"40\" height=\"20\" fill=\"#FF0000\" fill-opacity=\"0.5\"/>", 1);
+
+		assertEquals(40 * 20, SVGTessellatorTest.getArea(svgMesh), 1e-3);
+		assertEquals(1, SVGTessellatorTest.getCoverage(svgMesh, 11, 11));
+		assertEquals(0, SVGTessellatorTest.getCoverage(svgMesh, 51, 11));
+		for(int i = 0; i < svgMesh.getVertexCount(); i++) {
+			assertEquals(0x7FFF0000, svgMesh.getColor(i));
+		}
+	}
+
+	public void testScale() {
+		final SVGMesh svgMesh = SVGMeshBackendTest.tessellate("<rect x=\"10\" y=\"10\" width=\"40\" height=\"20\"/>", 2.5f);
+
+		assertEquals(100 * 50, SVGTessellatorTest.getArea(svgMesh), 1e-2);
+		assertEquals(1, SVGTessellatorTest.getCoverage(svgMesh, 26, 26));
+		assertEquals(0, SVGTessellatorTest.getCoverage(svgMesh, 24, 26));
+	}
+
+	public void testFillRules() {
+		final SVGMesh nonzeroSVGMesh = SVGMeshBackendTest.tessellate("<path d=\"" + SVGMeshBackendTest.SQUARE_WITH_HOLE + "\"/>", 1);
+		assertEquals(100 * 100, SVGTessellatorTest.getArea(nonzeroSVGMesh), 1e-2);
+		assertEquals(1, SVGTessellatorTest.getCoverage(nonzeroSVGMesh, 50.3f, 50.7f));
+
+		final SVGMesh evenoddSVGMesh = SVGMeshBackendTest.tessellate("<path fill-rule=\"evenodd\" d=\"" + SVGMeshBackendTest.SQUARE_WITH_HOLE + "\"/>", 1);
+		assertEquals(100 * 100 - 50 * 50, SVGTessellatorTest.getArea(evenoddSVGMesh), 1e-2);
+		assertEquals(0, SVGTessellatorTest.getCoverage(evenoddSVGMesh, 50.3f, 50.7f));
+		assertEquals(1, SVGTessellatorTest.getCoverage(evenoddSVGMesh, 10.3f, 50.7f));
+	}
+
+	public void testStroke() {
+		final SVGMesh svgMesh = SVGMeshBackendTest.tessellate("<line x1=\"20\" y1=\"50\" x2=\"70\" y2=\"50\" stroke=\"#0000FF\" stroke-width=\"4\"/>", 1);
+
+		/* Butt caps end at the end points. */
+		assertEquals(50 * 4, SVGTessellatorTest.getArea(svgMesh), 1e-2);
+		assertEquals(1, SVGTessellatorTest.getCoverage(svgMesh, 45.3f, 48.3f));
+		assertEquals(0, SVGTessellatorTest.getCoverage(svgMesh, 45.3f, 52.3f));
+		assertEquals(0, SVGTessellatorTest.getCoverage(svgMesh, 70.3f, 50.3f));
+		for(int i = 0; i < svgMesh.getVertexCount(); i++) {
+			assertEquals(0xFF0000FF, svgMesh.getColor(i));
+		}
+	}
+
+	public void testFillAndStrokeInOrder() {
+		final ArrayList<SVGMesh> svgMeshes = SVGMeshBackendTest.tessellateAll("<rect x=\"10\" y=\"10\" width=\"40\" height=\"40\" fill=\"#FF0000\" stroke=\"#00FF00\" stroke-width=\"2\"/>", 1);
+		assertEquals(1, svgMeshes.size());
+		final SVGMesh svgMesh = svgMeshes.get(0);
+
+		/* The stroke is drawn after the fill, so its vertices come last. */
+		assertEquals(0xFFFF0000, svgMesh.getColor(0));
+		assertEquals(0xFF00FF00, svgMesh.getColor(svgMesh.getVertexCount() - 1));
+		assertEquals(40 * 40 + (42 * 42 - 38 * 38), SVGTessellatorTest.getArea(svgMesh), 1e-2);
+	}
+
+	public void testTransformedUse() {
+		final SVGMesh svgMesh = SVGMeshBackendTest.tessellate("<defs><rect id=\"square\" width=\"10\" height=\"10\"/></defs>"
+				+ "<use xlink:href=\"#square\" x=\"20\" y=\"20\"/>"
+				+ "<g transform=\"scale(2 2)\"><use xlink:href=\"#square\" x=\"50\" y=\"50\"/></g>", 1);
+
+		assertEquals(10 * 10 + 20 * 20, SVGTessellatorTest.getArea(svgMesh), 1e-2);
+		assertEquals(1, SVGTessellatorTest.getCoverage(svgMesh, 25.3f, 25.7f));
+		assertEquals(1, SVGTessellatorTest.getCoverage(svgMesh, 115.3f, 115.7f));
+		assertEquals(0, SVGTessellatorTest.getCoverage(svgMesh, 55.3f, 55.7f));
+	}
+
+	public void testEmptyDocument() {
+		assertTrue(SVGMeshBackendTest.tessellateAll("<rect width=\"10\" height=\"10\" fill=\"none\"/>", 1).isEmpty());
+	}
+
+	private static SVGMesh tessellate(final String pSVGContent, final float pScale) {
+		final ArrayList<SVGMesh> svgMeshes = SVGMeshBackendTest.tessellateAll(pSVGContent, pScale);
+		assertEquals(1, svgMeshes.size());
+		return svgMeshes.get(0);
+	}
+
+	private static ArrayList<SVGMesh> tessellateAll(final String pSVGContent, final float pScale) {
+		final SVGMeshBackend svgMeshBackend = new SVGMeshBackend(pScale);
+		SVGParser.parseSVGDisplayListFromString(SVGMeshBackendTest.SVG_START + pSVGContent + SVGMeshBackendTest.SVG_END, null, null).replay(svgMeshBackend);
+		return svgMeshBackend.getSVGMeshes();
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
@@ -0,0 +1,303 @@
+package org.anddev.andengine.extension.svg.backend.mesh;
+
+import junit.framework.TestCase;
+
+import org.anddev.andengine.extension.svg.adt.SVGMatrix;
+import org.anddev.andengine.extension.svg.adt.SVGPath;
+
+/**
+ * Checks the meshes of the {@link SVGTessellator} by their area and by sampling them on a grid:
+ * every sample inside the path has to be covered by exactly one triangle and every sample outside of it by none.
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 18:21:05 - 04.06.2011
+ */
+public class SVGTessellatorTest extends TestCase {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	private static final int COLOR = 0xFF336699;
+
+	/** Samples are offset from the grid, differently in both directions, so they do not fall onto the edges of the test shapes or onto the diagonals of their triangles. */
+	private static final float SAMPLE_OFFSET_X = 0.37f;
+	private static final float SAMPLE_OFFSET_Y = 0.61f;
+	private static final float SAMPLE_SPACING = 2;
+
+	/** A square of 100x100 with a square hole of 50x50, both drawn clockwise. */
+	private static final float[][] SQUARE_WITH_HOLE_SAME_DIRECTION = new float[][] {
+		{ 0, 0, 100, 0, 100, 100, 0, 100 },
+		{ 25, 25, 75, 25, 75, 75, 25, 75 }
+	};
+	/** A square of 100x100 with a square hole of 50x50 that is drawn the other way around. */
+	private static final float[][] SQUARE_WITH_HOLE_OPPOSITE_DIRECTION = new float[][] {
+		{ 0, 0, 100, 0, 100, 100, 0, 100 },
+		{ 25, 25, 25, 75, 75, 75, 75, 25 }
+	};
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private SVGTessellator mSVGTessellator;
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	@Override
+	protected void setUp() throws Exception {
+		this.mSVGTessellator = new SVGTessellator();
+	}
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	public void testRectangle() {
+		final float[][] rectangle = new float[][] { { 10, 20, 110, 20, 110, 70, 10, 70 } };
+		final SVGMesh svgMesh = this.tessellate(rectangle, SVGPath.FILLRULE_NONZERO);
+
+		assertEquals(5000, SVGTessellatorTest.getArea(svgMesh), 1e-3);
+		assertEquals(2, svgMesh.getTriangleCount());
+		SVGTessellatorTest.assertCoverage(svgMesh, rectangle, SVGPath.FILLRULE_NONZERO);
+	}
+
+	public void testConvexPolygon() {
+		final float[][] hexagon = new float[][] { SVGTessellatorTest.createRegularPolygon(100, 100, 80, 6, 1) };
+		final SVGMesh svgMesh = this.tessellate(hexagon, SVGPath.FILLRULE_NONZERO);
+
+		assertEquals(1.5 * Math.sqrt(3) * 80 * 80, SVGTessellatorTest.getArea(svgMesh), 1e-1);
+		SVGTessellatorTest.assertCoverage(svgMesh, hexagon, SVGPath.FILLRULE_NONZERO);
+	}
+
+	public void testConcavePolygon() {
+		/* A U-shape: 100x100 without a notch of 40x60 from the top. */
+		final float[][] u = new float[][] { { 0, 0, 30, 0, 30, 60, 70, 60, 70, 0, 100, 0, 100, 100, 0, 100 } };
+		final SVGMesh svgMesh = this.tessellate(u, SVGPath.FILLRULE_NONZERO);
+
+		assertEquals(100 * 100 - 40 * 60, SVGTessellatorTest.getArea(svgMesh), 1e-2);
+		SVGTessellatorTest.assertCoverage(svgMesh, u, SVGPath.FILLRULE_NONZERO);
+		SVGTessellatorTest.assertCoverage(this.tessellate(u, SVGPath.FILLRULE_EVENODD), u, SVGPath.FILLRULE_EVENODD);
+	}
+
+	public void testHoleDrawnInTheSameDirection() {
+		final float[][] square = SVGTessellatorTest.SQUARE_WITH_HOLE_SAME_DIRECTION;
+
+		/* Both contours wind the same way, so the hole is filled under the nonzero rule. */
+		final SVGMesh nonzeroSVGMesh = this.tessellate(square, SVGPath.FILLRULE_NONZERO);
+		assertEquals(100 * 100, SVGTessellatorTest.getArea(nonzeroSVGMesh), 1e-2);
+		SVGTessellatorTest.assertCoverage(nonzeroSVGMesh, square, SVGPath.FILLRULE_NONZERO);
+
+		final SVGMesh evenoddSVGMesh = this.tessellate(square, SVGPath.FILLRULE_EVENODD);
+		assertEquals(100 * 100 - 50 * 50, SVGTessellatorTest.getArea(evenoddSVGMesh), 1e-2);
+		SVGTessellatorTest.assertCoverage(evenoddSVGMesh, square, SVGPath.FILLRULE_EVENODD);
+	}
+
+	public void testHoleDrawnInTheOppositeDirection() {
+		final float[][] square = SVGTessellatorTest.SQUARE_WITH_HOLE_OPPOSITE_DIRECTION;
+
+		/* The windings cancel out inside the hole, so both rules leave it empty. */
+		final SVGMesh nonzeroSVGMesh = this.tessellate(square, SVGPath.FILLRULE_NONZERO);
+		assertEquals(100 * 100 - 50 * 50, SVGTessellatorTest.getArea(nonzeroSVGMesh), 1e-2);
+		SVGTessellatorTest.assertCoverage(nonzeroSVGMesh, square, SVGPath.FILLRULE_NONZERO);
+
+		final SVGMesh evenoddSVGMesh = this.tessellate(square, SVGPath.FILLRULE_EVENODD);
+		assertEquals(100 * 100 - 50 * 50, SVGTessellatorTest.getArea(evenoddSVGMesh), 1e-2);
+		SVGTessellatorTest.assertCoverage(evenoddSVGMesh, square, SVGPath.FILLRULE_EVENODD);
+	}
+
+	public void testSelfIntersectingStar() {
+		/* A pentagram, whose center pentagon is wound twice. */
+		final float[][] star = new float[][] { SVGTessellatorTest.createRegularPolygon(100, 100, 90, 5, 2) };
+		final SVGMesh nonzeroSVGMesh = this.tessellate(star, SVGPath.FILLRULE_NONZERO);
+		final SVGMesh evenoddSVGMesh = this.tessellate(star, SVGPath.FILLRULE_EVENODD);
+
+		SVGTessellatorTest.assertCoverage(nonzeroSVGMesh, star, SVGPath.FILLRULE_NONZERO);
+		SVGTessellatorTest.assertCoverage(evenoddSVGMesh, star, SVGPath.FILLRULE_EVENODD);
+
+		/* The inner pentagon has a circumradius of r * cos(72deg) / cos(36deg). */
+		final double outerRadius = 90;
+		final double innerRadius = outerRadius * Math.cos(Math.toRadians(72)) / Math.cos(Math.toRadians(36));
+		final double innerPentagonArea = 2.5 * innerRadius * innerRadius * Math.sin(Math.toRadians(72));
+		final double nonzeroArea = 5 * outerRadius * innerRadius * Math.sin(Math.toRadians(36));
+		assertEquals(nonzeroArea, SVGTessellatorTest.getArea(nonzeroSVGMesh), 1e-1);
+		assertEquals(nonzeroArea - innerPentagonArea, SVGTessellatorTest.getArea(evenoddSVGMesh), 1e-1);
+	}
+
+	public void testCircle() {
+		final SVGPath svgPath = new SVGPath();
+		svgPath.addCircle(100, 100, 80);
+		final SVGMesh svgMesh = new SVGMesh();
+		this.mSVGTessellator.tessellate(svgPath, null, SVGPath.FILLRULE_NONZERO, SVGTessellatorTest.COLOR, svgMesh);
+
+		/* The flattened circle lies within the tolerance inside of the circle. */
+		final double tolerance = this.mSVGTessellator.getTolerance();
+		final double area = SVGTessellatorTest.getArea(svgMesh);
+		assertTrue(area <= Math.PI * 80 * 80 + 1e-1);
+		assertTrue(area >= Math.PI * (80 - tolerance) * (80 - tolerance));
+
+		for(float y = SVGTessellatorTest.SAMPLE_OFFSET_Y; y < 200; y += SVGTessellatorTest.SAMPLE_SPACING) {
+			for(float x = SVGTessellatorTest.SAMPLE_OFFSET_X; x < 200; x += SVGTessellatorTest.SAMPLE_SPACING) {
+				final double distance = Math.hypot(x - 100, y - 100);
+				final int coverage = SVGTessellatorTest.getCoverage(svgMesh, x, y);
+				if(distance < 80 - tolerance) {
+					assertEquals("Coverage at " + x + ", " + y, 1, coverage);
+				} else if(distance > 80) {
+					assertEquals("Coverage at " + x + ", " + y, 0, coverage);
+				} else {
+					assertTrue("Coverage at " + x + ", " + y, coverage <= 1);
+				}
+			}
+		}
+	}
+
+	public void testTransformAndColor() {
+		final float[][] rectangle = new float[][] { { 0, 0, 10, 0, 10, 10, 0, 10 } };
+		final SVGMatrix transform = new SVGMatrix();
+		transform.postScale(3, 2);
+		transform.postTranslate(5, 5);
+
+		final SVGMesh svgMesh = new SVGMesh();
+		this.mSVGTessellator.tessellate(SVGTessellatorTest.createSVGPath(rectangle), transform, SVGPath.FILLRULE_NONZERO, SVGTessellatorTest.COLOR, svgMesh);
+
+		assertEquals(30 * 20, SVGTessellatorTest.getArea(svgMesh), 1e-3);
+		assertEquals(1, SVGTessellatorTest.getCoverage(svgMesh, 6, 6));
+		assertEquals(1, SVGTessellatorTest.getCoverage(svgMesh, 34, 24));
+		assertEquals(0, SVGTessellatorTest.getCoverage(svgMesh, 36, 24));
+		for(int i = 0; i < svgMesh.getVertexCount(); i++) {
+			assertEquals(SVGTessellatorTest.COLOR, svgMesh.getColor(i));
+		}
+	}
+
+	public void testEmptyPath() {
+		final SVGMesh svgMesh = new SVGMesh();
+		this.mSVGTessellator.tessellate(new SVGPath(), null, SVGPath.FILLRULE_NONZERO, SVGTessellatorTest.COLOR, svgMesh);
+		assertTrue(svgMesh.isEmpty());
+
+		/* A degenerate contour encloses nothing. */
+		this.mSVGTessellator.tessellate(SVGTessellatorTest.createSVGPath(new float[][] { { 0, 0, 50, 50, 100, 100 } }), null, SVGPath.FILLRULE_NONZERO, SVGTessellatorTest.COLOR, svgMesh);
+		assertEquals(0, SVGTessellatorTest.getArea(svgMesh), 1e-3);
+	}
+
+	private SVGMesh tessellate(final float[][] pContours, final int pFillRule) {
+		final SVGMesh svgMesh = new SVGMesh();
+		this.mSVGTessellator.tessellate(SVGTessellatorTest.createSVGPath(pContours), null, pFillRule, SVGTessellatorTest.COLOR, svgMesh);
+		return svgMesh;
+	}
+
+	/**
+	 * Asserts that every sample inside <code>pContours</code> is covered by exactly one triangle of <code>pSVGMesh</code> and every sample outside of them by none.
+	 */
+	static void assertCoverage(final SVGMesh pSVGMesh, final float[][] pContours, final int pFillRule) {
+		for(float y = -SVGTessellatorTest.SAMPLE_OFFSET_Y; y < 200; y += SVGTessellatorTest.SAMPLE_SPACING) {
+			for(float x = -SVGTessellatorTest.SAMPLE_OFFSET_X; x < 200; x += SVGTessellatorTest.SAMPLE_SPACING) {
+				final int winding = SVGTessellatorTest.getWinding(pContours, x, y);
+				final boolean inside = (pFillRule == SVGPath.FILLRULE_EVENODD) ? (winding & 1) != 0 : winding != 0;
+				assertEquals("Coverage at " + x + ", " + y, inside ? 1 : 0, SVGTessellatorTest.getCoverage(pSVGMesh, x, y));
+			}
+		}
+	}
+
+	/**
+	 * @return the summed up area of all triangles, which is the area of the filled path if no triangles overlap.
+	 */
+	static double getArea(final SVGMesh pSVGMesh) {
+		final float[] vertices = pSVGMesh.getVertices();
+		final short[] indices = pSVGMesh.getIndices();
+		double area = 0;
+		for(int i = 0; i < pSVGMesh.getIndexCount(); i += 3) {
+			final int a = SVGMesh.VERTEX_SIZE * (indices[i] & 0xFFFF);
+			final int b = SVGMesh.VERTEX_SIZE * (indices[i + 1] & 0xFFFF);
+			final int c = SVGMesh.VERTEX_SIZE * (indices[i + 2] & 0xFFFF);
+			area += Math.abs((vertices[b] - vertices[a]) * (double) (vertices[c + 1] - vertices[a + 1]) - (vertices[c] - vertices[a]) * (double) (vertices[b + 1] - vertices[a + 1])) / 2;
+		}
+		return area;
+	}
+
+	/**
+	 * @return the number of triangles of <code>pSVGMesh</code> that contain the point.
+	 */
+	static int getCoverage(final SVGMesh pSVGMesh, final float pX, final float pY) {
+		final float[] vertices = pSVGMesh.getVertices();
+		final short[] indices = pSVGMesh.getIndices();
+		int coverage = 0;
+		for(int i = 0; i < pSVGMesh.getIndexCount(); i += 3) {
+			final int a = SVGMesh.VERTEX_SIZE * (indices[i] & 0xFFFF);
+			final int b = SVGMesh.VERTEX_SIZE * (indices[i + 1] & 0xFFFF);
+			final int c = SVGMesh.VERTEX_SIZE * (indices[i + 2] & 0xFFFF);
+			final double ab = SVGTessellatorTest.cross(vertices[a], vertices[a + 1], vertices[b], vertices[b + 1], pX, pY);
+			final double bc = SVGTessellatorTest.cross(vertices[b], vertices[b + 1], vertices[c], vertices[c + 1], pX, pY);
+			final double ca = SVGTessellatorTest.cross(vertices[c], vertices[c + 1], vertices[a], vertices[a + 1], pX, pY);
+			if((ab > 0 && bc > 0 && ca > 0) || (ab < 0 && bc < 0 && ca < 0)) {
+				coverage++;
+			}
+		}
+		return coverage;
+	}
+
+	private static double cross(final float pX1, final float pY1, final float pX2, final float pY2, final float pX, final float pY) {
+		return (pX2 - pX1) * (double) (pY - pY1) - (pY2 - pY1) * (double) (pX - pX1);
+	}
+
+	/**
+	 * @return the winding number of the closed polygons <code>pContours</code> around the point.
+	 */
+	private static int getWinding(final float[][] pContours, final float pX, final float pY) {
+		int winding = 0;
+		for(final float[] contour : pContours) {
+			final int pointCount = contour.length / 2;
+			for(int i = 0; i < pointCount; i++) {
+				final int j = (i + 1) % pointCount;
+				final float y1 = contour[2 * i + 1];
+				final float y2 = contour[2 * j + 1];
+				if(y1 <= pY && y2 > pY && SVGTessellatorTest.cross(contour[2 * i], y1, contour[2 * j], y2, pX, pY) > 0) {
+					winding++;
+				} else if(y1 > pY && y2 <= pY && SVGTessellatorTest.cross(contour[2 * i], y1, contour[2 * j], y2, pX, pY) < 0) {
+					winding--;
+				}
+			}
+		}
+		return winding;
+	}
+
+	/**
+	 * @param pStep connects every <code>pStep</code>-th corner, so <code>2</code> turns a pentagon into a pentagram.
+	 */
+	private static float[] createRegularPolygon(final float pCenterX, final float pCenterY, final float pRadius, final int pCornerCount, final int pStep) {
+		final float[] polygon = new float[2 * pCornerCount];
+		for(int i = 0; i < pCornerCount; i++) {
+			final double angle = 2 * Math.PI * i * pStep / pCornerCount - Math.PI / 2;
+			polygon[2 * i] = (float) (pCenterX + pRadius * Math.cos(angle));
+			polygon[2 * i + 1] = (float) (pCenterY + pRadius * Math.sin(angle));
+		}
+		return polygon;
+	}
+
+	static SVGPath createSVGPath(final float[][] pContours) {
+		final SVGPath svgPath = new SVGPath();
+		for(final float[] contour : pContours) {
+			svgPath.moveTo(contour[0], contour[1]);
+			for(int i = 2; i < contour.length; i += 2) {
+				svgPath.lineTo(contour[i], contour[i + 1]);
+			}
+			svgPath.close();
+		}
+		return svgPath;
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
@@ -0,0 +1,164 @@
+package org.anddev.andengine.extension.svg.backend.raster;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.imageio.ImageIO;
+
+import junit.framework.TestCase;
+
+import org.anddev.andengine.extension.svg.SVGParser;
+import org.anddev.andengine.extension.svg.backend.SVGDisplayList;
+import org.anddev.andengine.extension.svg.tool.SVGPNGEncoder;
+
+/**
+ * Renders the documents in the <code>golden</code> folder and compares them with the PNG of the same name next to them.
+ * After an intended change of the output, run the tests with <code>-Dorg.anddev.andengine.extension.svg.golden=&lt;the golden folder&gt;</code> to write the PNGs anew instead of comparing them, and look at every one of them before committing.
+ *
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 18:39:52 - 04.06.2011
+ */
+public class SVGRasterBackendTest extends TestCase {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	private static final String GOLDEN_PROPERTY = "org.anddev.andengine.extension.svg.golden";
+	private static final String GOLDEN_PATH = "golden/";
+
+	/** Leaves room for a different rounding of the floats on another JVM, which moves the anti-aliasing of an edge by a step or two. */
+	private static final int CHANNEL_TOLERANCE = 2;
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	public void testShapes() throws IOException {
+		this.assertGolden("shapes", 1);
+	}
+
+	public void testFillRules() throws IOException {
+		this.assertGolden("fillrules", 1);
+	}
+
+	public void testStrokes() throws IOException {
+		this.assertGolden("strokes", 1);
+	}
+
+	public void testGradients() throws IOException {
+		this.assertGolden("gradients", 1);
+	}
+
+	public void testTransforms() throws IOException {
+		this.assertGolden("transforms", 1);
+	}
+
+	public void testScaled() throws IOException {
+		this.assertGolden("shapes", 2);
+	}
+
+	private void assertGolden(final String pName, final float pScale) throws IOException {
+		final String goldenName = (pScale == 1) ? pName : pName + "@" + (int) pScale + "x";
+
+		final InputStream svgInputStream = SVGRasterBackendTest.class.getResourceAsStream(SVGRasterBackendTest.GOLDEN_PATH + pName + ".svg");
+		assertNotNull(pName + ".svg", svgInputStream);
+		final SVGDisplayList svgDisplayList;
+		try {
+			svgDisplayList = SVGParser.parseSVGDisplayListFromInputStream(svgInputStream, null);
+		} finally {
+			svgInputStream.close();
+		}
+
+		final SVGRasterBackend svgRasterBackend = new SVGRasterBackend(pScale);
+		svgDisplayList.replay(svgRasterBackend);
+		final SVGRasterizer svgRasterizer = svgRasterBackend.getSVGRasterizer();
+		final int width = svgRasterizer.getWidth();
+		final int height = svgRasterizer.getHeight();
+		final int[] pixels = svgRasterBackend.getPixels();
+
+		final String goldenDirectory = System.getProperty(SVGRasterBackendTest.GOLDEN_PROPERTY);
+		if(goldenDirectory != null) {
+			final FileOutputStream fileOutputStream = new FileOutputStream(new File(goldenDirectory, goldenName + ".png"));
+			try {
+				fileOutputStream.write(SVGPNGEncoder.encode(pixels, width, height));
+			} finally {
+				fileOutputStream.close();
+			}
+			return;
+		}
+
+		final InputStream pngInputStream = SVGRasterBackendTest.class.getResourceAsStream(SVGRasterBackendTest.GOLDEN_PATH + goldenName + ".png");
+		assertNotNull(goldenName + ".png", pngInputStream);
+		final BufferedImage goldenImage;
+		try {
+			goldenImage = ImageIO.read(pngInputStream);
+		} finally {
+			pngInputStream.close();
+		}
+		assertEquals(goldenName, goldenImage.getWidth(), width);
+		assertEquals(goldenName, goldenImage.getHeight(), height);
+
+		int differentPixelCount = 0;
+		int firstDifferentPixel = -1;
+		for(int y = 0; y < height; y++) {
+			for(int x = 0; x < width; x++) {
+				if(!SVGRasterBackendTest.isEqual(goldenImage.getRGB(x, y), pixels[y * width + x])) {
+					if(differentPixelCount == 0) {
+						firstDifferentPixel = y * width + x;
+					}
+					differentPixelCount++;
+				}
+			}
+		}
+		if(differentPixelCount > 0) {
+			final int x = firstDifferentPixel % width;
+			final int y = firstDifferentPixel / width;
+			fail(String.format("%s: %d pixels differ, the first at %d/%d is #%08X instead of #%08X.", goldenName, differentPixelCount, x, y, pixels[firstDifferentPixel], goldenImage.getRGB(x, y)));
+		}
+	}
+
+	/**
+	 * Compares the premultiplied channels, as the color of an almost transparent pixel hardly contributes anything, but jumps around with every step of its alpha.
+	 */
+	private static boolean isEqual(final int pExpectedARGB, final int pActualARGB) {
+		final int expectedAlpha = pExpectedARGB >>> 24;
+		final int actualAlpha = pActualARGB >>> 24;
+		if(Math.abs(expectedAlpha - actualAlpha) > SVGRasterBackendTest.CHANNEL_TOLERANCE) {
+			return false;
+		}
+		for(int shift = 0; shift < 24; shift += 8) {
+			final int expectedChannel = (((pExpectedARGB >>> shift) & 0xFF) * expectedAlpha + 127) / 255;
+			final int actualChannel = (((pActualARGB >>> shift) & 0xFF) * actualAlpha + 127) / 255;
+			if(Math.abs(expectedChannel - actualChannel) > SVGRasterBackendTest.CHANNEL_TOLERANCE) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+}
@@ -0,0 +1,165 @@
+package org.anddev.andengine.extension.svg.util;
+
+import junit.framework.TestCase;
+
+import org.anddev.andengine.extension.svg.util.SVGPathFlattener.ISVGPathFlattenerListener;
+
+/**
+ * (c) 2010 Nicolas Gramlich 
+ * (c) 2011 Zynga Inc.
+ * 
+ * @author Nicolas Gramlich
+ * @since 18:46:27 - 04.06.2011
+ */
+public class SVGPathFlattenerTest extends TestCase {
+	// ===========================================================
+	// Constants
+	// ===========================================================
+
+	// ===========================================================
+	// Fields
+	// ===========================================================
+
+	private SVGPathFlattener mSVGPathFlattener;
+	private CountingListener mCountingListener;
+
+	// ===========================================================
+	// Constructors
+	// ===========================================================
+
+	// ===========================================================
+	// Getter & Setter
+	// ===========================================================
+
+	// ===========================================================
+	// Methods for/from SuperClass/Interfaces
+	// ===========================================================
+
+	@Override
+	protected void setUp() throws Exception {
+		this.mSVGPathFlattener = new SVGPathFlattener();
+		this.mCountingListener = new CountingListener();
+	}
+
+	// ===========================================================
+	// Methods
+	// ===========================================================
+
+	public void testLineIsOneSegment() {
+		this.mSVGPathFlattener.flattenCubic(0, 0, 10, 0, 20, 0, 30, 0, this.mCountingListener);
+
+		assertEquals(1, this.mCountingListener.mLineToCount);
+		assertEquals(30, this.mCountingListener.mLastX, 0);
+	}
+
+	public void testToleranceIsKept() {
+		/* A quarter circle of radius 100, whose flattened points all have to be within the tolerance of it. */
+		final float kappa = 0.5522848f * 100;
+		this.mCountingListener.mCenterX = 0;
+		this.mCountingListener.mCenterY = 0;
+		this.mCountingListener.mRadius = 100;
+		this.mCountingListener.onMoveTo(100, 0);
+		this.mSVGPathFlattener.flattenCubic(100, 0, 100, kappa, kappa, 100, 0, 100, this.mCountingListener);
+
+		assertTrue(this.mCountingListener.mLineToCount > 1);
+		assertTrue(this.mCountingListener.mLineToCount <= SVGPathFlattener.SEGMENTS_PER_CURVE_MAXIMUM);
+		assertTrue(String.valueOf(this.mCountingListener.mMaximumDeviation), this.mCountingListener.mMaximumDeviation <= SVGPathFlattener.TOLERANCE_DEFAULT);
+	}
+
+	public void testHugeCoordinatesAreCapped() {
+		for(final float size : new float[] { 1e7f, 1e12f, 1e30f, Float.MAX_VALUE }) {
+			this.mCountingListener.mLineToCount = 0;
+			this.mSVGPathFlattener.flattenCubic(0, 0, size, -size, -size, size, size, size, this.mCountingListener);
+
+			assertTrue(size + ": " + this.mCountingListener.mLineToCount, this.mCountingListener.mLineToCount <= SVGPathFlattener.SEGMENTS_PER_CURVE_MAXIMUM);
+			assertEquals(size, this.mCountingListener.mLastX, 0);
+			assertEquals(size, this.mCountingListener.mLastY, 0);
+		}
+	}
+
+	public void testInfiniteCoordinatesAreCapped() {
+		final float infinity = Float.POSITIVE_INFINITY;
+		this.mSVGPathFlattener.flattenCubic(0, 0, infinity, 0, -infinity, 0, 10, 0, this.mCountingListener);
+		assertTrue(String.valueOf(this.mCountingListener.mLineToCount), this.mCountingListener.mLineToCount <= SVGPathFlattener.SEGMENTS_PER_CURVE_MAXIMUM);
+
+		this.mCountingListener.mLineToCount = 0;
+		this.mSVGPathFlattener.flattenCubic(0, 0, infinity, infinity, 0, infinity, 10, 0, this.mCountingListener);
+		assertTrue(String.valueOf(this.mCountingListener.mLineToCount), this.mCountingListener.mLineToCount <= SVGPathFlattener.SEGMENTS_PER_CURVE_MAXIMUM);
+	}
+
+	public void testTinyToleranceIsCapped() {
+		this.mSVGPathFlattener.setTolerance(Float.MIN_VALUE);
+		this.mSVGPathFlattener.flattenCubic(0, 0, 100, -100, -100, 100, 100, 100, this.mCountingListener);
+
+		assertTrue(String.valueOf(this.mCountingListener.mLineToCount), this.mCountingListener.mLineToCount <= SVGPathFlattener.SEGMENTS_PER_CURVE_MAXIMUM);
+		assertEquals(100, this.mCountingListener.mLastX, 0);
+	}
+
+	// ===========================================================
+	// Inner and Anonymous Classes
+	// ===========================================================
+
+	private static class CountingListener implements ISVGPathFlattenerListener {
+		// ===========================================================
+		// Constants
+		// ===========================================================
+
+		// ===========================================================
+		// Fields
+		// ===========================================================
+
+		private int mLineToCount;
+		private float mLastX;
+		private float mLastY;
+
+		private float mCenterX;
+		private float mCenterY;
+		private float mRadius = Float.NaN;
+		private float mMaximumDeviation;
+
+		// ===========================================================
+		// Constructors
+		// ===========================================================
+
+		// ===========================================================
+		// Getter & Setter
+		// ===========================================================
+
+		// ===========================================================
+		// Methods for/from SuperClass/Interfaces
+		// ===========================================================
+
+		@Override
+		public void onMoveTo(final float pX, final float pY) {
+			this.mLastX = pX;
+			this.mLastY = pY;
+		}
+
+		@Override
+		public void onLineTo(final float pX, final float pY) {
+			this.mLineToCount++;
+			if(!Float.isNaN(this.mRadius)) {
+				/* The chord deviates the most from the arc halfway between its end points. */
+				final float middleX = (this.mLastX + pX) * 0.5f - this.mCenterX;
+				final float middleY = (this.mLastY + pY) * 0.5f - this.mCenterY;
+				final float deviation = Math.abs(this.mRadius - (float) Math.sqrt(middleX * middleX + middleY * middleY));
+				this.mMaximumDeviation = Math.max(this.mMaximumDeviation, deviation);
+			}
+			this.mLastX = pX;
+			this.mLastY = pY;
+		}
+
+		@Override
+		public void onClose() {
+
+		}
+
+		// ===========================================================
+		// Methods
+		// ===========================================================
+
+		// ===========================================================
+		// Inner and Anonymous Classes
+		// ===========================================================
+	}
+}